@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+
+/**
+ * Shared set up for the benchmarks: the pieces of platform state that the domain calculations normally obtain from the
+ * tenant database are supplied here as fixed values, so that the benchmarks measure the calculations only.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Binds a default tenant to the current thread and fixes the configured rounding mode. Must be called from a
+     * {@code @Setup} method of a thread scoped state, as both are held per thread or statically by the platform.
+     */
+    static void initialisePlatform() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Asia/Kolkata", null));
+        MoneyHelper.useRoundingMode(RoundingMode.HALF_EVEN);
+    }
+
+    static ApplicationCurrency currency(final String code, final int decimalPlaces, final Integer inMultiplesOf) {
+        try {
+            final Constructor<ApplicationCurrency> constructor = ApplicationCurrency.class.getDeclaredConstructor(String.class,
+                    String.class, int.class, Integer.class, String.class, String.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(code, code, decimalPlaces, inMultiplesOf, "currency." + code, code);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create currency " + code, e);
+        }
+    }
+
+    /**
+     * Every day is a working day and no holidays are defined, so generated due dates are never moved.
+     */
+    static HolidayDetailDTO holidayDetails() {
+        final WorkingDays workingDays = new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU",
+                RepaymentRescheduleType.SAME_DAY.getValue(), false, false) {};
+        return new HolidayDetailDTO(false, new ArrayList<>(), workingDays);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DecliningBalanceInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.FlatInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestRecalculationCompoundingMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy;
+import org.apache.fineract.portfolio.loanproduct.domain.RecalculationFrequencyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Repayment schedule generation for a synthetic monthly loan, as run on loan application, approval and disbursement.
+ */
+@State(Scope.Thread)
+public class LoanScheduleGeneratorBenchmark {
+
+    private static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100_000);
+    private static final BigDecimal ANNUAL_INTEREST_RATE = BigDecimal.valueOf(18);
+    private static final BigDecimal PRINCIPAL_THRESHOLD_FOR_LAST_INSTALLMENT = BigDecimal.valueOf(50);
+
+    @Param({ "12", "120", "360" })
+    public int numberOfRepayments;
+
+    @Param({ "DECLINING_BALANCE", "FLAT" })
+    public InterestMethod interestMethod;
+
+    @Param({ "false", "true" })
+    public boolean interestRecalculation;
+
+    private final MathContext mc = new MathContext(19, RoundingMode.HALF_EVEN);
+    private final Set<LoanCharge> loanCharges = new HashSet<>();
+    private LoanScheduleGenerator generator;
+    private HolidayDetailDTO holidayDetails;
+    private ApplicationCurrency currency;
+    private MonetaryCurrency monetaryCurrency;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.initialisePlatform();
+        this.currency = BenchmarkFixtures.currency("USD", 2, null);
+        this.holidayDetails = BenchmarkFixtures.holidayDetails();
+        this.monetaryCurrency = MonetaryCurrency.fromApplicationCurrency(this.currency);
+        this.generator = this.interestMethod.isDecliningBalnce() ? new DecliningBalanceInterestLoanScheduleGenerator()
+                : new FlatInterestLoanScheduleGenerator();
+    }
+
+    @Benchmark
+    public LoanScheduleModel generate() {
+        // the terms accumulate state while a schedule is generated, so every invocation needs its own copy
+        return this.generator.generate(this.mc, loanApplicationTerms(), this.loanCharges, this.holidayDetails);
+    }
+
+    private LoanApplicationTerms loanApplicationTerms() {
+        final LocalDate disbursementDate = LocalDate.of(2020, 1, 15);
+        final BigDecimal monthlyRate = ANNUAL_INTEREST_RATE.divide(BigDecimal.valueOf(12), this.mc);
+        return LoanApplicationTerms.assembleFrom(this.currency, this.numberOfRepayments, PeriodFrequencyType.MONTHS,
+                this.numberOfRepayments, 1, PeriodFrequencyType.MONTHS, null, null, AmortizationMethod.EQUAL_INSTALLMENTS,
+                this.interestMethod, monthlyRate, PeriodFrequencyType.MONTHS, ANNUAL_INTEREST_RATE,
+                InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD, false, Money.of(this.monetaryCurrency, PRINCIPAL),
+                disbursementDate, null, null, null, null, null, null, null, Money.zero(this.monetaryCurrency), false, null,
+                new ArrayList<>(), null, null, DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL, this.interestRecalculation,
+                RecalculationFrequencyType.SAME_AS_REPAYMENT_PERIOD, null, InterestRecalculationCompoundingMethod.NONE, null, null,
+                PRINCIPAL_THRESHOLD_FOR_LAST_INSTALLMENT, null, LoanPreClosureInterestCalculationStrategy.TILL_PRE_CLOSURE_DATE, null,
+                PRINCIPAL, new ArrayList<>(), false, null, false, this.holidayDetails, false, false);
+    }
+}
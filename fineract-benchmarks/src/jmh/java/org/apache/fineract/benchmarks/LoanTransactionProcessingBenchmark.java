@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Replay of the repayment history of a synthetic loan over its schedule, which is what every backdated transaction,
+ * adjustment or reversal triggers. The loan is repaid on time, in one or more transactions per installment.
+ */
+@State(Scope.Thread)
+public class LoanTransactionProcessingBenchmark {
+
+    private static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100_000);
+    private static final BigDecimal MONTHLY_INTEREST_RATE = new BigDecimal("0.015");
+
+    @Param({ "12", "120", "360" })
+    public int numberOfRepayments;
+
+    @Param({ "1", "4" })
+    public int transactionsPerInstallment;
+
+    private final LoanRepaymentScheduleTransactionProcessor processor = new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+    private final Set<LoanCharge> charges = new HashSet<>();
+    private final LocalDate disbursementDate = LocalDate.of(2020, 1, 15);
+    private MonetaryCurrency currency;
+    private List<LoanRepaymentScheduleInstallment> installments;
+    private LocalDate[] transactionDates;
+    private Money[] transactionAmounts;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.initialisePlatform();
+        this.currency = new MonetaryCurrency("USD", 2, null);
+        this.installments = new ArrayList<>(this.numberOfRepayments);
+
+        final BigDecimal principalPerInstallment = PRINCIPAL.divide(BigDecimal.valueOf(this.numberOfRepayments), 2, RoundingMode.DOWN);
+        final int transactionCount = this.numberOfRepayments * this.transactionsPerInstallment;
+        this.transactionDates = new LocalDate[transactionCount];
+        this.transactionAmounts = new Money[transactionCount];
+
+        BigDecimal outstanding = PRINCIPAL;
+        LocalDate fromDate = this.disbursementDate;
+        for (int period = 1; period <= this.numberOfRepayments; period++) {
+            final LocalDate dueDate = this.disbursementDate.plusMonths(period);
+            final BigDecimal principal = period == this.numberOfRepayments ? outstanding : principalPerInstallment;
+            final BigDecimal interest = outstanding.multiply(MONTHLY_INTEREST_RATE).setScale(2, RoundingMode.HALF_EVEN);
+            this.installments.add(new LoanRepaymentScheduleInstallment(null, period, fromDate, dueDate, principal, interest,
+                    BigDecimal.ZERO, BigDecimal.ZERO, false, null));
+
+            // split the installment due into equal parts, with the remainder going into the last one
+            final BigDecimal due = principal.add(interest);
+            final BigDecimal part = due.divide(BigDecimal.valueOf(this.transactionsPerInstallment), 2, RoundingMode.DOWN);
+            for (int i = 0; i < this.transactionsPerInstallment; i++) {
+                final int index = (period - 1) * this.transactionsPerInstallment + i;
+                final BigDecimal amount = i == this.transactionsPerInstallment - 1
+                        ? due.subtract(part.multiply(BigDecimal.valueOf(this.transactionsPerInstallment - 1L)))
+                        : part;
+                this.transactionDates[index] = dueDate.minusDays(this.transactionsPerInstallment - 1L - i);
+                this.transactionAmounts[index] = Money.of(this.currency, amount);
+            }
+
+            outstanding = outstanding.subtract(principal);
+            fromDate = dueDate;
+        }
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail replayRepayments() {
+        // transactions carry the derived portions of the previous replay, so they are rebuilt on every invocation
+        final List<LoanTransaction> transactions = new ArrayList<>(this.transactionDates.length);
+        final LocalDateTime createdDate = LocalDateTime.now();
+        for (int i = 0; i < this.transactionDates.length; i++) {
+            transactions.add(LoanTransaction.repayment(null, this.transactionAmounts[i], null, this.transactionDates[i], null, createdDate,
+                    null));
+        }
+        return this.processor.handleTransaction(this.disbursementDate, transactions, this.currency, this.installments, this.charges);
+    }
+}
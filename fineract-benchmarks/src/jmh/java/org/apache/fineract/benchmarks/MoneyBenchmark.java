@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Summing installment amounts the way the loan summary and schedule code does, once by chaining immutable {@link Money}
+ * values and once through a {@link MoneyAccumulator}.
+ */
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    @Param({ "12", "120", "360" })
+    public int installments;
+
+    @Param({ "USD", "XOF" })
+    public String currencyCode;
+
+    private Money[] amounts;
+    private MonetaryCurrency currency;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.initialisePlatform();
+        this.currency = "XOF".equals(this.currencyCode) ? new MonetaryCurrency("XOF", 0, 50) : new MonetaryCurrency("USD", 2, null);
+        final Random random = new Random(42);
+        this.amounts = new Money[this.installments];
+        for (int i = 0; i < this.installments; i++) {
+            this.amounts[i] = Money.of(this.currency, BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+        }
+    }
+
+    @Benchmark
+    public Money chainedMoney() {
+        Money total = Money.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money accumulator() {
+        final MoneyAccumulator total = MoneyAccumulator.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            total.plus(amount);
+        }
+        return total.toMoney();
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.savings.SavingsCompoundingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationType;
+import org.apache.fineract.portfolio.savings.SavingsPostingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.domain.SavingsHelper;
+import org.apache.fineract.portfolio.savings.domain.interest.PostingPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Interest calculation for a synthetic savings account over two years of monthly posting periods, following the steps
+ * of {@code SavingsAccount.calculateInterestUsing} once the daily balances of the transactions are known.
+ */
+@State(Scope.Thread)
+public class SavingsInterestCalculationBenchmark {
+
+    private static final LocalDate ACTIVATION_DATE = LocalDate.of(2019, 1, 1);
+    private static final LocalDate INTEREST_POSTING_UP_TO_DATE = LocalDate.of(2020, 12, 31);
+    private static final long DAYS_IN_YEAR = 365L;
+
+    @Param({ "24", "365", "3650" })
+    public int transactionCount;
+
+    @Param({ "DAILY", "MONTHLY" })
+    public SavingsCompoundingInterestPeriodType compoundingPeriodType;
+
+    @Param({ "DAILY_BALANCE", "AVERAGE_DAILY_BALANCE" })
+    public SavingsInterestCalculationType interestCalculationType;
+
+    private final SavingsHelper savingsHelper = new SavingsHelper(null);
+    private final Collection<Long> interestPostTransactions = new ArrayList<>();
+    private MonetaryCurrency currency;
+    private BigDecimal interestRateAsFraction;
+    private List<SavingsAccountTransaction> transactions;
+    private List<LocalDateInterval> postingPeriodIntervals;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.initialisePlatform();
+        this.currency = new MonetaryCurrency("USD", 2, null);
+        this.interestRateAsFraction = BigDecimal.valueOf(6).divide(BigDecimal.valueOf(100L), new MathContext(19, RoundingMode.HALF_EVEN));
+        this.postingPeriodIntervals = this.savingsHelper.determineInterestPostingPeriods(ACTIVATION_DATE, INTEREST_POSTING_UP_TO_DATE,
+                SavingsPostingInterestPeriodType.MONTHLY, 1, new ArrayList<>());
+
+        // spread the transactions evenly over the account history, every third one being a smaller withdrawal
+        final long days = ChronoUnit.DAYS.between(ACTIVATION_DATE, INTEREST_POSTING_UP_TO_DATE);
+        final Date createdDate = new Date();
+        this.transactions = new ArrayList<>(this.transactionCount);
+        for (int i = 0; i < this.transactionCount; i++) {
+            final LocalDate transactionDate = ACTIVATION_DATE.plusDays(i * days / this.transactionCount);
+            if (i % 3 == 2) {
+                this.transactions.add(SavingsAccountTransaction.withdrawal(null, null, null, transactionDate,
+                        Money.of(this.currency, BigDecimal.valueOf(40)), createdDate, null));
+            } else {
+                this.transactions.add(SavingsAccountTransaction.deposit(null, null, null, transactionDate,
+                        Money.of(this.currency, BigDecimal.valueOf(100)), createdDate, null));
+            }
+        }
+
+        // the equivalent of SavingsAccount.recalculateDailyBalances
+        Money runningBalance = Money.zero(this.currency);
+        for (int i = 0; i < this.transactionCount; i++) {
+            final SavingsAccountTransaction transaction = this.transactions.get(i);
+            final Money amount = transaction.getAmount(this.currency);
+            runningBalance = transaction.isDeposit() ? runningBalance.plus(amount) : runningBalance.minus(amount);
+            transaction.updateRunningBalance(runningBalance);
+        }
+        for (int i = 0; i < this.transactionCount; i++) {
+            final LocalDate endOfBalanceDate = i + 1 < this.transactionCount
+                    ? this.transactions.get(i + 1).getTransactionLocalDate().minusDays(1)
+                    : INTEREST_POSTING_UP_TO_DATE;
+            this.transactions.get(i).updateCumulativeBalanceAndDates(this.currency, endOfBalanceDate);
+        }
+    }
+
+    @Benchmark
+    public Money calculateInterest() {
+        final List<PostingPeriod> allPostingPeriods = new ArrayList<>(this.postingPeriodIntervals.size());
+        Money periodStartingBalance = Money.zero(this.currency);
+        for (final LocalDateInterval periodInterval : this.postingPeriodIntervals) {
+            final PostingPeriod postingPeriod = PostingPeriod.createFrom(periodInterval, periodStartingBalance, this.transactions,
+                    this.currency, this.compoundingPeriodType, this.interestCalculationType, this.interestRateAsFraction, DAYS_IN_YEAR,
+                    INTEREST_POSTING_UP_TO_DATE, this.interestPostTransactions, false, Money.zero(this.currency), false, false, 1);
+            periodStartingBalance = postingPeriod.closingBalance();
+            allPostingPeriods.add(postingPeriod);
+        }
+        return this.savingsHelper.calculateInterestForAllPostingPeriods(this.currency, allPostingPeriods, null, false);
+    }
+}
@@ -26,77 +26,98 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+/**
+ * Recalculates the running balances of all journal entries from the earliest entry date that has an uncalculated
+ * entry.<br>
+ * <br>
+ * The balances are seeded with the last entry of every account (and office) before that date, and the later entries
+ * are then walked in (entry date, id) order in keyset pages of <code>batch-size</code> entries. Only the balance per
+ * account and per office/account is kept in memory, and every page is written back with one parameterized batch update,
+ * so time and memory grow with the number of entries and accounts, not with the size of a single query.
+ */
 @Service
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
     private static final Logger LOG = LoggerFactory.getLogger(JournalEntryRunningBalanceUpdateServiceImpl.class);
 
-    private final JdbcTemplate jdbcTemplate;
+    private static final int DEFAULT_BATCH_SIZE = 10000;
 
-    private final OfficeRepositoryWrapper officeRepositoryWrapper;
+    // last entry of every account before the given date
+    private static final String ORGANIZATION_RUNNING_BALANCE_SQL = "select je.account_id as accountId, "
+            + "je.organization_running_balance as runningBalance from acc_gl_journal_entry je "
+            + "inner join (select jel.account_id, max(jel.id) as id from acc_gl_journal_entry jel "
+            + "inner join (select account_id, max(entry_date) as entry_date from acc_gl_journal_entry where entry_date < ? "
+            + "group by account_id) lastDate on lastDate.account_id = jel.account_id and lastDate.entry_date = jel.entry_date "
+            + "group by jel.account_id) lastEntry on lastEntry.id = je.id";
 
-    private final JournalEntryDataValidator dataValidator;
+    // last entry of every account of every office before the given date
+    private static final String OFFICES_RUNNING_BALANCE_SQL = "select je.office_id as officeId, je.account_id as accountId, "
+            + "je.office_running_balance as runningBalance from acc_gl_journal_entry je "
+            + "inner join (select jel.office_id, jel.account_id, max(jel.id) as id from acc_gl_journal_entry jel "
+            + "inner join (select office_id, account_id, max(entry_date) as entry_date from acc_gl_journal_entry where entry_date < ? "
+            + "group by office_id, account_id) lastDate on lastDate.office_id = jel.office_id "
+            + "and lastDate.account_id = jel.account_id and lastDate.entry_date = jel.entry_date "
+            + "group by jel.office_id, jel.account_id) lastEntry on lastEntry.id = je.id";
 
-    private final FromJsonHelper fromApiJsonHelper;
+    // last entry of every account of one office before the given date
+    private static final String OFFICE_RUNNING_BALANCE_SQL = "select je.office_id as officeId, je.account_id as accountId, "
+            + "je.office_running_balance as runningBalance from acc_gl_journal_entry je "
+            + "inner join (select jel.account_id, max(jel.id) as id from acc_gl_journal_entry jel "
+            + "inner join (select account_id, max(entry_date) as entry_date from acc_gl_journal_entry "
+            + "where office_id = ? and entry_date < ? group by account_id) lastDate "
+            + "on lastDate.account_id = jel.account_id and lastDate.entry_date = jel.entry_date "
+            + "where jel.office_id = ? group by jel.account_id) lastEntry on lastEntry.id = je.id";
 
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
+    private static final String UPDATE_ORGANIZATION_RUNNING_BALANCE_SQL = "UPDATE acc_gl_journal_entry "
+            + "SET is_running_balance_calculated=1, organization_running_balance=?, office_running_balance=? WHERE id=?";
 
-    // if a limit is not added to the running balance select statements below
-    // and the resultset is more than 400,000,
-    // the script will eat up all of the server memory
-    private final String selectRunningBalanceSqlLimit = "limit 0, 10000";
+    private static final String UPDATE_OFFICE_RUNNING_BALANCE_SQL = "UPDATE acc_gl_journal_entry SET office_running_balance=? WHERE id=?";
 
-    private final String officeRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC "
-            + selectRunningBalanceSqlLimit;
+    private static final RunningBalanceEntryMapper ENTRY_MAPPER = new RunningBalanceEntryMapper();
 
-    private final String organizationRunningBalanceSql = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC "
-            + selectRunningBalanceSqlLimit;
+    private final JdbcTemplate jdbcTemplate;
 
-    private final String officesRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-            + "from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC "
-            + selectRunningBalanceSqlLimit;
+    private final OfficeRepositoryWrapper officeRepositoryWrapper;
+
+    private final JournalEntryDataValidator dataValidator;
+
+    private final FromJsonHelper fromApiJsonHelper;
+
+    private final JobParameterRepository jobParameterRepository;
 
     @Autowired
     public JournalEntryRunningBalanceUpdateServiceImpl(final RoutingDataSource dataSource,
             final OfficeRepositoryWrapper officeRepositoryWrapper, final JournalEntryDataValidator dataValidator,
-            final FromJsonHelper fromApiJsonHelper) {
+            final FromJsonHelper fromApiJsonHelper, final JobParameterRepository jobParameterRepository) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.officeRepositoryWrapper = officeRepositoryWrapper;
         this.dataValidator = dataValidator;
         this.fromApiJsonHelper = fromApiJsonHelper;
+        this.jobParameterRepository = jobParameterRepository;
     }
 
     @Override
@@ -106,7 +127,7 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 + "where je.is_running_balance_calculated=0 ";
         try {
             Date entityDate = this.jdbcTemplate.queryForObject(dateFinder, Date.class);
-            updateOrganizationRunningBalance(entityDate);
+            updateRunningBalances(null, entityDate);
         } catch (EmptyResultDataAccessException e) {
             LOG.debug("No results found for updation of running balance ");
         }
@@ -127,7 +148,7 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                     + "where je.is_running_balance_calculated=0  and je.office_id=?";
             try {
                 Date entityDate = this.jdbcTemplate.queryForObject(dateFinder, Date.class, officeId);
-                updateRunningBalance(officeId, entityDate);
+                updateRunningBalances(officeId, entityDate);
             } catch (EmptyResultDataAccessException e) {
                 LOG.debug("No results found for updation of office running balance with office id: {}", officeId);
             }
@@ -136,176 +157,167 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+    /**
+     * Recalculates the office running balances of the given office, or if no office is given the organization and
+     * office running balances of all entries and marks them as calculated.
+     */
+    private void updateRunningBalances(final Long officeId, final Date entityDate) {
+        if (entityDate == null) {
+            return;
         }
+        final boolean organizationRunningBalance = officeId == null;
+        final int batchSize = retrieveBatchSize();
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(officesRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance = null;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
-            }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+        final Map<Long, BigDecimal> runningBalances = new HashMap<>();
+        if (organizationRunningBalance) {
+            this.jdbcTemplate.query(ORGANIZATION_RUNNING_BALANCE_SQL, (RowCallbackHandler) rs -> runningBalances
+                    .put(JdbcSupport.getLong(rs, "accountId"), rs.getBigDecimal("runningBalance")), entityDate);
+        }
+        final Map<Long, Map<Long, BigDecimal>> officesRunningBalances = new HashMap<>();
+        final RowCallbackHandler officeRunningBalanceHandler = rs -> officesRunningBalances
+                .computeIfAbsent(JdbcSupport.getLong(rs, "officeId"), id -> new HashMap<>())
+                .put(JdbcSupport.getLong(rs, "accountId"), rs.getBigDecimal("runningBalance"));
+        if (organizationRunningBalance) {
+            this.jdbcTemplate.query(OFFICES_RUNNING_BALANCE_SQL, officeRunningBalanceHandler, entityDate);
+        } else {
+            this.jdbcTemplate.query(OFFICE_RUNNING_BALANCE_SQL, officeRunningBalanceHandler, officeId, entityDate, officeId);
         }
 
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper,
-                new Object[] { entityDate });
-        if (entryDatas.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final Integer batchUpdateSize = 1000;
-            ArrayList<String> updateSql = new ArrayList<>();
-            int batchIndex = 0;
-            for (int index = 0; index < entryDatas.size(); index++) {
-                JournalEntryData entryData = entryDatas.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap = null;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
+        final String pageSql = organizationRunningBalance ? ENTRY_MAPPER.organizationRunningBalanceSchema()
+                : ENTRY_MAPPER.officeRunningBalanceSchema();
+        Date lastEntryDate = entityDate;
+        long lastEntryId = 0L;
+        long updatedEntries = 0L;
+        List<RunningBalanceEntry> entries;
+        do {
+            entries = organizationRunningBalance
+                    ? this.jdbcTemplate.query(pageSql, ENTRY_MAPPER, entityDate, lastEntryDate, lastEntryDate, lastEntryId, batchSize)
+                    : this.jdbcTemplate.query(pageSql, ENTRY_MAPPER, officeId, entityDate, lastEntryDate, lastEntryDate, lastEntryId,
+                            batchSize);
+            if (entries.isEmpty()) {
+                break;
+            }
+
+            final List<Object[]> batchArgs = new ArrayList<>(entries.size());
+            for (final RunningBalanceEntry entry : entries) {
+                final BigDecimal officeRunningBalance = calculateRunningBalance(entry,
+                        officesRunningBalances.computeIfAbsent(entry.officeId, id -> new HashMap<>()));
+                if (organizationRunningBalance) {
+                    final BigDecimal runningBalance = calculateRunningBalance(entry, runningBalances);
+                    batchArgs.add(new Object[] { runningBalance, officeRunningBalance, entry.id });
                 } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
-                }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-                String sql = "UPDATE acc_gl_journal_entry je SET je.is_running_balance_calculated=1, je.organization_running_balance="
-                        + runningBalance + ",je.office_running_balance=" + officeRunningBalance + " WHERE  je.id=" + entryData.getId();
-                updateSql.add(sql);
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDatas.size() - 1) {
-                    // run a batch update of the 1000 update SQL statements
-                    String[] batch = new String[updateSql.size()];
-                    updateSql.toArray(batch);
-                    this.jdbcTemplate.batchUpdate(batch);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    updateSql.clear();
+                    batchArgs.add(new Object[] { officeRunningBalance, entry.id });
                 }
             }
-        }
+            this.jdbcTemplate.batchUpdate(organizationRunningBalance ? UPDATE_ORGANIZATION_RUNNING_BALANCE_SQL
+                    : UPDATE_OFFICE_RUNNING_BALANCE_SQL, batchArgs);
+            updatedEntries += entries.size();
 
-    }
+            final RunningBalanceEntry lastEntry = entries.get(entries.size() - 1);
+            lastEntryDate = lastEntry.entryDate;
+            lastEntryId = lastEntry.id;
+        } while (entries.size() == batchSize);
 
-    private void updateRunningBalance(Long officeId, Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
+        LOG.info("Running balances updated for {} journal entries from {}{}", updatedEntries, entityDate,
+                organizationRunningBalance ? "" : " of office " + officeId);
+    }
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(officeRunningBalanceSql, officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper,
-                new Object[] { officeId, entityDate });
-        String[] updateSql = new String[entryDatas.size()];
-        int i = 0;
-        for (JournalEntryData entryData : entryDatas) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            String sql = "UPDATE acc_gl_journal_entry je SET je.office_running_balance=" + runningBalance + " WHERE  je.id="
-                    + entryData.getId();
-            updateSql[i++] = sql;
-        }
-        this.jdbcTemplate.batchUpdate(updateSql);
+    private int retrieveBatchSize() {
+        return JobParameters
+                .of(this.jobParameterRepository.findJobParametersByJobName(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE.toString()))
+                .getPositiveInt(JobParameters.BATCH_SIZE, DEFAULT_BATCH_SIZE);
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
-        }
-        GLAccountType accounttype = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
+    private BigDecimal calculateRunningBalance(final RunningBalanceEntry entry, final Map<Long, BigDecimal> runningBalanceMap) {
+        BigDecimal runningBalance = runningBalanceMap.getOrDefault(entry.glAccountId, BigDecimal.ZERO);
         boolean isIncrease = false;
-        switch (accounttype) {
+        switch (entry.accountType) {
             case ASSET:
-                if (entryType.isDebitType()) {
+                if (entry.entryType.isDebitType()) {
                     isIncrease = true;
                 }
             break;
             case EQUITY:
-                if (entryType.isCreditType()) {
+                if (entry.entryType.isCreditType()) {
                     isIncrease = true;
                 }
             break;
             case EXPENSE:
-                if (entryType.isDebitType()) {
+                if (entry.entryType.isDebitType()) {
                     isIncrease = true;
                 }
             break;
             case INCOME:
-                if (entryType.isCreditType()) {
+                if (entry.entryType.isCreditType()) {
                     isIncrease = true;
                 }
             break;
             case LIABILITY:
-                if (entryType.isCreditType()) {
+                if (entry.entryType.isCreditType()) {
                     isIncrease = true;
                 }
             break;
         }
         if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
+            runningBalance = runningBalance.add(entry.amount);
         } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
+            runningBalance = runningBalance.subtract(entry.amount);
         }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
+        runningBalanceMap.put(entry.glAccountId, runningBalance);
         return runningBalance;
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
+    private static final class RunningBalanceEntry {
+
+        private final Long id;
+        private final Long officeId;
+        private final Long glAccountId;
+        private final GLAccountType accountType;
+        private final JournalEntryType entryType;
+        private final BigDecimal amount;
+        private final Date entryDate;
+
+        RunningBalanceEntry(final Long id, final Long officeId, final Long glAccountId, final GLAccountType accountType,
+                final JournalEntryType entryType, final BigDecimal amount, final Date entryDate) {
+            this.id = id;
+            this.officeId = officeId;
+            this.glAccountId = glAccountId;
+            this.accountType = accountType;
+            this.entryType = entryType;
+            this.amount = amount;
+            this.entryDate = entryDate;
+        }
+    }
+
+    private static final class RunningBalanceEntryMapper implements RowMapper<RunningBalanceEntry> {
+
+        private static final String SELECT = "select je.id as id, je.account_id as glAccountId, je.type_enum as entryType, "
+                + "je.amount as amount, glAccount.classification_enum as classification, je.office_id as officeId, "
+                + "je.entry_date as entryDate from acc_gl_journal_entry je "
+                + "inner join acc_gl_account glAccount on je.account_id = glAccount.id ";
+
+        // keyset page after the last (entry_date, id)
+        private static final String PAGE = "and je.entry_date >= ? and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) "
+                + "order by je.entry_date, je.id limit ?";
 
         public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
+            return SELECT + "where je.office_id = ? " + PAGE;
         }
 
         public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+            return SELECT + "where 1 = 1 " + PAGE;
         }
 
         @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-
+        public RunningBalanceEntry mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
             final Long id = rs.getLong("id");
             final Long glAccountId = rs.getLong("glAccountId");
             final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
+            final GLAccountType accountType = GLAccountType.fromInt(JdbcSupport.getInteger(rs, "classification"));
+            final JournalEntryType entryType = JournalEntryType.fromInt(JdbcSupport.getInteger(rs, "entryType"));
             final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
-
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null);
+            final Date entryDate = rs.getDate("entryDate");
+            return new RunningBalanceEntry(id, officeId, glAccountId, accountType, entryType, amount, entryDate);
         }
     }
 
@@ -100,6 +100,7 @@ public class BatchApiResource {
      *
      * @param jsonRequestString
      * @param enclosingTransaction
+     * @param parallel
      * @param uriInfo
      * @return serialized JSON
      */
@@ -114,6 +115,7 @@ public class BatchApiResource {
             @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = BatchResponse.class))) })
     public String handleBatchRequests(
             @DefaultValue("false") @QueryParam("enclosingTransaction") @Parameter(description = "enclosingTransaction", required = false) final boolean enclosingTransaction,
+            @DefaultValue("false") @QueryParam("parallel") @Parameter(description = "process independent requests concurrently, ignored with enclosingTransaction", required = false) final boolean parallel,
             @Parameter(hidden = true) final String jsonRequestString, @Context UriInfo uriInfo) {
 
         // Handles user authentication
@@ -130,7 +132,7 @@ public class BatchApiResource {
         if (enclosingTransaction) {
             result = service.handleBatchRequestsWithEnclosingTransaction(requestList, uriInfo);
         } else {
-            result = service.handleBatchRequestsWithoutEnclosingTransaction(requestList, uriInfo);
+            result = service.handleBatchRequestsWithoutEnclosingTransaction(requestList, uriInfo, parallel);
         }
 
         return this.toApiJsonSerializer.serialize(result);
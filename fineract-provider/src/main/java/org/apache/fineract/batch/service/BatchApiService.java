@@ -45,6 +45,19 @@ public interface BatchApiService {
      */
     List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
 
+    /**
+     * Same as {@link #handleBatchRequestsWithoutEnclosingTransaction(List, UriInfo)}, but if parallel is set the root
+     * requests that do not depend on each other are processed concurrently, each together with its dependent requests.
+     * The responses are still ordered by request id. It will be used when the Query Parameter "parallel" is set to
+     * 'true'.
+     *
+     * @param requestList
+     * @param uriInfo
+     * @param parallel
+     * @return List&lt;BatchResponse&gt;
+     */
+    List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo, boolean parallel);
+
     /**
      * returns a list of {@link org.apache.fineract.batch.domain.BatchResponse}s by getting the appropriate
      * CommandStrategy for every {@link org.apache.fineract.batch.domain.BatchRequest}. It will be used when the Query
@@ -18,11 +18,17 @@
  */
 package org.apache.fineract.batch.service;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -35,8 +41,12 @@ import org.apache.fineract.batch.exception.ClientDetailsNotFoundException;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
@@ -60,6 +70,15 @@ public class BatchApiServiceImpl implements BatchApiService {
     private final ResolutionHelper resolutionHelper;
     private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Upper bound of root request trees of all parallel batches that are processed at the same time, every one of them
+     * holds a database connection while running.
+     */
+    private final int parallelBatchThreads = Math.max(1,
+            Integer.getInteger("fineract.batch.parallel.threads", Math.max(2, Runtime.getRuntime().availableProcessors())));
+    private final ExecutorService parallelBatchExecutor = Executors.newFixedThreadPool(this.parallelBatchThreads,
+            new ThreadFactoryBuilder().setNameFormat("batch-api-%d").setDaemon(true).build());
+
     /**
      * Constructs a 'BatchApiServiceImpl' with an argument of
      * {@link org.apache.fineract.batch.command.CommandStrategyProvider} type.
@@ -82,9 +101,11 @@ public class BatchApiServiceImpl implements BatchApiService {
      *
      * @param requestList
      * @param uriInfo
+     * @param parallel
+     *            if true, the independent root requests and their children are processed concurrently
      * @return {@code List<BatchResponse>}
      */
-    private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+    private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo, final boolean parallel) {
 
         final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
 
@@ -97,14 +118,12 @@ public class BatchApiServiceImpl implements BatchApiService {
             responseList.add(response);
             return responseList;
         }
-        for (BatchRequestNode rootNode : batchRequestNodes) {
-            final BatchRequest rootRequest = rootNode.getRequest();
-            final CommandStrategy commandStrategy = this.strategyProvider
-                    .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
-            final BatchResponse rootResponse = commandStrategy.execute(rootRequest, uriInfo);
-
-            responseList.add(rootResponse);
-            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        if (parallel && batchRequestNodes.size() > 1) {
+            responseList.addAll(this.processRootRequestsInParallel(batchRequestNodes, uriInfo));
+        } else {
+            for (BatchRequestNode rootNode : batchRequestNodes) {
+                responseList.addAll(this.processRootRequest(rootNode, uriInfo));
+            }
         }
 
         Collections.sort(responseList, new Comparator<BatchResponse>() {
@@ -119,6 +138,72 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     }
 
+    private List<BatchResponse> processRootRequest(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+        final List<BatchResponse> responseList = new ArrayList<>();
+
+        final BatchRequest rootRequest = rootNode.getRequest();
+        final CommandStrategy commandStrategy = this.strategyProvider
+                .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
+        final BatchResponse rootResponse = commandStrategy.execute(rootRequest, uriInfo);
+
+        responseList.add(rootResponse);
+        responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        return responseList;
+    }
+
+    /**
+     * Processes every root request tree on the parallel batch executor. The root trees do not depend on each other, so
+     * each one runs in its own transactions with the tenant and the security context of the calling thread. A tree
+     * whose root request fails returns an error for the root and a conflict for every child.
+     */
+    private List<BatchResponse> processRootRequestsInParallel(final List<BatchRequestNode> rootNodes, final UriInfo uriInfo) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final String authToken = ThreadLocalContextUtil.getAuthToken();
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        final List<Future<List<BatchResponse>>> futures = new ArrayList<>(rootNodes.size());
+        for (final BatchRequestNode rootNode : rootNodes) {
+            futures.add(this.parallelBatchExecutor.submit(() -> {
+                ThreadLocalContextUtil.setTenant(tenant);
+                ThreadLocalContextUtil.setAuthToken(authToken);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                try {
+                    return this.processRootRequest(rootNode, uriInfo);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.setAuthToken(null);
+                    ThreadLocalContextUtil.clearTenant();
+                }
+            }));
+        }
+
+        final List<BatchResponse> responseList = new ArrayList<>();
+        for (int i = 0; i < rootNodes.size(); i++) {
+            try {
+                responseList.addAll(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                responseList.addAll(this.failedRootRequestResponses(rootNodes.get(i), e, uriInfo));
+            } catch (ExecutionException e) {
+                responseList.addAll(this.failedRootRequestResponses(rootNodes.get(i), e.getCause(), uriInfo));
+            }
+        }
+        return responseList;
+    }
+
+    private List<BatchResponse> failedRootRequestResponses(final BatchRequestNode rootNode, final Throwable cause, final UriInfo uriInfo) {
+        final List<BatchResponse> responseList = new ArrayList<>();
+
+        final BatchResponse rootResponse = new BatchResponse();
+        rootResponse.setRequestId(rootNode.getRequest().getRequestId());
+        rootResponse.setStatusCode(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+        rootResponse.setBody(cause.getMessage());
+
+        responseList.add(rootResponse);
+        responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        return responseList;
+    }
+
     private List<BatchResponse> processChildRequests(final BatchRequestNode rootRequest, BatchResponse rootResponse, UriInfo uriInfo) {
 
         final List<BatchResponse> childResponses = new ArrayList<>();
@@ -170,7 +255,14 @@ public class BatchApiServiceImpl implements BatchApiService {
     @Override
     public List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(final List<BatchRequest> requestList, UriInfo uriInfo) {
 
-        return handleBatchRequests(requestList, uriInfo);
+        return handleBatchRequests(requestList, uriInfo, false);
+    }
+
+    @Override
+    public List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(final List<BatchRequest> requestList, final UriInfo uriInfo,
+            final boolean parallel) {
+
+        return handleBatchRequests(requestList, uriInfo, parallel);
     }
 
     @Override
@@ -182,7 +274,7 @@ public class BatchApiServiceImpl implements BatchApiService {
                 @Override
                 public List<BatchResponse> doInTransaction(TransactionStatus status) {
                     try {
-                        responseList.addAll(handleBatchRequests(requestList, uriInfo));
+                        responseList.addAll(handleBatchRequests(requestList, uriInfo, false));
                         return responseList;
                     } catch (RuntimeException ex) {
 
@@ -233,4 +325,9 @@ public class BatchApiServiceImpl implements BatchApiService {
             return errResponseList;
         }
     }
+
+    @PreDestroy
+    public void shutdown() {
+        this.parallelBatchExecutor.shutdownNow();
+    }
 }
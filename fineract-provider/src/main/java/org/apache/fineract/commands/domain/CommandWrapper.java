@@ -188,6 +188,14 @@ public class CommandWrapper {
         return this.actionName.equalsIgnoreCase("REGISTER") && this.href.startsWith("/datatables/") && this.entityId == null;
     }
 
+    /**
+     * Returns true if the handler of this command is chosen from its resource (href, ids) instead of its entity and
+     * action.
+     */
+    public boolean isDispatchedByResource() {
+        return isDatatableResource() || isNoteResource() || isSurveyResource() || isLoanDisburseDetailResource();
+    }
+
     public boolean isNoteResource() {
         boolean isnoteResource = false;
         if (this.entityName.equalsIgnoreCase("CLIENTNOTE") || this.entityName.equalsIgnoreCase("LOANNOTE")
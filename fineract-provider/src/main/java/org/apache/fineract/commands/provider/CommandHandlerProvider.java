@@ -19,15 +19,26 @@
 package org.apache.fineract.commands.provider;
 
 import com.google.common.base.Preconditions;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Scope;
@@ -37,7 +48,11 @@ import org.springframework.stereotype.Component;
  * {@link CommandHandlerProvider} provides {@link NewCommandSourceHandler}s for a given entity and action. <br>
  * <br>
  * A {@link NewCommandSourceHandler} can be registered and the annotation {@link CommandType} is used to determine the
- * entity and the action the handler is capable to process.
+ * entity and the action the handler is capable to process.<br>
+ * <br>
+ * Once all singletons are instantiated the handler beans are resolved into an immutable entity/action registry, so a
+ * lookup does not go through the {@link ApplicationContext} anymore. At the same time every command declared by the
+ * {@link CommandWrapperBuilder} is checked and the ones without a handler are reported.
  *
  * @author Markus Geiss
  * @version 1.0
@@ -47,12 +62,13 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Scope("singleton")
-public class CommandHandlerProvider implements ApplicationContextAware {
+public class CommandHandlerProvider implements ApplicationContextAware, SmartInitializingSingleton {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CommandHandlerProvider.class);
 
     private ApplicationContext applicationContext;
     private HashMap<String, String> registeredHandlers;
+    private volatile Map<String, Map<String, NewCommandSourceHandler>> handlerRegistry;
 
     CommandHandlerProvider() {
 
@@ -73,6 +89,16 @@ public class CommandHandlerProvider implements ApplicationContextAware {
         Preconditions.checkArgument(StringUtils.isNoneEmpty(entity), "An entity must be given!");
         Preconditions.checkArgument(StringUtils.isNoneEmpty(action), "An action must be given!");
 
+        final Map<String, Map<String, NewCommandSourceHandler>> registry = this.handlerRegistry;
+        if (registry != null) {
+            final Map<String, NewCommandSourceHandler> actionHandlers = registry.get(entity);
+            final NewCommandSourceHandler handler = actionHandlers == null ? null : actionHandlers.get(action);
+            if (handler == null) {
+                throw new UnsupportedCommandException(entity + "|" + action);
+            }
+            return handler;
+        }
+
         final String key = entity + "|" + action;
         if (!this.registeredHandlers.containsKey(key)) {
             throw new UnsupportedCommandException(key);
@@ -80,6 +106,83 @@ public class CommandHandlerProvider implements ApplicationContextAware {
         return (NewCommandSourceHandler) this.applicationContext.getBean(this.registeredHandlers.get(key));
     }
 
+    /**
+     * Returns true if a handler is registered for the given entity and action.
+     */
+    public boolean hasHandler(final String entity, final String action) {
+        return this.registeredHandlers.containsKey(entity + "|" + action);
+    }
+
+    /**
+     * Returns the entity|action keys of the commands declared by the {@link CommandWrapperBuilder} for which no handler
+     * is registered. Commands of resources dispatched outside this provider (see
+     * {@link CommandWrapper#isDispatchedByResource()}) are not included.
+     */
+    public Set<String> findCommandsWithoutHandler() {
+        final Set<String> unhandledCommands = new TreeSet<>();
+        for (final CommandWrapper wrapper : declaredCommands()) {
+            if (!wrapper.isDispatchedByResource() && !hasHandler(wrapper.entityName(), wrapper.actionName())) {
+                unhandledCommands.add(wrapper.entityName() + "|" + wrapper.actionName());
+            }
+        }
+        return unhandledCommands;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        final Map<String, Map<String, NewCommandSourceHandler>> registry = new HashMap<>();
+        for (final Map.Entry<String, String> registeredHandler : this.registeredHandlers.entrySet()) {
+            final String entity = StringUtils.substringBefore(registeredHandler.getKey(), "|");
+            final String action = StringUtils.substringAfter(registeredHandler.getKey(), "|");
+            final NewCommandSourceHandler handler = this.applicationContext.getBean(registeredHandler.getValue(),
+                    NewCommandSourceHandler.class);
+            registry.computeIfAbsent(entity, key -> new HashMap<>()).put(action, handler);
+        }
+        final Map<String, Map<String, NewCommandSourceHandler>> immutableRegistry = new HashMap<>();
+        registry.forEach((entity, actionHandlers) -> immutableRegistry.put(entity, Map.copyOf(actionHandlers)));
+        this.handlerRegistry = Map.copyOf(immutableRegistry);
+        LOGGER.info("Command handler registry initialized with {} handlers for {} entities", this.registeredHandlers.size(),
+                this.handlerRegistry.size());
+
+        final Set<String> unhandledCommands = findCommandsWithoutHandler();
+        if (!unhandledCommands.isEmpty()) {
+            LOGGER.warn("{} commands declared in CommandWrapperBuilder have no command handler: {}", unhandledCommands.size(),
+                    unhandledCommands);
+        }
+    }
+
+    /**
+     * Builds the command of every {@link CommandWrapperBuilder} method that sets up a command, passing default values
+     * for its arguments. Commands whose entity or action depend on the arguments are skipped.
+     */
+    private static List<CommandWrapper> declaredCommands() {
+        final List<CommandWrapper> commands = new ArrayList<>();
+        for (final Method method : CommandWrapperBuilder.class.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+                    || !CommandWrapperBuilder.class.equals(method.getReturnType())) {
+                continue;
+            }
+            final Object[] args = new Object[method.getParameterCount()];
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                args[i] = defaultValue(parameterTypes[i]);
+            }
+            try {
+                final CommandWrapper wrapper = ((CommandWrapperBuilder) method.invoke(new CommandWrapperBuilder(), args)).build();
+                if (wrapper.entityName() != null && wrapper.actionName() != null && wrapper.getHref() != null) {
+                    commands.add(wrapper);
+                }
+            } catch (final ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("Unable to build command from CommandWrapperBuilder.{}", method.getName(), e);
+            }
+        }
+        return commands;
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
     private void initializeHandlerRegistry() {
         if (this.registeredHandlers == null) {
             this.registeredHandlers = new HashMap<>();
@@ -43,6 +43,7 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.outbox.service.ExternalEventOutboxService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
@@ -51,6 +52,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class SynchronousCommandProcessingService implements CommandProcessingService {
@@ -63,13 +66,14 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private CommandSourceRepository commandSourceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final CommandHandlerProvider commandHandlerProvider;
+    private final ExternalEventOutboxService externalEventOutboxService;
 
     @Autowired
     public SynchronousCommandProcessingService(final PlatformSecurityContext context, final ApplicationContext applicationContext,
             final ToApiJsonSerializer<Map<String, Object>> toApiJsonSerializer,
             final ToApiJsonSerializer<CommandProcessingResult> toApiResultJsonSerializer,
             final CommandSourceRepository commandSourceRepository, final ConfigurationDomainService configurationDomainService,
-            final CommandHandlerProvider commandHandlerProvider) {
+            final CommandHandlerProvider commandHandlerProvider, final ExternalEventOutboxService externalEventOutboxService) {
         this.context = context;
         this.context = context;
         this.applicationContext = applicationContext;
@@ -79,6 +83,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         this.commandSourceRepository = commandSourceRepository;
         this.configurationDomainService = configurationDomainService;
         this.commandHandlerProvider = commandHandlerProvider;
+        this.externalEventOutboxService = externalEventOutboxService;
     }
 
     @Transactional
@@ -142,6 +147,12 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
         result.setRollbackTransaction(null);
 
+        if (this.externalEventOutboxService.isEnabled()) {
+            // in the transaction of the command source, a failure rolls the command back
+            this.externalEventOutboxService.append(commandSourceResult.getId(), wrapper.entityName(), wrapper.actionName(),
+                    externalEventPayload(wrapper, command, result, maker));
+        }
+
         publishEvent(wrapper.entityName(), wrapper.actionName(), command, result);
 
         return result;
@@ -159,6 +170,10 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     }
 
     private NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
+        if (!wrapper.isDispatchedByResource()) {
+            return this.commandHandlerProvider.getHandler(wrapper.entityName(), wrapper.actionName());
+        }
+
         NewCommandSourceHandler handler = null;
 
         if (wrapper.isDatatableResource()) {
@@ -209,8 +224,6 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             } else {
                 throw new UnsupportedCommandException(wrapper.commandName());
             }
-        } else {
-            handler = this.commandHandlerProvider.getHandler(wrapper.entityName(), wrapper.actionName());
         }
 
         return handler;
@@ -236,6 +249,31 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         publishEvent(wrapper.entityName(), wrapper.actionName(), command, ex);
     }
 
+    /**
+     * The payload of the outbox event of a successful command: unlike the hook event it is written for every command,
+     * whatever the shape of its request, as consumers rely on seeing each of them.
+     */
+    private String externalEventPayload(final CommandWrapper wrapper, final JsonCommand command, final CommandProcessingResult result,
+            final AppUser maker) {
+        final CommandProcessingResult resultCopy = CommandProcessingResult.fromCommandProcessingResult(result);
+        final Map<String, Object> payload = new HashMap<>();
+        payload.put("entityName", wrapper.entityName());
+        payload.put("actionName", wrapper.actionName());
+        payload.put("createdBy", maker.getId());
+        payload.put("createdByName", maker.getUsername());
+        payload.put("request", command.parsedJson());
+        payload.put("officeId", resultCopy.getOfficeId());
+        payload.put("clientId", resultCopy.getClientId());
+        resultCopy.setOfficeId(null);
+        payload.put("response", resultCopy);
+        payload.put("timestamp", Instant.now().toString());
+        return this.toApiResultJsonSerializer.serialize(payload);
+    }
+
+    /**
+     * Publishes the {@link HookEvent} of a command. The event of a successful command is published once the command
+     * committed.
+     */
     private void publishEvent(final String entityName, final String actionName, JsonCommand command, final Object result) {
         Gson gson = new Gson();
         try {
@@ -283,7 +321,17 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
                 final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, tenantIdentifier, appUser, authToken);
 
-                applicationContext.publishEvent(applicationEvent);
+                if (result instanceof CommandProcessingResult && TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                        @Override
+                        public void afterCommit() {
+                            SynchronousCommandProcessingService.this.applicationContext.publishEvent(applicationEvent);
+                        }
+                    });
+                } else {
+                    applicationContext.publishEvent(applicationEvent);
+                }
             }
         } catch (Exception e) {
             LOG.error("Error", e);
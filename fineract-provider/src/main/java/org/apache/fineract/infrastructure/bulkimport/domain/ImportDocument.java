@@ -106,6 +106,11 @@ public class ImportDocument extends AbstractPersistableCustom {
         this.failureCount = errorCount;
     }
 
+    public void updateProgress(final Integer successCount, final Integer errorCount) {
+        this.successCount = successCount;
+        this.failureCount = errorCount;
+    }
+
     public Document getDocument() {
         return this.document;
     }
@@ -18,10 +18,19 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.importhandler;
 
+import java.util.function.Consumer;
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.poi.ss.usermodel.Workbook;
 
 public interface ImportHandler {
 
     Count process(Workbook workbook, String locale, String dateFormat);
+
+    /**
+     * Imports the rows of the workbook like {@link #process(Workbook, String, String)}, reporting the counts of the rows
+     * imported so far to <code>progressListener</code> along the way, where supported.
+     */
+    default Count process(Workbook workbook, String locale, String dateFormat, Consumer<Count> progressListener) {
+        return process(workbook, locale, dateFormat);
+    }
 }
@@ -21,7 +21,11 @@ package org.apache.fineract.infrastructure.bulkimport.importhandler;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformException;
@@ -38,10 +42,15 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.SheetVisibility;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellReference;
 
 public final class ImportHandlerUtils {
 
+    // the addresses do not reference the sheets, which are dropped along
+    // with their workbook
+    private static final Map<Sheet, Map<String, CellAddress>> NAMED_CELLS_BY_SHEET = Collections.synchronizedMap(new WeakHashMap<>());
+
     private ImportHandlerUtils() {
 
     }
@@ -297,32 +306,28 @@ public final class ImportHandlerUtils {
     public static Long getIdByName(Sheet sheet, String name) {
         String sheetName = sheet.getSheetName();
         if (!sheetName.equals(TemplatePopulateImportConstants.PRODUCT_SHEET_NAME)) {
-            for (Row row : sheet) {
-                for (Cell cell : row) {
-                    if (name != null) {
-                        if (cell.getCellType() == CellType.STRING && cell.getRichStringCellValue().getString().trim().equals(name)) {
-                            if (sheetName.equals(TemplatePopulateImportConstants.OFFICE_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.GL_ACCOUNTS_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.SHARED_PRODUCTS_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.ROLES_SHEET_NAME)) {
-                                if (row.getCell(cell.getColumnIndex() - 1).getCellType() == CellType.NUMERIC) {
-                                    return ((Double) row.getCell(cell.getColumnIndex() - 1).getNumericCellValue()).longValue();
-                                }
-                                return 0L;
-                            } else if (sheetName.equals(TemplatePopulateImportConstants.CLIENT_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.CENTER_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.GROUP_SHEET_NAME)
-                                    || sheetName.equals(TemplatePopulateImportConstants.STAFF_SHEET_NAME)) {
-                                if (row.getCell(cell.getColumnIndex() + 1).getCellType() == CellType.NUMERIC) {
-                                    return ((Double) row.getCell(cell.getColumnIndex() + 1).getNumericCellValue()).longValue();
-                                }
-                            }
-                            return 0L;
+            if (name != null) {
+                final Cell cell = findCellByName(sheet, name);
+                if (cell != null) {
+                    final Row row = cell.getRow();
+                    if (sheetName.equals(TemplatePopulateImportConstants.OFFICE_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.GL_ACCOUNTS_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.SHARED_PRODUCTS_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.ROLES_SHEET_NAME)) {
+                        if (row.getCell(cell.getColumnIndex() - 1).getCellType() == CellType.NUMERIC) {
+                            return ((Double) row.getCell(cell.getColumnIndex() - 1).getNumericCellValue()).longValue();
                         }
-                    } else {
                         return 0L;
+                    } else if (sheetName.equals(TemplatePopulateImportConstants.CLIENT_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.CENTER_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.GROUP_SHEET_NAME)
+                            || sheetName.equals(TemplatePopulateImportConstants.STAFF_SHEET_NAME)) {
+                        if (row.getCell(cell.getColumnIndex() + 1).getCellType() == CellType.NUMERIC) {
+                            return ((Double) row.getCell(cell.getColumnIndex() + 1).getNumericCellValue()).longValue();
+                        }
                     }
+                    return 0L;
                 }
             }
         } else if (sheetName.equals(TemplatePopulateImportConstants.PRODUCT_SHEET_NAME)) {
@@ -343,21 +348,36 @@ public final class ImportHandlerUtils {
     }
 
     public static String getCodeByName(Sheet sheet, String name) {
-        String sheetName = sheet.getSheetName();
-        sheetName.equals(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME);
-        {
-            for (Row row : sheet) {
-                for (Cell cell : row) {
-                    if (name != null) {
-                        if (cell.getCellType() == CellType.STRING && cell.getRichStringCellValue().getString().trim().equals(name)) {
-                            return row.getCell(cell.getColumnIndex() - 1).getStringCellValue().toString();
+        if (name != null) {
+            final Cell cell = findCellByName(sheet, name);
+            if (cell != null) {
+                return cell.getRow().getCell(cell.getColumnIndex() - 1).getStringCellValue().toString();
+            }
+        }
+        return "";
+    }
 
-                        }
-                    }
+    /**
+     * Finds the first cell (by row, then by column) of the sheet holding the given name. The positions of the names are
+     * indexed on the first lookup of a sheet, as the lookup sheets (offices, clients, ...) would otherwise be scanned for
+     * every row imported, and are not changed by the import.
+     */
+    private static Cell findCellByName(final Sheet sheet, final String name) {
+        final Map<String, CellAddress> namedCells = NAMED_CELLS_BY_SHEET.computeIfAbsent(sheet, ImportHandlerUtils::indexNamedCells);
+        final CellAddress address = namedCells.get(name);
+        return address == null ? null : sheet.getRow(address.getRow()).getCell(address.getColumn());
+    }
+
+    private static Map<String, CellAddress> indexNamedCells(final Sheet sheet) {
+        final Map<String, CellAddress> namedCells = new HashMap<>();
+        for (Row row : sheet) {
+            for (Cell cell : row) {
+                if (cell.getCellType() == CellType.STRING) {
+                    namedCells.putIfAbsent(cell.getRichStringCellValue().getString().trim(), cell.getAddress());
                 }
             }
         }
-        return "";
+        return namedCells;
     }
 
     public static String getFrequencyId(String frequency) {
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Imports the rows of a sheet on <code>fineract.bulkimport.threads</code> threads (4 by default), in chunks of
+ * <code>fineract.bulkimport.chunkSize</code> rows (100 by default), on behalf of the tenant and user of the thread
+ * creating it.
+ *
+ * The rows of the same key (e.g. the client of a loan) are imported one after the other, in the order of the sheet, as
+ * their commands change the same entities. The results are handed back to the importing thread chunk by chunk, as the
+ * workbook must only be written by that thread.
+ */
+public final class ImportRowExecutor implements AutoCloseable {
+
+    private final int threads = Math.max(1, Integer.getInteger("fineract.bulkimport.threads", 4));
+    private final int chunkSize = Math.max(1, Integer.getInteger("fineract.bulkimport.chunkSize", 100));
+    private final FineractPlatformTenant tenant;
+    private final Authentication authentication;
+    private final ExecutorService executorService;
+
+    public ImportRowExecutor() {
+        this.tenant = ThreadLocalContextUtil.getTenant();
+        this.authentication = SecurityContextHolder.getContext().getAuthentication();
+        this.executorService = Executors.newFixedThreadPool(this.threads,
+                new ThreadFactoryBuilder().setNameFormat("bulk-import-" + this.tenant.getTenantIdentifier() + "-%d").build());
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Imports the rows <code>from</code> (inclusive) to <code>to</code> (exclusive), which should not be more than
+     * {@link #getChunkSize()}, and returns their results in the same order. <code>importRow</code> reports the failures
+     * of a row in its result, it should not throw.
+     */
+    public <R> List<R> importRows(final int from, final int to, final IntFunction<Object> keyOfRow, final IntFunction<R> importRow) {
+        final List<List<Integer>> rowsByStripe = new ArrayList<>();
+        for (int stripe = 0; stripe < this.threads; stripe++) {
+            rowsByStripe.add(new ArrayList<>());
+        }
+        for (int row = from; row < to; row++) {
+            rowsByStripe.get(Math.floorMod(Objects.hashCode(keyOfRow.apply(row)), this.threads)).add(row);
+        }
+
+        final Object[] results = new Object[to - from];
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final List<Integer> rows : rowsByStripe) {
+            if (!rows.isEmpty()) {
+                futures.add(this.executorService.submit(() -> importStripe(rows, from, importRow, results)));
+            }
+        }
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneralPlatformDomainRuleException("error.msg.bulkimport.interrupted", "The import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new GeneralPlatformDomainRuleException("error.msg.bulkimport.failed", "The import failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        }
+
+        @SuppressWarnings("unchecked")
+        final List<R> orderedResults = (List<R>) Arrays.asList(results);
+        return orderedResults;
+    }
+
+    private <R> void importStripe(final List<Integer> rows, final int from, final IntFunction<R> importRow, final Object[] results) {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        SecurityContextHolder.getContext().setAuthentication(this.authentication);
+        try {
+            for (final Integer row : rows) {
+                results[row - from] = importRow.apply(row);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+}
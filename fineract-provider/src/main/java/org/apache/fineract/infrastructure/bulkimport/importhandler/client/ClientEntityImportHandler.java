@@ -19,12 +19,14 @@
 package org.apache.fineract.infrastructure.bulkimport.importhandler.client;
 
 import com.google.common.base.Splitter;
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
@@ -33,8 +35,8 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportRowExecutor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
-import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.portfolio.address.data.AddressData;
 import org.apache.fineract.portfolio.client.data.ClientData;
 import org.apache.fineract.portfolio.client.data.ClientNonPersonData;
@@ -64,10 +66,15 @@ public class ClientEntityImportHandler implements ImportHandler {
 
     @Override
     public Count process(Workbook workbook, String locale, String dateFormat) {
+        return process(workbook, locale, dateFormat, count -> {});
+    }
+
+    @Override
+    public Count process(Workbook workbook, String locale, String dateFormat, Consumer<Count> progressListener) {
         this.workbook = workbook;
         this.clients = new ArrayList<>();
         readExcelFile(locale, dateFormat);
-        return importEntity(dateFormat);
+        return importEntity(dateFormat, progressListener);
     }
 
     public void readExcelFile(final String locale, final String dateFormat) {
@@ -192,32 +199,39 @@ public class ClientEntityImportHandler implements ImportHandler {
     }
 
     public Count importEntity(String dateFormat) {
-        Sheet clientSheet = workbook.getSheet(TemplatePopulateImportConstants.CLIENT_ENTITY_SHEET_NAME);
+        return importEntity(dateFormat, count -> {});
+    }
 
+    public Count importEntity(String dateFormat, Consumer<Count> progressListener) {
+        Sheet clientSheet = workbook.getSheet(TemplatePopulateImportConstants.CLIENT_ENTITY_SHEET_NAME);
         int successCount = 0;
         int errorCount = 0;
-        String errorMessage = "";
-
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
+        final Gson gson = gsonBuilder.create();
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            for (int from = 0; from < clients.size(); from += rowExecutor.getChunkSize()) {
+                final int to = Math.min(clients.size(), from + rowExecutor.getChunkSize());
+                // every row creates a client of its own, none has to wait for
+                // another
+                final List<String> errorMessages = rowExecutor.importRows(from, to, i -> i, i -> importRow(clients.get(i), gson));
 
-        for (ClientData client : clients) {
-            try {
-                String payload = gsonBuilder.create().toJson(client);
-                final CommandWrapper commandRequest = new CommandWrapperBuilder() //
-                        .createClient() //
-                        .withJson(payload) //
-                        .build(); //
-                final CommandProcessingResult result = commandsSourceWritePlatformService.logCommandSource(commandRequest);
-                successCount++;
-                Cell statusCell = clientSheet.getRow(client.getRowIndex()).createCell(ClientEntityConstants.STATUS_COL);
-                statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
-                statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
-                errorCount++;
-                LOG.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
-                ImportHandlerUtils.writeErrorMessage(clientSheet, client.getRowIndex(), errorMessage, ClientEntityConstants.STATUS_COL);
+                // the rows are written by this thread only
+                for (int i = from; i < to; i++) {
+                    final ClientData client = clients.get(i);
+                    final String errorMessage = errorMessages.get(i - from);
+                    if (errorMessage == null) {
+                        successCount++;
+                        Cell statusCell = clientSheet.getRow(client.getRowIndex()).createCell(ClientEntityConstants.STATUS_COL);
+                        statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
+                        statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
+                    } else {
+                        errorCount++;
+                        ImportHandlerUtils.writeErrorMessage(clientSheet, client.getRowIndex(), errorMessage,
+                                ClientEntityConstants.STATUS_COL);
+                    }
+                }
+                progressListener.accept(Count.instance(successCount, errorCount));
             }
         }
         clientSheet.setColumnWidth(ClientEntityConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
@@ -227,4 +241,19 @@ public class ClientEntityImportHandler implements ImportHandler {
         return Count.instance(successCount, errorCount);
     }
 
+    private String importRow(ClientData client, Gson gson) {
+        try {
+            String payload = gson.toJson(client);
+            final CommandWrapper commandRequest = new CommandWrapperBuilder() //
+                    .createClient() //
+                    .withJson(payload) //
+                    .build(); //
+            commandsSourceWritePlatformService.logCommandSource(commandRequest);
+            return null;
+        } catch (RuntimeException ex) {
+            LOG.error("Problem occurred in importEntity function", ex);
+            return ImportHandlerUtils.getErrorMessage(ex);
+        }
+    }
+
 }
@@ -27,6 +27,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
@@ -35,6 +36,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportRowExecutor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataValueSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -74,6 +76,11 @@ public class LoanImportHandler implements ImportHandler {
 
     @Override
     public Count process(Workbook workbook, String locale, String dateFormat) {
+        return process(workbook, locale, dateFormat, count -> {});
+    }
+
+    @Override
+    public Count process(Workbook workbook, String locale, String dateFormat, Consumer<Count> progressListener) {
         this.workbook = workbook;
         this.loans = new ArrayList<>();
         this.approvalDates = new ArrayList<>();
@@ -81,7 +88,7 @@ public class LoanImportHandler implements ImportHandler {
         this.disbursalDates = new ArrayList<>();
         this.statuses = new ArrayList<>();
         readExcelFile(locale, dateFormat);
-        return importEntity(dateFormat);
+        return importEntity(dateFormat, progressListener);
     }
 
     public void readExcelFile(final String locale, final String dateFormat) {
@@ -331,55 +338,92 @@ public class LoanImportHandler implements ImportHandler {
     }
 
     public Count importEntity(String dateFormat) {
+        return importEntity(dateFormat, count -> {});
+    }
+
+    public Count importEntity(String dateFormat, Consumer<Count> progressListener) {
         Sheet loanSheet = workbook.getSheet(TemplatePopulateImportConstants.LOANS_SHEET_NAME);
         int successCount = 0;
         int errorCount = 0;
-        int progressLevel = 0;
-        String loanId;
-        String errorMessage = "";
-        for (int i = 0; i < loans.size(); i++) {
-            Row row = loanSheet.getRow(loans.get(i).getRowIndex());
-            Cell errorReportCell = row.createCell(LoanConstants.FAILURE_REPORT_COL);
-            Cell statusCell = row.createCell(LoanConstants.STATUS_COL);
-            CommandProcessingResult result = null;
-            loanId = "";
-            try {
-                String status = statuses.get(i);
-                progressLevel = getProgressLevel(status);
-
-                if (progressLevel == 0 && loans.get(i) != null) {
-                    result = importLoan(i, dateFormat);
-                    loanId = result.getLoanId().toString();
-                    progressLevel = 1;
-                } else {
-                    loanId = ImportHandlerUtils.readAsString(LoanConstants.LOAN_ID_COL, loanSheet.getRow(loans.get(i).getRowIndex()));
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            for (int from = 0; from < loans.size(); from += rowExecutor.getChunkSize()) {
+                final int to = Math.min(loans.size(), from + rowExecutor.getChunkSize());
+                // the rows are read and written by this thread only
+                final String[] existingLoanIds = new String[to - from];
+                for (int i = from; i < to; i++) {
+                    existingLoanIds[i - from] = ImportHandlerUtils.readAsString(LoanConstants.LOAN_ID_COL,
+                            loanSheet.getRow(loans.get(i).getRowIndex()));
                 }
-
-                if (progressLevel <= 1 && approvalDates.get(i) != null) {
-                    progressLevel = importLoanApproval(result, i, dateFormat);
+                final int chunkStart = from;
+                final List<LoanRowResult> results = rowExecutor.importRows(from, to, i -> loans.get(i).getClientId(),
+                        i -> importRow(i, existingLoanIds[i - chunkStart], dateFormat));
+
+                for (int i = from; i < to; i++) {
+                    final LoanRowResult result = results.get(i - from);
+                    Row row = loanSheet.getRow(loans.get(i).getRowIndex());
+                    Cell errorReportCell = row.createCell(LoanConstants.FAILURE_REPORT_COL);
+                    Cell statusCell = row.createCell(LoanConstants.STATUS_COL);
+                    if (result.errorMessage == null) {
+                        successCount++;
+                        statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
+                        statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
+                    } else {
+                        errorCount++;
+                        writeLoanErrorMessage(result.loanId, result.errorMessage, result.progressLevel, statusCell, errorReportCell, row);
+                    }
                 }
+                progressListener.accept(Count.instance(successCount, errorCount));
+            }
+        }
+        setReportHeaders(loanSheet);
+        return Count.instance(successCount, errorCount);
+    }
 
-                if (progressLevel <= 2 && disbursalDates.get(i) != null) {
-                    progressLevel = importDisbursalData(result, i, dateFormat);
-                }
+    private LoanRowResult importRow(int i, String existingLoanId, String dateFormat) {
+        int progressLevel = 0;
+        String loanId = "";
+        CommandProcessingResult result = null;
+        try {
+            String status = statuses.get(i);
+            progressLevel = getProgressLevel(status);
+
+            if (progressLevel == 0 && loans.get(i) != null) {
+                result = importLoan(i, dateFormat);
+                loanId = result.getLoanId().toString();
+                progressLevel = 1;
+            } else {
+                loanId = existingLoanId;
+            }
 
-                if (loanRepayments.get(i) != null) {
-                    progressLevel = importLoanRepayment(result, i, dateFormat);
-                }
+            if (progressLevel <= 1 && approvalDates.get(i) != null) {
+                progressLevel = importLoanApproval(result, i, dateFormat);
+            }
 
-                successCount++;
-                statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
-                statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
-                errorCount++;
-                LOG.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
-                writeLoanErrorMessage(loanId, errorMessage, progressLevel, statusCell, errorReportCell, row);
+            if (progressLevel <= 2 && disbursalDates.get(i) != null) {
+                progressLevel = importDisbursalData(result, i, dateFormat);
             }
 
+            if (loanRepayments.get(i) != null) {
+                progressLevel = importLoanRepayment(result, i, dateFormat);
+            }
+            return new LoanRowResult(loanId, progressLevel, null);
+        } catch (RuntimeException ex) {
+            LOG.error("Problem occurred in importEntity function", ex);
+            return new LoanRowResult(loanId, progressLevel, ImportHandlerUtils.getErrorMessage(ex));
+        }
+    }
+
+    private static final class LoanRowResult {
+
+        private final String loanId;
+        private final int progressLevel;
+        private final String errorMessage;
+
+        LoanRowResult(final String loanId, final int progressLevel, final String errorMessage) {
+            this.loanId = loanId;
+            this.progressLevel = progressLevel;
+            this.errorMessage = errorMessage;
         }
-        setReportHeaders(loanSheet);
-        return Count.instance(successCount, errorCount);
     }
 
     private void writeLoanErrorMessage(String loanId, String errorMessage, int progressLevel, Cell statusCell, Cell errorReportCell,
@@ -138,7 +138,12 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
         }
 
         final Workbook workbook = event.getWorkbook();
-        final Count count = importHandler.process(workbook, event.getLocale(), event.getDateFormat());
+        // the counts of the imports in progress can be followed through the
+        // imports API
+        final Count count = importHandler.process(workbook, event.getLocale(), event.getDateFormat(), progress -> {
+            importDocument.updateProgress(progress.getSuccessCount(), progress.getErrorCount());
+            this.importRepository.save(importDocument);
+        });
         importDocument.update(DateUtils.getLocalDateTimeOfTenant(), count.getSuccessCount(), count.getErrorCount());
         this.importRepository.save(importDocument);
 
@@ -19,12 +19,13 @@
 package org.apache.fineract.infrastructure.bulkimport.service;
 
 import com.sun.jersey.core.header.FormDataContentDisposition;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -48,9 +49,9 @@ import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWri
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformServiceJpaRepositoryImpl;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.tika.Tika;
-import org.apache.tika.io.IOUtils;
 import org.apache.tika.io.TikaInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,17 +87,19 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
     @Override
     public Long importWorkbook(String entity, InputStream inputStream, FormDataContentDisposition fileDetail, final String locale,
             final String dateFormat) {
+        Path upload = null;
         try {
             if (entity != null && inputStream != null && fileDetail != null && locale != null && dateFormat != null) {
 
-                final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                IOUtils.copy(inputStream, baos);
-                final byte[] bytes = baos.toByteArray();
-                InputStream clonedInputStream = new ByteArrayInputStream(bytes);
-                InputStream clonedInputStreamWorkbook = new ByteArrayInputStream(bytes);
+                // spooled to disk, so that the type detection, the workbook and the stored document all read the one
+                // copy on disk rather than copies of the upload in memory
+                upload = Files.createTempFile("bulk-import-", ".xls");
+                Files.copy(inputStream, upload, StandardCopyOption.REPLACE_EXISTING);
                 final Tika tika = new Tika();
-                final TikaInputStream tikaInputStream = TikaInputStream.get(clonedInputStream);
-                final String fileType = tika.detect(tikaInputStream);
+                final String fileType;
+                try (TikaInputStream tikaInputStream = TikaInputStream.get(upload)) {
+                    fileType = tika.detect(tikaInputStream);
+                }
                 if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
                     // We had a problem where we tried to upload the downloaded
                     // file from the import options, it was somehow changed the
@@ -105,7 +108,7 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                             "Uploaded file extension is not recognized.");
 
                 }
-                Workbook workbook = new HSSFWorkbook(clonedInputStreamWorkbook);
+                Workbook workbook = readWorkbook(upload.toFile());
                 GlobalEntityType entityType = null;
                 int primaryColumn = 0;
                 if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
@@ -170,7 +173,9 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                     throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
 
                 }
-                return publishEvent(primaryColumn, fileDetail, clonedInputStreamWorkbook, entityType, workbook, locale, dateFormat);
+                try (InputStream document = Files.newInputStream(upload)) {
+                    return publishEvent(primaryColumn, fileDetail, document, entityType, workbook, locale, dateFormat);
+                }
             }
             throw new GeneralPlatformDomainRuleException("error.msg.null", "One or more of the given parameters not found");
         } catch (IOException e) {
@@ -178,18 +183,41 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
             throw new GeneralPlatformDomainRuleException("error.msg.io.exception",
                     "IO exception occured with " + fileDetail.getFileName() + " " + e.getMessage(), e);
 
+        } finally {
+            deleteUpload(upload);
+        }
+    }
+
+    /**
+     * Reads the records of the workbook straight from the file, without POI first copying the whole file into memory as it
+     * does for a stream. The workbook does not keep the file open once read, it lives on in memory until imported.
+     */
+    private static Workbook readWorkbook(final File file) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+            return new HSSFWorkbook(fileSystem.getRoot(), false);
+        }
+    }
+
+    private static void deleteUpload(final Path upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            LOG.warn("Could not delete the uploaded workbook {}", upload, e);
         }
     }
 
     private Long publishEvent(final Integer primaryColumn, final FormDataContentDisposition fileDetail,
-            final InputStream clonedInputStreamWorkbook, final GlobalEntityType entityType, final Workbook workbook, final String locale,
+            final InputStream workbookContent, final GlobalEntityType entityType, final Workbook workbook, final String locale,
             final String dateFormat) {
 
         final String fileName = fileDetail.getFileName();
 
         final Long documentId = this.documentWritePlatformService.createInternalDocument(
                 DocumentWritePlatformServiceJpaRepositoryImpl.DocumentManagementEntity.IMPORT.name(),
-                this.securityContext.authenticatedUser().getId(), null, clonedInputStreamWorkbook,
+                this.securityContext.authenticatedUser().getId(), null, workbookContent,
                 URLConnection.guessContentTypeFromName(fileName), fileName, null, fileName);
         final Document document = this.documentRepository.findById(documentId).orElse(null);
 
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.data;
+
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+
+/**
+ * Eviction performed on one node that the other nodes of a multi node deployment have to repeat on their local cache.
+ * A <code>null</code> key clears the whole cache. A message with a cache type tells the other nodes to switch to that
+ * cache type, which clears their local caches as well.
+ */
+public final class CacheEvictionMessage {
+
+    private final String originNodeId;
+    private final String cacheName;
+    private final String key;
+    private final CacheType cacheType;
+
+    private CacheEvictionMessage(final String originNodeId, final String cacheName, final String key, final CacheType cacheType) {
+        this.originNodeId = originNodeId;
+        this.cacheName = cacheName;
+        this.key = key;
+        this.cacheType = cacheType;
+    }
+
+    public static CacheEvictionMessage evict(final String originNodeId, final String cacheName, final String key) {
+        return new CacheEvictionMessage(originNodeId, cacheName, key, null);
+    }
+
+    public static CacheEvictionMessage clear(final String originNodeId, final String cacheName) {
+        return new CacheEvictionMessage(originNodeId, cacheName, null, null);
+    }
+
+    public static CacheEvictionMessage switchCacheType(final String originNodeId, final CacheType cacheType) {
+        return new CacheEvictionMessage(originNodeId, null, null, cacheType);
+    }
+
+    public String getOriginNodeId() {
+        return this.originNodeId;
+    }
+
+    public String getCacheName() {
+        return this.cacheName;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public CacheType getCacheType() {
+        return this.cacheType;
+    }
+
+    public boolean isClear() {
+        return this.key == null;
+    }
+
+    public boolean isCacheTypeSwitch() {
+        return this.cacheType != null;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import org.apache.activemq.command.ActiveMQTopic;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheEvictionChannel} publishing the evictions on an ActiveMQ topic every node of the deployment subscribes
+ * to.
+ */
+@Component
+@Profile("activeMqEnabled")
+public class JmsCacheEvictionChannel implements CacheEvictionChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JmsCacheEvictionChannel.class);
+    private static final String TOPIC_NAME = "FineractCacheEvictionTopic";
+    private static final String ORIGIN_NODE_ID = "originNodeId";
+    private static final String CACHE_NAME = "cacheName";
+    private static final String KEY = "key";
+    private static final String CACHE_TYPE = "cacheType";
+
+    private final ConnectionFactory connectionFactory;
+    private final ActiveMQTopic topic = new ActiveMQTopic(TOPIC_NAME);
+    private final JmsTemplate jmsTemplate;
+    private final List<Consumer<CacheEvictionMessage>> handlers = new CopyOnWriteArrayList<>();
+    private DefaultMessageListenerContainer listenerContainer;
+
+    @Autowired
+    public JmsCacheEvictionChannel(@Qualifier("connectionFactory") final ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        this.jmsTemplate = new JmsTemplate(connectionFactory);
+        this.jmsTemplate.setPubSubDomain(true);
+    }
+
+    @PostConstruct
+    public void startListening() {
+        this.listenerContainer = new DefaultMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(this.connectionFactory);
+        this.listenerContainer.setDestination(this.topic);
+        this.listenerContainer.setPubSubDomain(true);
+        this.listenerContainer.setMessageListener((MessageListener) this::onMessage);
+        this.listenerContainer.afterPropertiesSet();
+        this.listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        if (this.listenerContainer != null) {
+            this.listenerContainer.shutdown();
+        }
+    }
+
+    @Override
+    public void broadcast(final CacheEvictionMessage message) {
+        try {
+            this.jmsTemplate.send(this.topic, session -> {
+                final MapMessage mapMessage = session.createMapMessage();
+                mapMessage.setString(ORIGIN_NODE_ID, message.getOriginNodeId());
+                mapMessage.setString(CACHE_NAME, message.getCacheName());
+                mapMessage.setString(KEY, message.getKey());
+                if (message.isCacheTypeSwitch()) {
+                    mapMessage.setInt(CACHE_TYPE, message.getCacheType().getValue());
+                }
+                return mapMessage;
+            });
+        } catch (JmsException e) {
+            // the local eviction has been done already, the other nodes
+            // keep their entries until they expire
+            LOG.error("Failed to broadcast eviction of cache {}", message.isCacheTypeSwitch() ? "type" : message.getCacheName(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(final Consumer<CacheEvictionMessage> handler) {
+        this.handlers.add(handler);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+
+    private void onMessage(final Message message) {
+        if (!(message instanceof MapMessage)) {
+            return;
+        }
+        final CacheEvictionMessage evictionMessage;
+        try {
+            final MapMessage mapMessage = (MapMessage) message;
+            final String key = mapMessage.getString(KEY);
+            if (mapMessage.itemExists(CACHE_TYPE)) {
+                evictionMessage = CacheEvictionMessage.switchCacheType(mapMessage.getString(ORIGIN_NODE_ID),
+                        CacheType.fromInt(mapMessage.getInt(CACHE_TYPE)));
+            } else if (key == null) {
+                evictionMessage = CacheEvictionMessage.clear(mapMessage.getString(ORIGIN_NODE_ID), mapMessage.getString(CACHE_NAME));
+            } else {
+                evictionMessage = CacheEvictionMessage.evict(mapMessage.getString(ORIGIN_NODE_ID), mapMessage.getString(CACHE_NAME), key);
+            }
+        } catch (JMSException e) {
+            LOG.error("Failed to read cache eviction message", e);
+            return;
+        }
+        for (final Consumer<CacheEvictionMessage> handler : this.handlers) {
+            handler.accept(evictionMessage);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CacheManager} for deployments with several nodes. Entries are kept in the local cache of every node, evictions
+ * are done locally and broadcast over a {@link CacheEvictionChannel} so that the other nodes drop the same entries.
+ *
+ * Puts are not broadcast, a node populating its cache cannot make the entries of the other nodes stale.
+ */
+public class MultiNodeCacheManager implements CacheManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MultiNodeCacheManager.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager localCacheManager;
+    private final CacheEvictionChannel evictionChannel;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public MultiNodeCacheManager(final CacheManager localCacheManager, final CacheEvictionChannel evictionChannel) {
+        this.localCacheManager = localCacheManager;
+        this.evictionChannel = evictionChannel;
+        this.evictionChannel.subscribe(this::evictLocally);
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        final Cache cache = this.caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        final Cache localCache = this.localCacheManager.getCache(name);
+        if (localCache == null) {
+            return null;
+        }
+        return this.caches.computeIfAbsent(name, cacheName -> new EvictionBroadcastingCache(localCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return this.localCacheManager.getCacheNames();
+    }
+
+    String getNodeId() {
+        return this.nodeId;
+    }
+
+    private void evictLocally(final CacheEvictionMessage message) {
+        // cache type switches are handled by the RuntimeDelegatingCacheManager
+        if (message.isCacheTypeSwitch() || this.nodeId.equals(message.getOriginNodeId())) {
+            return;
+        }
+        final Cache localCache = this.localCacheManager.getCache(message.getCacheName());
+        if (localCache == null) {
+            return;
+        }
+        LOG.debug("Evicting {} of cache {} on behalf of node {}", message.isClear() ? "all entries" : message.getKey(),
+                message.getCacheName(), message.getOriginNodeId());
+        if (message.isClear()) {
+            localCache.clear();
+        } else {
+            localCache.evict(message.getKey());
+        }
+    }
+
+    void broadcast(final CacheEvictionMessage message) {
+        // other nodes must not reload the entry before the change that
+        // caused the eviction is visible to them
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    MultiNodeCacheManager.this.evictionChannel.broadcast(message);
+                }
+            });
+        } else {
+            this.evictionChannel.broadcast(message);
+        }
+    }
+
+    private final class EvictionBroadcastingCache implements Cache {
+
+        private final Cache localCache;
+
+        EvictionBroadcastingCache(final Cache localCache) {
+            this.localCache = localCache;
+        }
+
+        @Override
+        public String getName() {
+            return this.localCache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return this.localCache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(final Object key) {
+            return this.localCache.get(key);
+        }
+
+        @Override
+        public <T> T get(final Object key, final Class<T> type) {
+            return this.localCache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(final Object key, final Callable<T> valueLoader) {
+            return this.localCache.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(final Object key, final Object value) {
+            this.localCache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(final Object key, final Object value) {
+            return this.localCache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(final Object key) {
+            this.localCache.evict(key);
+            broadcastEviction(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(final Object key) {
+            final boolean evicted = this.localCache.evictIfPresent(key);
+            // the entry may still be present on the other nodes
+            broadcastEviction(key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            this.localCache.clear();
+            broadcast(CacheEvictionMessage.clear(MultiNodeCacheManager.this.nodeId, getName()));
+        }
+
+        @Override
+        public boolean invalidate() {
+            final boolean invalidated = this.localCache.invalidate();
+            broadcast(CacheEvictionMessage.clear(MultiNodeCacheManager.this.nodeId, getName()));
+            return invalidated;
+        }
+
+        private void broadcastEviction(final Object key) {
+            if (key instanceof String) {
+                broadcast(CacheEvictionMessage.evict(MultiNodeCacheManager.this.nodeId, getName(), (String) key));
+            } else {
+                // only string keys can be sent over the channel, the other
+                // nodes drop the whole cache instead
+                broadcast(CacheEvictionMessage.clear(MultiNodeCacheManager.this.nodeId, getName()));
+            }
+        }
+    }
+}
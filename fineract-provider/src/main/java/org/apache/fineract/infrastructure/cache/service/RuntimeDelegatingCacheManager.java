@@ -25,6 +25,7 @@ import java.util.Map;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.slf4j.Logger;
@@ -40,7 +41,12 @@ import org.springframework.stereotype.Component;
  * At present this implementation of {@link CacheManager} just delegates to the real {@link CacheManager} to use.
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
- * database on startup and allow user to switch implementation through UI/API
+ * database on startup and allow user to switch implementation through UI/API. The multi node cache uses the same
+ * local caches as the single node one and broadcasts its evictions through the configured {@link CacheEvictionChannel}.
+ *
+ * A switch through the API is broadcast on the same channel, so every node listening on it follows. Without a
+ * distributed channel, or on a node that missed the message, the switch only takes effect on that node until it reads
+ * the persisted cache type again on its first request after a restart.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 public class RuntimeDelegatingCacheManager implements CacheManager {
@@ -48,13 +54,18 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
     private static final Logger LOG = LoggerFactory.getLogger(RuntimeDelegatingCacheManager.class);
 
     private final JCacheCacheManager jcacheCacheManager;
+    private final MultiNodeCacheManager multiNodeCacheManager;
+    private final CacheEvictionChannel cacheEvictionChannel;
     private final CacheManager noOpCacheManager = new NoOpCacheManager();
     private CacheManager currentCacheManager;
 
     @Autowired
-    public RuntimeDelegatingCacheManager(final JCacheCacheManager jcacheCacheManager) {
+    public RuntimeDelegatingCacheManager(final JCacheCacheManager jcacheCacheManager, final CacheEvictionChannel cacheEvictionChannel) {
         this.jcacheCacheManager = jcacheCacheManager;
+        this.cacheEvictionChannel = cacheEvictionChannel;
+        this.multiNodeCacheManager = new MultiNodeCacheManager(jcacheCacheManager, cacheEvictionChannel);
         this.currentCacheManager = this.noOpCacheManager;
+        this.cacheEvictionChannel.subscribe(this::switchLocally);
     }
 
     @Override
@@ -71,42 +82,61 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
 
         final boolean noCacheEnabled = this.currentCacheManager instanceof NoOpCacheManager;
         final boolean ehcacheEnabled = this.currentCacheManager instanceof JCacheCacheManager;
-
-        // final boolean distributedCacheEnabled = false;
+        final boolean distributedCacheEnabled = this.currentCacheManager instanceof MultiNodeCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
-        // final EnumOptionData multiNodeCacheType =
-        // CacheEnumerations.cacheType(CacheType.MULTI_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehcacheEnabled);
-        // final CacheData distributedCache =
-        // CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
+        final CacheData distributedCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
 
-        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache);
+        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache, distributedCache);
         return caches;
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    /**
+     * Switches this node to <code>toCacheType</code>. When that changes the persisted cache type, the other nodes are told
+     * to switch as well once the change is committed.
+     */
+    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final boolean distributedCacheEnabled,
+            final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
+        if (activate(toCacheType, ehcacheEnabled, distributedCacheEnabled)) {
+            changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+            this.multiNodeCacheManager
+                    .broadcast(CacheEvictionMessage.switchCacheType(this.multiNodeCacheManager.getNodeId(), toCacheType));
+        }
+        return changes;
+    }
+
+    private void switchLocally(final CacheEvictionMessage message) {
+        if (!message.isCacheTypeSwitch() || this.multiNodeCacheManager.getNodeId().equals(message.getOriginNodeId())) {
+            return;
+        }
+        LOG.info("Switching to cache type {} on behalf of node {}", message.getCacheType(), message.getOriginNodeId());
+        activate(message.getCacheType(), this.currentCacheManager == this.jcacheCacheManager,
+                this.currentCacheManager == this.multiNodeCacheManager);
+    }
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-        final boolean distributedCacheEnabled = !ehcacheEnabled;
+    private boolean activate(final CacheType toCacheType, final boolean ehcacheEnabled, final boolean distributedCacheEnabled) {
+
+        boolean changed = false;
+
+        final boolean noCacheEnabled = !ehcacheEnabled && !distributedCacheEnabled;
 
         switch (toCacheType) {
             case INVALID:
             break;
             case NO_CACHE:
-                if (!noCacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
-                }
+                changed = !noCacheEnabled;
                 this.currentCacheManager = this.noOpCacheManager;
             break;
             case SINGLE_NODE:
                 if (!ehcacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+                    changed = true;
                     clearEhCache();
                 }
                 this.currentCacheManager = this.jcacheCacheManager;
@@ -117,12 +147,18 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
             break;
             case MULTI_NODE:
                 if (!distributedCacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+                    changed = true;
+                    clearEhCache();
+                }
+                this.currentCacheManager = this.multiNodeCacheManager;
+
+                if (!this.cacheEvictionChannel.isDistributed()) {
+                    LOG.warn("Multi node cache activated without a distributed eviction channel, evictions will not reach other nodes");
                 }
             break;
         }
 
-        return changes;
+        return changed;
     }
 
     private void clearEhCache() {
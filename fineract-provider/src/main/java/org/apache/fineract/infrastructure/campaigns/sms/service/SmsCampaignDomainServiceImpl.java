@@ -44,6 +44,7 @@ import org.apache.fineract.portfolio.client.domain.Client;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.apache.fineract.portfolio.common.service.BusinessEventDelivery;
 import org.apache.fineract.portfolio.common.service.BusinessEventListener;
 import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.group.domain.Group;
@@ -94,19 +95,21 @@ public class SmsCampaignDomainServiceImpl implements SmsCampaignDomainService {
 
     @PostConstruct
     public void addListeners() {
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_APPROVED, new SendSmsOnLoanApproved());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_REJECTED, new SendSmsOnLoanRejected());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_MAKE_REPAYMENT, new SendSmsOnLoanRepayment());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_ACTIVATE, new ClientActivatedListener());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_REJECT, new ClientRejectedListener());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_ACTIVATE,
-                new SavingsAccountActivatedListener());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_REJECT,
-                new SavingsAccountRejectedListener());
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_DEPOSIT,
-                new SavingsAccountTransactionListener(true));
-        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_WITHDRAWAL,
-                new SavingsAccountTransactionListener(false));
+        addSmsCampaignListener(BusinessEvents.LOAN_APPROVED, new SendSmsOnLoanApproved());
+        addSmsCampaignListener(BusinessEvents.LOAN_REJECTED, new SendSmsOnLoanRejected());
+        addSmsCampaignListener(BusinessEvents.LOAN_MAKE_REPAYMENT, new SendSmsOnLoanRepayment());
+        addSmsCampaignListener(BusinessEvents.CLIENTS_ACTIVATE, new ClientActivatedListener());
+        addSmsCampaignListener(BusinessEvents.CLIENTS_REJECT, new ClientRejectedListener());
+        addSmsCampaignListener(BusinessEvents.SAVINGS_ACTIVATE, new SavingsAccountActivatedListener());
+        addSmsCampaignListener(BusinessEvents.SAVINGS_REJECT, new SavingsAccountRejectedListener());
+        addSmsCampaignListener(BusinessEvents.SAVINGS_DEPOSIT, new SavingsAccountTransactionListener(true));
+        addSmsCampaignListener(BusinessEvents.SAVINGS_WITHDRAWAL, new SavingsAccountTransactionListener(false));
+    }
+
+    private void addSmsCampaignListener(BusinessEvents businessEvent, BusinessEventListener businessEventListener) {
+        // the campaigns are run and their messages queued once the event has committed, without holding up its transaction
+        this.businessEventNotifierService.addBusinessEventPostListeners(businessEvent, businessEventListener,
+                BusinessEventDelivery.ASYNCHRONOUS);
     }
 
     private void notifyRejectedLoanOwner(Loan loan) {
@@ -39,6 +39,8 @@ public interface ConfigurationDomainService {
 
     boolean isEhcacheEnabled();
 
+    boolean isDistributedCacheEnabled();
+
     void updateCache(CacheType cacheType);
 
     Long retrievePenaltyWaitPeriod();
@@ -85,6 +87,8 @@ public interface ConfigurationDomainService {
 
     void removeGlobalConfigurationPropertyDataFromCache(String propertyName);
 
+    void removeMakerCheckerPermissionFromCache(String permissionCode);
+
     boolean isSMSOTPDeliveryEnabled();
 
     boolean isEmailOTPDeliveryEnabled();
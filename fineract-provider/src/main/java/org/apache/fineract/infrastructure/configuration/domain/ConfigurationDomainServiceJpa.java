@@ -19,12 +19,16 @@
 package org.apache.fineract.infrastructure.configuration.domain;
 
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCache;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
+import org.apache.fineract.infrastructure.cache.service.CacheEvictionChannel;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.useradministration.domain.Permission;
@@ -33,21 +37,39 @@ import org.apache.fineract.useradministration.exception.PermissionNotFoundExcept
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Global configuration, maker checker permissions and the cache type are looked up on almost every request, so they
+ * are kept per tenant in memory. Updates evict the entries on this node right away and again once they are committed,
+ * and the evictions are broadcast to the other nodes over the {@link CacheEvictionChannel}.
+ */
 @Service
 public class ConfigurationDomainServiceJpa implements ConfigurationDomainService {
 
+    private static final String CONFIGURATIONS_CACHE = "globalConfigurations";
+    private static final String MAKER_CHECKER_PERMISSIONS_CACHE = "makerCheckerPermissions";
+    private static final String CACHE_TYPES_CACHE = "cacheTypes";
+
     private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
     private final PlatformCacheRepository cacheTypeRepository;
-    private static Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>();
+    private final CacheEvictionChannel cacheEvictionChannel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, GlobalConfigurationPropertyData> configurations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Boolean> makerCheckerPermissions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CacheType> cacheTypes = new ConcurrentHashMap<>();
 
     @Autowired
     public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
-            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository) {
+            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository,
+            final CacheEvictionChannel cacheEvictionChannel) {
         this.permissionRepository = permissionRepository;
         this.globalConfigurationRepository = globalConfigurationRepository;
         this.cacheTypeRepository = cacheTypeRepository;
+        this.cacheEvictionChannel = cacheEvictionChannel;
+        this.cacheEvictionChannel.subscribe(this::evictLocally);
     }
 
     @Override
@@ -56,15 +78,26 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
             throw new PermissionNotFoundException(taskPermissionCode);
         }
 
-        final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-        if (thisTask == null) {
-            throw new PermissionNotFoundException(taskPermissionCode);
+        final String key = tenantKey(taskPermissionCode);
+        Boolean makerCheckerEnabled = this.makerCheckerPermissions.get(key);
+        if (makerCheckerEnabled == null) {
+            final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
+            if (thisTask == null) {
+                throw new PermissionNotFoundException(taskPermissionCode);
+            }
+            makerCheckerEnabled = thisTask.hasMakerCheckerEnabled();
+            this.makerCheckerPermissions.put(key, makerCheckerEnabled);
         }
 
         final String makerCheckerConfigurationProperty = "maker-checker";
         final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(makerCheckerConfigurationProperty);
 
-        return thisTask.hasMakerCheckerEnabled() && property.isEnabled();
+        return makerCheckerEnabled && property.isEnabled();
+    }
+
+    @Override
+    public void removeMakerCheckerPermissionFromCache(final String permissionCode) {
+        evict(MAKER_CHECKER_PERMISSIONS_CACHE, this.makerCheckerPermissions, tenantKey(permissionCode));
     }
 
     @Override
@@ -114,7 +147,12 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
 
     @Override
     public boolean isEhcacheEnabled() {
-        return this.cacheTypeRepository.findById(1L).get().isEhcacheEnabled();
+        return retrieveCacheType().isEhcache();
+    }
+
+    @Override
+    public boolean isDistributedCacheEnabled() {
+        return retrieveCacheType().isDistributedCache();
     }
 
     @Transactional
@@ -123,6 +161,24 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         final PlatformCache cache = this.cacheTypeRepository.findById(1L).get();
         cache.update(cacheType);
         this.cacheTypeRepository.save(cache);
+        evict(CACHE_TYPES_CACHE, this.cacheTypes, ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+    }
+
+    private CacheType retrieveCacheType() {
+        final String key = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        CacheType cacheType = this.cacheTypes.get(key);
+        if (cacheType == null) {
+            final PlatformCache cache = this.cacheTypeRepository.findById(1L).get();
+            if (cache.isEhcacheEnabled()) {
+                cacheType = CacheType.SINGLE_NODE;
+            } else if (cache.isDistributedCacheEnabled()) {
+                cacheType = CacheType.MULTI_NODE;
+            } else {
+                cacheType = CacheType.NO_CACHE;
+            }
+            this.cacheTypes.put(key, cacheType);
+        }
+        return cacheType;
     }
 
     @Override
@@ -300,9 +356,7 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
 
     @Override
     public void removeGlobalConfigurationPropertyDataFromCache(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        configurations.remove(key);
+        evict(CONFIGURATIONS_CACHE, this.configurations, tenantKey(propertyName));
     }
 
     @Override
@@ -344,13 +398,58 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     }
 
     private GlobalConfigurationPropertyData getGlobalConfigurationPropertyData(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        if (!configurations.containsKey(key)) {
+        final String key = tenantKey(propertyName);
+        GlobalConfigurationPropertyData configurationData = this.configurations.get(key);
+        if (configurationData == null) {
             GlobalConfigurationProperty configuration = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
-            configurations.put(key, configuration.toData());
+            configurationData = configuration.toData();
+            this.configurations.put(key, configurationData);
+        }
+        return configurationData;
+    }
+
+    private String tenantKey(final String name) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "_" + name;
+    }
+
+    private void evict(final String cacheName, final Map<String, ?> cache, final String key) {
+        cache.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent request may have reloaded the old value before the
+            // update got committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    cache.remove(key);
+                    ConfigurationDomainServiceJpa.this.cacheEvictionChannel
+                            .broadcast(CacheEvictionMessage.evict(ConfigurationDomainServiceJpa.this.nodeId, cacheName, key));
+                }
+            });
+        } else {
+            this.cacheEvictionChannel.broadcast(CacheEvictionMessage.evict(this.nodeId, cacheName, key));
+        }
+    }
+
+    private void evictLocally(final CacheEvictionMessage message) {
+        if (this.nodeId.equals(message.getOriginNodeId())) {
+            return;
+        }
+        final Map<String, ?> cache;
+        if (CONFIGURATIONS_CACHE.equals(message.getCacheName())) {
+            cache = this.configurations;
+        } else if (MAKER_CHECKER_PERMISSIONS_CACHE.equals(message.getCacheName())) {
+            cache = this.makerCheckerPermissions;
+        } else if (CACHE_TYPES_CACHE.equals(message.getCacheName())) {
+            cache = this.cacheTypes;
+        } else {
+            return;
+        }
+        if (message.isClear()) {
+            cache.clear();
+        } else {
+            cache.remove(message.getKey());
         }
-        return configurations.get(key);
     }
 
     @Override
@@ -46,6 +46,7 @@ public class FineractPlatformTenantConnection {
     private final int maxRetriesOnDeadlock;
     private final int maxIntervalBetweenRetries;
     private final boolean testOnBorrow;
+    private final int maxConcurrentJobs;
 
     public FineractPlatformTenantConnection(final Long connectionId, final String schemaName, String schemaServer,
             final String schemaServerPort, final String schemaConnectionParameters, final String schemaUsername,
@@ -53,7 +54,7 @@ public class FineractPlatformTenantConnection {
             final boolean removeAbandoned, final int removeAbandonedTimeout, final boolean logAbandoned,
             final int abandonWhenPercentageFull, final int maxActive, final int minIdle, final int maxIdle, final int suspectTimeout,
             final int timeBetweenEvictionRunsMillis, final int minEvictableIdleTimeMillis, final int maxRetriesOnDeadlock,
-            final int maxIntervalBetweenRetries, final boolean tesOnBorrow) {
+            final int maxIntervalBetweenRetries, final boolean tesOnBorrow, final int maxConcurrentJobs) {
 
         this.connectionId = connectionId;
         this.schemaName = schemaName;
@@ -78,6 +79,7 @@ public class FineractPlatformTenantConnection {
         this.maxRetriesOnDeadlock = maxRetriesOnDeadlock;
         this.maxIntervalBetweenRetries = maxIntervalBetweenRetries;
         this.testOnBorrow = tesOnBorrow;
+        this.maxConcurrentJobs = maxConcurrentJobs;
     }
 
     public String getSchemaServer() {
@@ -164,6 +166,14 @@ public class FineractPlatformTenantConnection {
         return testOnBorrow;
     }
 
+    /**
+     * The number of scheduler jobs of this tenant that may run at the same time on a node, i.e. the size of the worker
+     * pool of the tenant's scheduler.
+     */
+    public int getMaxConcurrentJobs() {
+        return this.maxConcurrentJobs;
+    }
+
     public Long getConnectionId() {
         return connectionId;
     }
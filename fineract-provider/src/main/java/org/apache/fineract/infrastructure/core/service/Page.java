@@ -23,19 +23,39 @@ import java.util.List;
 
 public class Page<E> implements Serializable {
 
-    private final int totalFilteredRecords;
+    private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
+        this(pageItems, Integer.valueOf(totalFilteredRecords), null);
+    }
+
+    /**
+     * @param totalFilteredRecords
+     *            the number of matching rows, or null when the count was not requested
+     * @param nextCursor
+     *            opaque cursor to pass as {@code after} for the following page, or null on the last page
+     */
+    public Page(final List<E> pageItems, final Integer totalFilteredRecords, final String nextCursor) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = nextCursor;
     }
 
     public int getTotalFilteredRecords() {
-        return this.totalFilteredRecords;
+        return this.totalFilteredRecords == null ? 0 : this.totalFilteredRecords;
+    }
+
+    public boolean isTotalCounted() {
+        return this.totalFilteredRecords != null;
     }
 
     public List<E> getPageItems() {
         return this.pageItems;
     }
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
 }
@@ -18,24 +18,79 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 
 public class PaginationHelper<E> {
 
+    private static final String CURSOR_PREFIX = "k:";
+
+    /**
+     * Fetches a page using limit/offset paging. Pass a null {@code sqlCountRows} when the caller did not ask for the total, the
+     * returned page then carries no count.
+     */
     public Page<E> fetchPage(final JdbcTemplate jt, final String sqlCountRows, final String sqlFetchRows, final Object[] args,
             final RowMapper<E> rowMapper) {
 
         final List<E> items = jt.query(sqlFetchRows, args, rowMapper);
 
+        if (sqlCountRows == null) {
+            return new Page<>(items, null, null);
+        }
+
         // determine how many rows are available
         final int totalFilteredRecords = jt.queryForObject(sqlCountRows, Integer.class);
 
         return new Page<>(items, totalFilteredRecords);
     }
 
+    /**
+     * Fetches a page in primary key order, continuing after the cursor of the search parameters instead of skipping an offset.
+     * {@code sqlFetchRows} must end with its where clause; the key predicate, the ordering and the limit are appended here. One
+     * extra row is read to tell whether there is a next page, and the returned page never carries a total count.
+     */
+    public Page<E> fetchPageAfter(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args, final String keyColumn,
+            final SearchParameters searchParameters, final RowMapper<E> rowMapper, final Function<E, Long> keyExtractor) {
+
+        if (searchParameters.isAfterPassed() && (searchParameters.isOffset() || searchParameters.isOrderByRequested())) {
+            final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+            dataValidationErrors.add(ApiParameterError.parameterError("validation.msg.after.cannot.be.combined.with.offset.or.orderBy",
+                    "The after cursor cannot be combined with offset or orderBy.", "after"));
+            throw new PlatformApiDataValidationException(dataValidationErrors);
+        }
+
+        final boolean descending = "desc".equalsIgnoreCase(StringUtils.trim(searchParameters.getSortOrder()));
+        final StringBuilder sqlBuilder = new StringBuilder(sqlFetchRows);
+        final List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (searchParameters.isAfterPassed()) {
+            sqlBuilder.append(" and ").append(keyColumn).append(descending ? " < ?" : " > ?");
+            params.add(decodeCursor(searchParameters.getAfter()));
+        }
+        sqlBuilder.append(" order by ").append(keyColumn).append(descending ? " desc" : " asc");
+        if (searchParameters.isLimited()) {
+            sqlBuilder.append(" limit ").append(searchParameters.getLimit() + 1);
+        }
+
+        final List<E> items = jt.query(sqlBuilder.toString(), params.toArray(), rowMapper);
+
+        String nextCursor = null;
+        if (searchParameters.isLimited() && items.size() > searchParameters.getLimit()) {
+            items.remove(items.size() - 1);
+            nextCursor = encodeCursor(keyExtractor.apply(items.get(items.size() - 1)));
+        }
+        return new Page<>(items, null, nextCursor);
+    }
+
     public Page<Long> fetchPage(JdbcTemplate jdbcTemplate, String sql, String sqlCountRows, Class<Long> type) {
         final List<Long> items = jdbcTemplate.queryForList(sql, type);
 
@@ -44,4 +99,23 @@ public class PaginationHelper<E> {
 
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
+
+    static String encodeCursor(final Long key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((CURSOR_PREFIX + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodeCursor(final String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (final IllegalArgumentException e) {
+            // falls through to the validation error below, NumberFormatException included
+        }
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+        dataValidationErrors.add(ApiParameterError.parameterError("validation.msg.after.cursor.invalid",
+                "The after cursor `" + cursor + "` is not valid.", "after", cursor));
+        throw new PlatformApiDataValidationException(dataValidationErrors);
+    }
 }
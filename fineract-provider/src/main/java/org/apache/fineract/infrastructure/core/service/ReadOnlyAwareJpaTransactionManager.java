@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link JpaTransactionManager} exposing whether the transaction being begun is read-only before it takes its
+ * connection.
+ *
+ * The OpenJPA dialect takes the connection of a read-write transaction while beginning it, i.e. before the transaction
+ * manager marks the transaction active and sets its read-only flag. {@link TomcatJdbcDataSourcePerTenantService} would
+ * then see no transaction, and send the writes of a read-write transaction started during a read-only request to the
+ * read replica.
+ */
+public class ReadOnlyAwareJpaTransactionManager extends JpaTransactionManager {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doBegin(final Object transaction, final TransactionDefinition definition) {
+        // set again, and cleared on completion, along with the
+        // synchronization the transaction manager creates for a new
+        // transaction
+        final boolean exposeFlags = getTransactionSynchronization() != SYNCHRONIZATION_NEVER
+                && !TransactionSynchronizationManager.isSynchronizationActive();
+        if (exposeFlags) {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
+        }
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            if (exposeFlags) {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Keeps track of the read replicas whose replication lag is within <code>maxLagSeconds</code>. A replica is only
+ * trusted once a check found it within the lag, so that reads go to the primary until the first check ran, while
+ * replication is stopped, and while the lag cannot be read.
+ */
+final class ReadReplicaLagGuard {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaLagGuard.class);
+
+    private final long maxLagSeconds;
+    private final ConcurrentMap<Long, Boolean> replicaWithinLag = new ConcurrentHashMap<>();
+
+    ReadReplicaLagGuard(final long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Tells whether reads may go to the replica of the given connection id, registering it for the next check the first
+     * time it is asked for.
+     */
+    boolean isWithinLag(final Long replicaConnectionId) {
+        final Boolean withinLag = this.replicaWithinLag.putIfAbsent(replicaConnectionId, Boolean.FALSE);
+        return Boolean.TRUE.equals(withinLag);
+    }
+
+    void forget(final Long replicaConnectionId) {
+        this.replicaWithinLag.remove(replicaConnectionId);
+    }
+
+    void checkReplicas(final Function<Long, DataSource> dataSourceLookup) {
+        for (final Map.Entry<Long, Boolean> entry : this.replicaWithinLag.entrySet()) {
+            final DataSource dataSource = dataSourceLookup.apply(entry.getKey());
+            final boolean withinLag = dataSource != null && isWithinLag(entry.getKey(), dataSource);
+            if (withinLag != entry.getValue()) {
+                LOG.info("Read replica connection {} is {} the replication lag of {}s, reads go to the {}", entry.getKey(),
+                        withinLag ? "within" : "beyond", this.maxLagSeconds, withinLag ? "replica" : "primary");
+            }
+            // a replica forgotten meanwhile stays forgotten
+            this.replicaWithinLag.replace(entry.getKey(), withinLag);
+        }
+    }
+
+    private boolean isWithinLag(final Long replicaConnectionId, final DataSource dataSource) {
+        try {
+            final Boolean withinLag = new JdbcTemplate(dataSource).query("SHOW SLAVE STATUS", (ResultSetExtractor<Boolean>) rs -> {
+                if (!rs.next()) {
+                    // not a replica, e.g. a reporting copy kept up to date by
+                    // other means
+                    return Boolean.TRUE;
+                }
+                final long lag = rs.getLong("Seconds_Behind_Master");
+                // null while replication is stopped
+                return !rs.wasNull() && lag <= this.maxLagSeconds;
+            });
+            return Boolean.TRUE.equals(withinLag);
+        } catch (DataAccessException e) {
+            LOG.warn("Could not read the replication lag of read replica connection {}", replicaConnectionId, e);
+            return false;
+        }
+    }
+}
@@ -50,6 +50,10 @@ public final class SearchParameters {
     private final Long categoryId;
     private final boolean isSelfUser;
 
+    // Cursor (keyset) paging
+    private final String after;
+    private final boolean countTotal;
+
     public static SearchParameters from(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy) {
         final Long staffId = null;
@@ -269,6 +273,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.after = null;
+        this.countTotal = true;
 
     }
 
@@ -298,6 +304,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = status;
+        this.after = null;
+        this.countTotal = true;
 
     }
 
@@ -327,6 +335,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.after = null;
+        this.countTotal = true;
     }
 
     private SearchParameters(final Long provisioningEntryId, final Long officeId, final Long productId, final Long categoryId,
@@ -353,6 +363,8 @@ public final class SearchParameters {
         this.categoryId = categoryId;
         this.isSelfUser = false;
         this.status = null;
+        this.after = null;
+        this.countTotal = true;
 
     }
 
@@ -382,7 +394,45 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = false;
         this.status = null;
+        this.after = null;
+        this.countTotal = true;
+
+    }
+
+    private SearchParameters(final SearchParameters source, final String after, final boolean countTotal) {
+        this.sqlSearch = source.sqlSearch;
+        this.officeId = source.officeId;
+        this.externalId = source.externalId;
+        this.name = source.name;
+        this.hierarchy = source.hierarchy;
+        this.firstname = source.firstname;
+        this.lastname = source.lastname;
+        this.status = source.status;
+        this.offset = source.offset;
+        this.limit = source.limit;
+        this.orderBy = source.orderBy;
+        this.sortOrder = source.sortOrder;
+        this.accountNo = source.accountNo;
+        this.currencyCode = source.currencyCode;
+        this.staffId = source.staffId;
+        this.loanId = source.loanId;
+        this.savingsId = source.savingsId;
+        this.orphansOnly = source.orphansOnly;
+        this.provisioningEntryId = source.provisioningEntryId;
+        this.productId = source.productId;
+        this.categoryId = source.categoryId;
+        this.isSelfUser = source.isSelfUser;
+        this.after = after;
+        this.countTotal = countTotal;
+    }
 
+    /**
+     * Returns a copy of these parameters that continues after the given opaque cursor (as handed out in
+     * {@link Page#getNextCursor()}) and optionally skips counting the total number of matching rows.
+     */
+    public SearchParameters withCursor(final String after, final Boolean countTotal) {
+        final boolean count = countTotal == null || countTotal;
+        return new SearchParameters(this, StringUtils.trimToNull(after), count);
     }
 
     public boolean isOrderByRequested() {
@@ -544,6 +594,29 @@ public final class SearchParameters {
         return this.isSelfUser;
     }
 
+    public String getAfter() {
+        return this.after;
+    }
+
+    public boolean isAfterPassed() {
+        return this.after != null;
+    }
+
+    /**
+     * The total is only counted for the first page; pages fetched after a cursor never count.
+     */
+    public boolean isCountRequested() {
+        return this.countTotal && this.after == null;
+    }
+
+    /**
+     * Keyset paging is used when continuing after a cursor, or when the caller does not need the total and has not asked for
+     * an offset or a custom order, so the page can be read in primary key order.
+     */
+    public boolean isKeysetPaged() {
+        return this.after != null || (!this.countTotal && !isOffset() && !isOrderByRequested());
+    }
+
     /**
      * creates an instance of the SearchParameters from a request for the report mailing job run history
      *
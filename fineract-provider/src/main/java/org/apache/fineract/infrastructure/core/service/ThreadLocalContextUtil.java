@@ -38,6 +38,8 @@ public final class ThreadLocalContextUtil {
 
     private static final ThreadLocal<String> authTokenContext = new ThreadLocal<>();
 
+    private static final ThreadLocal<Boolean> readOnlyRequestContext = new ThreadLocal<>();
+
     public static void setTenant(final FineractPlatformTenant tenant) {
         Assert.notNull(tenant, "tenant cannot be null");
         tenantcontext.set(tenant);
@@ -71,4 +73,19 @@ public final class ThreadLocalContextUtil {
         return authTokenContext.get();
     }
 
+    /**
+     * Marks the current request as not changing any data, so that its reads can go to the tenant's read replica.
+     */
+    public static void setReadOnlyRequest(final boolean readOnlyRequest) {
+        readOnlyRequestContext.set(readOnlyRequest);
+    }
+
+    public static boolean isReadOnlyRequest() {
+        return Boolean.TRUE.equals(readOnlyRequestContext.get());
+    }
+
+    public static void clearReadOnlyRequest() {
+        readOnlyRequestContext.remove();
+    }
+
 }
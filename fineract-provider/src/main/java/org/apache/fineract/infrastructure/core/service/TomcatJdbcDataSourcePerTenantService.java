@@ -18,72 +18,362 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
 import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Implementation that returns a new or existing connection pool datasource based on the tenant details stored in a
  * {@link ThreadLocal} variable for this request.
  *
  * {@link ThreadLocalContextUtil} is used to retrieve the {@link FineractPlatformTenant} for the request.
+ *
+ * The pools are looked up without locking, as this happens for every connection taken. They, and the tenants kept in
+ * memory by {@link BasicAuthTenantDetailsService}, are kept in line with the tenants database every
+ * <code>fineract.tenant.datasource.refreshIntervalSeconds</code> (60 by default, 0 disables the refresh): see
+ * {@link #refreshDataSources()}. A pool taken out of use is drained rather than closed: it is closed once the
+ * connections in use have been returned, or after <code>fineract.tenant.datasource.drainTimeoutSeconds</code> (300 by
+ * default). Each pool publishes the Hikari metrics (<code>hikaricp.connections.*</code>) tagged with its pool name.
+ *
+ * With <code>fineract.tenant.readReplica.enabled</code>, the reads of read-only requests (see
+ * {@link ThreadLocalContextUtil#isReadOnlyRequest()}) go to the tenant's report connection, which then acts as read
+ * replica, as long as its replication lag is within <code>fineract.tenant.readReplica.maxLagSeconds</code> (30 by
+ * default, checked every <code>fineract.tenant.readReplica.lagCheckIntervalSeconds</code>, 5 by default). Read-only
+ * transactions outside of such requests stay on the primary, as their results are usually written back.
  */
 @Service
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService {
 
-    private final Map<Long, DataSource> tenantToDataSourceMap = new HashMap<>(1);
+    private static final Logger LOG = LoggerFactory.getLogger(TomcatJdbcDataSourcePerTenantService.class);
+    private static final String TENANTS_CACHE = "tenantsById";
+    private static final long DRAIN_CHECK_INTERVAL_SECONDS = 5L;
+
+    private final long refreshIntervalSeconds = Long.getLong("fineract.tenant.datasource.refreshIntervalSeconds", 60L);
+    private final boolean readReplicaEnabled = Boolean.getBoolean("fineract.tenant.readReplica.enabled");
+    private final long lagCheckIntervalSeconds = Long.getLong("fineract.tenant.readReplica.lagCheckIntervalSeconds", 5L);
+    private final long drainTimeoutSeconds = Long.getLong("fineract.tenant.datasource.drainTimeoutSeconds", 300L);
+
+    private final ConcurrentMap<Long, HikariDataSource> tenantToDataSourceMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, FineractPlatformTenantConnection> tenantToReplicaConnectionMap = new ConcurrentHashMap<>();
+    // the pools taken out of use, with the time (System.nanoTime()) after
+    // which they are closed even if connections are still in use
+    private final ConcurrentMap<HikariDataSource, Long> drainingDataSources = new ConcurrentHashMap<>();
+    private final AtomicInteger poolSequence = new AtomicInteger();
+    private final ReadReplicaLagGuard lagGuard = new ReadReplicaLagGuard(Long.getLong("fineract.tenant.readReplica.maxLagSeconds", 30L));
     private final DataSource tenantDataSource;
+    private final BasicAuthTenantDetailsService tenantDetailsService;
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService refreshScheduler;
 
     @Autowired
     private JDBCDriverConfig driverConfig;
 
     @Autowired
-    public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource) {
+    public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
+            final BasicAuthTenantDetailsService tenantDetailsService,
+            @Qualifier("runtimeDelegatingCacheManager") final RuntimeDelegatingCacheManager cacheManager,
+            final MeterRegistry meterRegistry) {
         this.tenantDataSource = tenantDataSource;
+        this.tenantDetailsService = tenantDetailsService;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void scheduleRefresh() {
+        final boolean refreshEnabled = this.refreshIntervalSeconds > 0;
+        final boolean lagCheckEnabled = this.readReplicaEnabled && this.lagCheckIntervalSeconds > 0;
+        if (!refreshEnabled && !lagCheckEnabled) {
+            return;
+        }
+        this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("tenant-datasource-refresh-%d").setDaemon(true).build());
+        if (refreshEnabled) {
+            final ScheduledFuture<?> unused = this.refreshScheduler.scheduleWithFixedDelay(this::refreshDataSources,
+                    this.refreshIntervalSeconds, this.refreshIntervalSeconds, TimeUnit.SECONDS);
+            final ScheduledFuture<?> unusedDrainCheck = this.refreshScheduler.scheduleWithFixedDelay(this::closeDrainedDataSources,
+                    DRAIN_CHECK_INTERVAL_SECONDS, DRAIN_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+        if (lagCheckEnabled) {
+            final ScheduledFuture<?> unused = this.refreshScheduler.scheduleWithFixedDelay(
+                    () -> this.lagGuard.checkReplicas(this::retrieveReplicaDataSource), this.lagCheckIntervalSeconds,
+                    this.lagCheckIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void closeDataSources() {
+        if (this.refreshScheduler != null) {
+            this.refreshScheduler.shutdownNow();
+        }
+        for (final Long connectionId : this.tenantToDataSourceMap.keySet()) {
+            final HikariDataSource dataSource = this.tenantToDataSourceMap.remove(connectionId);
+            if (dataSource != null) {
+                dataSource.close();
+            }
+        }
+        for (final HikariDataSource dataSource : this.drainingDataSources.keySet()) {
+            this.drainingDataSources.remove(dataSource);
+            dataSource.close();
+        }
     }
 
     @Override
     public DataSource retrieveDataSource() {
-        // default to tenant database datasource
-        DataSource tenantDataSource = this.tenantDataSource;
-
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
-        if (tenant != null) {
-            final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-
-            synchronized (this.tenantToDataSourceMap) {
-                // if tenantConnection information available switch to the
-                // appropriate datasource for that tenant.
-                DataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
-                if (possibleDS != null) {
-                    tenantDataSource = possibleDS;
-                } else {
-                    tenantDataSource = createNewDataSourceFor(tenantConnection);
-                    this.tenantToDataSourceMap.put(tenantConnection.getConnectionId(), tenantDataSource);
+        if (tenant == null) {
+            // default to tenant database datasource
+            return this.tenantDataSource;
+        }
+
+        // if tenantConnection information available switch to the
+        // appropriate datasource for that tenant.
+        FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
+        if (this.readReplicaEnabled && isReadOnly()) {
+            final FineractPlatformTenantConnection replicaConnection = retrieveReplicaConnection(tenant);
+            if (!replicaConnection.getConnectionId().equals(tenantConnection.getConnectionId())
+                    && this.lagGuard.isWithinLag(replicaConnection.getConnectionId())) {
+                tenantConnection = replicaConnection;
+            }
+        }
+        return retrieveDataSource(tenantConnection);
+    }
+
+    private HikariDataSource retrieveDataSource(final FineractPlatformTenantConnection tenantConnection) {
+        final HikariDataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
+        if (possibleDS != null) {
+            return possibleDS;
+        }
+        return this.tenantToDataSourceMap.computeIfAbsent(tenantConnection.getConnectionId(),
+                connectionId -> createNewDataSourceFor(tenantConnection));
+    }
+
+    private boolean isReadOnly() {
+        if (!ThreadLocalContextUtil.isReadOnlyRequest()) {
+            return false;
+        }
+        // the writes of a read-only request still go to the primary, the
+        // read-only flag being set before the transaction takes its
+        // connection (see ReadOnlyAwareJpaTransactionManager)
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private FineractPlatformTenantConnection retrieveReplicaConnection(final FineractPlatformTenant tenant) {
+        final FineractPlatformTenantConnection replicaConnection = this.tenantToReplicaConnectionMap.get(tenant.getId());
+        if (replicaConnection != null) {
+            return replicaConnection;
+        }
+        return this.tenantToReplicaConnectionMap.computeIfAbsent(tenant.getId(), tenantId -> replicaConnectionOf(
+                this.tenantDetailsService.loadTenantById(tenant.getTenantIdentifier(), true), tenant.getConnection()));
+    }
+
+    // tenants without a report connection read from their primary
+    private static FineractPlatformTenantConnection replicaConnectionOf(final FineractPlatformTenant reportTenant,
+            final FineractPlatformTenantConnection primaryConnection) {
+        final FineractPlatformTenantConnection reportConnection = reportTenant.getConnection();
+        return reportConnection.getSchemaServer() == null ? primaryConnection : reportConnection;
+    }
+
+    private DataSource retrieveReplicaDataSource(final Long connectionId) {
+        for (final FineractPlatformTenantConnection replicaConnection : this.tenantToReplicaConnectionMap.values()) {
+            if (replicaConnection.getConnectionId().equals(connectionId)) {
+                return retrieveDataSource(replicaConnection);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Brings the tenants loaded by the requests and the pools in line with the tenant connections stored in the tenants
+     * database, both the OLTP and the report ones. A pool is resized in place when the pool sizes of its connection
+     * changed, and drained when its server or credentials changed (the next request opens a new one) or when no tenant
+     * uses its connection any more.
+     */
+    public void refreshDataSources() {
+        try {
+            // the pools opened by requests while the refresh runs may belong
+            // to tenants created after the tenants were read below
+            final Map<Long, HikariDataSource> dataSourcesBeforeRefresh = new HashMap<>(this.tenantToDataSourceMap);
+            final List<FineractPlatformTenant> tenants = this.tenantDetailsService.findAllTenants(false);
+            final List<FineractPlatformTenant> reportTenants = this.tenantDetailsService.findAllTenants(true);
+            // new requests get the new connection details before the pools
+            // using the old ones are closed
+            this.tenantDetailsService.refreshTenants(tenants, false);
+            this.tenantDetailsService.refreshTenants(reportTenants, true);
+
+            final Set<Long> connectionIds = new HashSet<>();
+            boolean tenantsChanged = false;
+            for (final FineractPlatformTenant tenant : tenants) {
+                tenantsChanged |= refreshDataSource(tenant.getConnection(), connectionIds);
+            }
+            final Set<Long> tenantIds = new HashSet<>();
+            for (final FineractPlatformTenant tenant : reportTenants) {
+                tenantIds.add(tenant.getId());
+                if (tenant.getConnection().getSchemaServer() == null) {
+                    // no report connection (any more), looked up again on the next read
+                    this.tenantToReplicaConnectionMap.remove(tenant.getId());
+                    continue;
                 }
+                this.tenantToReplicaConnectionMap.computeIfPresent(tenant.getId(), (tenantId, replicaConnection) -> tenant.getConnection());
+                tenantsChanged |= refreshDataSource(tenant.getConnection(), connectionIds);
+            }
+            this.tenantToReplicaConnectionMap.keySet().retainAll(tenantIds);
+
+            for (final Map.Entry<Long, HikariDataSource> entry : dataSourcesBeforeRefresh.entrySet()) {
+                if (!connectionIds.contains(entry.getKey())) {
+                    closeDataSource(entry.getKey(), entry.getValue(), "no tenant uses it any more");
+                    tenantsChanged = true;
+                }
+            }
+            if (tenantsChanged) {
+                // the tenants refreshed above are those of the requests; this
+                // cache only holds the tenants JdbcTenantDetailsService loads
+                // for the jobs and the tenant API, still read at the time
+                // their pool was created
+                final Cache tenantsCache = this.cacheManager.getCache(TENANTS_CACHE);
+                if (tenantsCache != null) {
+                    tenantsCache.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Could not refresh the tenant connection pools", e);
+        }
+    }
+
+    private boolean refreshDataSource(final FineractPlatformTenantConnection tenantConnection, final Set<Long> connectionIds) {
+        if (!connectionIds.add(tenantConnection.getConnectionId())) {
+            return false;
+        }
+        final HikariDataSource dataSource = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
+        if (dataSource == null) {
+            return false;
+        }
+        if (isSameDatabase(dataSource, tenantConnection)) {
+            return resize(dataSource, tenantConnection);
+        }
+        closeDataSource(tenantConnection.getConnectionId(), dataSource, "its connection details changed");
+        return true;
+    }
+
+    private boolean isSameDatabase(final HikariDataSource dataSource, final FineractPlatformTenantConnection tenantConnection) {
+        return dataSource.getJdbcUrl().equals(constructJdbcUrl(tenantConnection))
+                && Objects.equals(dataSource.getUsername(), tenantConnection.getSchemaUsername())
+                && Objects.equals(dataSource.getPassword(), tenantConnection.getSchemaPassword());
+    }
+
+    private boolean resize(final HikariDataSource dataSource, final FineractPlatformTenantConnection tenantConnection) {
+        final HikariConfigMXBean poolConfig = dataSource.getHikariConfigMXBean();
+        if (poolConfig.getMaximumPoolSize() == tenantConnection.getMaxActive()
+                && poolConfig.getMinimumIdle() == tenantConnection.getInitialSize()) {
+            return false;
+        }
+        LOG.info("Resizing connection pool {} from {}..{} to {}..{} connections", dataSource.getPoolName(), poolConfig.getMinimumIdle(),
+                poolConfig.getMaximumPoolSize(), tenantConnection.getInitialSize(), tenantConnection.getMaxActive());
+        poolConfig.setMaximumPoolSize(tenantConnection.getMaxActive());
+        poolConfig.setMinimumIdle(tenantConnection.getInitialSize());
+        return true;
+    }
+
+    private void closeDataSource(final Long connectionId, final HikariDataSource dataSource, final String reason) {
+        if (this.tenantToDataSourceMap.remove(connectionId, dataSource)) {
+            LOG.info("Draining connection pool {}, {}", dataSource.getPoolName(), reason);
+            // a replica opened again starts beyond the lag until checked
+            this.lagGuard.forget(connectionId);
+            // closing the pool would abort the transactions still using its
+            // connections: the idle ones are closed now, the others as they
+            // are returned, and the pool itself once none is left in use
+            dataSource.getHikariConfigMXBean().setMinimumIdle(0);
+            final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                pool.softEvictConnections();
             }
+            this.drainingDataSources.put(dataSource, System.nanoTime() + TimeUnit.SECONDS.toNanos(this.drainTimeoutSeconds));
         }
+    }
 
-        return tenantDataSource;
+    /**
+     * Closes the drained pools whose connections have all been returned, and those which did not drain in time.
+     */
+    void closeDrainedDataSources() {
+        final long now = System.nanoTime();
+        for (final Map.Entry<HikariDataSource, Long> entry : this.drainingDataSources.entrySet()) {
+            final HikariDataSource dataSource = entry.getKey();
+            final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            final int activeConnections = pool == null ? 0 : pool.getActiveConnections();
+            if (activeConnections > 0 && now - entry.getValue() < 0) {
+                continue;
+            }
+            if (activeConnections > 0) {
+                LOG.warn("Closing connection pool {} with {} connections still in use after {}s", dataSource.getPoolName(),
+                        activeConnections, this.drainTimeoutSeconds);
+            } else {
+                LOG.info("Closing drained connection pool {}", dataSource.getPoolName());
+            }
+            this.drainingDataSources.remove(dataSource);
+            dataSource.close();
+        }
+    }
+
+    private String constructJdbcUrl(final FineractPlatformTenantConnection tenantConnectionObj) {
+        return this.driverConfig.constructProtocol(tenantConnectionObj.getSchemaServer(), tenantConnectionObj.getSchemaServerPort(),
+                tenantConnectionObj.getSchemaName(), tenantConnectionObj.getSchemaConnectionParameters());
+    }
+
+    /**
+     * Tenants may share a schema name on different servers, so the pool name, which tags the pool metrics and names its
+     * MBeans, carries the connection id. While the previous pool of the same connection drains, the new one gets a
+     * sequence number on top.
+     */
+    String poolNameOf(final FineractPlatformTenantConnection tenantConnection) {
+        final String poolName = tenantConnection.getSchemaName() + "_" + tenantConnection.getConnectionId() + "_pool";
+        for (final HikariDataSource dataSource : this.drainingDataSources.keySet()) {
+            if (dataSource.getPoolName().startsWith(poolName)) {
+                return poolName + "_" + this.poolSequence.incrementAndGet();
+            }
+        }
+        return poolName;
     }
 
     // creates the tenant data source for the oltp and report database
-    private DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
-        String jdbcUrl = this.driverConfig.constructProtocol(tenantConnectionObj.getSchemaServer(),
-                tenantConnectionObj.getSchemaServerPort(), tenantConnectionObj.getSchemaName(),
-                tenantConnectionObj.getSchemaConnectionParameters());
+    private HikariDataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
+        String jdbcUrl = constructJdbcUrl(tenantConnectionObj);
 
         HikariConfig config = new HikariConfig();
         config.setDriverClassName(this.driverConfig.getDriverClassName());
-        config.setPoolName(tenantConnectionObj.getSchemaName() + "_pool");
+        config.setPoolName(poolNameOf(tenantConnectionObj));
         config.setJdbcUrl(jdbcUrl);
         config.setUsername(tenantConnectionObj.getSchemaUsername());
         config.setPassword(tenantConnectionObj.getSchemaPassword());
@@ -95,6 +385,7 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MBean-(JMX)-Monitoring-and-Management
         config.setRegisterMbeans(true);
+        config.setMetricRegistry(this.meterRegistry);
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
         // These are the properties for each Tenant DB; the same configuration
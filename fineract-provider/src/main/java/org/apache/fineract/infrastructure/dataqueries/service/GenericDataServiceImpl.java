@@ -22,6 +22,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
@@ -34,6 +35,7 @@ import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoun
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
@@ -195,6 +197,7 @@ public class GenericDataServiceImpl implements GenericDataService {
     }
 
     @Override
+    @Cacheable(value = "datatableColumnHeaders", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#datatable+'dt')")
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
 
         LOG.debug("::3 Was inside the fill ResultSetColumnHeader");
@@ -250,11 +253,13 @@ public class GenericDataServiceImpl implements GenericDataService {
             columnHeaders.add(rsch);
         }
 
-        return columnHeaders;
+        // shared by the requests once cached
+        return Collections.unmodifiableList(columnHeaders);
     }
 
     /*
-     * Candidate for using caching there to get allowed 'column values' from code/codevalue tables
+     * The allowed 'column values' from code/codevalue tables are cached along with the column headers, see
+     * fillResultsetColumnHeaders
      */
     private List<ResultsetColumnValueData> retreiveColumnValues(final String codeName) {
 
@@ -22,13 +22,17 @@ import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -58,6 +62,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
@@ -69,6 +74,7 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     private static final String REPORT_NAME_REGEX_PATTERN = "^[a-zA-Z][a-zA-Z0-9\\-_\\s]{0,48}[a-zA-Z0-9\\s](\\([a-zA-Z]*\\))?$";
 
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
     private final DataSource dataSource;
     private final PlatformSecurityContext context;
     private final GenericDataService genericDataService;
@@ -80,6 +86,10 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         this.context = context;
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(this.dataSource);
+        // makes the MySQL/MariaDB drivers stream the rows instead of reading
+        // the whole result set into memory
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
         this.genericDataService = genericDataService;
         this.columnValidator = columnValidator;
     }
@@ -89,75 +99,65 @@ public class ReadReportingServiceImpl implements ReadReportingService {
             final boolean isSelfServiceUserReport) {
         return out -> {
             try {
+                final long startTime = System.currentTimeMillis();
+                LOG.info("STARTING REPORT: {}   Type: {}", name, type);
 
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                final StringBuilder sb = generateCsvFileBuffer(result);
+                final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                final Long rowCount = this.streamingJdbcTemplate.query(sql, (ResultSetExtractor<Long>) rs -> writeCsv(rs, writer));
+                writer.flush();
 
-                final InputStream in = new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8));
-
-                final byte[] outputByte = new byte[4096];
-                Integer readLen = in.read(outputByte, 0, 4096);
-
-                while (readLen != -1) {
-                    out.write(outputByte, 0, readLen);
-                    readLen = in.read(outputByte, 0, 4096);
-                }
-                // in.close();
-                // out.flush();
-                // out.close();
+                final long elapsed = System.currentTimeMillis() - startTime;
+                LOG.info("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}     NO. of Rows: {}", name, type, elapsed, rowCount);
             } catch (final Exception e) {
                 throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage(), e);
             }
         };
     }
 
-    private StringBuilder generateCsvFileBuffer(final GenericResultsetData result) {
-        final StringBuilder writer = new StringBuilder();
-
-        final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-        LOG.info("NO. of Columns: {}", columnHeaders.size());
-        final Integer chSize = columnHeaders.size();
-        for (int i = 0; i < chSize; i++) {
-            writer.append('"' + columnHeaders.get(i).getColumnName() + '"');
-            if (i < (chSize - 1)) {
-                writer.append(",");
+    /**
+     * Writes the rows as they are read from the cursor, so only the current row is held in memory.
+     */
+    private long writeCsv(final ResultSet rs, final Writer writer) throws SQLException {
+        try {
+            final ResultSetMetaData rsmd = rs.getMetaData();
+            final int columnCount = rsmd.getColumnCount();
+            final String[] columnTypes = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnTypes[i] = rsmd.getColumnTypeName(i + 1);
+                writer.append('"').append(rsmd.getColumnLabel(i + 1)).append('"');
+                if (i < (columnCount - 1)) {
+                    writer.append(',');
+                }
             }
-        }
-        writer.append('\n');
-
-        final List<ResultsetRowData> data = result.getData();
-        List<String> row;
-        Integer rSize;
-        // String currCol;
-        String currColType;
-        String currVal;
-        final String doubleQuote = "\"";
-        final String twoDoubleQuotes = doubleQuote + doubleQuote;
-        LOG.info("NO. of Rows: {}", data.size());
-        for (ResultsetRowData element : data) {
-            row = element.getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-                // currCol = columnHeaders.get(j).getColumnName();
-                currColType = columnHeaders.get(j).getColumnType();
-                currVal = row.get(j);
-                if (currVal != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
-                            || currColType.equals("SMALLINT") || currColType.equals("INT")) {
-                        writer.append(currVal);
-                    } else {
-                        writer.append('"' + this.genericDataService.replace(currVal, doubleQuote, twoDoubleQuotes) + '"');
-                    }
+            writer.append('\n');
 
+            final String doubleQuote = "\"";
+            final String twoDoubleQuotes = doubleQuote + doubleQuote;
+            long rowCount = 0;
+            while (rs.next()) {
+                for (int j = 0; j < columnCount; j++) {
+                    final String currColType = columnTypes[j];
+                    final String currVal = rs.getString(j + 1);
+                    if (currVal != null) {
+                        if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
+                                || currColType.equals("SMALLINT") || currColType.equals("INT")) {
+                            writer.append(currVal);
+                        } else {
+                            writer.append('"').append(this.genericDataService.replace(currVal, doubleQuote, twoDoubleQuotes)).append('"');
+                        }
+                    }
+                    if (j < (columnCount - 1)) {
+                        writer.append(',');
+                    }
                 }
-                if (j < (rSize - 1)) {
-                    writer.append(",");
-                }
+                writer.append('\n');
+                rowCount++;
             }
-            writer.append('\n');
+            return rowCount;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-
-        return writer;
     }
 
     @Override
@@ -72,6 +72,7 @@ import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -557,6 +558,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public CommandProcessingResult createDatatable(final JsonCommand command) {
 
         String datatableName = null;
@@ -877,6 +879,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public void updateDatatable(final String datatableName, final JsonCommand command) {
 
         try {
@@ -1057,6 +1060,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public void deleteDatatable(final String datatableName) {
 
         try {
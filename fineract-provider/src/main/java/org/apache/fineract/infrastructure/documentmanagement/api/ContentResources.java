@@ -19,10 +19,21 @@
 package org.apache.fineract.infrastructure.documentmanagement.api;
 
 import com.google.common.io.ByteSource;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +47,8 @@ final class ContentResources {
 
     private static final Logger LOG = LoggerFactory.getLogger(ContentResources.class);
 
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
     private ContentResources() {}
 
     static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType) {
@@ -58,4 +71,92 @@ final class ContentResources {
     static Response fileDataToResponse(FileData fileData, String dispositionType) {
         return fileDataToResponse(fileData, fileData.name(), dispositionType);
     }
+
+    static Response fileDataToResponse(FileData fileData, String dispositionType, Request request, String range, String ifRange) {
+        return fileDataToResponse(fileData, fileData.name(), dispositionType, request, range, ifRange);
+    }
+
+    /**
+     * Content stored on the file system is transferred straight from its file channel, answers conditional requests
+     * (If-None-Match) with 304 Not Modified and a single byte range (Range: bytes=first-last) with 206 Partial Content.
+     * A range with an If-Range that is not the current entity tag is ignored and the whole content is sent, so that a
+     * client resuming a download of a file that changed meanwhile does not splice two versions together. Any other
+     * content is sent as by {@link #fileDataToResponse(FileData, String, String)}.
+     */
+    static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType, Request request, String range,
+            String ifRange) {
+        final File file = fileData.getFile();
+        if (file == null || !file.isFile()) {
+            return fileDataToResponse(fileData, fileName, dispositionType);
+        }
+        final long length = file.length();
+        final EntityTag entityTag = new EntityTag(Long.toHexString(file.lastModified()) + "-" + Long.toHexString(length));
+        final ResponseBuilder notModified = request != null ? request.evaluatePreconditions(entityTag) : null;
+        if (notModified != null) {
+            return notModified.tag(entityTag).build();
+        }
+
+        long first = 0;
+        long last = length - 1;
+        ResponseBuilder response = Response.ok();
+        final Matcher matcher = range != null && ifRangeMatches(ifRange, entityTag) ? SINGLE_BYTE_RANGE.matcher(range.trim()) : null;
+        // multiple ranges are not supported, those requests get the whole content as allowed by RFC 7233
+        if (matcher != null && matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            if (matcher.group(1).isEmpty()) {
+                // suffix range, the last n bytes
+                first = Math.max(0, length - parseLong(matcher.group(2)));
+            } else {
+                first = parseLong(matcher.group(1));
+                if (!matcher.group(2).isEmpty()) {
+                    last = Math.min(last, parseLong(matcher.group(2)));
+                }
+            }
+            if (first >= length || first > last) {
+                return Response.status(416).header("Content-Range", "bytes */" + length).build();
+            }
+            response = Response.status(206).header("Content-Range", "bytes " + first + "-" + last + "/" + length);
+        }
+
+        final long position = first;
+        final long count = last - first + 1;
+        response.entity((StreamingOutput) output -> transfer(file, position, count, output));
+        response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
+        response.header("Content-Length", count);
+        response.header("Content-Type", fileData.contentType());
+        response.header("Accept-Ranges", "bytes");
+        response.tag(entityTag);
+        return response.build();
+    }
+
+    /**
+     * If-Range only matches the strong entity tag sent with the content; we send no Last-Modified, so a date never
+     * matches either.
+     */
+    private static boolean ifRangeMatches(String ifRange, EntityTag entityTag) {
+        return ifRange == null || ifRange.trim().equals("\"" + entityTag.getValue() + "\"");
+    }
+
+    private static long parseLong(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            // too many digits for a long, which no file can satisfy anyway
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void transfer(File file, long position, long count, OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            long transferred = 0;
+            while (transferred < count) {
+                final long written = channel.transferTo(position + transferred, count - transferred, target);
+                if (written <= 0) {
+                    // the file was truncated since the response headers were sent
+                    break;
+                }
+                transferred += written;
+            }
+        }
+    }
 }
@@ -18,13 +18,17 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
 
-import com.google.common.io.Files;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
@@ -42,6 +46,8 @@ public class FileSystemContentRepository implements ContentRepository {
 
     public static final String FINERACT_BASE_DIR = System.getProperty("user.home") + File.separator + ".fineract";
 
+    public static final String THUMBNAILS_DIRECTORY = "thumbnails";
+
     @Override
     public String saveFile(final InputStream uploadedInputStream, final DocumentCommand documentCommand) {
         final String fileName = documentCommand.getFileName();
@@ -68,7 +74,9 @@ public class FileSystemContentRepository implements ContentRepository {
                 + base64EncodedImage.getFileExtension();
         String base64EncodedImageString = base64EncodedImage.getBase64EncodedString();
         try {
-            final InputStream toUploadInputStream = new ByteArrayInputStream(Base64.getMimeDecoder().decode(base64EncodedImageString));
+            // decoded while written, straight from the string rather than from a byte copy of it or of the image
+            final InputStream toUploadInputStream = Base64.getMimeDecoder()
+                    .wrap(new ReaderInputStream(new StringReader(base64EncodedImageString), StandardCharsets.US_ASCII));
             writeFileToFileSystem(imageName, toUploadInputStream, fileLocation);
             return fileLocation;
         } catch (IllegalArgumentException iae) {
@@ -80,6 +88,8 @@ public class FileSystemContentRepository implements ContentRepository {
     @Override
     public void deleteImage(final String location) {
         deleteFileInternal(location);
+        // the thumbnails of the image, see ImageResizer
+        FileUtils.deleteQuietly(new File(new File(location).getParentFile(), THUMBNAILS_DIRECTORY));
     }
 
     @Override
@@ -99,13 +109,13 @@ public class FileSystemContentRepository implements ContentRepository {
     @Override
     public FileData fetchFile(final DocumentData documentData) {
         final File file = new File(documentData.fileLocation());
-        return new FileData(Files.asByteSource(file), documentData.fileName(), documentData.contentType());
+        return new FileData(file, documentData.fileName(), documentData.contentType());
     }
 
     @Override
     public FileData fetchImage(final ImageData imageData) {
         final File file = new File(imageData.location());
-        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(file, imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
     @Override
@@ -135,13 +145,15 @@ public class FileSystemContentRepository implements ContentRepository {
      * Recursively create the directory if it does not exist.
      */
     private void makeDirectories(final String uploadDocumentLocation) throws IOException {
-        Files.createParentDirs(new File(uploadDocumentLocation));
+        Files.createDirectories(Paths.get(uploadDocumentLocation).getParent());
     }
 
     private void writeFileToFileSystem(final String fileName, final InputStream uploadedInputStream, final String fileLocation) {
         try {
             makeDirectories(fileLocation);
-            FileUtils.copyInputStreamToFile(uploadedInputStream, new File(fileLocation));
+            try (InputStream in = uploadedInputStream) {
+                Files.copy(in, Paths.get(fileLocation), StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (final IOException ioException) {
             LOG.warn("writeFileToFileSystem() IOException (logged because cause is not propagated in ContentManagementException)",
                     ioException);
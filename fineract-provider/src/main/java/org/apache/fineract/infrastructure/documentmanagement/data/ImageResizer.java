@@ -20,17 +20,26 @@ package org.apache.fineract.infrastructure.documentmanagement.data;
 
 import com.google.common.io.ByteSource;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
 import java.util.Optional;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -40,13 +49,29 @@ public class ImageResizer {
 
     private static final Logger LOG = LoggerFactory.getLogger(ImageResizer.class);
 
+    /**
+     * Thumbnail sizes from 16 pixels up are rounded down to one of these, so that arbitrary maxWidth and maxHeight values
+     * cannot fill the thumbnails directory with a file per size. The steps are close enough to keep the image sharp at
+     * the requested size. Smaller sizes are used as they are, larger ones are resized without keeping a thumbnail.
+     */
+    private static final int[] SIZES = { 16, 24, 32, 48, 64, 96, 128, 192, 256, 384, 512, 768, 1024, 1536, 2048, 3072, 4096 };
+
     public FileData resize(FileData fileData, Integer maxWidth, Integer maxHeight) {
-        if (maxWidth == null && maxHeight != null) {
+        if (maxWidth == null) {
             return fileData;
         }
+        final int width = Math.max(1, maxWidth);
+        final Integer height = maxHeight != null ? Math.max(1, maxHeight) : null;
+        if (fileData.getFile() != null) {
+            return resizeFile(fileData, width, height);
+        }
+        return resizeInMemory(fileData, width, height);
+    }
+
+    private FileData resizeInMemory(FileData fileData, int maxWidth, Integer maxHeight) {
         try (InputStream is = fileData.getByteSource().openBufferedStream()) {
             Optional<InputStream> optResizedIS = resizeImage(ContentRepositoryUtils.imageExtensionFromFileName(fileData.name()), is,
-                    maxWidth != null ? maxWidth : Integer.MAX_VALUE, maxHeight != null ? maxHeight : Integer.MAX_VALUE);
+                    maxWidth, maxHeight != null ? maxHeight : Integer.MAX_VALUE);
             if (optResizedIS.isPresent()) {
                 FileData resizedImage = new FileData(new ByteSource() {
 
@@ -64,6 +89,100 @@ public class ImageResizer {
         }
     }
 
+    /**
+     * Images stored on the file system are returned as they are when they already fit the requested size, which only
+     * needs their header to be read.
+     */
+    private FileData resizeFile(FileData fileData, int maxWidth, Integer maxHeight) {
+        final Dimension size;
+        try {
+            size = sizeOf(fileData.getFile());
+        } catch (IOException e) {
+            LOG.warn("resize() failed, returning original image: {}", e.getMessage(), e);
+            return fileData;
+        }
+        if (size == null || (maxWidth >= size.width && (maxHeight == null || maxHeight >= size.height))) {
+            return fileData;
+        }
+        final int largest = SIZES[SIZES.length - 1];
+        if (maxWidth > largest || (maxHeight != null && maxHeight > largest)) {
+            return resizeInMemory(fileData, maxWidth, maxHeight);
+        }
+        return resizeToThumbnail(fileData, bucket(maxWidth), maxHeight != null ? bucket(maxHeight) : null);
+    }
+
+    /**
+     * The size of an image as given by its header, or null if it is no image ImageIO can read.
+     */
+    private static Dimension sizeOf(File image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            final Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static int bucket(int size) {
+        if (size < SIZES[0]) {
+            return Math.max(1, size);
+        }
+        int bucket = SIZES[0];
+        for (int candidate : SIZES) {
+            if (candidate <= size) {
+                bucket = candidate;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Images stored on the file system are resized once per requested size; the result is kept in a thumbnails directory
+     * next to the image and regenerated only when the image is newer than it.
+     */
+    private FileData resizeToThumbnail(FileData fileData, int maxWidth, Integer maxHeight) {
+        final File image = fileData.getFile();
+        final File thumbnail = new File(new File(image.getParentFile(), FileSystemContentRepository.THUMBNAILS_DIRECTORY),
+                image.getName() + "-" + maxWidth + "x" + (maxHeight != null ? maxHeight : "max"));
+        if (thumbnail.lastModified() < image.lastModified()) {
+            try {
+                writeThumbnail(fileData, thumbnail, maxWidth, maxHeight != null ? maxHeight : Integer.MAX_VALUE);
+            } catch (IOException e) {
+                LOG.warn("resize() failed, returning original image: {}", e.getMessage(), e);
+                return fileData;
+            }
+        }
+        return new FileData(thumbnail, fileData.name(), fileData.contentType());
+    }
+
+    private void writeThumbnail(FileData fileData, File thumbnail, int maxWidth, int maxHeight) throws IOException {
+        final Path directory = Files.createDirectories(thumbnail.toPath().getParent());
+        final Path temporary = Files.createTempFile(directory, thumbnail.getName(), ".tmp");
+        try {
+            try (InputStream is = fileData.getByteSource().openBufferedStream()) {
+                Optional<InputStream> optResizedIS = resizeImage(ContentRepositoryUtils.imageExtensionFromFileName(fileData.name()), is,
+                        maxWidth, maxHeight);
+                if (optResizedIS.isPresent()) {
+                    Files.copy(optResizedIS.get(), temporary, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    // already small enough, the copy saves decoding the image again on the next request
+                    Files.copy(fileData.getFile().toPath(), temporary, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            // concurrent requests for the same size each write their own temporary file, the last move wins
+            Files.move(temporary, thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
     private Optional<InputStream> resizeImage(ImageFileExtension fileExtension, InputStream in, int maxWidth, int maxHeight)
             throws IOException {
         BufferedImage src = ImageIO.read(in);
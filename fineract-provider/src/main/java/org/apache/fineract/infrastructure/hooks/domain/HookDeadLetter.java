@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * Hook event that could not be delivered after all retries were exhausted.
+ */
+@Entity
+@Table(name = "m_hook_dead_letter")
+public class HookDeadLetter extends AbstractPersistableCustom {
+
+    @Column(name = "hook_id", nullable = false)
+    private Long hookId;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "action_name", nullable = false, length = 100)
+    private String actionName;
+
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_date", nullable = false)
+    private Date createdDate;
+
+    protected HookDeadLetter() {
+
+    }
+
+    public HookDeadLetter(final Long hookId, final String entityName, final String actionName, final String payload, final Integer attempts,
+            final String lastError, final Date createdDate) {
+        this.hookId = hookId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.lastError = lastError;
+        this.createdDate = createdDate;
+    }
+
+    public Long getHookId() {
+        return this.hookId;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public String getActionName() {
+        return this.actionName;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public Date getCreatedDate() {
+        return this.createdDate;
+    }
+}
@@ -24,30 +24,25 @@ import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
-import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
-import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
 import org.apache.fineract.useradministration.domain.AppUser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class FineractHookListener implements HookListener {
 
-    private static final Logger LOG = LoggerFactory.getLogger(FineractHookListener.class);
-
-    private final HookProcessorProvider hookProcessorProvider;
+    private final HookDeliveryService hookDeliveryService;
     private final HookReadPlatformService hookReadPlatformService;
     private final TenantDetailsService tenantDetailsService;
 
     @Autowired
-    public FineractHookListener(final HookProcessorProvider hookProcessorProvider, final HookReadPlatformService hookReadPlatformService,
+    public FineractHookListener(final HookDeliveryService hookDeliveryService, final HookReadPlatformService hookReadPlatformService,
             final TenantDetailsService tenantDetailsService) {
         this.hookReadPlatformService = hookReadPlatformService;
-        this.hookProcessorProvider = hookProcessorProvider;
+        this.hookDeliveryService = hookDeliveryService;
         this.tenantDetailsService = tenantDetailsService;
     }
 
@@ -69,13 +64,7 @@ public class FineractHookListener implements HookListener {
                 hookEventSource.getActionName());
 
         for (final Hook hook : hooks) {
-            final HookProcessor processor = this.hookProcessorProvider.getProcessor(hook);
-            try {
-                processor.process(hook, appUser, payload, entityName, actionName, tenantIdentifier, authToken);
-            } catch (Throwable e) {
-                LOG.error("Hook {} failed in HookProcessor {} for tenantIdentifier/user {}/{}, entityName: {}, actionName: {}, payload {} ",
-                        hook.getId(), processor.getClass().getSimpleName(), tenantIdentifier, appUser, entityName, actionName, payload, e);
-            }
+            this.hookDeliveryService.deliver(tenant, hook, appUser, payload, entityName, actionName, authToken);
         }
     }
 }
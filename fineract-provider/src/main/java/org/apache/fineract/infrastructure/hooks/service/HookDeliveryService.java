@@ -0,0 +1,33 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.useradministration.domain.AppUser;
+
+public interface HookDeliveryService {
+
+    /**
+     * Queues the event for delivery to the given hook. The hook is processed on a worker of the tenant, failed
+     * deliveries are retried with exponential backoff and end up in the dead letter table once all attempts failed.
+     */
+    void deliver(FineractPlatformTenant tenant, Hook hook, AppUser appUser, String payload, String entityName, String actionName,
+            String authToken);
+}
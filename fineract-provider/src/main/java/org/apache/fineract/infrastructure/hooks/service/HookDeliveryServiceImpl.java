@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeadLetter;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeadLetterRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Delivers hook events on a bounded worker pool per tenant, so a slow hook endpoint does not hold up the request that
+ * triggered the event.<br>
+ * <br>
+ * When the queue of a tenant is full the delivery runs on the publishing thread, which slows the producer down instead
+ * of dropping events. A failed delivery is retried with exponential backoff, and after the last attempt it is stored in
+ * <code>m_hook_dead_letter</code>. Queue depth, delivery latency, failures and dead letters are published as metrics.
+ * <br>
+ * <br>
+ * The pool can be tuned with the system properties <code>fineract.hooks.workers</code>,
+ * <code>fineract.hooks.queueCapacity</code>, <code>fineract.hooks.maxAttempts</code>,
+ * <code>fineract.hooks.initialBackoffMillis</code> and <code>fineract.hooks.maxBackoffMillis</code>.
+ */
+@Service
+public class HookDeliveryServiceImpl implements HookDeliveryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HookDeliveryServiceImpl.class);
+
+    private final int workers = Integer.getInteger("fineract.hooks.workers", 2);
+    private final int queueCapacity = Integer.getInteger("fineract.hooks.queueCapacity", 1000);
+    private final int maxAttempts = Integer.getInteger("fineract.hooks.maxAttempts", 5);
+    private final long initialBackoffMillis = Long.getLong("fineract.hooks.initialBackoffMillis", 1000L);
+    private final long maxBackoffMillis = Long.getLong("fineract.hooks.maxBackoffMillis", 300000L);
+
+    private final HookProcessorProvider hookProcessorProvider;
+    private final HookDeadLetterRepository hookDeadLetterRepository;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ThreadPoolExecutor> tenantExecutors = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("hook-retry-%d").setDaemon(true).build());
+
+    @Autowired
+    public HookDeliveryServiceImpl(final HookProcessorProvider hookProcessorProvider,
+            final HookDeadLetterRepository hookDeadLetterRepository, final MeterRegistry meterRegistry) {
+        this.hookProcessorProvider = hookProcessorProvider;
+        this.hookDeadLetterRepository = hookDeadLetterRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void deliver(final FineractPlatformTenant tenant, final Hook hook, final AppUser appUser, final String payload,
+            final String entityName, final String actionName, final String authToken) {
+        submit(new HookDelivery(tenant, hook, appUser, payload, entityName, actionName, authToken, System.nanoTime()));
+    }
+
+    private void submit(final HookDelivery delivery) {
+        tenantExecutor(delivery.tenant).execute(() -> attempt(delivery));
+    }
+
+    private ThreadPoolExecutor tenantExecutor(final FineractPlatformTenant tenant) {
+        return this.tenantExecutors.computeIfAbsent(tenant.getTenantIdentifier(), tenantIdentifier -> {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(this.workers, this.workers, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(this.queueCapacity),
+                    new ThreadFactoryBuilder().setNameFormat("hook-" + tenantIdentifier + "-%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            Gauge.builder("fineract.hooks.queue.depth", executor, e -> e.getQueue().size()).tag("tenant", tenantIdentifier)
+                    .description("Hook deliveries waiting for a worker").register(this.meterRegistry);
+            return executor;
+        });
+    }
+
+    private void attempt(final HookDelivery delivery) {
+        final FineractPlatformTenant previousTenant = ThreadLocalContextUtil.getTenant();
+        ThreadLocalContextUtil.setTenant(delivery.tenant);
+        final Hook hook = delivery.hook;
+        final HookProcessor processor = this.hookProcessorProvider.getProcessor(hook);
+        try {
+            if (processor == null) {
+                LOG.warn("Hook {} of tenant {} has no HookProcessor for template {}", hook.getId(), delivery.tenant.getTenantIdentifier(),
+                        hook.getHookTemplate().getName());
+                return;
+            }
+            processor.process(hook, delivery.appUser, delivery.payload, delivery.entityName, delivery.actionName,
+                    delivery.tenant.getTenantIdentifier(), delivery.authToken);
+            deliveryTimer(delivery, "success").record(System.nanoTime() - delivery.enqueuedNanos, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            Counter.builder("fineract.hooks.delivery.failures").tag("tenant", delivery.tenant.getTenantIdentifier())
+                    .tag("hook", String.valueOf(hook.getId())).register(this.meterRegistry).increment();
+            if (delivery.attempt < this.maxAttempts) {
+                final long backoffMillis = Math.min(this.maxBackoffMillis, this.initialBackoffMillis << Math.min(delivery.attempt - 1, 30));
+                LOG.warn("Hook {} failed in HookProcessor {} for tenantIdentifier {}, entityName: {}, actionName: {}, attempt {} of {}, "
+                        + "retrying in {} ms", hook.getId(), processor.getClass().getSimpleName(), delivery.tenant.getTenantIdentifier(),
+                        delivery.entityName, delivery.actionName, delivery.attempt, this.maxAttempts, backoffMillis, e);
+                scheduleRetry(delivery.nextAttempt(), backoffMillis);
+            } else {
+                LOG.error("Hook {} failed in HookProcessor {} for tenantIdentifier/user {}/{}, entityName: {}, actionName: {}, payload {} ",
+                        hook.getId(), processor.getClass().getSimpleName(), delivery.tenant.getTenantIdentifier(), delivery.appUser,
+                        delivery.entityName, delivery.actionName, delivery.payload, e);
+                deliveryTimer(delivery, "failure").record(System.nanoTime() - delivery.enqueuedNanos, TimeUnit.NANOSECONDS);
+                saveDeadLetter(delivery, e);
+            }
+        } finally {
+            if (previousTenant != null) {
+                ThreadLocalContextUtil.setTenant(previousTenant);
+            } else {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    private void scheduleRetry(final HookDelivery delivery, final long backoffMillis) {
+        try {
+            final ScheduledFuture<?> unused = this.retryScheduler.schedule(() -> submit(delivery), backoffMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // the scheduler was shut down
+            saveDeadLetter(delivery, e);
+        }
+    }
+
+    private void saveDeadLetter(final HookDelivery delivery, final Exception cause) {
+        try {
+            this.hookDeadLetterRepository.save(new HookDeadLetter(delivery.hook.getId(), delivery.entityName, delivery.actionName,
+                    delivery.payload, delivery.attempt, StringUtils.abbreviate(String.valueOf(cause.getMessage()), 1000), new Date()));
+            Counter.builder("fineract.hooks.dead.letters").tag("tenant", delivery.tenant.getTenantIdentifier())
+                    .tag("hook", String.valueOf(delivery.hook.getId())).register(this.meterRegistry).increment();
+        } catch (RuntimeException e) {
+            LOG.error("Unable to store dead letter of hook {} for tenantIdentifier {}, entityName: {}, actionName: {}, payload {}",
+                    delivery.hook.getId(), delivery.tenant.getTenantIdentifier(), delivery.entityName, delivery.actionName,
+                    delivery.payload, e);
+        }
+    }
+
+    private Timer deliveryTimer(final HookDelivery delivery, final String outcome) {
+        return Timer.builder("fineract.hooks.delivery.latency").tag("tenant", delivery.tenant.getTenantIdentifier())
+                .tag("hook", String.valueOf(delivery.hook.getId())).tag("outcome", outcome)
+                .description("Time from publishing a hook event until it was delivered or given up").register(this.meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.retryScheduler.shutdownNow();
+        this.tenantExecutors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    private static final class HookDelivery {
+
+        private final FineractPlatformTenant tenant;
+        private final Hook hook;
+        private final AppUser appUser;
+        private final String payload;
+        private final String entityName;
+        private final String actionName;
+        private final String authToken;
+        private final long enqueuedNanos;
+        private final int attempt;
+
+        HookDelivery(final FineractPlatformTenant tenant, final Hook hook, final AppUser appUser, final String payload,
+                final String entityName, final String actionName, final String authToken, final long enqueuedNanos) {
+            this(tenant, hook, appUser, payload, entityName, actionName, authToken, enqueuedNanos, 1);
+        }
+
+        private HookDelivery(final FineractPlatformTenant tenant, final Hook hook, final AppUser appUser, final String payload,
+                final String entityName, final String actionName, final String authToken, final long enqueuedNanos, final int attempt) {
+            this.tenant = tenant;
+            this.hook = hook;
+            this.appUser = appUser;
+            this.payload = payload;
+            this.entityName = entityName;
+            this.actionName = actionName;
+            this.authToken = authToken;
+            this.enqueuedNanos = enqueuedNanos;
+            this.attempt = attempt;
+        }
+
+        HookDelivery nextAttempt() {
+            return new HookDelivery(this.tenant, this.hook, this.appUser, this.payload, this.entityName, this.actionName, this.authToken,
+                    this.enqueuedNanos, this.attempt + 1);
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamE
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.jobs.data.SchedulerDetailData;
+import org.apache.fineract.infrastructure.jobs.data.SchedulerWorkloadData;
 import org.apache.fineract.infrastructure.jobs.service.JobRegisterService;
 import org.apache.fineract.infrastructure.security.exception.NoAuthorizationException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -56,14 +57,18 @@ public class SchedulerApiResource {
     private final PlatformSecurityContext context;
     private final JobRegisterService jobRegisterService;
     private final ToApiJsonSerializer<SchedulerDetailData> toApiJsonSerializer;
+    private final ToApiJsonSerializer<SchedulerWorkloadData> workloadToApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
 
     @Autowired
     public SchedulerApiResource(final PlatformSecurityContext context, final JobRegisterService jobRegisterService,
-            final ToApiJsonSerializer<SchedulerDetailData> toApiJsonSerializer, final ApiRequestParameterHelper apiRequestParameterHelper) {
+            final ToApiJsonSerializer<SchedulerDetailData> toApiJsonSerializer,
+            final ToApiJsonSerializer<SchedulerWorkloadData> workloadToApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper) {
         this.context = context;
         this.jobRegisterService = jobRegisterService;
         this.toApiJsonSerializer = toApiJsonSerializer;
+        this.workloadToApiJsonSerializer = workloadToApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
     }
 
@@ -83,6 +88,21 @@ public class SchedulerApiResource {
                 SchedulerJobApiConstants.SCHEDULER_DETAIL_RESPONSE_DATA_PARAMETERS);
     }
 
+    @GET
+    @Path("workload")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve Scheduler Workload", description = "Returns the jobs of the tenant that are running on this node, and those that are due but waiting for one of the tenant's scheduler workers.\n"
+            + "\n" + "Example Requests:\n" + "\n" + "scheduler/workload")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = SchedulerApiResourceSwagger.GetSchedulerWorkloadResponse.class))) })
+    public String retrieveWorkload(@Context final UriInfo uriInfo) {
+        this.context.authenticatedUser().validateHasReadPermission(SchedulerJobApiConstants.SCHEDULER_RESOURCE_NAME);
+        final SchedulerWorkloadData schedulerWorkloadData = this.jobRegisterService.retrieveSchedulerWorkload();
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.workloadToApiJsonSerializer.serialize(settings, schedulerWorkloadData);
+    }
+
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
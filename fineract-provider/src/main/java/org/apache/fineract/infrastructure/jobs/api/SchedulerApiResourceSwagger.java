@@ -19,6 +19,8 @@
 package org.apache.fineract.infrastructure.jobs.api;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Date;
+import java.util.List;
 
 /**
  * Created by sanyam on 12/8/17.
@@ -40,4 +42,34 @@ final class SchedulerApiResourceSwagger {
         public boolean active;
     }
 
+    @Schema(description = "GetSchedulerWorkloadResponse")
+    public static final class GetSchedulerWorkloadResponse {
+
+        private GetSchedulerWorkloadResponse() {
+
+        }
+
+        static final class GetJobWorkload {
+
+            private GetJobWorkload() {
+
+            }
+
+            @Schema(example = "1")
+            public Long jobId;
+            @Schema(example = "Update loan Summary")
+            public String displayName;
+            @Schema(example = "Scheduler1")
+            public String schedulerName;
+            @Schema(example = "")
+            public Date fireTime;
+        }
+
+        @Schema(example = "default")
+        public String tenantIdentifier;
+        @Schema(example = "7")
+        public int maxConcurrentJobs;
+        public List<GetJobWorkload> runningJobs;
+        public List<GetJobWorkload> queuedJobs;
+    }
 }
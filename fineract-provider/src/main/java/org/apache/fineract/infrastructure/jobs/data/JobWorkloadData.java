@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+import java.util.Date;
+
+/**
+ * Immutable data object for a job that is running or queued on a scheduler. <code>fireTime</code> is the time the job
+ * started for a running job, and the time it was due for a queued one.
+ */
+public class JobWorkloadData {
+
+    @SuppressWarnings("unused")
+    private final Long jobId;
+
+    @SuppressWarnings("unused")
+    private final String displayName;
+
+    @SuppressWarnings("unused")
+    private final String schedulerName;
+
+    private final Date fireTime;
+
+    public JobWorkloadData(final Long jobId, final String displayName, final String schedulerName, final Date fireTime) {
+        this.jobId = jobId;
+        this.displayName = displayName;
+        this.schedulerName = schedulerName;
+        this.fireTime = fireTime;
+    }
+
+    public Date getFireTime() {
+        return this.fireTime;
+    }
+}
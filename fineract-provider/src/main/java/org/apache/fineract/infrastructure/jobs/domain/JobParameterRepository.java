@@ -28,4 +28,8 @@ public interface JobParameterRepository extends JpaRepository<JobParameter, Long
 
     @Query("select jobParameter from JobParameter jobParameter where jobParameter.jobId=:jobId")
     List<JobParameter> findJobParametersByJobId(@Param("jobId") Long jobId);
+
+    @Query("select jobParameter from JobParameter jobParameter, ScheduledJobDetail job where job.id = jobParameter.jobId"
+            + " and job.jobName = :jobName")
+    List<JobParameter> findJobParametersByJobName(@Param("jobName") String jobName);
 }
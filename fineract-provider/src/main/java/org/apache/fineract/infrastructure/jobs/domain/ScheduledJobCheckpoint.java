@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * Last position committed by a job that processes its records in order, used to resume the job after it was
+ * interrupted. The checkpoint is only valid for the same <code>checkpointScope</code> (e.g. the date the job runs for).
+ */
+@Entity
+@Table(name = "job_checkpoint", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "job_name" }, name = "UQ_job_checkpoint_job_name") })
+public class ScheduledJobCheckpoint extends AbstractPersistableCustom {
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "checkpoint_scope", nullable = true, length = 100)
+    private String checkpointScope;
+
+    @Column(name = "checkpoint_value", nullable = false)
+    private Long checkpointValue;
+
+    protected ScheduledJobCheckpoint() {
+
+    }
+
+    public ScheduledJobCheckpoint(final String jobName, final String checkpointScope, final Long checkpointValue) {
+        this.jobName = jobName;
+        this.checkpointScope = checkpointScope;
+        this.checkpointValue = checkpointValue;
+    }
+
+    public String getJobName() {
+        return this.jobName;
+    }
+
+    public String getCheckpointScope() {
+        return this.checkpointScope;
+    }
+
+    public Long getCheckpointValue() {
+        return this.checkpointValue;
+    }
+
+    public void update(final String checkpointScope, final Long checkpointValue) {
+        this.checkpointScope = checkpointScope;
+        this.checkpointValue = checkpointValue;
+    }
+}
@@ -91,6 +91,10 @@ public class ScheduledJobDetail extends AbstractPersistableCustom {
         return this.jobName;
     }
 
+    public String getJobDisplayName() {
+        return this.jobDisplayName;
+    }
+
     public String getCronExpression() {
         return this.cronExpression;
     }
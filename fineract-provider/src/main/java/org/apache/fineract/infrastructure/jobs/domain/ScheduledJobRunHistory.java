@@ -59,12 +59,15 @@ public class ScheduledJobRunHistory extends AbstractPersistableCustom {
     @Column(name = "error_log")
     private String errorLog;
 
+    @Column(name = "run_summary")
+    private String runSummary;
+
     public ScheduledJobRunHistory() {
 
     }
 
     public ScheduledJobRunHistory(final ScheduledJobDetail scheduledJobDetail, final Long version, final Date startTime, final Date endTime,
-            final String status, final String errorMessage, final String triggerType, final String errorLog) {
+            final String status, final String errorMessage, final String triggerType, final String errorLog, final String runSummary) {
         this.scheduledJobDetail = scheduledJobDetail;
         this.version = version;
         this.startTime = startTime;
@@ -73,6 +76,7 @@ public class ScheduledJobRunHistory extends AbstractPersistableCustom {
         this.errorMessage = errorMessage;
         this.triggerType = triggerType;
         this.errorLog = errorLog;
+        this.runSummary = runSummary;
     }
 
 }
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Typed, read-only view over the rows of <code>job_parameters</code> configured for one job.
+ */
+public final class JobParameters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobParameters.class);
+
+    public static final String THREAD_POOL_SIZE = "thread-pool-size";
+    public static final String BATCH_SIZE = "batch-size";
+    public static final String STREAMING = "streaming";
+    public static final String INCREMENTAL = "incremental";
+
+    private final Map<String, String> values;
+
+    private JobParameters(final Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static JobParameters of(final List<JobParameter> jobParameters) {
+        final Map<String, String> values = new HashMap<>();
+        for (final JobParameter jobParameter : jobParameters) {
+            values.put(jobParameter.getParameterName(), jobParameter.getParameterValue());
+        }
+        return new JobParameters(values);
+    }
+
+    public String getString(final String parameterName) {
+        return this.values.get(parameterName);
+    }
+
+    /**
+     * Returns the parameter as an integer of at least one, or the default when it is missing or not a number.
+     */
+    public int getPositiveInt(final String parameterName, final int defaultValue) {
+        final String value = this.values.get(parameterName);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Ignoring job parameter {}={}, using {}", parameterName, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Flags are stored as <code>1</code> (or <code>true</code>) to switch a feature on.
+     */
+    public boolean isEnabled(final String parameterName) {
+        final String value = this.values.get(parameterName);
+        return value != null && ("1".equals(value.trim()) || "true".equalsIgnoreCase(value.trim()));
+    }
+
+    public Map<String, String> asMap() {
+        return Collections.unmodifiableMap(this.values);
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.jobs.service;
 
+import org.apache.fineract.infrastructure.jobs.data.SchedulerWorkloadData;
+
 public interface JobRegisterService {
 
     void executeJob(Long jobId);
@@ -34,4 +36,10 @@ public interface JobRegisterService {
 
     void stopAllSchedulers();
 
+    /**
+     * Returns the jobs of the current tenant that are running on this node, and those that are due but waiting for one of
+     * the tenant's scheduler workers or for a previous run of the same job to complete.
+     */
+    SchedulerWorkloadData retrieveSchedulerWorkload();
+
 }
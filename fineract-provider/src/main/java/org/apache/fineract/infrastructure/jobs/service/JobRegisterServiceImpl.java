@@ -22,17 +22,22 @@ import com.google.common.base.Splitter;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser;
 import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser.ClassMethodNamesPair;
+import org.apache.fineract.infrastructure.jobs.data.JobWorkloadData;
+import org.apache.fineract.infrastructure.jobs.data.SchedulerWorkloadData;
 import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
 import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
@@ -41,12 +46,15 @@ import org.apache.fineract.infrastructure.jobs.exception.JobNotFoundException;
 import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
 import org.quartz.JobKey;
 import org.quartz.JobListener;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.quartz.Trigger;
+import org.quartz.Trigger.TriggerState;
 import org.quartz.TriggerListener;
+import org.quartz.impl.matchers.GroupMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -81,7 +89,9 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     private SchedulerTriggerListener globalSchedulerTriggerListener;
     private JobParameterRepository jobParameterRepository;
 
-    private final HashMap<String, Scheduler> schedulers = new HashMap<>(4);
+    // read by the scheduler API while jobs are triggered and temporary
+    // schedulers are stopped
+    private final Map<String, Scheduler> schedulers = new ConcurrentHashMap<>(4);
 
     @Autowired
     public void setApplicationContext(ApplicationContext applicationContext) {
@@ -297,20 +307,80 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         }
     }
 
+    @Override
+    public SchedulerWorkloadData retrieveSchedulerWorkload() {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        // job keys carry the tenant id, so only the jobs of this tenant match
+        final Map<String, ScheduledJobDetail> jobsByKey = new HashMap<>();
+        for (final ScheduledJobDetail jobDetail : this.schedularWritePlatformService.retrieveAllJobs()) {
+            if (jobDetail.getJobKey() != null) {
+                jobsByKey.put(jobDetail.getJobKey(), jobDetail);
+            }
+        }
+
+        final Date now = new Date();
+        final List<JobWorkloadData> runningJobs = new ArrayList<>();
+        final List<JobWorkloadData> queuedJobs = new ArrayList<>();
+        for (final Map.Entry<String, Scheduler> entry : this.schedulers.entrySet()) {
+            final Scheduler scheduler = entry.getValue();
+            try {
+                for (final JobExecutionContext context : scheduler.getCurrentlyExecutingJobs()) {
+                    final ScheduledJobDetail jobDetail = jobsByKey.get(getJobKeyAsString(context.getJobDetail().getKey()));
+                    if (jobDetail != null) {
+                        runningJobs.add(new JobWorkloadData(jobDetail.getId(), jobDetail.getJobDisplayName(), entry.getKey(),
+                                context.getFireTime()));
+                    }
+                }
+                for (final JobKey jobKey : scheduler.getJobKeys(GroupMatcher.anyJobGroup())) {
+                    final ScheduledJobDetail jobDetail = jobsByKey.get(getJobKeyAsString(jobKey));
+                    if (jobDetail == null) {
+                        continue;
+                    }
+                    for (final Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+                        final TriggerState triggerState = scheduler.getTriggerState(trigger.getKey());
+                        final Date nextFireTime = trigger.getNextFireTime();
+                        if ((triggerState == TriggerState.NORMAL || triggerState == TriggerState.BLOCKED) && nextFireTime != null
+                                && !nextFireTime.after(now)) {
+                            queuedJobs.add(new JobWorkloadData(jobDetail.getId(), jobDetail.getJobDisplayName(), entry.getKey(),
+                                    nextFireTime));
+                        }
+                    }
+                }
+            } catch (final SchedulerException e) {
+                LOG.error("Could not read the workload of scheduler {}", entry.getKey(), e);
+            }
+        }
+        queuedJobs.sort(Comparator.comparing(JobWorkloadData::getFireTime));
+        return new SchedulerWorkloadData(tenant.getTenantIdentifier(), tenant.getConnection().getMaxConcurrentJobs(), runningJobs,
+                queuedJobs);
+    }
+
     private Scheduler getScheduler(final ScheduledJobDetail scheduledJobDetail) throws Exception {
         final String schedulername = getSchedulerName(scheduledJobDetail);
         Scheduler scheduler = this.schedulers.get(schedulername);
         if (scheduler == null) {
-            int noOfThreads = SchedulerServiceConstants.DEFAULT_THREAD_COUNT;
-            if (scheduledJobDetail.getSchedulerGroup() > 0) {
-                noOfThreads = SchedulerServiceConstants.GROUP_THREAD_COUNT;
-            }
+            // every tenant has its own scheduler, so that the jobs of one
+            // tenant never wait for the workers of another
+            final int noOfThreads = getSchedulerThreadCount(ThreadLocalContextUtil.getTenant().getConnection().getMaxConcurrentJobs(),
+                    scheduledJobDetail.getSchedulerGroup());
             scheduler = createScheduler(schedulername, noOfThreads, schedulerJobListener);
             this.schedulers.put(schedulername, scheduler);
         }
         return scheduler;
     }
 
+    /**
+     * The limit of concurrent jobs applies per scheduler, not per tenant: the tenant's scheduler runs up to
+     * maxConcurrentJobs jobs, and every scheduler group has a scheduler of its own running its jobs one at a time on top
+     * of those. A tenant with n scheduler groups may thus run maxConcurrentJobs + n jobs at once.
+     */
+    static int getSchedulerThreadCount(final int maxConcurrentJobs, final int schedulerGroup) {
+        if (schedulerGroup > 0) {
+            return SchedulerServiceConstants.GROUP_THREAD_COUNT;
+        }
+        return maxConcurrentJobs;
+    }
+
     @Override
     public void stopScheduler(final String name) {
         final Scheduler scheduler = this.schedulers.remove(name);
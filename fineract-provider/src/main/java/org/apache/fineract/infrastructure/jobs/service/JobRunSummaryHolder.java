@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects progress lines reported by a batch job while it runs on a scheduler thread. {@link SchedulerJobListener}
+ * clears it before the job starts and stores whatever was reported in the job run history once the job has finished,
+ * whether it succeeded or failed.
+ */
+public final class JobRunSummaryHolder {
+
+    private JobRunSummaryHolder() {
+
+    }
+
+    private static final ThreadLocal<List<String>> summaryContext = ThreadLocal.withInitial(ArrayList::new);
+
+    public static void addLine(final String line) {
+        summaryContext.get().add(line);
+    }
+
+    public static String getSummary() {
+        final List<String> lines = summaryContext.get();
+        if (lines.isEmpty()) {
+            return null;
+        }
+        return String.join("\n", lines);
+    }
+
+    public static void clear() {
+        summaryContext.remove();
+    }
+}
@@ -47,4 +47,10 @@ public interface SchedularWritePlatformService {
 
     boolean processJobDetailForExecution(String jobKey, String triggerType);
 
+    Long retrieveJobCheckpoint(JobName jobName, String checkpointScope);
+
+    void saveJobCheckpoint(JobName jobName, String checkpointScope, Long checkpointValue);
+
+    void clearJobCheckpoint(JobName jobName);
+
 }
@@ -21,10 +21,13 @@ package org.apache.fineract.infrastructure.jobs.service;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailDataValidator;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobCheckpoint;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobCheckpointRepository;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetailRepository;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobRunHistory;
@@ -47,14 +50,18 @@ public class SchedularWritePlatformServiceJpaRepositoryImpl implements Schedular
 
     private final JobDetailDataValidator dataValidator;
 
+    private final ScheduledJobCheckpointRepository scheduledJobCheckpointRepository;
+
     @Autowired
     public SchedularWritePlatformServiceJpaRepositoryImpl(final ScheduledJobDetailRepository scheduledJobDetailsRepository,
             final ScheduledJobRunHistoryRepository scheduledJobRunHistoryRepository, final JobDetailDataValidator dataValidator,
-            final SchedulerDetailRepository schedulerDetailRepository) {
+            final SchedulerDetailRepository schedulerDetailRepository,
+            final ScheduledJobCheckpointRepository scheduledJobCheckpointRepository) {
         this.scheduledJobDetailsRepository = scheduledJobDetailsRepository;
         this.scheduledJobRunHistoryRepository = scheduledJobRunHistoryRepository;
         this.schedulerDetailRepository = schedulerDetailRepository;
         this.dataValidator = dataValidator;
+        this.scheduledJobCheckpointRepository = scheduledJobCheckpointRepository;
     }
 
     @Override
@@ -151,4 +158,34 @@ public class SchedularWritePlatformServiceJpaRepositoryImpl implements Schedular
         return isStopExecution;
     }
 
+    @Override
+    public Long retrieveJobCheckpoint(final JobName jobName, final String checkpointScope) {
+        final ScheduledJobCheckpoint checkpoint = this.scheduledJobCheckpointRepository.findByJobName(jobName.toString());
+        if (checkpoint == null || !Objects.equals(checkpoint.getCheckpointScope(), checkpointScope)) {
+            return null;
+        }
+        return checkpoint.getCheckpointValue();
+    }
+
+    @Transactional
+    @Override
+    public void saveJobCheckpoint(final JobName jobName, final String checkpointScope, final Long checkpointValue) {
+        ScheduledJobCheckpoint checkpoint = this.scheduledJobCheckpointRepository.findByJobName(jobName.toString());
+        if (checkpoint == null) {
+            checkpoint = new ScheduledJobCheckpoint(jobName.toString(), checkpointScope, checkpointValue);
+        } else {
+            checkpoint.update(checkpointScope, checkpointValue);
+        }
+        this.scheduledJobCheckpointRepository.save(checkpoint);
+    }
+
+    @Transactional
+    @Override
+    public void clearJobCheckpoint(final JobName jobName) {
+        final ScheduledJobCheckpoint checkpoint = this.scheduledJobCheckpointRepository.findByJobName(jobName.toString());
+        if (checkpoint != null) {
+            this.scheduledJobCheckpointRepository.delete(checkpoint);
+        }
+    }
+
 }
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.data;
+
+import java.util.Date;
+
+/**
+ * Event of the outbox of a tenant, as handed to an {@link org.apache.fineract.infrastructure.outbox.sink.ExternalEventSink}.
+ */
+public final class ExternalEventData {
+
+    private final Long id;
+    private final String tenantIdentifier;
+    private final Long commandId;
+    private final String entityName;
+    private final String actionName;
+    private final String payload;
+    private final Date createdDate;
+
+    public ExternalEventData(final Long id, final String tenantIdentifier, final Long commandId, final String entityName,
+            final String actionName, final String payload, final Date createdDate) {
+        this.id = id;
+        this.tenantIdentifier = tenantIdentifier;
+        this.commandId = commandId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.createdDate = createdDate;
+    }
+
+    /**
+     * Unique within a tenant. One node at a time relays the outbox of a tenant, in id order, but ids are assigned when
+     * the command writes the event, not when it commits, and a batch may be published again: consumers drop the events
+     * they have seen by keeping the set of (tenant, id) pairs received, rather than the highest id.
+     */
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getTenantIdentifier() {
+        return this.tenantIdentifier;
+    }
+
+    public Long getCommandId() {
+        return this.commandId;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public String getActionName() {
+        return this.actionName;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    public Date getCreatedDate() {
+        return this.createdDate;
+    }
+}
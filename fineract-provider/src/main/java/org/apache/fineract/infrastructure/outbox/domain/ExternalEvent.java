@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.domain;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * Event of a command, written in the transaction of the command and relayed to an external sink once it committed.
+ */
+@Entity
+@Table(name = "m_external_event_outbox")
+public class ExternalEvent extends AbstractPersistableCustom {
+
+    @Column(name = "command_id")
+    private Long commandId;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "action_name", nullable = false, length = 100)
+    private String actionName;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_date", nullable = false)
+    private Date createdDate;
+
+    protected ExternalEvent() {
+
+    }
+
+    public ExternalEvent(final Long commandId, final String entityName, final String actionName, final String payload,
+            final Date createdDate) {
+        this.commandId = commandId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.createdDate = createdDate;
+    }
+
+    public Long getCommandId() {
+        return this.commandId;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public String getActionName() {
+        return this.actionName;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    public Date getCreatedDate() {
+        return this.createdDate;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.service;
+
+/**
+ * Outbox of the events published to external consumers, see {@link ExternalEventRelay}.
+ */
+public interface ExternalEventOutboxService {
+
+    /**
+     * Whether events are written to the outbox, set with the system property <code>fineract.outbox.enabled</code>.
+     */
+    boolean isEnabled();
+
+    /**
+     * Writes the event of a command to the outbox, in the transaction of the command: it is relayed if and only if the
+     * command commits.
+     */
+    void append(Long commandId, String entityName, String actionName, String payload);
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.service;
+
+import java.util.Date;
+import org.apache.fineract.infrastructure.outbox.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.outbox.domain.ExternalEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ExternalEventOutboxServiceImpl implements ExternalEventOutboxService {
+
+    private final boolean enabled = Boolean.getBoolean("fineract.outbox.enabled");
+    private final ExternalEventRepository externalEventRepository;
+
+    @Autowired
+    public ExternalEventOutboxServiceImpl(final ExternalEventRepository externalEventRepository) {
+        this.externalEventRepository = externalEventRepository;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void append(final Long commandId, final String entityName, final String actionName, final String payload) {
+        this.externalEventRepository.save(new ExternalEvent(commandId, entityName, actionName, payload, new Date()));
+    }
+}
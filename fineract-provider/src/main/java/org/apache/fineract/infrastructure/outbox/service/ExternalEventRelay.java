@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+import org.apache.fineract.infrastructure.outbox.sink.ExternalEventSink;
+import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Relays the events of the outbox (<code>m_external_event_outbox</code>) of every tenant to the
+ * {@link ExternalEventSink} named by <code>fineract.outbox.sink</code> (jms, file or http; jms by default).<br>
+ * <br>
+ * Every <code>fineract.outbox.relay.intervalMillis</code> (1000 by default, 0 disables the relay on this node) the
+ * oldest <code>fineract.outbox.relay.batchSize</code> unclaimed events of a tenant (100 by default) are claimed for
+ * <code>fineract.outbox.relay.claimSeconds</code> (60 by default) in a transaction of their own, then published in the
+ * order they were written and deleted; a tenant is polled again straight away while it has full batches. No lock is
+ * held while the sink publishes, so commands writing to the outbox never wait for a sink.<br>
+ * <br>
+ * A batch is only claimed by the node holding the lease of the tenant (<code>m_external_event_relay_lease</code>),
+ * which the claim renews for as long as the batch, so one node at a time publishes the outbox of a tenant, in order:
+ * the other nodes take the lease over once it ran out on a node that stopped. An event is deleted only after the sink
+ * has accepted it, so delivery is at least once: a failure of the sink releases the batch, which the node holding the
+ * lease publishes again before the later ones, and a node that took longer than its claim to publish may publish a
+ * batch the next holder of the lease publishes as well.
+ */
+@Service
+public class ExternalEventRelay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExternalEventRelay.class);
+
+    private final long intervalMillis = Long.getLong("fineract.outbox.relay.intervalMillis", 1000L);
+    private final int batchSize = Math.max(1, Integer.getInteger("fineract.outbox.relay.batchSize", 100));
+    private final int claimSeconds = Math.max(1, Integer.getInteger("fineract.outbox.relay.claimSeconds", 60));
+    private final String sinkName = System.getProperty("fineract.outbox.sink", "jms");
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ExternalEventOutboxService externalEventOutboxService;
+    private final BasicAuthTenantDetailsService tenantDetailsService;
+    private final List<ExternalEventSink> sinks;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService relayScheduler;
+
+    @Autowired
+    public ExternalEventRelay(final ExternalEventOutboxService externalEventOutboxService,
+            final BasicAuthTenantDetailsService tenantDetailsService, final List<ExternalEventSink> sinks,
+            final RoutingDataSource dataSource, final PlatformTransactionManager transactionManager, final MeterRegistry meterRegistry) {
+        this.externalEventOutboxService = externalEventOutboxService;
+        this.tenantDetailsService = tenantDetailsService;
+        this.sinks = sinks;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void scheduleRelay() {
+        if (!this.externalEventOutboxService.isEnabled() || this.intervalMillis <= 0) {
+            return;
+        }
+        final ExternalEventSink sink = this.sinks.stream().filter(s -> s.getName().equals(this.sinkName)).findFirst().orElse(null);
+        if (sink == null) {
+            LOG.error("No external event sink {} (available: {}), the outbox is not relayed by this node", this.sinkName,
+                    this.sinks.stream().map(ExternalEventSink::getName).collect(Collectors.toList()));
+            return;
+        }
+        this.relayScheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("external-event-relay-%d").setDaemon(true).build());
+        final ScheduledFuture<?> unused = this.relayScheduler.scheduleWithFixedDelay(() -> relayAll(sink), this.intervalMillis,
+                this.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (this.relayScheduler != null) {
+            this.relayScheduler.shutdownNow();
+        }
+    }
+
+    void relayAll(final ExternalEventSink sink) {
+        final List<FineractPlatformTenant> tenants;
+        try {
+            tenants = this.tenantDetailsService.findAllTenants(false);
+        } catch (RuntimeException e) {
+            LOG.error("Unable to read the tenants whose outbox is relayed", e);
+            return;
+        }
+        for (final FineractPlatformTenant tenant : tenants) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                int relayed;
+                do {
+                    relayed = relay(tenant, sink);
+                    // a full batch, there may be more
+                } while (relayed == this.batchSize);
+            } catch (RuntimeException e) {
+                // retried on the next poll
+                Counter.builder("fineract.outbox.relay.failures").tag("tenant", tenant.getTenantIdentifier())
+                        .tag("sink", sink.getName()).register(this.meterRegistry).increment();
+                LOG.warn("Relaying the outbox of tenant {} to sink {} failed", tenant.getTenantIdentifier(), sink.getName(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    /**
+     * Publishes and deletes the oldest unclaimed events of the outbox of the tenant, returns how many; none while
+     * another node holds the lease of the tenant.
+     */
+    private int relay(final FineractPlatformTenant tenant, final ExternalEventSink sink) {
+        final String claim = UUID.randomUUID().toString();
+        // database time, as the nodes may not agree on it; a lease or claim that ran out is taken over
+        final Integer claimed = this.transactionTemplate.execute(status -> {
+            // the lease row stays locked until the batch is claimed, and runs out together with the claim
+            if (this.jdbcTemplate.update(
+                    "update m_external_event_relay_lease set claimed_by = ?, claimed_until = date_add(now(), interval ? second)"
+                            + " where id = 1 and (claimed_by = ? or claimed_until is null or claimed_until < now())",
+                    this.nodeId, this.claimSeconds, this.nodeId) == 0) {
+                return 0;
+            }
+            return this.jdbcTemplate.update(
+                    "update m_external_event_outbox set claimed_by = ?, claimed_until = date_add(now(), interval ? second)"
+                            + " where claimed_until is null or claimed_until < now() order by id limit ?",
+                    claim, this.claimSeconds, this.batchSize);
+        });
+        if (claimed == null || claimed == 0) {
+            return 0;
+        }
+        final List<ExternalEventData> events = this.jdbcTemplate.query(
+                "select id, command_id, entity_name, action_name, payload, created_date from m_external_event_outbox"
+                        + " where claimed_by = ? order by id",
+                eventMapper(tenant.getTenantIdentifier()), claim);
+        try {
+            sink.publish(events);
+        } catch (IOException e) {
+            release(claim);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            release(claim);
+            throw e;
+        }
+        // only the events still claimed by this node, another one may have taken over a claim that ran out
+        this.jdbcTemplate.update("delete from m_external_event_outbox where claimed_by = ?", claim);
+        Counter.builder("fineract.outbox.relayed").tag("tenant", tenant.getTenantIdentifier()).tag("sink", sink.getName())
+                .register(this.meterRegistry).increment(events.size());
+        return claimed;
+    }
+
+    /**
+     * Lets the next poll publish the events again, rather than only once the claim ran out.
+     */
+    private void release(final String claim) {
+        this.jdbcTemplate.update("update m_external_event_outbox set claimed_by = null, claimed_until = null where claimed_by = ?", claim);
+    }
+
+    private static RowMapper<ExternalEventData> eventMapper(final String tenantIdentifier) {
+        return (rs, rowNum) -> new ExternalEventData(rs.getLong("id"), tenantIdentifier, JdbcSupport.getLong(rs, "command_id"),
+                rs.getString("entity_name"), rs.getString("action_name"), rs.getString("payload"), rs.getTimestamp("created_date"));
+    }
+}
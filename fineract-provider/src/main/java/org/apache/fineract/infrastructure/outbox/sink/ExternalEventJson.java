@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.sink;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+
+/**
+ * The JSON representation of an event shared by the sinks that write JSON.
+ */
+final class ExternalEventJson {
+
+    private ExternalEventJson() {}
+
+    static JsonObject toJson(final ExternalEventData event) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("tenantIdentifier", event.getTenantIdentifier());
+        json.addProperty("eventId", event.getId());
+        json.addProperty("commandId", event.getCommandId());
+        json.addProperty("entityName", event.getEntityName());
+        json.addProperty("actionName", event.getActionName());
+        json.addProperty("createdDate", event.getCreatedDate().toInstant().toString());
+        json.add("payload", JsonParser.parseString(event.getPayload()));
+        return json;
+    }
+}
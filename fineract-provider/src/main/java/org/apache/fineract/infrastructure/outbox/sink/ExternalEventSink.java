@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.sink;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+
+/**
+ * Destination of the events relayed from the outbox, chosen with the system property <code>fineract.outbox.sink</code>.
+ */
+public interface ExternalEventSink {
+
+    /**
+     * The value of <code>fineract.outbox.sink</code> selecting this sink.
+     */
+    String getName();
+
+    /**
+     * Publishes the events, in order. Returns only once they are safely stored by the destination; an exception leaves
+     * them all in the outbox, to be published again, so the destination may receive some of them more than once.
+     */
+    void publish(List<ExternalEventData> events) throws IOException;
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.sink;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends each event as a line of JSON to the file <code>fineract.outbox.sink.file</code>
+ * (<code>~/.fineract/external-events.jsonl</code> by default), synced to disk before the events leave the outbox.
+ */
+@Component
+public class FileExternalEventSink implements ExternalEventSink {
+
+    private final Path file = Paths.get(System.getProperty("fineract.outbox.sink.file",
+            FileSystemContentRepository.FINERACT_BASE_DIR + File.separator + "external-events.jsonl"));
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(final List<ExternalEventData> events) throws IOException {
+        final StringBuilder lines = new StringBuilder();
+        for (final ExternalEventData event : events) {
+            lines.append(ExternalEventJson.toJson(event)).append('\n');
+        }
+        if (this.file.getParent() != null) {
+            Files.createDirectories(this.file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.sink;
+
+import com.google.gson.JsonArray;
+import java.io.IOException;
+import java.util.List;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Posts the events as a JSON array to the URL <code>fineract.outbox.sink.http.url</code>, which has to answer with a
+ * 2xx status once it stored them. It has <code>fineract.outbox.sink.http.connectTimeoutMillis</code> (5000 by default)
+ * to accept the connection and <code>fineract.outbox.sink.http.readTimeoutMillis</code> (30000 by default) to answer,
+ * which has to stay below the claim of the relay.
+ */
+@Component
+public class HttpExternalEventSink implements ExternalEventSink {
+
+    private final String url = System.getProperty("fineract.outbox.sink.http.url");
+    private final RestTemplate restTemplate = new RestTemplate(requestFactory());
+
+    private static SimpleClientHttpRequestFactory requestFactory() {
+        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Integer.getInteger("fineract.outbox.sink.http.connectTimeoutMillis", 5000));
+        requestFactory.setReadTimeout(Integer.getInteger("fineract.outbox.sink.http.readTimeoutMillis", 30000));
+        return requestFactory;
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void publish(final List<ExternalEventData> events) throws IOException {
+        if (this.url == null) {
+            throw new IOException("fineract.outbox.sink.http.url is not set");
+        }
+        final JsonArray json = new JsonArray();
+        for (final ExternalEventData event : events) {
+            json.add(ExternalEventJson.toJson(event));
+        }
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            this.restTemplate.postForEntity(this.url, new HttpEntity<>(json.toString(), headers), String.class);
+        } catch (RestClientException e) {
+            throw new IOException("Posting " + events.size() + " events to " + this.url + " failed", e);
+        }
+    }
+}
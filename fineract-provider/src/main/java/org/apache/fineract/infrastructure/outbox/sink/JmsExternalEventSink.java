@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.sink;
+
+import java.util.List;
+import javax.jms.ConnectionFactory;
+import javax.jms.TextMessage;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends each event as a text message to the ActiveMQ queue <code>fineract.outbox.sink.jms.queue</code>
+ * (FineractExternalEventQueue by default), with the tenant, event id, command id, entity and action as message
+ * properties.
+ */
+@Component
+@Profile("activeMqEnabled")
+public class JmsExternalEventSink implements ExternalEventSink {
+
+    private final ActiveMQQueue queue = new ActiveMQQueue(
+            System.getProperty("fineract.outbox.sink.jms.queue", "FineractExternalEventQueue"));
+    private final JmsTemplate jmsTemplate;
+
+    @Autowired
+    public JmsExternalEventSink(@Qualifier("connectionFactory") final ConnectionFactory connectionFactory) {
+        this.jmsTemplate = new JmsTemplate(connectionFactory);
+    }
+
+    @Override
+    public String getName() {
+        return "jms";
+    }
+
+    @Override
+    public void publish(final List<ExternalEventData> events) {
+        for (final ExternalEventData event : events) {
+            this.jmsTemplate.send(this.queue, session -> {
+                final TextMessage message = session.createTextMessage(event.getPayload());
+                message.setStringProperty("tenantIdentifier", event.getTenantIdentifier());
+                message.setLongProperty("eventId", event.getId());
+                if (event.getCommandId() != null) {
+                    message.setLongProperty("commandId", event.getCommandId());
+                }
+                message.setStringProperty("entityName", event.getEntityName());
+                message.setStringProperty("actionName", event.getActionName());
+                return message;
+            });
+        }
+    }
+}
@@ -134,11 +134,16 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                     final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
                     if (ehcacheEnabled) {
                         this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                    } else if (this.configurationDomainService.isDistributedCacheEnabled()) {
+                        this.cacheWritePlatformService.switchToCache(CacheType.MULTI_NODE);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                     }
                     TenantAwareBasicAuthenticationFilter.firstRequestProcessed = true;
                 }
+
+                // GET requests only read, see TomcatJdbcDataSourcePerTenantService
+                ThreadLocalContextUtil.setReadOnlyRequest("GET".equalsIgnoreCase(request.getMethod()));
             }
 
             super.doFilterInternal(request, response, filterChain);
@@ -149,9 +154,13 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
             response.addHeader("WWW-Authenticate", "Basic realm=\"" + "Fineract Platform API" + "\"");
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } finally {
+            ThreadLocalContextUtil.clearReadOnlyRequest();
             task.stop();
-            final PlatformRequestLog log = PlatformRequestLog.from(task, request);
-            LOG.debug("{}", this.toApiJsonSerializer.serialize(log));
+            // the parameters are only copied and serialized when logged
+            if (LOG.isDebugEnabled()) {
+                final PlatformRequestLog log = PlatformRequestLog.from(task, request);
+                LOG.debug("{}", this.toApiJsonSerializer.serialize(log));
+            }
         }
     }
 
@@ -136,11 +136,16 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
                     final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
                     if (ehcacheEnabled) {
                         this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                    } else if (this.configurationDomainService.isDistributedCacheEnabled()) {
+                        this.cacheWritePlatformService.switchToCache(CacheType.MULTI_NODE);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                     }
                     TenantAwareTenantIdentifierFilter.firstRequestProcessed = true;
                 }
+
+                // GET requests only read, see TomcatJdbcDataSourcePerTenantService
+                ThreadLocalContextUtil.setReadOnlyRequest("GET".equalsIgnoreCase(request.getMethod()));
                 chain.doFilter(request, response);
             }
         } catch (final InvalidTenantIdentiferException e) {
@@ -150,9 +155,13 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
             response.addHeader("WWW-Authenticate", "Basic realm=\"" + "Fineract Platform API" + "\"");
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } finally {
+            ThreadLocalContextUtil.clearReadOnlyRequest();
             task.stop();
-            final PlatformRequestLog log = PlatformRequestLog.from(task, request);
-            LOG.info("{}", this.toApiJsonSerializer.serialize(log));
+            // the parameters are only copied and serialized when logged
+            if (LOG.isInfoEnabled()) {
+                final PlatformRequestLog log = PlatformRequestLog.from(task, request);
+                LOG.info("{}", this.toApiJsonSerializer.serialize(log));
+            }
         }
 
     }
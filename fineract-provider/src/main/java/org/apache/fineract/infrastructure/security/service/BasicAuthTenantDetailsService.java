@@ -18,9 +18,18 @@
  */
 package org.apache.fineract.infrastructure.security.service;
 
+import java.util.List;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 
 public interface BasicAuthTenantDetailsService {
 
     FineractPlatformTenant loadTenantById(String tenantId, boolean isReport);
+
+    List<FineractPlatformTenant> findAllTenants(boolean isReport);
+
+    /**
+     * Replaces the tenants returned by {@link #loadTenantById(String, boolean)} with the given ones, freshly read by
+     * {@link #findAllTenants(boolean)}, and forgets the tenants no longer among them.
+     */
+    void refreshTenants(List<FineractPlatformTenant> tenants, boolean isReport);
 }
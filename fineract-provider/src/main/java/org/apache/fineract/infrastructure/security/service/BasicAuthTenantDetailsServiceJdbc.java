@@ -20,13 +20,18 @@ package org.apache.fineract.infrastructure.security.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.apache.fineract.infrastructure.security.exception.InvalidTenantIdentiferException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -35,11 +40,19 @@ import org.springframework.stereotype.Service;
 /**
  * A JDBC implementation of {@link BasicAuthTenantDetailsService} for loading a tenants details by a
  * <code>tenantIdentifier</code>.
+ *
+ * The tenants are kept in memory once loaded, as they are loaded for every request. A tenant is loaded again when it
+ * has been kept for <code>fineract.tenant.maxAgeSeconds</code> (60 by default, 0 disables keeping them), so that
+ * changes to the tenants database are picked up even when the tenant connection pools are not refreshed, and is
+ * replaced right away by {@link #refreshTenants(List, boolean)} when they are.
  */
 @Service
 public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetailsService {
 
+    private final long maxAgeNanos = TimeUnit.SECONDS.toNanos(Long.getLong("fineract.tenant.maxAgeSeconds", 60L));
     private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentMap<String, LoadedTenant> tenantsByIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LoadedTenant> reportTenantsByIdentifier = new ConcurrentHashMap<>();
 
     @Autowired
     public BasicAuthTenantDetailsServiceJdbc(@Qualifier("hikariTenantDataSource") final DataSource dataSource) {
@@ -59,7 +72,8 @@ public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetails
                 .append(" ts.pool_suspect_timeout as poolSuspectTimeout, ts.pool_time_between_eviction_runs_millis as poolTimeBetweenEvictionRunsMillis,")//
                 .append(" ts.pool_min_evictable_idle_time_millis as poolMinEvictableIdleTimeMillis,")//
                 .append(" ts.deadlock_max_retries as maxRetriesOnDeadlock,")//
-                .append(" ts.deadlock_max_retry_interval as maxIntervalBetweenRetries ")//
+                .append(" ts.deadlock_max_retry_interval as maxIntervalBetweenRetries,")//
+                .append(" ts.scheduler_max_concurrent_jobs as maxConcurrentJobs ")//
                 .append(" from tenants t left join tenant_server_connections ts ");
 
         TenantMapper(boolean isReport) {
@@ -111,15 +125,17 @@ public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetails
             final int minEvictableIdleTimeMillis = rs.getInt("poolMinEvictableIdleTimeMillis");
             int maxRetriesOnDeadlock = rs.getInt("maxRetriesOnDeadlock");
             int maxIntervalBetweenRetries = rs.getInt("maxIntervalBetweenRetries");
+            int maxConcurrentJobs = rs.getInt("maxConcurrentJobs");
 
             maxRetriesOnDeadlock = bindValueInMinMaxRange(maxRetriesOnDeadlock, 0, 15);
             maxIntervalBetweenRetries = bindValueInMinMaxRange(maxIntervalBetweenRetries, 1, 15);
+            maxConcurrentJobs = bindValueInMinMaxRange(maxConcurrentJobs, 1, 50);
 
             return new FineractPlatformTenantConnection(connectionId, schemaName, schemaServer, schemaServerPort,
                     schemaConnectionParameters, schemaUsername, schemaPassword, autoUpdateEnabled, initialSize, validationInterval,
                     removeAbandoned, removeAbandonedTimeout, logAbandoned, abandonWhenPercentageFull, maxActive, minIdle, maxIdle,
                     suspectTimeout, timeBetweenEvictionRunsMillis, minEvictableIdleTimeMillis, maxRetriesOnDeadlock,
-                    maxIntervalBetweenRetries, testOnBorrow);
+                    maxIntervalBetweenRetries, testOnBorrow, maxConcurrentJobs);
         }
 
         private int bindValueInMinMaxRange(final int value, int min, int max) {
@@ -133,8 +149,22 @@ public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetails
     }
 
     @Override
-    @Cacheable(value = "tenantsById")
     public FineractPlatformTenant loadTenantById(final String tenantIdentifier, final boolean isReport) {
+        if (tenantIdentifier == null) {
+            return queryTenantById(tenantIdentifier, isReport);
+        }
+        final ConcurrentMap<String, LoadedTenant> tenants = tenantsByIdentifier(isReport);
+        final LoadedTenant tenant = tenants.get(tenantIdentifier);
+        if (tenant != null && System.nanoTime() - tenant.loadedAt < this.maxAgeNanos) {
+            return tenant.tenant;
+        }
+        // unknown identifiers are not kept, they fail on every request
+        final FineractPlatformTenant loadedTenant = queryTenantById(tenantIdentifier, isReport);
+        tenants.put(tenantIdentifier, new LoadedTenant(loadedTenant));
+        return loadedTenant;
+    }
+
+    private FineractPlatformTenant queryTenantById(final String tenantIdentifier, final boolean isReport) {
 
         try {
             final TenantMapper rm = new TenantMapper(isReport);
@@ -145,4 +175,45 @@ public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetails
             throw new InvalidTenantIdentiferException("The tenant identifier: " + tenantIdentifier + " is not valid.", e);
         }
     }
+
+    @Override
+    public List<FineractPlatformTenant> findAllTenants(final boolean isReport) {
+        final TenantMapper rm = new TenantMapper(isReport);
+        final String sql = "select  " + rm.schema();
+
+        return this.jdbcTemplate.query(sql, rm);
+    }
+
+    @Override
+    public void refreshTenants(final List<FineractPlatformTenant> tenants, final boolean isReport) {
+        final Map<String, FineractPlatformTenant> freshTenants = new HashMap<>();
+        for (final FineractPlatformTenant tenant : tenants) {
+            freshTenants.put(tenant.getTenantIdentifier(), tenant);
+        }
+        final ConcurrentMap<String, LoadedTenant> tenantsInMemory = tenantsByIdentifier(isReport);
+        tenantsInMemory.keySet().retainAll(freshTenants.keySet());
+        // only the tenants requested so far are kept
+        for (final String tenantIdentifier : tenantsInMemory.keySet()) {
+            tenantsInMemory.computeIfPresent(tenantIdentifier, (identifier, tenant) -> {
+                // a tenant loaded meanwhile but not among the fresh ones is
+                // forgotten
+                final FineractPlatformTenant freshTenant = freshTenants.get(identifier);
+                return freshTenant == null ? null : new LoadedTenant(freshTenant);
+            });
+        }
+    }
+
+    private ConcurrentMap<String, LoadedTenant> tenantsByIdentifier(final boolean isReport) {
+        return isReport ? this.reportTenantsByIdentifier : this.tenantsByIdentifier;
+    }
+
+    private static final class LoadedTenant {
+
+        private final FineractPlatformTenant tenant;
+        private final long loadedAt = System.nanoTime();
+
+        LoadedTenant(final FineractPlatformTenant tenant) {
+            this.tenant = tenant;
+        }
+    }
 }
@@ -38,6 +38,7 @@ import org.apache.fineract.portfolio.client.domain.Client;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.apache.fineract.portfolio.common.service.BusinessEventDelivery;
 import org.apache.fineract.portfolio.common.service.BusinessEventListener;
 import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -81,30 +82,31 @@ public class NotificationDomainServiceImpl implements NotificationDomainService
 
     @PostConstruct
     public void addListeners() {
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_CREATE, new ClientCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_APPROVE, new SavingsAccountApprovedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CENTERS_CREATE, new CenterCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.GROUPS_CREATE, new GroupCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_DEPOSIT, new SavingsAccountDepositListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SHARE_PRODUCT_DIVIDENDS_CREATE,
-                new ShareProductDividendCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.FIXED_DEPOSIT_ACCOUNT_CREATE,
-                new FixedDepositAccountCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.RECURRING_DEPOSIT_ACCOUNT_CREATE,
-                new RecurringDepositAccountCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_POST_INTEREST, new SavingsPostInterestListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_CREATE, new LoanCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_APPROVED, new LoanApprovedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_CLOSE, new LoanClosedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_CLOSE_AS_RESCHEDULE,
-                new LoanCloseAsRescheduledListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_MAKE_REPAYMENT, new LoanMakeRepaymentListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_PRODUCT_CREATE, new LoanProductCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_CREATE, new SavingsAccountCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_CLOSE, new SavingsAccountClosedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SHARE_ACCOUNT_CREATE, new ShareAccountCreatedListener());
-        businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SHARE_ACCOUNT_APPROVE,
-                new ShareAccountApprovedListener());
+        addNotificationListener(BusinessEvents.CLIENTS_CREATE, new ClientCreatedListener());
+        addNotificationListener(BusinessEvents.SAVINGS_APPROVE, new SavingsAccountApprovedListener());
+        addNotificationListener(BusinessEvents.CENTERS_CREATE, new CenterCreatedListener());
+        addNotificationListener(BusinessEvents.GROUPS_CREATE, new GroupCreatedListener());
+        addNotificationListener(BusinessEvents.SAVINGS_DEPOSIT, new SavingsAccountDepositListener());
+        addNotificationListener(BusinessEvents.SHARE_PRODUCT_DIVIDENDS_CREATE, new ShareProductDividendCreatedListener());
+        addNotificationListener(BusinessEvents.FIXED_DEPOSIT_ACCOUNT_CREATE, new FixedDepositAccountCreatedListener());
+        addNotificationListener(BusinessEvents.RECURRING_DEPOSIT_ACCOUNT_CREATE, new RecurringDepositAccountCreatedListener());
+        addNotificationListener(BusinessEvents.SAVINGS_POST_INTEREST, new SavingsPostInterestListener());
+        addNotificationListener(BusinessEvents.LOAN_CREATE, new LoanCreatedListener());
+        addNotificationListener(BusinessEvents.LOAN_APPROVED, new LoanApprovedListener());
+        addNotificationListener(BusinessEvents.LOAN_CLOSE, new LoanClosedListener());
+        addNotificationListener(BusinessEvents.LOAN_CLOSE_AS_RESCHEDULE, new LoanCloseAsRescheduledListener());
+        addNotificationListener(BusinessEvents.LOAN_MAKE_REPAYMENT, new LoanMakeRepaymentListener());
+        addNotificationListener(BusinessEvents.LOAN_PRODUCT_CREATE, new LoanProductCreatedListener());
+        addNotificationListener(BusinessEvents.SAVINGS_CREATE, new SavingsAccountCreatedListener());
+        addNotificationListener(BusinessEvents.SAVINGS_CLOSE, new SavingsAccountClosedListener());
+        addNotificationListener(BusinessEvents.SHARE_ACCOUNT_CREATE, new ShareAccountCreatedListener());
+        addNotificationListener(BusinessEvents.SHARE_ACCOUNT_APPROVE, new ShareAccountApprovedListener());
+    }
+
+    private void addNotificationListener(BusinessEvents businessEvent, BusinessEventListener businessEventListener) {
+        // notifications are sent once the event has committed, without holding up its transaction
+        businessEventNotifierService.addBusinessEventPostListeners(businessEvent, businessEventListener,
+                BusinessEventDelivery.ASYNCHRONOUS);
     }
 
     private abstract static class NotificationBusinessEventAdapter implements BusinessEventListener {
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.notification.service;
 
+import java.util.Collection;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.notification.data.NotificationData;
@@ -26,6 +27,12 @@ public interface NotificationReadPlatformService {
 
     boolean hasUnreadNotifications(Long appUserId);
 
+    /**
+     * Updates the cached unread notifications flag of the given users, as returned by
+     * {@link #hasUnreadNotifications(Long)}, after their notifications were written or read.
+     */
+    void updateUnreadNotifications(Collection<Long> appUserIds, boolean hasNotifications);
+
     Page<NotificationData> getAllUnreadNotifications(SearchParameters searchParameters);
 
     Page<NotificationData> getAllNotifications(SearchParameters searchParameters);
@@ -20,8 +20,11 @@ package org.apache.fineract.notification.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -46,7 +49,9 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
     private final PaginationHelper<NotificationData> paginationHelper = new PaginationHelper<>();
     private final NotificationDataRow notificationDataRow = new NotificationDataRow();
     private final NotificationMapperRow notificationMapperRow = new NotificationMapperRow();
-    private HashMap<Long, HashMap<Long, CacheNotificationResponseHeader>> tenantNotificationResponseHeaderCache = new HashMap<>();
+    private final ConcurrentMap<Long, ConcurrentMap<Long, CacheNotificationResponseHeader>> tenantNotificationResponseHeaderCache =
+            new ConcurrentHashMap<>();
+    private final long unreadCheckIntervalSeconds = Long.getLong("fineract.notification.unreadCheckIntervalSeconds", 60L);
 
     @Autowired
     public NotificationReadPlatformServiceImpl(final RoutingDataSource dataSource, final PlatformSecurityContext context,
@@ -58,48 +63,42 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
 
     @Override
     public boolean hasUnreadNotifications(Long appUserId) {
-        Long tenantId = ThreadLocalContextUtil.getTenant().getId();
-        Long now = System.currentTimeMillis() / 1000L;
-        if (this.tenantNotificationResponseHeaderCache.containsKey(tenantId)) {
-            HashMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache = this.tenantNotificationResponseHeaderCache
-                    .get(tenantId);
-            if (notificationResponseHeaderCache.containsKey(appUserId)) {
-                Long lastFetch = notificationResponseHeaderCache.get(appUserId).getLastFetch();
-                if ((now - lastFetch) > 1) {
-                    return this.createUpdateCacheValue(appUserId, now, notificationResponseHeaderCache);
-                } else {
-                    return notificationResponseHeaderCache.get(appUserId).hasNotifications();
-                }
-            } else {
-                return this.createUpdateCacheValue(appUserId, now, notificationResponseHeaderCache);
-            }
-        } else {
-            return this.initializeTenantNotificationResponseHeaderCache(tenantId, now, appUserId);
-
+        final Long now = System.currentTimeMillis() / 1000L;
+        final ConcurrentMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache = notificationResponseHeaderCache();
+        final CacheNotificationResponseHeader cacheNotificationResponseHeader = notificationResponseHeaderCache.get(appUserId);
+        // the flag is kept up to date by the notifications written on this
+        // node, the check catches up with the ones written on other nodes
+        if (cacheNotificationResponseHeader != null
+                && (now - cacheNotificationResponseHeader.getLastFetch()) <= this.unreadCheckIntervalSeconds) {
+            return cacheNotificationResponseHeader.hasNotifications();
         }
+        final boolean hasNotifications = checkForUnreadNotifications(appUserId);
+        notificationResponseHeaderCache.put(appUserId, new CacheNotificationResponseHeader(hasNotifications, now));
+        return hasNotifications;
     }
 
-    private boolean initializeTenantNotificationResponseHeaderCache(Long tenantId, Long now, Long appUserId) {
-        HashMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache = new HashMap<>();
-        this.tenantNotificationResponseHeaderCache.put(tenantId, notificationResponseHeaderCache);
-        return this.createUpdateCacheValue(appUserId, now, notificationResponseHeaderCache);
+    @Override
+    public void updateUnreadNotifications(final Collection<Long> appUserIds, final boolean hasNotifications) {
+        final Long now = System.currentTimeMillis() / 1000L;
+        final ConcurrentMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache = notificationResponseHeaderCache();
+        for (final Long appUserId : appUserIds) {
+            notificationResponseHeaderCache.put(appUserId, new CacheNotificationResponseHeader(hasNotifications, now));
+        }
     }
 
-    private boolean createUpdateCacheValue(Long appUserId, Long now,
-            HashMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache) {
-        boolean hasNotifications;
-        Long tenantId = ThreadLocalContextUtil.getTenant().getId();
-        CacheNotificationResponseHeader cacheNotificationResponseHeader;
-        hasNotifications = checkForUnreadNotifications(appUserId);
-        cacheNotificationResponseHeader = new CacheNotificationResponseHeader(hasNotifications, now);
-        notificationResponseHeaderCache.put(appUserId, cacheNotificationResponseHeader);
-        this.tenantNotificationResponseHeaderCache.put(tenantId, notificationResponseHeaderCache);
-        return hasNotifications;
+    private ConcurrentMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache() {
+        final Long tenantId = ThreadLocalContextUtil.getTenant().getId();
+        final ConcurrentMap<Long, CacheNotificationResponseHeader> notificationResponseHeaderCache =
+                this.tenantNotificationResponseHeaderCache.get(tenantId);
+        if (notificationResponseHeaderCache != null) {
+            return notificationResponseHeaderCache;
+        }
+        return this.tenantNotificationResponseHeaderCache.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
     }
 
     private boolean checkForUnreadNotifications(Long appUserId) {
         String sql = "SELECT id, notification_id as notificationId, user_id as userId, is_read as isRead, created_at "
-                + "as createdAt FROM notification_mapper WHERE user_id = ? AND is_read = false";
+                + "as createdAt FROM notification_mapper WHERE user_id = ? AND is_read = false LIMIT 1";
         List<NotificationMapperData> notificationMappers = this.jdbcTemplate.query(sql, notificationMapperRow, appUserId);
         return notificationMappers.size() > 0;
     }
@@ -109,6 +108,7 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
         final Long appUserId = context.authenticatedUser().getId();
         String sql = "UPDATE notification_mapper SET is_read = true WHERE is_read = false and user_id = ?";
         this.jdbcTemplate.update(sql, appUserId);
+        updateUnreadNotifications(Collections.singletonList(appUserId), false);
     }
 
     @Override
@@ -20,6 +20,7 @@ package org.apache.fineract.notification.service;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import org.apache.fineract.notification.domain.Notification;
@@ -28,6 +29,8 @@ import org.apache.fineract.useradministration.domain.AppUser;
 import org.apache.fineract.useradministration.domain.AppUserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class NotificationWritePlatformServiceImpl implements NotificationWritePlatformService {
@@ -40,15 +43,19 @@ public class NotificationWritePlatformServiceImpl implements NotificationWritePl
 
     private final NotificationMapperWritePlatformService notificationMapperWritePlatformService;
 
+    private final NotificationReadPlatformService notificationReadPlatformService;
+
     @Autowired
     public NotificationWritePlatformServiceImpl(final NotificationGeneratorWritePlatformService notificationGeneratorWritePlatformService,
             final NotificationGeneratorReadRepositoryWrapper notificationGeneratorReadRepositoryWrapper,
             final AppUserRepository appUserRepository,
-            final NotificationMapperWritePlatformService notificationMapperWritePlatformService) {
+            final NotificationMapperWritePlatformService notificationMapperWritePlatformService,
+            final NotificationReadPlatformService notificationReadPlatformService) {
         this.notificationGeneratorWritePlatformService = notificationGeneratorWritePlatformService;
         this.notificationGeneratorReadRepositoryWrapper = notificationGeneratorReadRepositoryWrapper;
         this.appUserRepository = appUserRepository;
         this.notificationMapperWritePlatformService = notificationMapperWritePlatformService;
+        this.notificationReadPlatformService = notificationReadPlatformService;
     }
 
     @Override
@@ -67,6 +74,7 @@ public class NotificationWritePlatformServiceImpl implements NotificationWritePl
                 this.notificationGeneratorReadRepositoryWrapper.findById(generatedNotificationId), appUser, false, getCurrentDateTime());
 
         this.notificationMapperWritePlatformService.create(notificationMapper);
+        markUnread(Collections.singletonList(userId));
         return notificationMapper.getId();
     }
 
@@ -100,9 +108,26 @@ public class NotificationWritePlatformServiceImpl implements NotificationWritePl
             this.notificationMapperWritePlatformService.create(notificationMapper);
             mappedIds.add(notificationMapper.getId());
         }
+        markUnread(userIds);
         return mappedIds;
     }
 
+    // spares the next request of the users the unread notifications check,
+    // once the notifications can be read
+    private void markUnread(final List<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    NotificationWritePlatformServiceImpl.this.notificationReadPlatformService.updateUnreadNotifications(userIds, true);
+                }
+            });
+        } else {
+            this.notificationReadPlatformService.updateUnreadNotifications(userIds, true);
+        }
+    }
+
     private String getCurrentDateTime() {
         Date date = new Date();
         SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable running total for loops that would otherwise chain {@link Money#plus(Money)} and {@link Money#minus(Money)}, each
+ * step allocating a new {@link Money}.
+ *
+ * The result of {@link #toMoney()} is identical to the chained {@link Money} operations. Adding two amounts that have no more
+ * than the currency's decimal places is exact, so the rounding {@link Money} applies after each step cannot change the value;
+ * the accumulator only rounds once at the end in that case. When the currency rounds into multiples (no decimal places and
+ * {@code inMultiplesOf} set) or an operand carries more decimal places, the intermediate result is rounded after each step
+ * exactly as {@link Money} does.
+ */
+public final class MoneyAccumulator {
+
+    private final String currencyCode;
+    private final int digitsAfterDecimal;
+    private final Integer inMultiplesOf;
+    private final boolean roundedToMultiples;
+    private BigDecimal amount;
+    private Money unchanged;
+
+    public static MoneyAccumulator zero(final MonetaryCurrency currency) {
+        return new MoneyAccumulator(currency.getCode(), currency.getDigitsAfterDecimal(), currency.getCurrencyInMultiplesOf(),
+                BigDecimal.ZERO, null);
+    }
+
+    public static MoneyAccumulator of(final Money initial) {
+        return new MoneyAccumulator(initial.getCurrencyCode(), initial.getCurrencyDigitsAfterDecimal(),
+                initial.getCurrencyInMultiplesOf(), initial.getAmount(), initial);
+    }
+
+    private MoneyAccumulator(final String currencyCode, final int digitsAfterDecimal, final Integer inMultiplesOf,
+            final BigDecimal amount, final Money unchanged) {
+        this.currencyCode = currencyCode;
+        this.digitsAfterDecimal = digitsAfterDecimal;
+        this.inMultiplesOf = inMultiplesOf;
+        this.roundedToMultiples = Money.isRoundedToMultiples(digitsAfterDecimal, inMultiplesOf);
+        this.amount = amount;
+        this.unchanged = unchanged;
+    }
+
+    public MoneyAccumulator plus(final Money moneyToAdd) {
+        return plus(checkCurrencyEqual(moneyToAdd).getAmount());
+    }
+
+    public MoneyAccumulator minus(final Money moneyToSubtract) {
+        return minus(checkCurrencyEqual(moneyToSubtract).getAmount());
+    }
+
+    public MoneyAccumulator plus(final BigDecimal amountToAdd) {
+        // mirrors Money, which returns itself unchanged for a zero operand
+        if (amountToAdd == null || amountToAdd.signum() == 0) {
+            return this;
+        }
+        apply(this.amount.add(amountToAdd), amountToAdd);
+        return this;
+    }
+
+    public MoneyAccumulator minus(final BigDecimal amountToSubtract) {
+        if (amountToSubtract == null || amountToSubtract.signum() == 0) {
+            return this;
+        }
+        apply(this.amount.subtract(amountToSubtract), amountToSubtract);
+        return this;
+    }
+
+    private void apply(final BigDecimal newAmount, final BigDecimal operand) {
+        final boolean exact = !this.roundedToMultiples && this.amount.scale() <= this.digitsAfterDecimal
+                && operand.scale() <= this.digitsAfterDecimal;
+        this.amount = exact ? newAmount : Money.round(newAmount, this.digitsAfterDecimal, this.inMultiplesOf);
+        this.unchanged = null;
+    }
+
+    private Money checkCurrencyEqual(final Money money) {
+        if (this.currencyCode.equals(money.getCurrencyCode()) == false) {
+            throw new UnsupportedOperationException("currencies are different.");
+        }
+        return money;
+    }
+
+    public boolean isZero() {
+        return this.amount.signum() == 0;
+    }
+
+    public boolean isGreaterThanZero() {
+        return this.amount.signum() > 0;
+    }
+
+    public boolean isLessThanZero() {
+        return this.amount.signum() < 0;
+    }
+
+    public Money toMoney() {
+        if (this.unchanged != null) {
+            return this.unchanged;
+        }
+        return Money.of(new MonetaryCurrency(this.currencyCode, this.digitsAfterDecimal, this.inMultiplesOf), this.amount);
+    }
+}
@@ -53,6 +53,18 @@ public class MoneyHelper {
         return roundingMode;
     }
 
+    /**
+     * Fixes the rounding mode for code running without the Spring context, such as unit tests and benchmarks. Returns the
+     * rounding mode it replaces so that it can be restored, <code>null</code> meaning it is read from the configuration.
+     */
+    public static RoundingMode useRoundingMode(final RoundingMode newRoundingMode) {
+        final RoundingMode previousRoundingMode = roundingMode;
+        roundingMode = newRoundingMode;
+        // rebuilt with the new rounding mode when next used
+        mathContext = null;
+        return previousRoundingMode;
+    }
+
     public static MathContext getMathContext() {
         if (mathContext == null) {
             mathContext = new MathContext(PRECISION, getRoundingMode());
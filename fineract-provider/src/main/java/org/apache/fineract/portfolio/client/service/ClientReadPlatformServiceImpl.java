@@ -199,7 +199,7 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         // }
         List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append(searchParameters == null || searchParameters.isCountRequested() ? "select SQL_CALC_FOUND_ROWS " : "select ");
         sqlBuilder.append(this.clientMapper.schema());
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
 
@@ -216,6 +216,11 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
                 sqlBuilder.append(" and (").append(extraCriteria).append(")");
             }
 
+            if (searchParameters.isKeysetPaged()) {
+                return this.paginationHelper.fetchPageAfter(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(), "c.id",
+                        searchParameters, this.clientMapper, ClientData::getId);
+            }
+
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -232,7 +237,7 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
                 }
             }
         }
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
+        final String sqlCountRows = searchParameters == null || searchParameters.isCountRequested() ? "SELECT FOUND_ROWS()" : null;
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), paramList.toArray(),
                 this.clientMapper);
     }
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.common.service;
+
+/**
+ * When the post listeners of a business event are notified.
+ */
+public enum BusinessEventDelivery {
+
+    /**
+     * Inside the transaction of the event, on its thread. An exception of the listener rolls the transaction back.
+     */
+    SYNCHRONOUS,
+
+    /**
+     * On the thread of the event, once its transaction has committed; not at all when it rolls back. The resources of
+     * the committed transaction are still bound to the thread, so a listener writing to the database must do so in a
+     * new transaction, which it is given.
+     */
+    AFTER_COMMIT,
+
+    /**
+     * On a worker thread, in a transaction of its own, once the transaction of the event has committed. The events of
+     * the same account, client or group are delivered in the order they were published. The listener is given the
+     * entities of the event as loaded again by its own transaction, so it sees their committed state, which may already
+     * include later changes.
+     */
+    ASYNCHRONOUS;
+}
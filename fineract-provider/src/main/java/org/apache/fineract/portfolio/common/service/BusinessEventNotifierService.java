@@ -44,8 +44,16 @@ public interface BusinessEventNotifierService {
     void addBusinessEventPreListeners(BusinessEvents businessEvent, BusinessEventListener businessEventListener);
 
     /**
-     * Method is to register a class as listener for post-processing of any Business event
+     * Method is to register a class as listener for post-processing of any Business event, notified
+     * {@link BusinessEventDelivery#SYNCHRONOUS}
      */
     void addBusinessEventPostListeners(BusinessEvents businessEvent, BusinessEventListener businessEventListener);
 
+    /**
+     * Method is to register a class as listener for post-processing of any Business event, notified as given by
+     * <code>delivery</code>
+     */
+    void addBusinessEventPostListeners(BusinessEvents businessEvent, BusinessEventListener businessEventListener,
+            BusinessEventDelivery delivery);
+
 }
@@ -18,19 +18,85 @@
  */
 package org.apache.fineract.portfolio.common.service;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Notifies the listeners of business events, each post listener as given by its {@link BusinessEventDelivery}.<br>
+ * <br>
+ * {@link BusinessEventDelivery#ASYNCHRONOUS} listeners run on <code>fineract.events.async.threads</code> worker threads
+ * (4 by default), each with a queue of <code>fineract.events.async.queueCapacity</code> events (1000 by default). The
+ * events of the same account, client or group always go to the same worker, which keeps them in order. When the queue
+ * of a worker is full the listener runs on the publishing thread, which slows the producer down instead of dropping
+ * events, at the price of their order. The latency and failures of every listener are published as metrics.
+ */
 @Service
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BusinessEventNotifierServiceImpl.class);
+
+    private final int asyncThreads = Math.max(1, Integer.getInteger("fineract.events.async.threads", 4));
+    private final int queueCapacity = Integer.getInteger("fineract.events.async.queueCapacity", 1000);
+
     private final Map<BusinessEvents, List<BusinessEventListener>> preListeners = new HashMap<>(5);
-    private final Map<BusinessEvents, List<BusinessEventListener>> postListeners = new HashMap<>(5);
+    private final Map<BusinessEvents, List<PostListener>> postListeners = new HashMap<>(5);
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final List<ThreadPoolExecutor> asyncExecutors = new ArrayList<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BusinessEventNotifierServiceImpl(final MeterRegistry meterRegistry, final PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        // also when notified from afterCommit(), where the committed transaction is still bound to the thread
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < this.asyncThreads; i++) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(this.queueCapacity),
+                    new ThreadFactoryBuilder().setNameFormat("business-event-" + i).setDaemon(true).build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            Gauge.builder("fineract.events.async.queue.depth", executor, e -> e.getQueue().size()).tag("worker", String.valueOf(i))
+                    .description("Business events waiting for an asynchronous listener").register(this.meterRegistry);
+            this.asyncExecutors.add(executor);
+        }
+    }
 
     /*
      * (non-Javadoc)
@@ -58,10 +124,21 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
      */
     @Override
     public void notifyBusinessEventWasExecuted(BusinessEvents businessEvent, Map<BusinessEntity, Object> businessEventEntity) {
-        List<BusinessEventListener> businessEventListeners = this.postListeners.get(businessEvent);
+        List<PostListener> businessEventListeners = this.postListeners.get(businessEvent);
         if (businessEventListeners != null) {
-            for (BusinessEventListener eventListener : businessEventListeners) {
-                eventListener.businessEventWasExecuted(businessEventEntity);
+            for (PostListener eventListener : businessEventListeners) {
+                switch (eventListener.delivery) {
+                    case SYNCHRONOUS:
+                        notifyPostListener(eventListener, businessEvent, businessEventEntity);
+                    break;
+                    case AFTER_COMMIT:
+                        afterCommit(() -> notifyPostListenerInNewTransaction(eventListener, businessEvent, () -> businessEventEntity));
+                    break;
+                    case ASYNCHRONOUS:
+                        afterCommit(() -> asyncExecutor(businessEventEntity)
+                                .execute(new AsyncNotification(eventListener, businessEvent, businessEventEntity)));
+                    break;
+                }
             }
         }
     }
@@ -87,12 +164,18 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
      */
     @Override
     public void addBusinessEventPostListeners(BusinessEvents businessEvent, BusinessEventListener businessEventListener) {
-        addBusinessEventListeners(businessEvent, businessEventListener, postListeners);
+        addBusinessEventPostListeners(businessEvent, businessEventListener, BusinessEventDelivery.SYNCHRONOUS);
     }
 
-    private void addBusinessEventListeners(BusinessEvents businessEvent, BusinessEventListener businessEventListener,
-            final Map<BusinessEvents, List<BusinessEventListener>> businessEventListenerMap) {
-        List<BusinessEventListener> businessEventListeners = businessEventListenerMap.get(businessEvent);
+    @Override
+    public void addBusinessEventPostListeners(BusinessEvents businessEvent, BusinessEventListener businessEventListener,
+            BusinessEventDelivery delivery) {
+        addBusinessEventListeners(businessEvent, new PostListener(businessEventListener, delivery), postListeners);
+    }
+
+    private <T> void addBusinessEventListeners(BusinessEvents businessEvent, T businessEventListener,
+            final Map<BusinessEvents, List<T>> businessEventListenerMap) {
+        List<T> businessEventListeners = businessEventListenerMap.get(businessEvent);
         if (businessEventListeners == null) {
             businessEventListeners = new ArrayList<>();
             businessEventListenerMap.put(businessEvent, businessEventListeners);
@@ -100,4 +183,193 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         businessEventListeners.add(businessEventListener);
     }
 
+    private static void afterCommit(final Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+
+    /**
+     * The worker of the account, client or group of the event, so that its events are delivered in order.
+     */
+    private ThreadPoolExecutor asyncExecutor(final Map<BusinessEntity, Object> businessEventEntity) {
+        return this.asyncExecutors.get(Math.floorMod(Objects.hashCode(aggregateOf(businessEventEntity)), this.asyncExecutors.size()));
+    }
+
+    private static Object aggregateOf(final Map<BusinessEntity, Object> businessEventEntity) {
+        Object entity = businessEventEntity.get(BusinessEntity.LOAN_TRANSACTION);
+        if (entity instanceof LoanTransaction) {
+            entity = ((LoanTransaction) entity).getLoan();
+        } else if (businessEventEntity.get(BusinessEntity.SAVINGS_TRANSACTION) instanceof SavingsAccountTransaction) {
+            entity = ((SavingsAccountTransaction) businessEventEntity.get(BusinessEntity.SAVINGS_TRANSACTION)).getSavingsAccount();
+        } else {
+            entity = null;
+            for (final BusinessEntity aggregate : new BusinessEntity[] { BusinessEntity.LOAN, BusinessEntity.SAVING,
+                    BusinessEntity.DEPOSIT_ACCOUNT, BusinessEntity.SHARE_ACCOUNT, BusinessEntity.CLIENT, BusinessEntity.GROUP }) {
+                entity = businessEventEntity.get(aggregate);
+                if (entity != null) {
+                    break;
+                }
+            }
+        }
+        if (entity instanceof AbstractPersistableCustom) {
+            return entity.getClass().getName() + ":" + ((AbstractPersistableCustom) entity).getId();
+        }
+        return entity;
+    }
+
+    private void notifyPostListener(final PostListener eventListener, final BusinessEvents businessEvent,
+            final Map<BusinessEntity, Object> businessEventEntity) {
+        final long startNanos = System.nanoTime();
+        try {
+            eventListener.listener.businessEventWasExecuted(businessEventEntity);
+            listenerTimer(eventListener, businessEvent, "success").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            listenerTimer(eventListener, businessEvent, "failure").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            Counter.builder("fineract.events.listener.failures").tag("event", businessEvent.name())
+                    .tag("listener", eventListener.name()).register(this.meterRegistry).increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Notifies a listener once the event has committed, when its failure can only roll back what the listener did.
+     */
+    private void notifyPostListenerInNewTransaction(final PostListener eventListener, final BusinessEvents businessEvent,
+            final Supplier<Map<BusinessEntity, Object>> businessEventEntity) {
+        try {
+            this.transactionTemplate
+                    .executeWithoutResult(status -> notifyPostListener(eventListener, businessEvent, businessEventEntity.get()));
+        } catch (RuntimeException e) {
+            LOG.error("Listener {} failed on business event {}", eventListener.name(), businessEvent, e);
+        }
+    }
+
+    private Timer listenerTimer(final PostListener eventListener, final BusinessEvents businessEvent, final String outcome) {
+        return Timer.builder("fineract.events.listener.latency").tag("event", businessEvent.name()).tag("listener", eventListener.name())
+                .tag("delivery", eventListener.delivery.name()).tag("outcome", outcome)
+                .description("Time a listener took to handle a business event").register(this.meterRegistry);
+    }
+
+    /**
+     * The entities of an asynchronous event are only referenced by their ids, as the entities themselves belong to the
+     * persistence context of the publishing thread.
+     */
+    private static Map<BusinessEntity, Object> referencesOf(final Map<BusinessEntity, Object> businessEventEntity) {
+        final Map<BusinessEntity, Object> references = new HashMap<>(businessEventEntity.size());
+        businessEventEntity.forEach((key, value) -> {
+            if (value instanceof AbstractPersistableCustom && ((AbstractPersistableCustom) value).getId() != null) {
+                references.put(key, new EntityReference(value.getClass(), ((AbstractPersistableCustom) value).getId()));
+            } else {
+                references.put(key, value);
+            }
+        });
+        return references;
+    }
+
+    private Map<BusinessEntity, Object> reload(final Map<BusinessEntity, Object> references) {
+        final Map<BusinessEntity, Object> businessEventEntity = new HashMap<>(references.size());
+        references.forEach((key, value) -> {
+            if (value instanceof EntityReference) {
+                final EntityReference reference = (EntityReference) value;
+                final Object entity = this.entityManager.find(reference.type, reference.id);
+                if (entity == null) {
+                    throw new IllegalStateException(reference.type.getSimpleName() + " " + reference.id + " no longer exists");
+                }
+                businessEventEntity.put(key, entity);
+            } else {
+                businessEventEntity.put(key, value);
+            }
+        });
+        return businessEventEntity;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.asyncExecutors.forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    private static final class PostListener {
+
+        private final BusinessEventListener listener;
+        private final BusinessEventDelivery delivery;
+
+        PostListener(final BusinessEventListener listener, final BusinessEventDelivery delivery) {
+            this.listener = listener;
+            this.delivery = delivery;
+        }
+
+        String name() {
+            return this.listener.getClass().getSimpleName();
+        }
+    }
+
+    private static final class EntityReference {
+
+        private final Class<?> type;
+        private final Long id;
+
+        EntityReference(final Class<?> type, final Long id) {
+            this.type = type;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Notifies an {@link BusinessEventDelivery#ASYNCHRONOUS} listener on behalf of the tenant and user of the event, with
+     * the entities of the event reloaded in the transaction of the listener.
+     */
+    private final class AsyncNotification implements Runnable {
+
+        private final PostListener eventListener;
+        private final BusinessEvents businessEvent;
+        private final Map<BusinessEntity, Object> references;
+        private final long queuedNanos;
+        private final FineractPlatformTenant tenant;
+        private final Authentication authentication;
+
+        AsyncNotification(final PostListener eventListener, final BusinessEvents businessEvent,
+                final Map<BusinessEntity, Object> businessEventEntity) {
+            this.eventListener = eventListener;
+            this.businessEvent = businessEvent;
+            this.references = referencesOf(businessEventEntity);
+            this.queuedNanos = System.nanoTime();
+            this.tenant = ThreadLocalContextUtil.getTenant();
+            this.authentication = SecurityContextHolder.getContext().getAuthentication();
+        }
+
+        @Override
+        public void run() {
+            Timer.builder("fineract.events.async.queue.wait").tag("event", this.businessEvent.name())
+                    .tag("listener", this.eventListener.name()).description("Time a business event waited for its asynchronous listener")
+                    .register(meterRegistry).record(System.nanoTime() - this.queuedNanos, TimeUnit.NANOSECONDS);
+            // also run by the publishing thread when the queue is full, whose context is restored afterwards
+            final FineractPlatformTenant previousTenant = ThreadLocalContextUtil.getTenant();
+            final Authentication previousAuthentication = SecurityContextHolder.getContext().getAuthentication();
+            setTenant(this.tenant);
+            SecurityContextHolder.getContext().setAuthentication(this.authentication);
+            try {
+                notifyPostListenerInNewTransaction(this.eventListener, this.businessEvent, () -> reload(this.references));
+            } finally {
+                SecurityContextHolder.getContext().setAuthentication(previousAuthentication);
+                setTenant(previousTenant);
+            }
+        }
+
+        private void setTenant(final FineractPlatformTenant tenant) {
+            if (tenant != null) {
+                ThreadLocalContextUtil.setTenant(tenant);
+            } else {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
 }
@@ -1753,6 +1753,10 @@ public final class LoanAccountData {
                 this.feeChargesAtDisbursementCharged);
     }
 
+    public Long getId() {
+        return this.id;
+    }
+
     public Long officeId() {
         Long officeId = this.clientOfficeId;
         if (officeId == null) {
@@ -3127,8 +3127,15 @@ public class Loan extends AbstractPersistableCustom {
                 regenerateRepaymentScheduleWithInterestRecalculation(scheduleGeneratorDTO, currentUser);
             }
             final List<LoanTransaction> allNonContraTransactionsPostDisbursement = retreiveListOfTransactionsPostDisbursement();
-            changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.handleTransaction(getDisbursementDate(),
-                    allNonContraTransactionsPostDisbursement, getCurrency(), getRepaymentScheduleInstallments(), charges());
+            if (this.repaymentScheduleDetail().isInterestRecalculationEnabled()) {
+                changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.handleTransaction(getDisbursementDate(),
+                        allNonContraTransactionsPostDisbursement, getCurrency(), getRepaymentScheduleInstallments(), charges());
+            } else {
+                // transactions before the earliest changed one keep their allocation, so only the tail is replayed
+                changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.handleTransactionFrom(recalculateFrom,
+                        getDisbursementDate(), allNonContraTransactionsPostDisbursement, getCurrency(),
+                        getRepaymentScheduleInstallments(), charges());
+            }
             for (final Map.Entry<Long, LoanTransaction> mapEntry : changedTransactionDetail.getNewTransactionMappings().entrySet()) {
                 mapEntry.getValue().updateLoan(this);
             }
@@ -22,12 +22,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * <p>
@@ -38,10 +42,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class LoanRepositoryWrapper {
 
     private final LoanRepository repository;
+    private final LoanSummaryDirtyMarkerRepository loanSummaryDirtyMarkerRepository;
 
     @Autowired
-    public LoanRepositoryWrapper(final LoanRepository repository) {
+    public LoanRepositoryWrapper(final LoanRepository repository, final LoanSummaryDirtyMarkerRepository loanSummaryDirtyMarkerRepository) {
         this.repository = repository;
+        this.loanSummaryDirtyMarkerRepository = loanSummaryDirtyMarkerRepository;
     }
 
     public Loan findOneWithNotFoundDetection(final Long id) {
@@ -66,16 +72,49 @@ public class LoanRepositoryWrapper {
     }
 
     public Loan saveAndFlush(final Loan loan) {
-        return this.repository.saveAndFlush(loan);
+        final Loan savedLoan = this.repository.saveAndFlush(loan);
+        markSummaryDirty(savedLoan);
+        return savedLoan;
     }
 
     @Transactional
     public Loan save(final Loan loan) {
-        return this.repository.save(loan);
+        final Loan savedLoan = this.repository.save(loan);
+        markSummaryDirty(savedLoan);
+        return savedLoan;
     }
 
     public List<Loan> save(List<Loan> loans) {
-        return this.repository.saveAll(loans);
+        final List<Loan> savedLoans = this.repository.saveAll(loans);
+        for (final Loan savedLoan : savedLoans) {
+            markSummaryDirty(savedLoan);
+        }
+        return savedLoans;
+    }
+
+    // loans that are not yet persisted have no schedule to summarise, the
+    // next save after the id is assigned marks them; a loan saved several
+    // times in one transaction is only marked once
+    private void markSummaryDirty(final Loan loan) {
+        if (loan.getId() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || markedLoansOfCurrentTransaction().add(loan.getId())) {
+            this.loanSummaryDirtyMarkerRepository.markDirty(loan.getId());
+        }
+    }
+
+    // kept on a synchronization rather than a bound resource, so that a
+    // REQUIRES_NEW transaction gets its own set while the outer one is suspended
+    private static Set<Long> markedLoansOfCurrentTransaction() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof MarkedLoans) {
+                return ((MarkedLoans) synchronization).loanIds;
+            }
+        }
+        final MarkedLoans markedLoans = new MarkedLoans();
+        TransactionSynchronizationManager.registerSynchronization(markedLoans);
+        return markedLoans.loanIds;
     }
 
     public void flush() {
@@ -238,4 +277,9 @@ public class LoanRepositoryWrapper {
         }
         return loan;
     }
+
+    private static final class MarkedLoans implements TransactionSynchronization {
+
+        private final Set<Long> loanIds = new HashSet<>();
+    }
 }
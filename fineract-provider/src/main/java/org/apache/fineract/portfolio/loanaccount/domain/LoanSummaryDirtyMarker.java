@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * Marks a loan whose derived summary columns must be recomputed by the incremental run of the
+ * {@link org.apache.fineract.infrastructure.jobs.service.JobName#UPDATE_LOAN_SUMMARY} job. There is at most one marker per
+ * loan: every transaction that saves the loan bumps its mark count, and the job removes the marker once the summary has
+ * been refreshed, unless the count changed in the meantime.
+ */
+@Entity
+@Table(name = "m_loan_summary_dirty")
+public class LoanSummaryDirtyMarker extends AbstractPersistableCustom {
+
+    @Column(name = "loan_id", nullable = false)
+    private Long loanId;
+
+    @Column(name = "mark_count", nullable = false)
+    private Long markCount;
+
+    protected LoanSummaryDirtyMarker() {
+
+    }
+
+    public LoanSummaryDirtyMarker(final Long loanId) {
+        this.loanId = loanId;
+        this.markCount = 1L;
+    }
+
+    public Long getLoanId() {
+        return this.loanId;
+    }
+
+    public Long getMarkCount() {
+        return this.markCount;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface LoanSummaryDirtyMarkerRepository
+        extends JpaRepository<LoanSummaryDirtyMarker, Long>, JpaSpecificationExecutor<LoanSummaryDirtyMarker> {
+
+    // an upsert on the unique loan_id, so concurrent saves of the same loan never collide on the insert
+    @Transactional
+    @Modifying
+    @Query(value = "insert into m_loan_summary_dirty (loan_id, mark_count) values (:loanId, 1)"
+            + " on duplicate key update mark_count = mark_count + 1", nativeQuery = true)
+    int markDirty(@Param("loanId") Long loanId);
+}
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Set;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
 import org.apache.fineract.portfolio.loanaccount.data.LoanChargePaidDetail;
 import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
@@ -65,6 +66,36 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
             final List<LoanTransaction> transactionsPostDisbursement, final MonetaryCurrency currency,
             final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
 
+        resetDerivedComponents(disbursementDate, currency, installments, charges);
+        return reprocessTransactions(disbursementDate, transactionsPostDisbursement, currency, installments, charges);
+    }
+
+    /**
+     * Re-processes only the {@link LoanTransaction}'s on or after <code>replayFromDate</code>. The schedule state left
+     * by the earlier transactions is restored from their persisted repayment schedule mappings instead of being
+     * recomputed, see {@link LoanTransactionReplayCheckpoint}. When that state cannot be restored exactly, the entire
+     * loan schedule is re-processed as in {@link #handleTransaction(LocalDate, List, MonetaryCurrency, List, Set)}.
+     */
+    @Override
+    public ChangedTransactionDetail handleTransactionFrom(final LocalDate replayFromDate, final LocalDate disbursementDate,
+            final List<LoanTransaction> transactionsPostDisbursement, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
+
+        final int resumeIndex = LoanTransactionReplayCheckpoint.resumeIndex(replayFromDate, transactionsPostDisbursement, currency,
+                installments);
+        if (resumeIndex > 0) {
+            resetDerivedComponents(disbursementDate, currency, installments, charges);
+            if (LoanTransactionReplayCheckpoint.restore(transactionsPostDisbursement.subList(0, resumeIndex), currency, installments)) {
+                return reprocessTransactions(disbursementDate,
+                        transactionsPostDisbursement.subList(resumeIndex, transactionsPostDisbursement.size()), currency, installments,
+                        charges);
+            }
+        }
+        return handleTransaction(disbursementDate, transactionsPostDisbursement, currency, installments, charges);
+    }
+
+    private void resetDerivedComponents(final LocalDate disbursementDate, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
         if (charges != null) {
             for (final LoanCharge loanCharge : charges) {
                 if (!loanCharge.isDueAtDisbursement()) {
@@ -82,7 +113,11 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
         // loan charges)
         final LoanRepaymentScheduleProcessingWrapper wrapper = new LoanRepaymentScheduleProcessingWrapper();
         wrapper.reprocess(currency, disbursementDate, installments, charges);
+    }
 
+    private ChangedTransactionDetail reprocessTransactions(final LocalDate disbursementDate,
+            final List<LoanTransaction> transactionsPostDisbursement, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
         final ChangedTransactionDetail changedTransactionDetail = new ChangedTransactionDetail();
         final List<LoanTransaction> transactionstoBeProcessed = new ArrayList<>();
         for (final LoanTransaction loanTransaction : transactionsPostDisbursement) {
@@ -390,25 +425,25 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
             final List<LoanRepaymentScheduleInstallment> installments) {
 
         final LocalDate transactionDate = loanTransaction.getTransactionDate();
-        Money principalPortion = Money.zero(currency);
-        Money interestPortion = Money.zero(currency);
-        Money feeChargesPortion = Money.zero(currency);
-        Money penaltychargesPortion = Money.zero(currency);
+        final MoneyAccumulator principalPortion = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator interestPortion = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator feeChargesPortion = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator penaltychargesPortion = MoneyAccumulator.zero(currency);
 
         // determine how much is written off in total and breakdown for
         // principal, interest and charges
         for (final LoanRepaymentScheduleInstallment currentInstallment : installments) {
 
             if (currentInstallment.isNotFullyPaidOff()) {
-                principalPortion = principalPortion.plus(currentInstallment.writeOffOutstandingPrincipal(transactionDate, currency));
-                interestPortion = interestPortion.plus(currentInstallment.writeOffOutstandingInterest(transactionDate, currency));
-                feeChargesPortion = feeChargesPortion.plus(currentInstallment.writeOffOutstandingFeeCharges(transactionDate, currency));
-                penaltychargesPortion = penaltychargesPortion
-                        .plus(currentInstallment.writeOffOutstandingPenaltyCharges(transactionDate, currency));
+                principalPortion.plus(currentInstallment.writeOffOutstandingPrincipal(transactionDate, currency));
+                interestPortion.plus(currentInstallment.writeOffOutstandingInterest(transactionDate, currency));
+                feeChargesPortion.plus(currentInstallment.writeOffOutstandingFeeCharges(transactionDate, currency));
+                penaltychargesPortion.plus(currentInstallment.writeOffOutstandingPenaltyCharges(transactionDate, currency));
             }
         }
 
-        loanTransaction.updateComponentsAndTotal(principalPortion, interestPortion, feeChargesPortion, penaltychargesPortion);
+        loanTransaction.updateComponentsAndTotal(principalPortion.toMoney(), interestPortion.toMoney(), feeChargesPortion.toMoney(),
+                penaltychargesPortion.toMoney());
     }
 
     // abstract interface
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionToRepaymentScheduleMapping;
+
+/**
+ * Restores the state of the repayment schedule installments as it was after a leading run of (chronologically
+ * ordered) {@link LoanTransaction}'s, using the {@link LoanTransactionToRepaymentScheduleMapping}'s persisted by the
+ * last time those transactions were processed.
+ *
+ * Processing a transaction only depends on the installment state left by the transactions before it, so for a run
+ * of transactions that all fall before a backdated or adjusted transaction, re-processing them would produce the
+ * mappings they already have. Only runs which can be restored exactly are accepted: plain repayments that paid
+ * principal and interest only, with no overpayment, and transactions that repayment schedule processing ignores
+ * (accruals, income postings etc.).
+ */
+final class LoanTransactionReplayCheckpoint {
+
+    private LoanTransactionReplayCheckpoint() {}
+
+    /**
+     * @return the number of leading transactions dated before <code>replayFromDate</code> whose effect on the
+     *         installments can be restored by {@link #restore(List, MonetaryCurrency, List)}, or 0 if the whole list has
+     *         to be processed
+     */
+    static int resumeIndex(final LocalDate replayFromDate, final List<LoanTransaction> transactions, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments) {
+        if (replayFromDate == null) {
+            return 0;
+        }
+        final Set<LoanRepaymentScheduleInstallment> scheduleInstallments = new HashSet<>(installments);
+        int index = 0;
+        for (final LoanTransaction transaction : transactions) {
+            if (!transaction.getTransactionDate().isBefore(replayFromDate)) {
+                break;
+            }
+            if (isProcessedBySchedule(transaction) && !isRestorableRepayment(transaction, currency, scheduleInstallments)) {
+                return 0;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Applies the persisted mappings of <code>transactions</code> to <code>installments</code>, which must have had
+     * their derived components reset.
+     *
+     * @return false if a mapping could not be applied in full, in which case the installments are left partially
+     *         updated and have to be reset again
+     */
+    static boolean restore(final List<LoanTransaction> transactions, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments) {
+        // matches the ordering that processing the first of these transactions would have applied
+        Collections.sort(installments, (o1, o2) -> o1.getDueDate().compareTo(o2.getDueDate()));
+
+        for (final LoanTransaction transaction : transactions) {
+            if (!isProcessedBySchedule(transaction)) {
+                continue;
+            }
+            final LocalDate transactionDate = transaction.getTransactionDate();
+            for (final LoanTransactionToRepaymentScheduleMapping mapping : transaction.getLoanTransactionToRepaymentScheduleMappings()) {
+                final LoanRepaymentScheduleInstallment installment = mapping.getLoanRepaymentScheduleInstallment();
+                final Money interest = mapping.getInterestPortion(currency);
+                if (interest.isGreaterThanZero() && installment.payInterestComponent(transactionDate, interest).isNotEqualTo(interest)) {
+                    return false;
+                }
+                final Money principal = mapping.getPrincipalPortion(currency);
+                if (principal.isGreaterThanZero()
+                        && installment.payPrincipalComponent(transactionDate, principal).isNotEqualTo(principal)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mirrors the transaction types acted upon by
+     * {@link AbstractLoanRepaymentScheduleTransactionProcessor#handleTransaction(LocalDate, List, MonetaryCurrency, List, Set)}.
+     */
+    private static boolean isProcessedBySchedule(final LoanTransaction transaction) {
+        return transaction.isChargePayment() || transaction.isRepayment() || transaction.isInterestWaiver()
+                || transaction.isRecoveryRepayment() || transaction.isWriteOff() || transaction.isRefundForActiveLoan();
+    }
+
+    private static boolean isRestorableRepayment(final LoanTransaction transaction, final MonetaryCurrency currency,
+            final Set<LoanRepaymentScheduleInstallment> scheduleInstallments) {
+        if (!transaction.isRepayment() || transaction.getId() == null || transaction.getFeeChargesPortion(currency).isGreaterThanZero()
+                || transaction.getPenaltyChargesPortion(currency).isGreaterThanZero()
+                || transaction.getOverPaymentPortion(currency).isGreaterThanZero()) {
+            return false;
+        }
+        final Set<LoanTransactionToRepaymentScheduleMapping> mappings = transaction.getLoanTransactionToRepaymentScheduleMappings();
+        if (mappings.isEmpty()) {
+            return false;
+        }
+        final MoneyAccumulator principal = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator interest = MoneyAccumulator.zero(currency);
+        for (final LoanTransactionToRepaymentScheduleMapping mapping : mappings) {
+            if (!scheduleInstallments.contains(mapping.getLoanRepaymentScheduleInstallment())
+                    || mapping.getFeeChargesPortion(currency).isGreaterThanZero()
+                    || mapping.getPenaltyChargesPortion(currency).isGreaterThanZero()) {
+                return false;
+            }
+            principal.plus(mapping.getPrincipalPortion(currency));
+            interest.plus(mapping.getInterestPortion(currency));
+        }
+        return principal.toMoney().isEqualTo(transaction.getPrincipalPortion(currency))
+                && interest.toMoney().isEqualTo(transaction.getInterestPortion(currency));
+    }
+}
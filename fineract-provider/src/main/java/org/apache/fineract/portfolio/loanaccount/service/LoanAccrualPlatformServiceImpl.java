@@ -26,14 +26,21 @@ import java.util.List;
 import java.util.Map;
 import org.apache.fineract.infrastructure.core.exception.MultiException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.apache.fineract.infrastructure.jobs.service.JobRunSummaryHolder;
+import org.apache.fineract.infrastructure.jobs.service.SchedularWritePlatformService;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformService {
@@ -42,12 +49,23 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
 
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    private final JobParameterRepository jobParameterRepository;
+    private final SchedularWritePlatformService schedularWritePlatformService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationContext applicationContext;
 
     @Autowired
     public LoanAccrualPlatformServiceImpl(final LoanReadPlatformService loanReadPlatformService,
-            final LoanAccrualWritePlatformService loanAccrualWritePlatformService) {
+            final LoanAccrualWritePlatformService loanAccrualWritePlatformService,
+            final JobParameterRepository jobParameterRepository,
+            final SchedularWritePlatformService schedularWritePlatformService, final TransactionTemplate transactionTemplate,
+            final ApplicationContext applicationContext) {
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanAccrualWritePlatformService = loanAccrualWritePlatformService;
+        this.jobParameterRepository = jobParameterRepository;
+        this.schedularWritePlatformService = schedularWritePlatformService;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationContext = applicationContext;
     }
 
     @Override
@@ -82,13 +100,62 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
     @Override
     @CronTarget(jobName = JobName.ADD_PERIODIC_ACCRUAL_ENTRIES)
     public void addPeriodicAccruals() throws JobExecutionException {
+        final LocalDate tilldate = LocalDate.now(DateUtils.getDateTimeZoneOfTenant());
+        final JobParameters jobParameters = JobParameters
+                .of(this.jobParameterRepository.findJobParametersByJobName(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.toString()));
+        if (jobParameters.isEnabled(JobParameters.STREAMING)) {
+            addPeriodicAccrualsStreaming(tilldate, jobParameters);
+            return;
+        }
         try {
-            addPeriodicAccruals(LocalDate.now(DateUtils.getDateTimeZoneOfTenant()));
+            addPeriodicAccruals(tilldate);
         } catch (MultiException e) {
             throw new JobExecutionException(e);
         }
     }
 
+    /**
+     * Reads the accrual data of the tenant in keyset pages and hands it as chunks to a {@link LoanChunkExecutor}. The
+     * last loan up to which all chunks have been committed, and before the first loan that failed, is kept as the job
+     * checkpoint, so that a run which did not complete resumes after that loan instead of starting over.
+     */
+    private void addPeriodicAccrualsStreaming(final LocalDate tilldate, final JobParameters jobParameters) throws JobExecutionException {
+        final String checkpointScope = tilldate.toString();
+        final Long resumeAfterLoanId = this.schedularWritePlatformService.retrieveJobCheckpoint(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES,
+                checkpointScope);
+        if (resumeAfterLoanId != null) {
+            LOG.info("Resuming periodic accruals till {} after loan {}", tilldate, resumeAfterLoanId);
+        }
+
+        final LoanChunkExecutor<LoanScheduleAccrualData> executor = new LoanChunkExecutor<>(jobParameters,
+                LoanScheduleAccrualData::getLoanId, () -> {
+                    final LoanPeriodicAccrualPoster poster = (LoanPeriodicAccrualPoster) this.applicationContext
+                            .getBean("loanPeriodicAccrualPoster");
+                    poster.setTilldate(tilldate);
+                    poster.setTransactionTemplate(this.transactionTemplate);
+                    poster.setLoanAccrualWritePlatformService(this.loanAccrualWritePlatformService);
+                    return poster;
+                }, checkpoint -> this.schedularWritePlatformService.saveJobCheckpoint(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES, checkpointScope,
+                        checkpoint));
+        try {
+            this.loanReadPlatformService.retrivePeriodicAccrualData(tilldate, resumeAfterLoanId, executor.getBatchSize(), executor);
+        } finally {
+            // the loans read so far are still committed, so that the
+            // checkpoint covers them if reading failed half way
+            executor.finish();
+        }
+        this.schedularWritePlatformService.clearJobCheckpoint(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES);
+
+        final String resumed = resumeAfterLoanId == null ? "" : " (resumed after loan " + resumeAfterLoanId + ")";
+        final String summary = "Periodic accruals till " + tilldate + resumed + ": " + executor.getProcessedLoans() + " loans accrued, "
+                + executor.getFailedLoans() + " failed";
+        LOG.info("{}: {}", ThreadLocalContextUtil.getTenant().getName(), summary);
+        JobRunSummaryHolder.addLine(summary);
+        if (!executor.getErrors().isEmpty()) {
+            throw new JobExecutionException(executor.getErrors());
+        }
+    }
+
     @Override
     public void addPeriodicAccruals(final LocalDate tilldate) throws JobExecutionException {
         Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas = this.loanReadPlatformService.retrivePeriodicAccrualData(tilldate);
@@ -24,6 +24,7 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +34,9 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
 import org.apache.fineract.portfolio.common.service.BusinessEventListener;
@@ -50,22 +53,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, BusinessEventListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(LoanArrearsAgingServiceImpl.class);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final String INSERT_ARREARS_AGEING_SQL = "INSERT INTO m_loan_arrears_aging(`loan_id`,`principal_overdue_derived`,"
+            + "`interest_overdue_derived`,`fee_charges_overdue_derived`,`penalty_charges_overdue_derived`,`total_overdue_derived`,"
+            + "`overdue_since_date_derived`) VALUES(?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ARREARS_AGEING_SQL = "UPDATE m_loan_arrears_aging mla SET mla.principal_overdue_derived = ?, "
+            + "mla.interest_overdue_derived = ?, mla.fee_charges_overdue_derived = ?, mla.penalty_charges_overdue_derived = ?, "
+            + "mla.total_overdue_derived = ?, mla.overdue_since_date_derived = ? WHERE mla.loan_id = ?";
+    private static final String DELETE_ARREARS_AGEING_SQL = "DELETE FROM `m_loan_arrears_aging` WHERE `loan_id` = ?";
+    private static final OriginalScheduleExtractor ORIGINAL_SCHEDULE_EXTRACTOR = new OriginalScheduleExtractor();
+
     private final BusinessEventNotifierService businessEventNotifierService;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobParameterRepository jobParameterRepository;
 
     @Autowired
     public LoanArrearsAgingServiceImpl(final RoutingDataSource dataSource,
-            final BusinessEventNotifierService businessEventNotifierService) {
+            final BusinessEventNotifierService businessEventNotifierService, final TransactionTemplate transactionTemplate,
+            final JobParameterRepository jobParameterRepository) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
         this.businessEventNotifierService = businessEventNotifierService;
+        this.transactionTemplate = transactionTemplate;
+        this.jobParameterRepository = jobParameterRepository;
     }
 
     @PostConstruct
@@ -83,12 +105,34 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_FORECLOSURE, this);
     }
 
-    @Transactional
     @Override
     @CronTarget(jobName = JobName.UPDATE_LOAN_ARREARS_AGEING)
     public void updateLoanArrearsAgeingDetails() {
+        final int batchSize = JobParameters
+                .of(this.jobParameterRepository.findJobParametersByJobName(JobName.UPDATE_LOAN_ARREARS_AGEING.toString()))
+                .getPositiveInt(JobParameters.BATCH_SIZE, DEFAULT_BATCH_SIZE);
+
+        // loans that still have an ageing row are walked as well, so that rows of loans which are no longer in arrears
+        // (or no longer active) get removed by the chunk that covers them
+        final String loanIdsSql = "select ml.id from m_loan ml where ml.id > ? and (ml.loan_status_id = 300 or exists "
+                + "(select 1 from m_loan_arrears_aging mla where mla.loan_id = ml.id)) order by ml.id limit ?";
+        int result = 0;
+        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, 0L, batchSize);
+        while (!loanIds.isEmpty()) {
+            final List<Long> loanIdsInChunk = loanIds;
+            // rows of a chunk are replaced within one transaction, readers keep seeing the previous rows until it commits
+            final Integer updated = this.transactionTemplate.execute(status -> rebuildLoanArrearsAgeingDetails(loanIdsInChunk));
+            result += updated == null ? 0 : updated;
+            final Long lastLoanId = loanIdsInChunk.get(loanIdsInChunk.size() - 1);
+            loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, lastLoanId, batchSize);
+        }
+
+        LOG.info("{}: Records affected by updateLoanArrearsAgeingDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+    }
 
-        this.jdbcTemplate.execute("truncate table m_loan_arrears_aging");
+    private int rebuildLoanArrearsAgeingDetails(final List<Long> loanIds) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("loanIds", loanIds);
+        this.namedParameterJdbcTemplate.update("delete from m_loan_arrears_aging where loan_id in (:loanIds)", parameters);
 
         final StringBuilder updateSqlBuilder = new StringBuilder(900);
         final String principalOverdueCalculationSql = "SUM(ifnull(mr.principal_amount, 0) - ifnull(mr.principal_completed_derived, 0) - ifnull(mr.principal_writtenoff_derived, 0))";
@@ -113,39 +157,40 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         updateSqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
         updateSqlBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
         updateSqlBuilder.append(" WHERE ml.loan_status_id = 300 "); // active
+        updateSqlBuilder.append(" and ml.id in (:loanIds) ");
         updateSqlBuilder.append(" and mr.completed_derived is false ");
         updateSqlBuilder.append(" and mr.duedate < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) ");
         updateSqlBuilder.append(" and (prd.arrears_based_on_original_schedule = 0 or prd.arrears_based_on_original_schedule is null) ");
         updateSqlBuilder.append(" GROUP BY ml.id");
 
-        List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule();
-        insertStatements.add(0, updateSqlBuilder.toString());
-        final int[] results = this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]));
-        int result = 0;
-        for (int i : results) {
-            result += i;
-        }
+        int result = this.namedParameterJdbcTemplate.update(updateSqlBuilder.toString(), parameters);
 
-        LOG.info("{}: Records affected by updateLoanArrearsAgeingDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        final List<Object[]> insertArgs = updateLoanArrearsAgeingDetailsWithOriginalSchedule(parameters);
+        if (!insertArgs.isEmpty()) {
+            for (int i : this.jdbcTemplate.batchUpdate(INSERT_ARREARS_AGEING_SQL, insertArgs)) {
+                // the driver may report SUCCESS_NO_INFO for rewritten batches
+                result += Math.max(i, 0);
+            }
+        }
+        return result;
     }
 
     @Override
     public void updateLoanArrearsAgeingDetailsWithOriginalSchedule(final Loan loan) {
         int count = this.jdbcTemplate.queryForObject("select count(mla.loan_id) from m_loan_arrears_aging mla where mla.loan_id =?",
                 Integer.class, loan.getId());
-        List<String> updateStatement = new ArrayList<>();
-        OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loan.getId().toString());
-        Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.jdbcTemplate.query(originalScheduleExtractor.schema,
-                originalScheduleExtractor);
+        List<Object[]> updateArgs = new ArrayList<>();
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("loanIds", Collections.singletonList(loan.getId()));
+        Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.namedParameterJdbcTemplate.query(OriginalScheduleExtractor.SCHEMA,
+                parameters, ORIGINAL_SCHEDULE_EXTRACTOR);
         if (scheduleDate.size() > 0) {
             List<Map<String, Object>> transactions = getLoanSummary(loan.getId(), loan.getLoanSummary());
             updateSchheduleWithPaidDetail(scheduleDate, transactions);
-            createInsertStatements(updateStatement, scheduleDate, count == 0);
-            if (updateStatement.size() == 1) {
-                this.jdbcTemplate.update(updateStatement.get(0));
+            createArrearsAgeingArgs(updateArgs, scheduleDate, count == 0);
+            if (updateArgs.size() == 1) {
+                this.jdbcTemplate.update(count == 0 ? INSERT_ARREARS_AGEING_SQL : UPDATE_ARREARS_AGEING_SQL, updateArgs.get(0));
             } else {
-                String deletestatement = "DELETE FROM `m_loan_arrears_aging` WHERE  `loan_id`=" + loan.getId();
-                this.jdbcTemplate.update(deletestatement);
+                this.jdbcTemplate.update(DELETE_ARREARS_AGEING_SQL, loan.getId());
             }
         }
     }
@@ -154,17 +199,16 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
     public void updateLoanArrearsAgeingDetails(final Loan loan) {
         int count = this.jdbcTemplate.queryForObject("select count(mla.loan_id) from m_loan_arrears_aging mla where mla.loan_id =?",
                 Integer.class, loan.getId());
-        String updateStatement = constructUpdateStatement(loan, count == 0);
-        if (updateStatement == null) {
-            String deletestatement = "DELETE FROM `m_loan_arrears_aging` WHERE  `loan_id`=" + loan.getId();
-            this.jdbcTemplate.update(deletestatement);
+        Object[] updateArgs = constructArrearsAgeingArgs(loan, count == 0);
+        if (updateArgs == null) {
+            this.jdbcTemplate.update(DELETE_ARREARS_AGEING_SQL, loan.getId());
         } else {
-            this.jdbcTemplate.update(updateStatement);
+            this.jdbcTemplate.update(count == 0 ? INSERT_ARREARS_AGEING_SQL : UPDATE_ARREARS_AGEING_SQL, updateArgs);
         }
     }
 
-    private String constructUpdateStatement(final Loan loan, boolean isInsertStatement) {
-        String updateSql = null;
+    private Object[] constructArrearsAgeingArgs(final Loan loan, boolean isInsertStatement) {
+        Object[] updateArgs = null;
         List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
         BigDecimal principalOverdue = BigDecimal.ZERO;
         BigDecimal interestOverdue = BigDecimal.ZERO;
@@ -185,19 +229,14 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
 
         BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
         if (totalOverDue.compareTo(BigDecimal.ZERO) > 0) {
-            if (isInsertStatement) {
-                updateSql = constructInsertStatement(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                        overDueSince);
-            } else {
-                updateSql = constructUpdateStatement(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                        overDueSince);
-            }
+            updateArgs = constructArrearsAgeingArgs(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
+                    overDueSince, isInsertStatement);
         }
-        return updateSql;
+        return updateArgs;
     }
 
-    private List<String> updateLoanArrearsAgeingDetailsWithOriginalSchedule() {
-        List<String> insertStatement = new ArrayList<>();
+    private List<Object[]> updateLoanArrearsAgeingDetailsWithOriginalSchedule(final MapSqlParameterSource chunkParameters) {
+        List<Object[]> insertArgs = new ArrayList<>();
 
         final StringBuilder loanIdentifier = new StringBuilder();
         loanIdentifier.append("select ml.id as loanId FROM m_loan ml  ");
@@ -205,25 +244,24 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         loanIdentifier.append(
                 "inner join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id and prd.arrears_based_on_original_schedule = 1  ");
         loanIdentifier.append(
-                "WHERE ml.loan_status_id = 300  and mr.completed_derived is false  and mr.duedate < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) group by ml.id");
-        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdentifier.toString(), Long.class);
+                "WHERE ml.loan_status_id = 300  and mr.completed_derived is false  and mr.duedate < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) ");
+        loanIdentifier.append("and ml.id in (:loanIds) group by ml.id");
+        List<Long> loanIds = this.namedParameterJdbcTemplate.queryForList(loanIdentifier.toString(), chunkParameters, Long.class);
         if (!loanIds.isEmpty()) {
-            String loanIdsAsString = loanIds.toString();
-            loanIdsAsString = loanIdsAsString.substring(1, loanIdsAsString.length() - 1);
-            OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loanIdsAsString);
-            Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.jdbcTemplate.query(originalScheduleExtractor.schema,
-                    originalScheduleExtractor);
+            final MapSqlParameterSource parameters = new MapSqlParameterSource("loanIds", loanIds);
+            Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.namedParameterJdbcTemplate.query(OriginalScheduleExtractor.SCHEMA,
+                    parameters, ORIGINAL_SCHEDULE_EXTRACTOR);
 
-            List<Map<String, Object>> loanSummary = getLoanSummary(loanIdsAsString);
+            List<Map<String, Object>> loanSummary = getLoanSummary(parameters);
             updateSchheduleWithPaidDetail(scheduleDate, loanSummary);
-            createInsertStatements(insertStatement, scheduleDate, true);
+            createArrearsAgeingArgs(insertArgs, scheduleDate, true);
         }
 
-        return insertStatement;
+        return insertArgs;
 
     }
 
-    private List<Map<String, Object>> getLoanSummary(final String loanIdsAsString) {
+    private List<Map<String, Object>> getLoanSummary(final MapSqlParameterSource parameters) {
         final StringBuilder transactionsSql = new StringBuilder();
         transactionsSql.append("select ml.id as loanId, ");
         transactionsSql
@@ -233,9 +271,9 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         transactionsSql
                 .append("ml.penalty_charges_repaid_derived as penaltyAmtPaid, ml.penalty_charges_waived_derived as penaltyAmtWaived ");
         transactionsSql.append("from m_loan ml ");
-        transactionsSql.append("where ml.id IN (").append(loanIdsAsString).append(") order by ml.id");
+        transactionsSql.append("where ml.id IN (:loanIds) order by ml.id");
 
-        List<Map<String, Object>> loanSummary = this.jdbcTemplate.queryForList(transactionsSql.toString());
+        List<Map<String, Object>> loanSummary = this.namedParameterJdbcTemplate.queryForList(transactionsSql.toString(), parameters);
         return loanSummary;
     }
 
@@ -257,7 +295,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
 
     }
 
-    private void createInsertStatements(List<String> insertStatement, Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
+    private void createArrearsAgeingArgs(List<Object[]> updateArgs, Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
             boolean isInsertStatement) {
         for (Map.Entry<Long, List<LoanSchedulePeriodData>> entry : scheduleDate.entrySet()) {
             final Long loanId = entry.getKey();
@@ -283,49 +321,23 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
                 }
             }
             if (principalOverdue.compareTo(BigDecimal.ZERO) > 0) {
-                String sqlStatement = null;
-                if (isInsertStatement) {
-                    sqlStatement = constructInsertStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
-                } else {
-                    sqlStatement = constructUpdateStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
-                }
-                insertStatement.add(sqlStatement);
+                updateArgs.add(constructArrearsAgeingArgs(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
+                        overDueSince, isInsertStatement));
             }
 
         }
     }
 
-    private String constructInsertStatement(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
-            BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince) {
-        final StringBuilder insertStatementBuilder = new StringBuilder(900);
-        insertStatementBuilder.append("INSERT INTO m_loan_arrears_aging(`loan_id`,`principal_overdue_derived`,`interest_overdue_derived`,")
-                .append("`fee_charges_overdue_derived`,`penalty_charges_overdue_derived`,`total_overdue_derived`,`overdue_since_date_derived`) VALUES(");
-        insertStatementBuilder.append(loanId).append(",");
-        insertStatementBuilder.append(principalOverdue).append(",");
-        insertStatementBuilder.append(interestOverdue).append(",");
-        insertStatementBuilder.append(feeOverdue).append(",");
-        insertStatementBuilder.append(penaltyOverdue).append(",");
+    private Object[] constructArrearsAgeingArgs(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
+            BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince, boolean isInsertStatement) {
         BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
-        insertStatementBuilder.append(totalOverDue).append(",'");
-        insertStatementBuilder.append(this.formatter.format(overDueSince)).append("')");
-        return insertStatementBuilder.toString();
-    }
-
-    private String constructUpdateStatement(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
-            BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince) {
-        final StringBuilder insertStatementBuilder = new StringBuilder(900);
-        insertStatementBuilder.append("UPDATE m_loan_arrears_aging mla SET mla.principal_overdue_derived=");
-        insertStatementBuilder.append(principalOverdue).append(", mla.interest_overdue_derived=");
-        insertStatementBuilder.append(interestOverdue).append(", mla.fee_charges_overdue_derived=");
-        insertStatementBuilder.append(feeOverdue).append(", mla.penalty_charges_overdue_derived=");
-        insertStatementBuilder.append(penaltyOverdue).append(", mla.total_overdue_derived=");
-        BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
-        insertStatementBuilder.append(totalOverDue).append(",mla.overdue_since_date_derived= '");
-        insertStatementBuilder.append(this.formatter.format(overDueSince)).append("' ");
-        insertStatementBuilder.append("WHERE  mla.loan_id=").append(loanId);
-        return insertStatementBuilder.toString();
+        final String overDueSinceAsString = this.formatter.format(overDueSince);
+        if (isInsertStatement) {
+            return new Object[] { loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue, totalOverDue,
+                    overDueSinceAsString };
+        }
+        return new Object[] { principalOverdue, interestOverdue, feeOverdue, penaltyOverdue, totalOverDue, overDueSinceAsString,
+                loanId };
     }
 
     private void updateSchheduleWithPaidDetail(Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
@@ -417,20 +429,13 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
 
     private static final class OriginalScheduleExtractor implements ResultSetExtractor<Map<Long, List<LoanSchedulePeriodData>>> {
 
-        private final String schema;
-
-        OriginalScheduleExtractor(final String loanIdsAsString) {
-            final StringBuilder scheduleDetail = new StringBuilder();
-            scheduleDetail.append("select ml.id as loanId, mr.duedate as dueDate, mr.principal_amount as principalAmount, ");
-            scheduleDetail.append(
-                    "mr.interest_amount as interestAmount, mr.fee_charges_amount as feeAmount, mr.penalty_charges_amount as penaltyAmount  ");
-            scheduleDetail.append("from m_loan ml  INNER JOIN m_loan_repayment_schedule_history mr on mr.loan_id = ml.id ");
-            scheduleDetail.append("where mr.duedate  < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) and ");
-            scheduleDetail.append("ml.id IN(").append(loanIdsAsString).append(") and  mr.version = (");
-            scheduleDetail.append("select max(lrs.version) from m_loan_repayment_schedule_history lrs where mr.loan_id = lrs.loan_id");
-            scheduleDetail.append(") order by ml.id,mr.duedate");
-            this.schema = scheduleDetail.toString();
-        }
+        private static final String SCHEMA = "select ml.id as loanId, mr.duedate as dueDate, mr.principal_amount as principalAmount, "
+                + "mr.interest_amount as interestAmount, mr.fee_charges_amount as feeAmount, mr.penalty_charges_amount as penaltyAmount  "
+                + "from m_loan ml  INNER JOIN m_loan_repayment_schedule_history mr on mr.loan_id = ml.id "
+                + "where mr.duedate  < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) and "
+                + "ml.id IN (:loanIds) and  mr.version = ("
+                + "select max(lrs.version) from m_loan_repayment_schedule_history lrs where mr.loan_id = lrs.loan_id"
+                + ") order by ml.id,mr.duedate";
 
         @Override
         public Map<Long, List<LoanSchedulePeriodData>> extractData(ResultSet rs) throws SQLException, DataAccessException {
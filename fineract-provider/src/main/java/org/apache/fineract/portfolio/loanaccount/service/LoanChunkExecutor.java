@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.MultiException;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Takes the data of a job's loans in loan id order, one loan at a time, and hands it in chunks of
+ * <code>batch-size</code> loans to a pool of <code>thread-pool-size</code> {@link LoanChunkPoster}s, each chunk being
+ * committed on its own.
+ *
+ * When a checkpoint handler is given, it is told the last loan up to which all chunks have been committed, and before
+ * the first loan that failed, so that a run which did not complete can resume after that loan.
+ */
+final class LoanChunkExecutor<T> implements Consumer<List<T>> {
+
+    private static final int DEFAULT_THREAD_POOL_SIZE = 5;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Function<T, Long> loanIdOf;
+    private final Supplier<? extends LoanChunkPoster<T>> posterFactory;
+    private final Consumer<Long> checkpointHandler;
+    private final int batchSize;
+    private final int maxChunksInFlight;
+    private final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+    private final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    private final ExecutorService executorService;
+    private final CompletionService<Void> completionService;
+    private final Map<Future<Void>, LoanChunkPoster<T>> postersInFlight = new HashMap<>();
+    private final Map<Integer, LoanChunkPoster<T>> committedChunks = new TreeMap<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private Map<Long, List<T>> loanData = new LinkedHashMap<>();
+    private int nextChunkNumber = 1;
+    private int nextChunkToCheckpoint = 1;
+    private int processedLoans;
+    private int failedLoans;
+    private boolean interrupted;
+    private boolean checkpointHeld;
+
+    /**
+     * @param checkpointHandler
+     *            <code>null</code> when the job does not keep a checkpoint
+     */
+    LoanChunkExecutor(final JobParameters jobParameters, final Function<T, Long> loanIdOf,
+            final Supplier<? extends LoanChunkPoster<T>> posterFactory, final Consumer<Long> checkpointHandler) {
+        final int threadPoolSize = jobParameters.getPositiveInt(JobParameters.THREAD_POOL_SIZE, DEFAULT_THREAD_POOL_SIZE);
+        this.batchSize = jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        this.loanIdOf = loanIdOf;
+        this.posterFactory = posterFactory;
+        this.checkpointHandler = checkpointHandler;
+        // keeps the reader ahead of the workers without buffering the
+        // whole book in memory
+        this.maxChunksInFlight = threadPoolSize * 2;
+        this.executorService = Executors.newFixedThreadPool(threadPoolSize);
+        this.completionService = new ExecutorCompletionService<>(this.executorService);
+    }
+
+    int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public void accept(final List<T> data) {
+        this.loanData.put(this.loanIdOf.apply(data.get(0)), data);
+        if (this.loanData.size() >= this.batchSize) {
+            submitChunk();
+        }
+    }
+
+    /**
+     * Submits the last chunk and waits for all chunks to complete.
+     */
+    void finish() {
+        try {
+            if (!this.interrupted) {
+                submitChunk();
+                while (!this.postersInFlight.isEmpty()) {
+                    awaitChunk();
+                }
+            }
+        } finally {
+            this.executorService.shutdownNow();
+        }
+    }
+
+    List<Throwable> getErrors() {
+        return this.errors;
+    }
+
+    int getProcessedLoans() {
+        return this.processedLoans;
+    }
+
+    int getFailedLoans() {
+        return this.failedLoans;
+    }
+
+    private void submitChunk() {
+        if (this.loanData.isEmpty()) {
+            return;
+        }
+        while (this.postersInFlight.size() >= this.maxChunksInFlight) {
+            awaitChunk();
+        }
+        final LoanChunkPoster<T> poster = this.posterFactory.get();
+        poster.setChunk(this.nextChunkNumber++, this.loanData);
+        poster.setContext(this.tenant, this.authentication);
+        this.postersInFlight.put(this.completionService.submit(poster), poster);
+        this.loanData = new LinkedHashMap<>();
+    }
+
+    private void awaitChunk() {
+        final Future<Void> response;
+        try {
+            response = this.completionService.take();
+        } catch (InterruptedException e) {
+            this.interrupted = true;
+            this.errors.add(e);
+            Thread.currentThread().interrupt();
+            throw new PlatformInternalServerException("error.msg.loan.chunk.interrupted", "Interrupted while processing loan chunks", e);
+        }
+        final LoanChunkPoster<T> poster = this.postersInFlight.remove(response);
+        boolean committed = true;
+        try {
+            response.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MultiException) {
+                // the loans that failed have been rolled back one by one,
+                // the rest of the chunk is committed
+                this.errors.addAll(((MultiException) e.getCause()).getCauses());
+            } else {
+                this.errors.add(e.getCause());
+                committed = false;
+            }
+        } catch (InterruptedException e) {
+            // the future is already done, get() does not block
+            Thread.currentThread().interrupt();
+        }
+        this.processedLoans += poster.getProcessedLoans();
+        this.failedLoans += poster.getFailedLoans();
+        if (committed && this.checkpointHandler != null && !this.checkpointHeld) {
+            this.committedChunks.put(poster.getChunkNumber(), poster);
+            updateCheckpoint();
+        }
+    }
+
+    private void updateCheckpoint() {
+        Long checkpoint = null;
+        while (!this.checkpointHeld && this.committedChunks.containsKey(this.nextChunkToCheckpoint)) {
+            final LoanChunkPoster<T> poster = this.committedChunks.remove(this.nextChunkToCheckpoint);
+            this.nextChunkToCheckpoint++;
+            if (poster.getLastCommittedLoanId() != null) {
+                checkpoint = poster.getLastCommittedLoanId();
+            }
+            // a resumed run has to retry the loans that failed, so the
+            // checkpoint does not move past the first of them
+            this.checkpointHeld = poster.hasFailedLoans();
+        }
+        if (checkpoint != null) {
+            this.checkpointHandler.accept(checkpoint);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Processes one chunk of loans handed out by a {@link LoanChunkExecutor} in a single transaction. When the chunk fails
+ * it is rolled back and its loans are processed one by one, so that a single failing loan does not hold back the rest of
+ * the chunk.
+ */
+public abstract class LoanChunkPoster<T> implements Callable<Void> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoanChunkPoster.class);
+
+    private int chunkNumber;
+    private Map<Long, List<T>> loanData;
+    private FineractPlatformTenant tenant;
+    private Authentication authentication;
+    private TransactionTemplate transactionTemplate;
+
+    private final Set<Long> failedLoanIds = new HashSet<>();
+    private int processedLoans;
+
+    void setChunk(final int chunkNumber, final Map<Long, List<T>> loanData) {
+        this.chunkNumber = chunkNumber;
+        this.loanData = loanData;
+    }
+
+    void setContext(final FineractPlatformTenant tenant, final Authentication authentication) {
+        this.tenant = tenant;
+        this.authentication = authentication;
+    }
+
+    public void setTransactionTemplate(final TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public Void call() throws JobExecutionException {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        SecurityContextHolder.getContext().setAuthentication(this.authentication);
+        final List<Throwable> errors = new ArrayList<>();
+        try {
+            processChunk(errors);
+        } finally {
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.clearTenant();
+        }
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+        return null;
+    }
+
+    public int getChunkNumber() {
+        return this.chunkNumber;
+    }
+
+    /**
+     * The last loan of the chunk before the first loan that failed, or <code>null</code> when the first loan failed.
+     */
+    public Long getLastCommittedLoanId() {
+        Long lastCommittedLoanId = null;
+        for (final Long loanId : this.loanData.keySet()) {
+            if (this.failedLoanIds.contains(loanId)) {
+                break;
+            }
+            lastCommittedLoanId = loanId;
+        }
+        return lastCommittedLoanId;
+    }
+
+    public boolean hasFailedLoans() {
+        return !this.failedLoanIds.isEmpty();
+    }
+
+    public int getProcessedLoans() {
+        return this.processedLoans;
+    }
+
+    public int getFailedLoans() {
+        return this.failedLoanIds.size();
+    }
+
+    protected abstract void process(Long loanId, List<T> data) throws Exception;
+
+    protected abstract void logFailure(Long loanId, Exception e);
+
+    private void processChunk(final List<Throwable> errors) {
+        if (this.loanData.size() > 1) {
+            try {
+                this.transactionTemplate.execute(status -> {
+                    for (final Map.Entry<Long, List<T>> mapEntry : this.loanData.entrySet()) {
+                        processInTransaction(mapEntry.getKey(), mapEntry.getValue());
+                    }
+                    return null;
+                });
+                this.processedLoans += this.loanData.size();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warn("{} failed for loan chunk {}, processing its loans one by one", getClass().getSimpleName(), this.chunkNumber, e);
+            }
+        }
+
+        for (final Map.Entry<Long, List<T>> mapEntry : this.loanData.entrySet()) {
+            try {
+                process(mapEntry.getKey(), mapEntry.getValue());
+                this.processedLoans++;
+            } catch (Exception e) {
+                logFailure(mapEntry.getKey(), e);
+                errors.add(e);
+                this.failedLoanIds.add(mapEntry.getKey());
+            }
+        }
+    }
+
+    private void processInTransaction(final Long loanId, final List<T> data) {
+        try {
+            process(loanId, data);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // checked exceptions do not roll back the chunk transaction on
+            // their own
+            throw new PlatformInternalServerException("error.msg.loan.chunk.failed", "Failed to process loan " + loanId, loanId, e);
+        }
+    }
+}
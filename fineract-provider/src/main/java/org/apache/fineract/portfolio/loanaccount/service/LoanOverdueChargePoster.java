@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the overdue penalties of one chunk of loans, see {@link LoanChunkPoster}.
+ */
+@Component
+@Scope("prototype")
+public class LoanOverdueChargePoster extends LoanChunkPoster<OverdueLoanScheduleData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoanOverdueChargePoster.class);
+
+    private LoanWritePlatformService loanWritePlatformService;
+
+    public void setLoanWritePlatformService(final LoanWritePlatformService loanWritePlatformService) {
+        this.loanWritePlatformService = loanWritePlatformService;
+    }
+
+    @Override
+    protected void process(final Long loanId, final List<OverdueLoanScheduleData> overdueInstallments) {
+        this.loanWritePlatformService.applyOverdueChargesForLoan(loanId, overdueInstallments);
+    }
+
+    @Override
+    protected void logFailure(final Long loanId, final Exception e) {
+        if (e instanceof PlatformApiDataValidationException) {
+            for (final ApiParameterError error : ((PlatformApiDataValidationException) e).getErrors()) {
+                LOG.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId, error.getDeveloperMessage(),
+                        e);
+            }
+        } else if (e instanceof AbstractPlatformDomainRuleException) {
+            LOG.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId,
+                    ((AbstractPlatformDomainRuleException) e).getDefaultUserMessage(), e);
+        } else {
+            LOG.error("Apply Charges due for overdue loans failed for account {}", loanId, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the periodic accruals of one chunk of loans, see {@link LoanChunkPoster}.
+ */
+@Component
+@Scope("prototype")
+public class LoanPeriodicAccrualPoster extends LoanChunkPoster<LoanScheduleAccrualData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoanPeriodicAccrualPoster.class);
+
+    private LocalDate tilldate;
+    private LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+
+    public void setTilldate(final LocalDate tilldate) {
+        this.tilldate = tilldate;
+    }
+
+    public void setLoanAccrualWritePlatformService(final LoanAccrualWritePlatformService loanAccrualWritePlatformService) {
+        this.loanAccrualWritePlatformService = loanAccrualWritePlatformService;
+    }
+
+    @Override
+    protected void process(final Long loanId, final List<LoanScheduleAccrualData> accrualData) throws Exception {
+        this.loanAccrualWritePlatformService.addPeriodicAccruals(this.tilldate, loanId, accrualData);
+    }
+
+    @Override
+    protected void logFailure(final Long loanId, final Exception e) {
+        LOG.error("Failed to add accural transaction for loan {}", loanId, e);
+    }
+}
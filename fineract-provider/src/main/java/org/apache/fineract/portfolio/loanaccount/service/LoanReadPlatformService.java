@@ -23,6 +23,7 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.organisation.staff.data.StaffData;
@@ -90,6 +91,14 @@ public interface LoanReadPlatformService {
      */
     Collection<OverdueLoanScheduleData> retrieveAllLoansWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties);
 
+    /**
+     * Reads the same overdue installments in loan id order, in keyset pages of <code>pageSize</code> loans, handing the
+     * installments of one loan at a time to <code>overdueInstallmentsHandler</code>. No cursor is held open while the
+     * handler runs.
+     */
+    void retrieveAllLoansWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties, int pageSize,
+            Consumer<List<OverdueLoanScheduleData>> overdueInstallmentsHandler);
+
     Integer retriveLoanCounter(Long groupId, Integer loanType, Long productId);
 
     Integer retriveLoanCounter(Long clientId, Long productId);
@@ -108,6 +117,14 @@ public interface LoanReadPlatformService {
 
     Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(LocalDate tillDate);
 
+    /**
+     * Reads the periodic accrual data of the loans with an id greater than <code>afterLoanId</code> in loan id order, in
+     * keyset pages of <code>pageSize</code> loans, handing the rows of one loan at a time to
+     * <code>loanAccrualDataHandler</code>. No cursor is held open while the handler runs.
+     */
+    void retrivePeriodicAccrualData(LocalDate tillDate, Long afterLoanId, int pageSize,
+            Consumer<List<LoanScheduleAccrualData>> loanAccrualDataHandler);
+
     Collection<Long> fetchLoansForInterestRecalculation();
 
     List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
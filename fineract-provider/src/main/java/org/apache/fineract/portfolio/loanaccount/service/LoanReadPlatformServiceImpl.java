@@ -32,8 +32,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.accounting.common.AccountingRuleType;
 import org.apache.fineract.infrastructure.codes.data.CodeValueData;
@@ -293,7 +295,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         final String hierarchySearchString = hierarchy + "%";
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append(searchParameters == null || searchParameters.isCountRequested() ? "select SQL_CALC_FOUND_ROWS " : "select ");
         sqlBuilder.append(this.loaanLoanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -337,6 +339,12 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                 arrayPos = arrayPos + 1;
             }
 
+            if (searchParameters.isKeysetPaged()) {
+                return this.paginationHelper.fetchPageAfter(this.jdbcTemplate, sqlBuilder.toString(),
+                        Arrays.copyOf(extraCriterias.toArray(), arrayPos), "l.id", searchParameters, this.loaanLoanMapper,
+                        LoanAccountData::getId);
+            }
+
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -356,7 +364,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         }
         final Object[] objectArray = extraCriterias.toArray();
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
+        final String sqlCountRows = searchParameters == null || searchParameters.isCountRequested() ? "SELECT FOUND_ROWS()" : null;
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray,
                 this.loaanLoanMapper);
     }
@@ -972,6 +980,10 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
 
     private static final class MusoniOverdueLoanScheduleMapper implements RowMapper<OverdueLoanScheduleData> {
 
+        private static final String FROM = " from m_loan_repayment_schedule ls " + " inner join m_loan ml on ml.id = ls.loan_id "
+                + " join m_product_loan_charge plc on plc.product_loan_id = ml.product_id "
+                + " join m_charge mc on mc.id = plc.charge_id ";
+
         public String schema() {
             return " ls.loan_id as loanId, ls.installment as period, ls.fromdate as fromDate, ls.duedate as dueDate, ls.obligations_met_on_date as obligationsMetOnDate, ls.completed_derived as complete,"
                     + " ls.principal_amount as principalDue, ls.principal_completed_derived as principalPaid, ls.principal_writtenoff_derived as principalWrittenOff, "
@@ -979,11 +991,12 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                     + " ls.fee_charges_amount as feeChargesDue, ls.fee_charges_completed_derived as feeChargesPaid, ls.fee_charges_waived_derived as feeChargesWaived, ls.fee_charges_writtenoff_derived as feeChargesWrittenOff, "
                     + " ls.penalty_charges_amount as penaltyChargesDue, ls.penalty_charges_completed_derived as penaltyChargesPaid, ls.penalty_charges_waived_derived as penaltyChargesWaived, ls.penalty_charges_writtenoff_derived as penaltyChargesWrittenOff, "
                     + " ls.total_paid_in_advance_derived as totalPaidInAdvanceForPeriod, ls.total_paid_late_derived as totalPaidLateForPeriod, "
-                    + " mc.amount,mc.id as chargeId " + " from m_loan_repayment_schedule ls "
-                    + " inner join m_loan ml on ml.id = ls.loan_id "
-                    + " join m_product_loan_charge plc on plc.product_loan_id = ml.product_id "
-                    + " join m_charge mc on mc.id = plc.charge_id ";
+                    + " mc.amount,mc.id as chargeId " + FROM;
+
+        }
 
+        public String loanIdSchema() {
+            return " distinct ls.loan_id as loanId " + FROM;
         }
 
         @Override
@@ -1491,21 +1504,62 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
     public Collection<OverdueLoanScheduleData> retrieveAllLoansWithOverdueInstallments(final Long penaltyWaitPeriod,
             final Boolean backdatePenalties) {
         final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
+        final List<Object> params = new ArrayList<>(2);
+        final String sql = overdueInstallmentsSql(rm.schema(), penaltyWaitPeriod, backdatePenalties, params);
+        return this.jdbcTemplate.query(sql, rm, params.toArray());
+    }
+
+    @Override
+    public void retrieveAllLoansWithOverdueInstallments(final Long penaltyWaitPeriod, final Boolean backdatePenalties, final int pageSize,
+            final Consumer<List<OverdueLoanScheduleData>> overdueInstallmentsHandler) {
+        final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
+        Long lastLoanId = 0L;
+        List<Long> loanIds;
+        do {
+            // keyset page of the loans after the last loan handed out, read in
+            // full so that no cursor is held open while the handler works
+            final List<Object> params = new ArrayList<>(4);
+            final String loanIdsSql = overdueInstallmentsSql(rm.loanIdSchema(), penaltyWaitPeriod, backdatePenalties, params)
+                    + " and ls.loan_id > ? order by ls.loan_id limit ?";
+            params.add(lastLoanId);
+            params.add(pageSize);
+            loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, params.toArray());
+            if (loanIds.isEmpty()) {
+                break;
+            }
 
+            final Long pageLastLoanId = loanIds.get(loanIds.size() - 1);
+            params.clear();
+            final String sql = overdueInstallmentsSql(rm.schema(), penaltyWaitPeriod, backdatePenalties, params)
+                    + " and ls.loan_id > ? and ls.loan_id <= ? order by ls.loan_id, ls.installment";
+            params.add(lastLoanId);
+            params.add(pageLastLoanId);
+            final Map<Long, List<OverdueLoanScheduleData>> overdueInstallments = new LinkedHashMap<>();
+            for (final OverdueLoanScheduleData overdueInstallment : this.jdbcTemplate.query(sql, rm, params.toArray())) {
+                overdueInstallments.computeIfAbsent(overdueInstallment.getLoanId(), loanId -> new ArrayList<>()).add(overdueInstallment);
+            }
+            overdueInstallments.values().forEach(overdueInstallmentsHandler);
+
+            lastLoanId = pageLastLoanId;
+        } while (loanIds.size() == pageSize);
+    }
+
+    private String overdueInstallmentsSql(final String schema, final Long penaltyWaitPeriod, final Boolean backdatePenalties,
+            final List<Object> params) {
         final StringBuilder sqlBuilder = new StringBuilder(400);
-        sqlBuilder.append("select ").append(rm.schema()).append(" where DATE_SUB(CURDATE(),INTERVAL ? DAY) > ls.duedate ")
+        sqlBuilder.append("select ").append(schema).append(" where DATE_SUB(CURDATE(),INTERVAL ? DAY) > ls.duedate ")
                 .append(" and ls.completed_derived <> 1 and mc.charge_applies_to_enum =1 ")
                 .append(" and ls.recalculated_interest_component <> 1 ")
                 .append(" and mc.charge_time_enum = 9 and ml.loan_status_id = 300 ");
+        params.add(penaltyWaitPeriod);
 
-        if (backdatePenalties) {
-            return this.jdbcTemplate.query(sqlBuilder.toString(), rm, new Object[] { penaltyWaitPeriod });
+        if (!backdatePenalties) {
+            // Only apply for duedate = yesterday (so that we don't apply
+            // penalties on the duedate itself)
+            sqlBuilder.append(" and ls.duedate >= DATE_SUB(CURDATE(),INTERVAL (? + 1) DAY)");
+            params.add(penaltyWaitPeriod);
         }
-        // Only apply for duedate = yesterday (so that we don't apply
-        // penalties on the duedate itself)
-        sqlBuilder.append(" and ls.duedate >= DATE_SUB(CURDATE(),INTERVAL (? + 1) DAY)");
-
-        return this.jdbcTemplate.query(sqlBuilder.toString(), rm, new Object[] { penaltyWaitPeriod, penaltyWaitPeriod });
+        return sqlBuilder.toString();
     }
 
     @SuppressWarnings("deprecation")
@@ -1624,9 +1678,48 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
     public Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(final LocalDate tillDate) {
 
         LoanSchedulePeriodicAccrualMapper mapper = new LoanSchedulePeriodicAccrualMapper();
+        Map<String, Object> paramMap = new HashMap<>(4);
+        final String sql = periodicAccrualDataSql(mapper.schema(), tillDate, null, paramMap) + " order by loan.id,ls.duedate ";
+        return this.namedParameterJdbcTemplate.query(sql, paramMap, mapper);
+    }
+
+    @Override
+    public void retrivePeriodicAccrualData(final LocalDate tillDate, final Long afterLoanId, final int pageSize,
+            final Consumer<List<LoanScheduleAccrualData>> loanAccrualDataHandler) {
+
+        final LoanSchedulePeriodicAccrualMapper mapper = new LoanSchedulePeriodicAccrualMapper();
+        Long lastLoanId = afterLoanId;
+        List<Long> loanIds;
+        do {
+            // keyset page of the loans after the last loan handed out, read in
+            // full so that no cursor is held open while the handler works
+            final Map<String, Object> paramMap = new HashMap<>(7);
+            final String loanIdsSql = periodicAccrualDataSql(mapper.loanIdSchema(), tillDate, lastLoanId, paramMap)
+                    + " order by loan.id limit :pagesize";
+            paramMap.put("pagesize", pageSize);
+            loanIds = this.namedParameterJdbcTemplate.queryForList(loanIdsSql, paramMap, Long.class);
+            if (loanIds.isEmpty()) {
+                break;
+            }
+
+            paramMap.put("loanids", loanIds);
+            final String sql = periodicAccrualDataSql(mapper.schema(), tillDate, lastLoanId, paramMap)
+                    + " and loan.id in (:loanids) order by loan.id,ls.duedate ";
+            final Map<Long, List<LoanScheduleAccrualData>> loanAccrualData = new LinkedHashMap<>();
+            for (final LoanScheduleAccrualData accrualData : this.namedParameterJdbcTemplate.query(sql, paramMap, mapper)) {
+                loanAccrualData.computeIfAbsent(accrualData.getLoanId(), loanId -> new ArrayList<>()).add(accrualData);
+            }
+            loanAccrualData.values().forEach(loanAccrualDataHandler);
+
+            lastLoanId = loanIds.get(loanIds.size() - 1);
+        } while (loanIds.size() == pageSize);
+    }
+
+    private String periodicAccrualDataSql(final String schema, final LocalDate tillDate, final Long afterLoanId,
+            final Map<String, Object> paramMap) {
         Date organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         final StringBuilder sqlBuilder = new StringBuilder(400);
-        sqlBuilder.append("select ").append(mapper.schema()).append(
+        sqlBuilder.append("select ").append(schema).append(
                 " where  (recaldet.is_compounding_to_be_posted_as_transaction is null or recaldet.is_compounding_to_be_posted_as_transaction = 0) ")
                 .append(" and (((ls.fee_charges_amount <> if(ls.accrual_fee_charges_derived is null,0, ls.accrual_fee_charges_derived))")
                 .append(" or (ls.penalty_charges_amount <> if(ls.accrual_penalty_charges_derived is null,0,ls.accrual_penalty_charges_derived))")
@@ -1636,20 +1729,31 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         if (organisationStartDate != null) {
             sqlBuilder.append(" and ls.duedate > :organisationstartdate ");
         }
-        sqlBuilder.append(" order by loan.id,ls.duedate ");
-        Map<String, Object> paramMap = new HashMap<>(4);
+        if (afterLoanId != null) {
+            sqlBuilder.append(" and loan.id > :afterloanid ");
+            paramMap.put("afterloanid", afterLoanId);
+        }
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
         paramMap.put("type", AccountingRuleType.ACCRUAL_PERIODIC.getValue());
         paramMap.put("tilldate", formatter.format(tillDate));
         paramMap.put("organisationstartdate",
                 (organisationStartDate == null) ? formatter.format(LocalDate.now(DateUtils.getDateTimeZoneOfTenant()))
                         : formatter.format(LocalDate.ofInstant(organisationStartDate.toInstant(), DateUtils.getDateTimeZoneOfTenant())));
-
-        return this.namedParameterJdbcTemplate.query(sqlBuilder.toString(), paramMap, mapper);
+        return sqlBuilder.toString();
     }
 
     private static final class LoanSchedulePeriodicAccrualMapper implements RowMapper<LoanScheduleAccrualData> {
 
+        private static final String FROM = " from m_loan_repayment_schedule ls  left join m_loan loan on loan.id=ls.loan_id "
+                + " left join m_product_loan mpl on mpl.id = loan.product_id"
+                + " left join m_client mc on mc.id = loan.client_id  left join m_group mg on mg.id = loan.group_id"
+                + " left join m_currency curr on curr.code = loan.currency_code"
+                + " left join m_loan_recalculation_details as recaldet on loan.id = recaldet.loan_id ";
+
+        public String loanIdSchema() {
+            return "distinct loan.id as loanId" + FROM;
+        }
+
         public String schema() {
             final StringBuilder sqlBuilder = new StringBuilder(400);
             sqlBuilder.append("loan.id as loanId ,if(loan.client_id is null,mg.office_id,mc.office_id) as officeId,")
@@ -1662,11 +1766,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                     .append("ls.accrual_interest_derived as accinterest,ls.accrual_fee_charges_derived as accfeecharege,ls.accrual_penalty_charges_derived as accpenalty,")
                     .append(" loan.currency_code as currencyCode,loan.currency_digits as currencyDigits,loan.currency_multiplesof as inMultiplesOf,")
                     .append("curr.display_symbol as currencyDisplaySymbol,curr.name as currencyName,curr.internationalized_name_code as currencyNameCode")
-                    .append(" from m_loan_repayment_schedule ls ").append(" left join m_loan loan on loan.id=ls.loan_id ")
-                    .append(" left join m_product_loan mpl on mpl.id = loan.product_id")
-                    .append(" left join m_client mc on mc.id = loan.client_id ").append(" left join m_group mg on mg.id = loan.group_id")
-                    .append(" left join m_currency curr on curr.code = loan.currency_code")
-                    .append(" left join m_loan_recalculation_details as recaldet on loan.id = recaldet.loan_id ");
+                    .append(FROM);
             return sqlBuilder.toString();
         }
 
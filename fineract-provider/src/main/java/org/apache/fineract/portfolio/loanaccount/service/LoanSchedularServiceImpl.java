@@ -36,8 +36,11 @@ import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainR
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.apache.fineract.infrastructure.jobs.service.JobRunSummaryHolder;
 import org.apache.fineract.organisation.office.data.OfficeData;
 import org.apache.fineract.organisation.office.exception.OfficeNotFoundException;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
@@ -49,6 +52,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 @Service
@@ -60,16 +64,21 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanWritePlatformService loanWritePlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
+    private final JobParameterRepository jobParameterRepository;
+    private final TransactionTemplate transactionTemplate;
     private final ApplicationContext applicationContext;
 
     @Autowired
     public LoanSchedularServiceImpl(final ConfigurationDomainService configurationDomainService,
             final LoanReadPlatformService loanReadPlatformService, final LoanWritePlatformService loanWritePlatformService,
-            final OfficeReadPlatformService officeReadPlatformService, final ApplicationContext applicationContext) {
+            final OfficeReadPlatformService officeReadPlatformService, final JobParameterRepository jobParameterRepository,
+            final TransactionTemplate transactionTemplate, final ApplicationContext applicationContext) {
         this.configurationDomainService = configurationDomainService;
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanWritePlatformService = loanWritePlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
+        this.jobParameterRepository = jobParameterRepository;
+        this.transactionTemplate = transactionTemplate;
         this.applicationContext = applicationContext;
     }
 
@@ -79,6 +88,12 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
 
         final Long penaltyWaitPeriodValue = this.configurationDomainService.retrievePenaltyWaitPeriod();
         final Boolean backdatePenalties = this.configurationDomainService.isBackdatePenaltiesEnabled();
+        final JobParameters jobParameters = JobParameters
+                .of(this.jobParameterRepository.findJobParametersByJobName(JobName.APPLY_CHARGE_TO_OVERDUE_LOAN_INSTALLMENT.toString()));
+        if (jobParameters.isEnabled(JobParameters.STREAMING)) {
+            applyChargeForOverdueLoansStreaming(penaltyWaitPeriodValue, backdatePenalties, jobParameters);
+            return;
+        }
         final Collection<OverdueLoanScheduleData> overdueLoanScheduledInstallments = this.loanReadPlatformService
                 .retrieveAllLoansWithOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties);
 
@@ -121,6 +136,36 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
         }
     }
 
+    /**
+     * Reads the overdue installments of the tenant in keyset pages and hands them as chunks to a
+     * {@link LoanChunkExecutor}, each chunk being committed on its own.
+     */
+    private void applyChargeForOverdueLoansStreaming(final Long penaltyWaitPeriod, final Boolean backdatePenalties,
+            final JobParameters jobParameters) throws JobExecutionException {
+        final LoanChunkExecutor<OverdueLoanScheduleData> executor = new LoanChunkExecutor<>(jobParameters,
+                OverdueLoanScheduleData::getLoanId, () -> {
+                    final LoanOverdueChargePoster poster = (LoanOverdueChargePoster) this.applicationContext
+                            .getBean("loanOverdueChargePoster");
+                    poster.setTransactionTemplate(this.transactionTemplate);
+                    poster.setLoanWritePlatformService(this.loanWritePlatformService);
+                    return poster;
+                }, null);
+        try {
+            this.loanReadPlatformService.retrieveAllLoansWithOverdueInstallments(penaltyWaitPeriod, backdatePenalties,
+                    executor.getBatchSize(), executor);
+        } finally {
+            executor.finish();
+        }
+
+        final String summary = "Overdue penalties: " + executor.getProcessedLoans() + " loans charged, " + executor.getFailedLoans()
+                + " failed";
+        LOG.info("{}: {}", ThreadLocalContextUtil.getTenant().getName(), summary);
+        JobRunSummaryHolder.addLine(summary);
+        if (!executor.getErrors().isEmpty()) {
+            throw new JobExecutionException(executor.getErrors());
+        }
+    }
+
     @Override
     @CronTarget(jobName = JobName.RECALCULATE_INTEREST_FOR_LOAN)
     public void recalculateInterest() throws JobExecutionException {
@@ -58,6 +58,10 @@ public interface SavingsAccountReadPlatformService {
 
     List<Long> retrieveSavingsIdsPendingEscheat(LocalDate tenantLocalDate);
 
+    List<Long> retrieveActiveSavingsIdPartitionStarts(int numberOfPartitions);
+
+    List<Long> retrieveActiveSavingsIdsInRange(Long fromSavingsId, Long toSavingsId, int pageSize);
+
     boolean isAccountBelongsToClient(Long clientId, Long accountId, DepositAccountType depositAccountType, String currencyCode);
 
     String retrieveAccountNumberByAccountId(Long accountId);
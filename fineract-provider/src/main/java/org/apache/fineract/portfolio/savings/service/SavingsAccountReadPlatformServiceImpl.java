@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
@@ -168,7 +169,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         final String hierarchySearchString = hierarchy + "%";
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append(searchParameters == null || searchParameters.isCountRequested() ? "select SQL_CALC_FOUND_ROWS " : "select ");
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
@@ -195,6 +196,10 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 objectArray[arrayPos] = searchParameters.getOfficeId();
                 arrayPos = arrayPos + 1;
             }
+            if (searchParameters.isKeysetPaged()) {
+                return this.paginationHelper.fetchPageAfter(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos),
+                        "sa.id", searchParameters, this.savingAccountMapper, SavingsAccountData::id);
+            }
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -213,7 +218,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             }
         }
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
+        final String sqlCountRows = searchParameters == null || searchParameters.isCountRequested() ? "SELECT FOUND_ROWS()" : null;
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray,
                 this.savingAccountMapper);
     }
@@ -1195,6 +1200,39 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         return ret;
     }
 
+    @Override
+    public List<Long> retrieveActiveSavingsIdPartitionStarts(final int numberOfPartitions) {
+        final Integer activeStatus = SavingsAccountStatusType.ACTIVE.getValue();
+        final List<Long> partitionStarts = new ArrayList<>();
+        final Map<String, Object> bounds = this.jdbcTemplate
+                .queryForMap("select count(*) as activeAccounts, min(sa.id) as firstId from m_savings_account sa where sa.status_enum = ?",
+                        activeStatus);
+        final long activeAccounts = ((Number) bounds.get("activeAccounts")).longValue();
+        if (activeAccounts == 0) {
+            return partitionStarts;
+        }
+        final long partitionSize = Math.max(1, (activeAccounts + numberOfPartitions - 1) / numberOfPartitions);
+
+        // keyset sampling: every step skips one partition from the previous start, so the index is walked once in total
+        // instead of re-scanning from the first account for every partition
+        final String sql = "select sa.id from m_savings_account sa where sa.status_enum = ? and sa.id >= ? order by sa.id limit 1 offset ?";
+        Long partitionStart = ((Number) bounds.get("firstId")).longValue();
+        while (partitionStart != null && partitionStarts.size() < numberOfPartitions) {
+            partitionStarts.add(partitionStart);
+            final List<Long> ids = this.jdbcTemplate.queryForList(sql, Long.class, activeStatus, partitionStart, partitionSize);
+            partitionStart = ids.isEmpty() ? null : ids.get(0);
+        }
+        return partitionStarts;
+    }
+
+    @Override
+    public List<Long> retrieveActiveSavingsIdsInRange(final Long fromSavingsId, final Long toSavingsId, final int pageSize) {
+        final String sql = "select sa.id from m_savings_account sa where sa.status_enum = ? and sa.id >= ? and sa.id < ?"
+                + " order by sa.id limit ?";
+        return this.jdbcTemplate.queryForList(sql, Long.class, SavingsAccountStatusType.ACTIVE.getValue(), fromSavingsId, toSavingsId,
+                pageSize);
+    }
+
     @Override
     public boolean isAccountBelongsToClient(final Long clientId, final Long accountId, final DepositAccountType depositAccountType,
             final String currencyCode) {
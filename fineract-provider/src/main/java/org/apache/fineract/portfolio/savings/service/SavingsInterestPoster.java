@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Posts interest for the active savings accounts of one id-range partition. Accounts are read in chunks of
+ * <code>batchSize</code> and every chunk is posted in a single transaction. When a chunk fails it is rolled back and its
+ * accounts are posted one by one, so that a single failing account does not hold back the rest of the chunk.
+ */
+@Component
+@Scope("prototype")
+public class SavingsInterestPoster implements Callable<Void> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SavingsInterestPoster.class);
+
+    private final Random random = new Random();
+
+    private int partitionNumber;
+    private Long fromSavingsId;
+    private Long toSavingsId;
+    private int batchSize;
+    private FineractPlatformTenant tenant;
+    private Authentication authentication;
+    private TransactionTemplate transactionTemplate;
+    private SavingsAccountAssembler savingAccountAssembler;
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    private SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    private SavingsAccountRepositoryWrapper savingsAccountRepository;
+
+    private final AtomicInteger postedAccounts = new AtomicInteger();
+    private final AtomicInteger failedAccounts = new AtomicInteger();
+
+    public void setPartition(final int partitionNumber, final Long fromSavingsId, final Long toSavingsId, final int batchSize) {
+        this.partitionNumber = partitionNumber;
+        this.fromSavingsId = fromSavingsId;
+        this.toSavingsId = toSavingsId;
+        this.batchSize = batchSize;
+    }
+
+    public void setContext(final FineractPlatformTenant tenant, final Authentication authentication) {
+        this.tenant = tenant;
+        this.authentication = authentication;
+    }
+
+    public void setTransactionTemplate(final TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void setSavingAccountAssembler(final SavingsAccountAssembler savingAccountAssembler) {
+        this.savingAccountAssembler = savingAccountAssembler;
+    }
+
+    public void setSavingsAccountWritePlatformService(final SavingsAccountWritePlatformService savingsAccountWritePlatformService) {
+        this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
+    }
+
+    public void setSavingAccountReadPlatformService(final SavingsAccountReadPlatformService savingAccountReadPlatformService) {
+        this.savingAccountReadPlatformService = savingAccountReadPlatformService;
+    }
+
+    public void setSavingsAccountRepository(final SavingsAccountRepositoryWrapper savingsAccountRepository) {
+        this.savingsAccountRepository = savingsAccountRepository;
+    }
+
+    @Override
+    public Void call() throws JobExecutionException {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        SecurityContextHolder.getContext().setAuthentication(this.authentication);
+        final List<Throwable> errors = new ArrayList<>();
+        try {
+            Long nextSavingsId = this.fromSavingsId;
+            List<Long> savingsIds = this.savingAccountReadPlatformService.retrieveActiveSavingsIdsInRange(nextSavingsId, this.toSavingsId,
+                    this.batchSize);
+            while (!savingsIds.isEmpty()) {
+                postInterestForChunk(savingsIds, errors);
+                LOG.info("Post interest for savings partition {}: {} accounts posted, {} failed", this.partitionNumber,
+                        this.postedAccounts.get(), this.failedAccounts.get());
+                nextSavingsId = savingsIds.get(savingsIds.size() - 1) + 1;
+                savingsIds = this.savingAccountReadPlatformService.retrieveActiveSavingsIdsInRange(nextSavingsId, this.toSavingsId,
+                        this.batchSize);
+            }
+        } catch (InterruptedException e) {
+            LOG.error("Post interest for savings partition {} was interrupted", this.partitionNumber, e);
+            errors.add(e);
+            Thread.currentThread().interrupt();
+        } finally {
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.clearTenant();
+        }
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+        return null;
+    }
+
+    public String getProgressSummary() {
+        final String upperBound = this.toSavingsId == Long.MAX_VALUE ? "" : String.valueOf(this.toSavingsId);
+        return "Partition " + this.partitionNumber + " [savings ids " + this.fromSavingsId + " - " + upperBound + "): "
+                + this.postedAccounts.get() + " accounts posted, " + this.failedAccounts.get() + " failed";
+    }
+
+    private void postInterestForChunk(final List<Long> savingsIds, final List<Throwable> errors) throws InterruptedException {
+        try {
+            postInterestInTransaction(savingsIds);
+            this.postedAccounts.addAndGet(savingsIds.size());
+            return;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            if (savingsIds.size() == 1) {
+                LOG.error("Failed to post interest for Savings with id {}", savingsIds.get(0), e);
+                errors.add(e);
+                this.failedAccounts.incrementAndGet();
+                return;
+            }
+            LOG.warn("Failed to post interest for Savings chunk {} - {}, posting the accounts individually", savingsIds.get(0),
+                    savingsIds.get(savingsIds.size() - 1), e);
+        }
+
+        for (final Long savingsId : savingsIds) {
+            try {
+                postInterestInTransaction(Collections.singletonList(savingsId));
+                this.postedAccounts.incrementAndGet();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                LOG.error("Failed to post interest for Savings with id {}", savingsId, e);
+                errors.add(e);
+                this.failedAccounts.incrementAndGet();
+            }
+        }
+    }
+
+    private void postInterestInTransaction(final List<Long> savingsIds) throws InterruptedException {
+        final Integer maxNumberOfRetries = this.tenant.getConnection().getMaxRetriesOnDeadlock();
+        final Integer maxIntervalBetweenRetries = this.tenant.getConnection().getMaxIntervalBetweenRetries();
+        Integer numberOfRetries = 0;
+        while (true) {
+            try {
+                this.transactionTemplate.execute(status -> {
+                    for (final Long savingsId : savingsIds) {
+                        postInterest(savingsId);
+                    }
+                    return null;
+                });
+                return;
+            } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
+                LOG.info("Post interest for savings chunk has been retried {} time(s)", numberOfRetries);
+                // Fail if the transaction has been retried for
+                // maxNumberOfRetries
+                if (numberOfRetries >= maxNumberOfRetries) {
+                    LOG.error("Post interest for savings chunk has been retried for the max allowed attempts of {} and will be rolled back",
+                            numberOfRetries);
+                    throw exception;
+                }
+                // Else sleep for a random time (between 1 to 10
+                // seconds) and continue
+                final int randomNum = this.random.nextInt(maxIntervalBetweenRetries + 1);
+                Thread.sleep(1000 + (randomNum * 1000));
+                numberOfRetries = numberOfRetries + 1;
+            }
+        }
+    }
+
+    private void postInterest(final Long savingsId) {
+        final SavingsAccount savingsAccount = this.savingsAccountRepository.findOneWithNotFoundDetection(savingsId);
+        this.savingAccountAssembler.assignSavingAccountHelpers(savingsAccount);
+        final boolean postInterestAsOn = false;
+        this.savingsAccountWritePlatformService.postInterest(savingsAccount, postInterestAsOn, null);
+    }
+}
@@ -18,70 +18,124 @@
  */
 package org.apache.fineract.portfolio.savings.service;
 
-import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
-
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.MultiException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
-import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.apache.fineract.infrastructure.jobs.service.JobRunSummaryHolder;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class SavingsSchedularServiceImpl implements SavingsSchedularService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SavingsSchedularServiceImpl.class);
 
+    private static final int DEFAULT_THREAD_POOL_SIZE = 5;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     private final SavingsAccountAssembler savingAccountAssembler;
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
     private final SavingsAccountRepositoryWrapper savingsAccountRepository;
+    private final JobParameterRepository jobParameterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationContext applicationContext;
 
     @Autowired
     public SavingsSchedularServiceImpl(final SavingsAccountAssembler savingAccountAssembler,
             final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
             final SavingsAccountReadPlatformService savingAccountReadPlatformService,
-            final SavingsAccountRepositoryWrapper savingsAccountRepository) {
+            final SavingsAccountRepositoryWrapper savingsAccountRepository,
+            final JobParameterRepository jobParameterRepository, final TransactionTemplate transactionTemplate,
+            final ApplicationContext applicationContext) {
         this.savingAccountAssembler = savingAccountAssembler;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingAccountReadPlatformService = savingAccountReadPlatformService;
         this.savingsAccountRepository = savingsAccountRepository;
+        this.jobParameterRepository = jobParameterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationContext = applicationContext;
     }
 
     @Override
     @CronTarget(jobName = JobName.POST_INTEREST_FOR_SAVINGS)
     public void postInterestForAccounts() throws JobExecutionException {
-        int page = 0;
-        Integer initialSize = 500;
-        Integer totalPageSize = 0;
-        List<Throwable> errors = new ArrayList<>();
-        do {
-            PageRequest pageRequest = PageRequest.of(page, initialSize);
-            Page<SavingsAccount> savingsAccounts = this.savingsAccountRepository.findByStatus(ACTIVE.getValue(), pageRequest);
-            for (SavingsAccount savingsAccount : savingsAccounts.getContent()) {
+        final JobParameters jobParameters = JobParameters
+                .of(this.jobParameterRepository.findJobParametersByJobName(JobName.POST_INTEREST_FOR_SAVINGS.toString()));
+        final int threadPoolSize = jobParameters.getPositiveInt(JobParameters.THREAD_POOL_SIZE, DEFAULT_THREAD_POOL_SIZE);
+        final int batchSize = jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, DEFAULT_BATCH_SIZE);
+
+        // split the active accounts into id-ranges of roughly equal size, one
+        // per worker thread
+        final List<Long> partitionStarts = this.savingAccountReadPlatformService.retrieveActiveSavingsIdPartitionStarts(threadPoolSize);
+        if (partitionStarts.isEmpty()) {
+            return;
+        }
+
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final List<SavingsInterestPoster> posters = new ArrayList<>();
+        for (int i = 0; i < partitionStarts.size(); i++) {
+            final Long fromSavingsId = partitionStarts.get(i);
+            final Long toSavingsId = i + 1 < partitionStarts.size() ? partitionStarts.get(i + 1) : Long.MAX_VALUE;
+            final SavingsInterestPoster poster = (SavingsInterestPoster) this.applicationContext.getBean("savingsInterestPoster");
+            poster.setPartition(i + 1, fromSavingsId, toSavingsId, batchSize);
+            poster.setContext(tenant, authentication);
+            poster.setTransactionTemplate(this.transactionTemplate);
+            poster.setSavingAccountAssembler(this.savingAccountAssembler);
+            poster.setSavingsAccountWritePlatformService(this.savingsAccountWritePlatformService);
+            poster.setSavingAccountReadPlatformService(this.savingAccountReadPlatformService);
+            poster.setSavingsAccountRepository(this.savingsAccountRepository);
+            posters.add(poster);
+        }
+
+        final List<Throwable> errors = new ArrayList<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(posters.size());
+        try {
+            final List<Future<Void>> responses = executorService.invokeAll(posters);
+            for (final Future<Void> response : responses) {
                 try {
-                    this.savingAccountAssembler.assignSavingAccountHelpers(savingsAccount);
-                    boolean postInterestAsOn = false;
-                    LocalDate transactionDate = null;
-                    this.savingsAccountWritePlatformService.postInterest(savingsAccount, postInterestAsOn, transactionDate);
-                } catch (Exception e) {
-                    LOG.error("Failed to post interest for Savings with id {}", savingsAccount.getId(), e);
-                    errors.add(e);
+                    response.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof MultiException) {
+                        errors.addAll(((MultiException) e.getCause()).getCauses());
+                    } else {
+                        errors.add(e.getCause());
+                    }
                 }
             }
-            page++;
-            totalPageSize = savingsAccounts.getTotalPages();
-        } while (page < totalPageSize);
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while posting interest for savings", e);
+            errors.add(e);
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (final SavingsInterestPoster poster : posters) {
+            JobRunSummaryHolder.addLine(poster.getProgressSummary());
+        }
 
         if (!errors.isEmpty()) {
             throw new JobExecutionException(errors);
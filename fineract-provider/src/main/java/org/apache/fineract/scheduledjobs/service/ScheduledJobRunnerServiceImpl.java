@@ -35,11 +35,14 @@ import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWra
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSourceServiceFactory;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
 import org.apache.fineract.portfolio.savings.DepositAccountUtils;
 import org.apache.fineract.portfolio.savings.data.DepositAccountData;
@@ -54,8 +57,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 @Service(value = "scheduledJobRunnerService")
@@ -63,6 +69,8 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
 
     private static final Logger LOG = LoggerFactory.getLogger(ScheduledJobRunnerServiceImpl.class);
 
+    private static final int DEFAULT_LOAN_SUMMARY_BATCH_SIZE = 1000;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private final DateTimeFormatter formatterWithTime = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -74,6 +82,10 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     private final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService;
     private final ShareAccountSchedularService shareAccountSchedularService;
     private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private final JobParameterRepository jobParameterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Autowired
     public ScheduledJobRunnerServiceImpl(final RoutingDataSourceServiceFactory dataSourceServiceFactory,
@@ -83,7 +95,9 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
             final DepositAccountWritePlatformService depositAccountWritePlatformService,
             final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService,
             final ShareAccountSchedularService shareAccountSchedularService,
-            final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper) {
+            final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper,
+            final JobParameterRepository jobParameterRepository, final TransactionTemplate transactionTemplate,
+            final RoutingDataSource dataSource) {
         this.dataSourceServiceFactory = dataSourceServiceFactory;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingsAccountChargeReadPlatformService = savingsAccountChargeReadPlatformService;
@@ -92,15 +106,70 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         this.shareAccountDividendReadPlatformService = shareAccountDividendReadPlatformService;
         this.shareAccountSchedularService = shareAccountSchedularService;
         this.trialBalanceRepositoryWrapper = trialBalanceRepositoryWrapper;
+        this.jobParameterRepository = jobParameterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
     }
 
-    @Transactional
     @Override
     @CronTarget(jobName = JobName.UPDATE_LOAN_SUMMARY)
     public void updateLoanSummaryDetails() {
+        final JobParameters jobParameters = JobParameters
+                .of(this.jobParameterRepository.findJobParametersByJobName(JobName.UPDATE_LOAN_SUMMARY.toString()));
+        final boolean incremental = jobParameters.isEnabled(JobParameters.INCREMENTAL);
+        final int batchSize = jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, DEFAULT_LOAN_SUMMARY_BATCH_SIZE);
 
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
+        final int result = incremental ? updateLoanSummaryDetailsOfMarkedLoans(batchSize) : updateLoanSummaryDetailsOfAllLoans(batchSize);
+
+        LOG.info("{}: Records affected by updateLoanSummaryDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+    }
+
+    private int updateLoanSummaryDetailsOfMarkedLoans(final int batchSize) {
+        final String loanIdsSql = "select d.loan_id from m_loan_summary_dirty d where d.loan_id > ? order by d.loan_id limit ?";
+        int result = 0;
+        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, 0L, batchSize);
+        while (!loanIds.isEmpty()) {
+            result += refreshLoanSummaries(loanIds);
+            final Long lastLoanId = loanIds.get(loanIds.size() - 1);
+            loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, lastLoanId, batchSize);
+        }
+        return result;
+    }
 
+    private int updateLoanSummaryDetailsOfAllLoans(final int batchSize) {
+        final String loanIdsSql = "select ml.id from m_loan ml where ml.disbursedon_date is not null and ml.id > ? order by ml.id limit ?";
+        int result = 0;
+        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, 0L, batchSize);
+        while (!loanIds.isEmpty()) {
+            result += refreshLoanSummaries(loanIds);
+            final Long lastLoanId = loanIds.get(loanIds.size() - 1);
+            loanIds = this.jdbcTemplate.queryForList(loanIdsSql, Long.class, lastLoanId, batchSize);
+        }
+        // loans that were never disbursed have no summary to refresh
+        this.jdbcTemplate
+                .update("delete d from m_loan_summary_dirty d join m_loan ml on ml.id = d.loan_id where ml.disbursedon_date is null");
+        return result;
+    }
+
+    // the refresh and the removal of its markers are committed together so
+    // that a failed chunk is picked up again by the next run; a marker is only
+    // removed if no save of the loan bumped its count after it was read here
+    private int refreshLoanSummaries(final List<Long> loanIds) {
+        final Integer updated = this.transactionTemplate.execute(status -> {
+            final String markersSql = "select d.loan_id, d.mark_count from m_loan_summary_dirty d where d.loan_id in (:loanIds)";
+            final List<Object[]> markers = this.namedParameterJdbcTemplate.query(markersSql, new MapSqlParameterSource("loanIds", loanIds),
+                    (rs, rowNum) -> new Object[] { rs.getLong("loan_id"), rs.getLong("mark_count") });
+            final int updatedLoans = updateLoanSummaryDetails(loanIds);
+            if (!markers.isEmpty()) {
+                this.jdbcTemplate.batchUpdate("delete from m_loan_summary_dirty where loan_id = ? and mark_count = ?", markers);
+            }
+            return updatedLoans;
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    private int updateLoanSummaryDetails(final List<Long> loanIds) {
         final StringBuilder updateSqlBuilder = new StringBuilder(900);
         updateSqlBuilder.append("update m_loan ");
         updateSqlBuilder.append("join (");
@@ -124,7 +193,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_writtenoff_derived,0)) as penalty_charges_writtenoff_derived ");
         updateSqlBuilder.append(" FROM m_loan ml ");
         updateSqlBuilder.append("INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
-        updateSqlBuilder.append("WHERE ml.disbursedon_date is not null ");
+        updateSqlBuilder.append("WHERE ml.disbursedon_date is not null and ml.id in (:loanIds) ");
         updateSqlBuilder.append("GROUP BY ml.id ");
         updateSqlBuilder.append(") x on x.loanId = m_loan.id ");
 
@@ -172,9 +241,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         updateSqlBuilder.append(
                 " (x.penalty_charges_charged_derived - (x.penalty_charges_repaid_derived + x.penalty_charges_waived_derived + x.penalty_charges_writtenoff_derived))");
 
-        final int result = jdbcTemplate.update(updateSqlBuilder.toString());
-
-        LOG.info("{}: Records affected by updateLoanSummaryDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        return this.namedParameterJdbcTemplate.update(updateSqlBuilder.toString(), new MapSqlParameterSource("loanIds", loanIds));
     }
 
     @Transactional
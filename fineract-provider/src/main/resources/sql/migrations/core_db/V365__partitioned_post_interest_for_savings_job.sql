@@ -0,0 +1,23 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+ALTER TABLE `job_run_history` ADD COLUMN `run_summary` TEXT NULL DEFAULT NULL AFTER `error_log`;
+
+INSERT IGNORE INTO `job_parameters`(`job_id`,`parameter_name`,`parameter_value`) SELECT `id`, 'thread-pool-size', 5 FROM `job` WHERE `name` = 'Post Interest For Savings';
+INSERT IGNORE INTO `job_parameters`(`job_id`,`parameter_name`,`parameter_value`) SELECT `id`, 'batch-size', 100 FROM `job` WHERE `name` = 'Post Interest For Savings';
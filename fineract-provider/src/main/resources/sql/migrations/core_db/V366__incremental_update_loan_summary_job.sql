@@ -0,0 +1,31 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE IF NOT EXISTS `m_loan_summary_dirty` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `loan_id` BIGINT NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `IND_m_loan_summary_dirty_loan_id` (`loan_id`)
+);
+
+-- loans that are still open get refreshed by the first incremental run
+INSERT INTO `m_loan_summary_dirty` (`loan_id`) SELECT `id` FROM `m_loan` WHERE `disbursedon_date` IS NOT NULL AND `loan_status_id` IN (300, 700);
+
+INSERT IGNORE INTO `job_parameters`(`job_id`,`parameter_name`,`parameter_value`) SELECT `id`, 'incremental', 1 FROM `job` WHERE `name` = 'Update loan Summary';
+INSERT IGNORE INTO `job_parameters`(`job_id`,`parameter_name`,`parameter_value`) SELECT `id`, 'batch-size', 1000 FROM `job` WHERE `name` = 'Update loan Summary';
@@ -0,0 +1,27 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- the running balance job walks the journal entries in (entry_date, id) order and seeds the balances
+-- with the last entry of every account and office/account before a date
+ALTER TABLE `acc_gl_journal_entry` ADD INDEX `IND_acc_gl_journal_entry_running_balance_calculated` (`is_running_balance_calculated`, `entry_date`);
+ALTER TABLE `acc_gl_journal_entry` ADD INDEX `IND_acc_gl_journal_entry_entry_date` (`entry_date`, `id`);
+ALTER TABLE `acc_gl_journal_entry` ADD INDEX `IND_acc_gl_journal_entry_account_entry_date` (`account_id`, `entry_date`);
+ALTER TABLE `acc_gl_journal_entry` ADD INDEX `IND_acc_gl_journal_entry_office_account_entry_date` (`office_id`, `account_id`, `entry_date`);
+
+INSERT IGNORE INTO `job_parameters`(`job_id`,`parameter_name`,`parameter_value`) SELECT `id`, 'batch-size', 10000 FROM `job` WHERE `name` = 'Update Accounting Running Balances';
@@ -0,0 +1,26 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+-- one marker per loan: saves bump mark_count instead of inserting another row, and the job only removes a marker
+-- whose count has not changed since it read it
+ALTER TABLE `m_loan_summary_dirty` ADD COLUMN `mark_count` BIGINT NOT NULL DEFAULT 1;
+
+DELETE d FROM `m_loan_summary_dirty` d JOIN `m_loan_summary_dirty` k ON k.`loan_id` = d.`loan_id` AND k.`id` < d.`id`;
+
+ALTER TABLE `m_loan_summary_dirty` DROP INDEX `IND_m_loan_summary_dirty_loan_id`,
+  ADD UNIQUE KEY `UQ_m_loan_summary_dirty_loan_id` (`loan_id`);
@@ -0,0 +1,27 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+-- a single row: the node holding the lease is the only one relaying the outbox of the tenant, which keeps it in order
+CREATE TABLE IF NOT EXISTS `m_external_event_relay_lease` (
+  `id` INT NOT NULL,
+  `claimed_by` VARCHAR(36) NULL,
+  `claimed_until` DATETIME NULL,
+  PRIMARY KEY (`id`)
+);
+
+INSERT INTO `m_external_event_relay_lease` (`id`, `claimed_by`, `claimed_until`) VALUES (1, NULL, NULL);
@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JournalEntryRunningBalanceUpdateServiceImplTest {
+
+    private static final String UPDATE_SQL = "UPDATE acc_gl_journal_entry "
+            + "SET is_running_balance_calculated=1, organization_running_balance=?, office_running_balance=? WHERE id=?";
+    private static final Date FIRST_DAY = Date.valueOf("2020-01-01");
+    private static final Date SECOND_DAY = Date.valueOf("2020-01-02");
+    private static final int ASSET = 1;
+    private static final int CREDIT = 1;
+    private static final int DEBIT = 2;
+
+    private JdbcTemplate jdbcTemplate;
+    private JournalEntryRunningBalanceUpdateServiceImpl runningBalanceUpdateService;
+    private final List<Object[]> pageArguments = new ArrayList<>();
+    private final List<Map<String, Object>> entries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        this.jdbcTemplate = mock(JdbcTemplate.class);
+        final JobParameterRepository jobParameterRepository = mock(JobParameterRepository.class);
+        when(jobParameterRepository.findJobParametersByJobName(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE.toString()))
+                .thenReturn(Collections.singletonList(JobParameter.getInstance(1L, JobParameters.BATCH_SIZE, "2")));
+        this.runningBalanceUpdateService = new JournalEntryRunningBalanceUpdateServiceImpl(mock(RoutingDataSource.class), null, null, null,
+                jobParameterRepository);
+        ReflectionTestUtils.setField(this.runningBalanceUpdateService, "jdbcTemplate", this.jdbcTemplate);
+
+        when(this.jdbcTemplate.queryForObject(startsWith("select MIN(je.entry_date)"), eq(java.util.Date.class))).thenReturn(FIRST_DAY);
+        // keyset pages "... and je.entry_date >= ? and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) ... limit ?"
+        when(this.jdbcTemplate.query(startsWith("select je.id as id"), any(RowMapper.class), (Object[]) any())).thenAnswer(invocation -> {
+            final Object[] arguments = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            this.pageArguments.add(arguments);
+            final Date from = (Date) arguments[0];
+            final Date lastDate = (Date) arguments[1];
+            final long lastId = (Long) arguments[3];
+            final int limit = (Integer) arguments[4];
+            final RowMapper<?> mapper = invocation.getArgument(1);
+            final List<Object> page = new ArrayList<>();
+            for (final Map<String, Object> entry : this.entries) {
+                final Date entryDate = (Date) entry.get("entryDate");
+                final long id = (Long) entry.get("id");
+                if (!entryDate.before(from) && (entryDate.after(lastDate) || (entryDate.equals(lastDate) && id > lastId))
+                        && page.size() < limit) {
+                    page.add(mapper.mapRow(row(entry), page.size()));
+                }
+            }
+            return page;
+        });
+    }
+
+    @Test
+    void testPagesContinueAfterTheLastEntryDateAndId() {
+        // ordered by (entry_date, id), the ids of the second day are lower than those of the first day
+        givenEntry(5L, FIRST_DAY, DEBIT, "100");
+        givenEntry(7L, FIRST_DAY, DEBIT, "50");
+        givenEntry(9L, FIRST_DAY, CREDIT, "30");
+        givenEntry(3L, SECOND_DAY, DEBIT, "10");
+
+        this.runningBalanceUpdateService.updateRunningBalance();
+
+        assertEquals(3, this.pageArguments.size());
+        assertKeyset(this.pageArguments.get(0), FIRST_DAY, 0L);
+        assertKeyset(this.pageArguments.get(1), FIRST_DAY, 7L);
+        assertKeyset(this.pageArguments.get(2), SECOND_DAY, 3L);
+
+        final List<Object[]> updates = capturedUpdates();
+        assertEquals(Arrays.asList(5L, 7L, 9L, 3L), updates.stream().map(update -> update[2]).collect(Collectors.toList()));
+        // debits increase and credits decrease an asset account, across page boundaries
+        assertEquals(Arrays.asList("100", "150", "120", "130"),
+                updates.stream().map(update -> ((BigDecimal) update[0]).toPlainString()).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("100", "150", "120", "130"),
+                updates.stream().map(update -> ((BigDecimal) update[1]).toPlainString()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRunningBalanceContinuesFromTheLastCalculatedEntry() {
+        doAnswer(invocation -> {
+            final Map<String, Object> previous = new LinkedHashMap<>();
+            previous.put("accountId", 1L);
+            previous.put("runningBalance", new BigDecimal("1000"));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row(previous));
+            return null;
+        }).when(this.jdbcTemplate).query(startsWith("select je.account_id as accountId"), any(RowCallbackHandler.class), (Object[]) any());
+        givenEntry(5L, FIRST_DAY, CREDIT, "100");
+
+        this.runningBalanceUpdateService.updateRunningBalance();
+
+        final List<Object[]> updates = capturedUpdates();
+        assertEquals(1, updates.size());
+        assertEquals("900", ((BigDecimal) updates.get(0)[0]).toPlainString());
+        // no office balance before the date, the office running balance starts from zero
+        assertEquals("-100", ((BigDecimal) updates.get(0)[1]).toPlainString());
+    }
+
+    @Test
+    void testNothingToUpdate() {
+        this.runningBalanceUpdateService.updateRunningBalance();
+
+        assertEquals(1, this.pageArguments.size());
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private void givenEntry(final Long id, final Date entryDate, final int entryType, final String amount) {
+        final Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", id);
+        entry.put("glAccountId", 1L);
+        entry.put("entryType", entryType);
+        entry.put("amount", new BigDecimal(amount));
+        entry.put("classification", ASSET);
+        entry.put("officeId", 1L);
+        entry.put("entryDate", entryDate);
+        this.entries.add(entry);
+    }
+
+    private List<Object[]> capturedUpdates() {
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(this.jdbcTemplate, atLeastOnce()).batchUpdate(eq(UPDATE_SQL), batches.capture());
+        return batches.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    private static void assertKeyset(final Object[] arguments, final Date lastDate, final long lastId) {
+        assertArrayEquals(new Object[] { FIRST_DAY, lastDate, lastDate, lastId, 2 }, arguments);
+    }
+
+    private static ResultSet row(final Map<String, Object> values) throws SQLException {
+        final List<String> columns = new ArrayList<>(values.keySet());
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.findColumn(anyString())).thenAnswer(invocation -> columns.indexOf(invocation.<String>getArgument(0)) + 1);
+        when(rs.getInt(anyInt()))
+                .thenAnswer(invocation -> ((Number) values.get(columns.get(invocation.<Integer>getArgument(0) - 1))).intValue());
+        when(rs.getLong(anyInt()))
+                .thenAnswer(invocation -> ((Number) values.get(columns.get(invocation.<Integer>getArgument(0) - 1))).longValue());
+        when(rs.getLong(anyString())).thenAnswer(invocation -> ((Number) values.get(invocation.<String>getArgument(0))).longValue());
+        when(rs.getBigDecimal(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(rs.getDate(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return rs;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.batch.command.CommandContext;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class BatchApiServiceImplTest {
+
+    private static final String THREADS_PROPERTY = "fineract.batch.parallel.threads";
+
+    private final CommandStrategyProvider strategyProvider = mock(CommandStrategyProvider.class);
+    private final ResolutionHelper resolutionHelper = mock(ResolutionHelper.class);
+    private final UriInfo uriInfo = mock(UriInfo.class);
+    private final Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+    private final Set<String> workerTenants = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch lastRootDone = new CountDownLatch(1);
+    private BatchApiServiceImpl batchApiService;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        when(this.resolutionHelper.resoluteRequest(any(BatchRequest.class), any(BatchResponse.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // "slow" requests only finish once the last root request is done, "fail" requests throw
+        final CommandStrategy strategy = (request, uriInfo) -> {
+            this.workerThreads.add(Thread.currentThread().getName());
+            this.workerTenants.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            if (request.getRelativeUrl().startsWith("fail")) {
+                throw new IllegalStateException("failed " + request.getRequestId());
+            }
+            if (request.getRelativeUrl().startsWith("slow")) {
+                try {
+                    assertTrue(this.lastRootDone.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (request.getRelativeUrl().startsWith("last")) {
+                this.lastRootDone.countDown();
+            }
+            return new BatchResponse(request.getRequestId(), 200, null, request.getRelativeUrl());
+        };
+        when(this.strategyProvider.getCommandStrategy(any(CommandContext.class))).thenReturn(strategy);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.batchApiService.shutdown();
+        System.clearProperty(THREADS_PROPERTY);
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testParallelResponsesAreOrderedByRequestId() {
+        System.setProperty(THREADS_PROPERTY, "4");
+        this.batchApiService = new BatchApiServiceImpl(this.strategyProvider, this.resolutionHelper, mock(TransactionTemplate.class));
+        final BatchRequestNode slowRoot = node(1L, "slow");
+        slowRoot.addChildRequest(node(4L, "child"));
+        givenRootRequests(slowRoot, node(2L, "other"), node(3L, "last"));
+
+        final List<BatchResponse> responses = this.batchApiService.handleBatchRequestsWithoutEnclosingTransaction(new ArrayList<>(),
+                this.uriInfo, true);
+
+        // the first root finishes last, yet the responses keep the request order
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), requestIdsOf(responses));
+        assertEquals(Arrays.asList("slow", "other", "last", "child"),
+                responses.stream().map(BatchResponse::getBody).collect(Collectors.toList()));
+        assertTrue(this.workerThreads.stream().allMatch(name -> name.startsWith("batch-api-")), this.workerThreads.toString());
+        assertEquals(1, this.workerTenants.size());
+        assertTrue(this.workerTenants.contains("default"));
+    }
+
+    @Test
+    void testFailedRootRequestFailsItsChildren() {
+        System.setProperty(THREADS_PROPERTY, "4");
+        this.batchApiService = new BatchApiServiceImpl(this.strategyProvider, this.resolutionHelper, mock(TransactionTemplate.class));
+        final BatchRequestNode failingRoot = node(1L, "fail");
+        failingRoot.addChildRequest(node(3L, "child"));
+        givenRootRequests(failingRoot, node(2L, "other"));
+
+        final List<BatchResponse> responses = this.batchApiService.handleBatchRequestsWithoutEnclosingTransaction(new ArrayList<>(),
+                this.uriInfo, true);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), requestIdsOf(responses));
+        assertEquals(Arrays.asList(500, 200, 409), responses.stream().map(BatchResponse::getStatusCode).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testPoolSizeIsConfigurable() {
+        System.setProperty(THREADS_PROPERTY, "1");
+        this.batchApiService = new BatchApiServiceImpl(this.strategyProvider, this.resolutionHelper, mock(TransactionTemplate.class));
+        givenRootRequests(node(1L, "first"), node(2L, "second"), node(3L, "third"));
+
+        final List<BatchResponse> responses = this.batchApiService.handleBatchRequestsWithoutEnclosingTransaction(new ArrayList<>(),
+                this.uriInfo, true);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), requestIdsOf(responses));
+        assertEquals(1, this.workerThreads.size(), this.workerThreads.toString());
+    }
+
+    @Test
+    void testSequentialByDefault() {
+        this.batchApiService = new BatchApiServiceImpl(this.strategyProvider, this.resolutionHelper, mock(TransactionTemplate.class));
+        givenRootRequests(node(2L, "second"), node(1L, "first"));
+
+        final List<BatchResponse> responses = this.batchApiService.handleBatchRequestsWithoutEnclosingTransaction(new ArrayList<>(),
+                this.uriInfo);
+
+        assertEquals(Arrays.asList(1L, 2L), requestIdsOf(responses));
+        assertEquals(1, this.workerThreads.size());
+        assertTrue(this.workerThreads.contains(Thread.currentThread().getName()));
+    }
+
+    private void givenRootRequests(final BatchRequestNode... rootNodes) {
+        when(this.resolutionHelper.getDependingRequests(any())).thenReturn(Arrays.asList(rootNodes));
+    }
+
+    private static BatchRequestNode node(final Long requestId, final String relativeUrl) {
+        final BatchRequestNode node = new BatchRequestNode();
+        node.setRequest(new BatchRequest(requestId, relativeUrl, "POST", null, null, null));
+        return node;
+    }
+
+    private static List<Long> requestIdsOf(final List<BatchResponse> responses) {
+        return responses.stream().map(BatchResponse::getRequestId).collect(Collectors.toList());
+    }
+}
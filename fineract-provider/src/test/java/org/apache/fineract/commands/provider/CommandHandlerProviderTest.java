@@ -19,7 +19,11 @@
 package org.apache.fineract.commands.provider;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Set;
 import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.apache.fineract.infrastructure.configuration.spring.TestsWithoutDatabaseAndNoJobsConfiguration;
@@ -64,4 +68,19 @@ public class CommandHandlerProviderTest {
             this.commandHandlerProvider.getHandler("WHATEVER", "DOSOMETHING");
         });
     }
+
+    @Test
+    public void shouldResolveHandlerFromRegistry() {
+        assertTrue(this.commandHandlerProvider.hasHandler("HUMAN", "UPDATE"));
+        assertFalse(this.commandHandlerProvider.hasHandler("WHATEVER", "DOSOMETHING"));
+        assertSame(this.commandHandlerProvider.getHandler("HUMAN", "UPDATE"), this.commandHandlerProvider.getHandler("HUMAN", "UPDATE"));
+    }
+
+    @Test
+    public void shouldNotReportCommandsWithHandler() {
+        final Set<String> unhandledCommands = this.commandHandlerProvider.findCommandsWithoutHandler();
+
+        assertFalse(unhandledCommands.contains("CLIENT|CREATE"));
+        assertFalse(unhandledCommands.contains("LOAN|DISBURSE"));
+    }
 }
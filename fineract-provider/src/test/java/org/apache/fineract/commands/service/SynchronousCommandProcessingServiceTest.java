@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import java.util.Map;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.commands.provider.CommandHandlerProvider;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.outbox.service.ExternalEventOutboxService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+
+class SynchronousCommandProcessingServiceTest {
+
+    private final ApplicationContext applicationContext = mock(ApplicationContext.class);
+    private final ExternalEventOutboxService externalEventOutboxService = mock(ExternalEventOutboxService.class);
+    private final NewCommandSourceHandler handler = mock(NewCommandSourceHandler.class);
+    private final CommandWrapper wrapper = new CommandWrapperBuilder().createClient().build();
+    private SynchronousCommandProcessingService commandProcessingService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        final PlatformSecurityContext context = mock(PlatformSecurityContext.class);
+        final AppUser maker = mock(AppUser.class);
+        when(maker.getId()).thenReturn(1L);
+        when(context.authenticatedUser()).thenReturn(maker);
+        when(context.authenticatedUser(any())).thenReturn(maker);
+        final ToApiJsonSerializer<CommandProcessingResult> toApiResultJsonSerializer = mock(ToApiJsonSerializer.class);
+        when(toApiResultJsonSerializer.serialize(any())).thenAnswer(invocation -> new Gson().toJson(invocation.getArgument(0)));
+        final CommandHandlerProvider commandHandlerProvider = mock(CommandHandlerProvider.class);
+        when(commandHandlerProvider.getHandler("CLIENT", "CREATE")).thenReturn(this.handler);
+        when(this.handler.processCommand(any()))
+                .thenReturn(new CommandProcessingResultBuilder().withEntityId(7L).withClientId(7L).withOfficeId(1L).build());
+        when(this.externalEventOutboxService.isEnabled()).thenReturn(true);
+
+        this.commandProcessingService = new SynchronousCommandProcessingService(context, this.applicationContext,
+                (ToApiJsonSerializer<Map<String, Object>>) mock(ToApiJsonSerializer.class), toApiResultJsonSerializer,
+                mock(CommandSourceRepository.class), mock(ConfigurationDomainService.class), commandHandlerProvider,
+                this.externalEventOutboxService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testCommandWithAnArrayRequestIsWrittenToTheOutbox() {
+        this.commandProcessingService.processAndLogCommand(this.wrapper, command("[{\"firstname\":\"Ann\"}]"), false);
+
+        verify(this.externalEventOutboxService).append(any(), eq("CLIENT"), eq("CREATE"),
+                contains("\"request\":[{\"firstname\":\"Ann\"}]"));
+    }
+
+    @Test
+    void testOutboxIsWrittenWhenTheHookEventFails() {
+        doThrow(new IllegalStateException("no hook template")).when(this.applicationContext).publishEvent(any(ApplicationEvent.class));
+
+        this.commandProcessingService.processAndLogCommand(this.wrapper, command("{\"firstname\":\"Ann\"}"), false);
+
+        verify(this.externalEventOutboxService).append(any(), eq("CLIENT"), eq("CREATE"), contains("\"clientId\":7"));
+    }
+
+    @Test
+    void testOutboxFailureFailsTheCommand() {
+        doThrow(new IllegalStateException("outbox table missing")).when(this.externalEventOutboxService).append(any(), anyString(),
+                anyString(), anyString());
+
+        assertThrows(IllegalStateException.class,
+                () -> this.commandProcessingService.processAndLogCommand(this.wrapper, command("{\"firstname\":\"Ann\"}"), false));
+        verify(this.applicationContext, never()).publishEvent(any(ApplicationEvent.class));
+    }
+
+    private static JsonCommand command(final String json) {
+        return JsonCommand.from(json, JsonParser.parseString(json), null, "CLIENT", null, null, null, null, null, null, null,
+                "/clients/template", null, null, null);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.Test;
+
+class ImportHandlerUtilsTest {
+
+    @Test
+    void testGetIdByNameOfClient() throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            final Sheet clients = workbook.createSheet(TemplatePopulateImportConstants.CLIENT_SHEET_NAME);
+            addNamedRow(clients, 0, "Jane Doe ", 1, 11);
+            addNamedRow(clients, 1, "John Doe", 1, 12);
+            // only the first client of the same name is found
+            addNamedRow(clients, 2, "John Doe", 1, 13);
+
+            assertEquals(11L, ImportHandlerUtils.getIdByName(clients, "Jane Doe"));
+            assertEquals(12L, ImportHandlerUtils.getIdByName(clients, "John Doe"));
+            assertEquals(0L, ImportHandlerUtils.getIdByName(clients, "Nobody"));
+            assertEquals(0L, ImportHandlerUtils.getIdByName(clients, null));
+        }
+    }
+
+    @Test
+    void testGetIdByNameOfOffice() throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            final Sheet offices = workbook.createSheet(TemplatePopulateImportConstants.OFFICE_SHEET_NAME);
+            addNamedRow(offices, 0, "Head Office", 1, 1);
+            addNamedRow(offices, 1, "Branch", 1, 2);
+
+            assertEquals(2L, ImportHandlerUtils.getIdByName(offices, "Branch"));
+            assertEquals(1L, ImportHandlerUtils.getIdByName(offices, "Head Office"));
+        }
+    }
+
+    private static void addNamedRow(final Sheet sheet, final int rowIndex, final String name, final int nameColumn, final long id) {
+        final Row row = sheet.createRow(rowIndex);
+        row.createCell(nameColumn).setCellValue(name);
+        // the ids of offices precede their name, the ids of clients follow it
+        final boolean idBeforeName = sheet.getSheetName().equals(TemplatePopulateImportConstants.OFFICE_SHEET_NAME);
+        row.createCell(idBeforeName ? nameColumn - 1 : nameColumn + 1).setCellValue(id);
+    }
+}
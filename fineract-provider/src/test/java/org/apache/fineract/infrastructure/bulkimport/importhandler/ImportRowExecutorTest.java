@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ImportRowExecutorTest {
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testResultsComeBackInRowOrder() {
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            final List<String> results = rowExecutor.importRows(5, 15, row -> row % 3, row -> "row " + row);
+
+            assertEquals(IntStream.range(5, 15).mapToObj(row -> "row " + row).collect(Collectors.toList()), results);
+        }
+    }
+
+    @Test
+    void testRowsOfTheSameKeyRunOneAfterTheOtherInSheetOrder() {
+        final Map<Integer, List<Integer>> rowsByKey = new ConcurrentHashMap<>();
+        final Map<Integer, Set<String>> threadsByKey = new ConcurrentHashMap<>();
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            rowExecutor.importRows(0, 30, row -> row % 3, row -> {
+                assertSame(this.tenant, ThreadLocalContextUtil.getTenant());
+                rowsByKey.computeIfAbsent(row % 3, key -> Collections.synchronizedList(new ArrayList<>())).add(row);
+                threadsByKey.computeIfAbsent(row % 3, key -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+                return row;
+            });
+        }
+
+        for (int key = 0; key < 3; key++) {
+            final int rowKey = key;
+            assertEquals(IntStream.range(0, 30).filter(row -> row % 3 == rowKey).boxed().collect(Collectors.toList()),
+                    rowsByKey.get(key));
+            // a key is striped to a single thread
+            assertEquals(1, threadsByKey.get(key).size());
+        }
+    }
+
+    @Test
+    void testRowsOfAllKeysAreImported() {
+        final Set<Integer> importedRows = ConcurrentHashMap.newKeySet();
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            rowExecutor.importRows(0, 8, row -> row, row -> importedRows.add(row));
+        }
+
+        assertEquals(IntStream.range(0, 8).boxed().collect(Collectors.toSet()), importedRows);
+    }
+
+    @Test
+    void testRowThrowingFailsTheImport() {
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            assertThrows(GeneralPlatformDomainRuleException.class, () -> rowExecutor.importRows(0, 2, row -> row, row -> {
+                throw new IllegalStateException("row " + row);
+            }));
+        }
+    }
+
+    @Test
+    void testNullKeysShareAStripe() {
+        final List<Integer> importedRows = Collections.synchronizedList(new ArrayList<>());
+        try (ImportRowExecutor rowExecutor = new ImportRowExecutor()) {
+            rowExecutor.importRows(0, 4, row -> null, row -> importedRows.add(row));
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), importedRows);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class MultiNodeCacheManagerTest {
+
+    private ConcurrentMapCacheManager localCachesOfNodeA;
+    private ConcurrentMapCacheManager localCachesOfNodeB;
+    private MultiNodeCacheManager nodeA;
+    private MultiNodeCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        final InMemoryEvictionChannel channel = new InMemoryEvictionChannel();
+        this.localCachesOfNodeA = new ConcurrentMapCacheManager("users", "codes");
+        this.localCachesOfNodeB = new ConcurrentMapCacheManager("users", "codes");
+        this.nodeA = new MultiNodeCacheManager(this.localCachesOfNodeA, channel);
+        this.nodeB = new MultiNodeCacheManager(this.localCachesOfNodeB, channel);
+    }
+
+    @Test
+    void testEvictionIsRepeatedOnOtherNodes() {
+        this.nodeA.getCache("users").put("defaultmifos", "A");
+        this.nodeB.getCache("users").put("defaultmifos", "B");
+        this.nodeB.getCache("users").put("defaultother", "B");
+
+        this.nodeA.getCache("users").evict("defaultmifos");
+
+        assertNull(this.localCachesOfNodeA.getCache("users").get("defaultmifos"));
+        assertNull(this.localCachesOfNodeB.getCache("users").get("defaultmifos"));
+        assertEquals("B", this.localCachesOfNodeB.getCache("users").get("defaultother").get());
+    }
+
+    @Test
+    void testClearIsRepeatedOnOtherNodes() {
+        this.nodeB.getCache("codes").put("defaultcv", "B");
+        this.nodeB.getCache("users").put("defaultmifos", "B");
+
+        this.nodeA.getCache("codes").clear();
+
+        assertNull(this.localCachesOfNodeB.getCache("codes").get("defaultcv"));
+        assertEquals("B", this.localCachesOfNodeB.getCache("users").get("defaultmifos").get());
+    }
+
+    @Test
+    void testPutIsNotBroadcast() {
+        this.nodeB.getCache("users").put("defaultmifos", "B");
+
+        this.nodeA.getCache("users").put("defaultmifos", "A");
+
+        assertEquals("B", this.nodeB.getCache("users").get("defaultmifos").get());
+    }
+
+    private static final class InMemoryEvictionChannel implements CacheEvictionChannel {
+
+        private final List<Consumer<CacheEvictionMessage>> handlers = new ArrayList<>();
+
+        @Override
+        public void broadcast(final CacheEvictionMessage message) {
+            for (final Consumer<CacheEvictionMessage> handler : this.handlers) {
+                handler.accept(message);
+            }
+        }
+
+        @Override
+        public void subscribe(final Consumer<CacheEvictionMessage> handler) {
+            this.handlers.add(handler);
+        }
+
+        @Override
+        public boolean isDistributed() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.CacheApiConstants;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RuntimeDelegatingCacheManagerTest {
+
+    private InMemoryEvictionChannel channel;
+    private RuntimeDelegatingCacheManager nodeA;
+    private RuntimeDelegatingCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        this.channel = new InMemoryEvictionChannel();
+        this.nodeA = new RuntimeDelegatingCacheManager(jcacheCacheManager(), this.channel);
+        this.nodeB = new RuntimeDelegatingCacheManager(jcacheCacheManager(), this.channel);
+    }
+
+    @Test
+    void testCacheTypeSwitchIsFollowedByOtherNodes() {
+        assertEquals(CacheType.MULTI_NODE.getValue(),
+                this.nodeA.switchToCache(false, false, CacheType.MULTI_NODE).get(CacheApiConstants.cacheTypeParameter));
+
+        assertEquals(CacheType.MULTI_NODE, enabledCacheType(this.nodeA));
+        assertEquals(CacheType.MULTI_NODE, enabledCacheType(this.nodeB));
+
+        this.nodeB.switchToCache(false, true, CacheType.NO_CACHE);
+
+        assertEquals(CacheType.NO_CACHE, enabledCacheType(this.nodeA));
+        assertEquals(CacheType.NO_CACHE, enabledCacheType(this.nodeB));
+    }
+
+    @Test
+    void testActivatingThePersistedCacheTypeIsNotBroadcast() {
+        // first request of a node, the persisted cache type is already single node
+        assertTrue(this.nodeA.switchToCache(true, false, CacheType.SINGLE_NODE).isEmpty());
+
+        assertEquals(CacheType.SINGLE_NODE, enabledCacheType(this.nodeA));
+        assertEquals(CacheType.NO_CACHE, enabledCacheType(this.nodeB));
+        assertTrue(this.channel.messages.isEmpty());
+    }
+
+    private static CacheType enabledCacheType(final RuntimeDelegatingCacheManager node) {
+        final Object currentCacheManager = ReflectionTestUtils.getField(node, "currentCacheManager");
+        if (currentCacheManager instanceof MultiNodeCacheManager) {
+            return CacheType.MULTI_NODE;
+        }
+        return currentCacheManager instanceof JCacheCacheManager ? CacheType.SINGLE_NODE : CacheType.NO_CACHE;
+    }
+
+    private static JCacheCacheManager jcacheCacheManager() {
+        final javax.cache.CacheManager cacheManager = mock(javax.cache.CacheManager.class);
+        when(cacheManager.getCacheNames()).thenReturn(Collections.emptyList());
+        final JCacheCacheManager jcacheCacheManager = mock(JCacheCacheManager.class);
+        when(jcacheCacheManager.getCacheManager()).thenReturn(cacheManager);
+        when(jcacheCacheManager.getCacheNames()).thenReturn(Collections.singletonList("users"));
+        return jcacheCacheManager;
+    }
+
+    private static final class InMemoryEvictionChannel implements CacheEvictionChannel {
+
+        private final List<Consumer<CacheEvictionMessage>> handlers = new ArrayList<>();
+        private final List<CacheEvictionMessage> messages = new ArrayList<>();
+
+        @Override
+        public void broadcast(final CacheEvictionMessage message) {
+            this.messages.add(message);
+            for (final Consumer<CacheEvictionMessage> handler : this.handlers) {
+                handler.accept(message);
+            }
+        }
+
+        @Override
+        public void subscribe(final Consumer<CacheEvictionMessage> handler) {
+            this.handlers.add(handler);
+        }
+
+        @Override
+        public boolean isDistributed() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.data.CacheEvictionMessage;
+import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
+import org.apache.fineract.infrastructure.cache.service.CacheEvictionChannel;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.domain.PermissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ConfigurationDomainServiceJpaTest {
+
+    private static final String AMAZON_S3 = "amazon-S3";
+
+    private GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
+    private ConfigurationDomainServiceJpa nodeA;
+    private ConfigurationDomainServiceJpa nodeB;
+
+    @BeforeEach
+    void setUp() {
+        useTenant("default");
+        this.globalConfigurationRepository = mock(GlobalConfigurationRepositoryWrapper.class);
+        when(this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(AMAZON_S3))
+                .thenReturn(new GlobalConfigurationProperty(AMAZON_S3, true, null, null, null, false));
+        final InMemoryEvictionChannel channel = new InMemoryEvictionChannel();
+        this.nodeA = new ConfigurationDomainServiceJpa(mock(PermissionRepository.class), this.globalConfigurationRepository,
+                mock(PlatformCacheRepository.class), channel);
+        this.nodeB = new ConfigurationDomainServiceJpa(mock(PermissionRepository.class), this.globalConfigurationRepository,
+                mock(PlatformCacheRepository.class), channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testConfigurationIsLoadedOncePerTenant() {
+        assertTrue(this.nodeA.isAmazonS3Enabled());
+        assertTrue(this.nodeA.isAmazonS3Enabled());
+        verify(this.globalConfigurationRepository, times(1)).findOneByNameWithNotFoundDetection(AMAZON_S3);
+
+        useTenant("other");
+        assertTrue(this.nodeA.isAmazonS3Enabled());
+        verify(this.globalConfigurationRepository, times(2)).findOneByNameWithNotFoundDetection(AMAZON_S3);
+    }
+
+    @Test
+    void testEvictionWithoutTransactionReachesAllNodes() {
+        this.nodeA.isAmazonS3Enabled();
+        this.nodeB.isAmazonS3Enabled();
+
+        this.nodeA.removeGlobalConfigurationPropertyDataFromCache(AMAZON_S3);
+        when(this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(AMAZON_S3))
+                .thenReturn(new GlobalConfigurationProperty(AMAZON_S3, false, null, null, null, false));
+
+        assertFalse(this.nodeA.isAmazonS3Enabled());
+        assertFalse(this.nodeB.isAmazonS3Enabled());
+    }
+
+    @Test
+    void testOtherNodesAreOnlyToldAfterCommit() {
+        this.nodeB.isAmazonS3Enabled();
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.nodeA.removeGlobalConfigurationPropertyDataFromCache(AMAZON_S3);
+        when(this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(AMAZON_S3))
+                .thenReturn(new GlobalConfigurationProperty(AMAZON_S3, false, null, null, null, false));
+
+        // not committed yet, the other node keeps the old value
+        assertTrue(this.nodeB.isAmazonS3Enabled());
+
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertFalse(this.nodeB.isAmazonS3Enabled());
+    }
+
+    @Test
+    void testEvictionIsPerTenant() {
+        this.nodeB.isAmazonS3Enabled();
+        useTenant("other");
+        this.nodeB.isAmazonS3Enabled();
+
+        this.nodeA.removeGlobalConfigurationPropertyDataFromCache(AMAZON_S3);
+
+        this.nodeB.isAmazonS3Enabled();
+        useTenant("default");
+        this.nodeB.isAmazonS3Enabled();
+        // two initial loads and the reload of the evicted tenant only
+        verify(this.globalConfigurationRepository, times(3)).findOneByNameWithNotFoundDetection(AMAZON_S3);
+    }
+
+    private static void useTenant(final String tenantIdentifier) {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, tenantIdentifier, tenantIdentifier, "Asia/Kolkata", null));
+    }
+
+    private static final class InMemoryEvictionChannel implements CacheEvictionChannel {
+
+        private final List<Consumer<CacheEvictionMessage>> handlers = new ArrayList<>();
+
+        @Override
+        public void broadcast(final CacheEvictionMessage message) {
+            for (final Consumer<CacheEvictionMessage> handler : this.handlers) {
+                handler.accept(message);
+            }
+        }
+
+        @Override
+        public void subscribe(final Consumer<CacheEvictionMessage> handler) {
+            this.handlers.add(handler);
+        }
+
+        @Override
+        public boolean isDistributed() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class PaginationHelperTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RowMapper<Long> rowMapper = (rs, rowNum) -> rs.getLong("id");
+    private final PaginationHelper<Long> paginationHelper = new PaginationHelper<>();
+
+    @Test
+    void firstKeysetPageReadsOneExtraRowAndHandsOutCursor() {
+        when(this.jdbcTemplate.query(anyString(), any(Object[].class), ArgumentMatchers.<RowMapper<Long>>any()))
+                .thenReturn(new ArrayList<>(Arrays.asList(3L, 5L, 8L)));
+        final SearchParameters searchParameters = SearchParameters.forLoans(null, null, null, 2, null, null, null).withCursor(null,
+                false);
+
+        final Page<Long> page = this.paginationHelper.fetchPageAfter(this.jdbcTemplate, "select l.id from m_loan l where 1=1",
+                new Object[0], "l.id", searchParameters, this.rowMapper, id -> id);
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(this.jdbcTemplate).query(sql.capture(), any(Object[].class), ArgumentMatchers.<RowMapper<Long>>any());
+        assertEquals("select l.id from m_loan l where 1=1 order by l.id asc limit 3", sql.getValue());
+        assertEquals(Arrays.asList(3L, 5L), page.getPageItems());
+        assertFalse(page.isTotalCounted());
+        assertEquals(Long.valueOf(5L), PaginationHelper.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    void nextKeysetPageContinuesAfterCursor() {
+        when(this.jdbcTemplate.query(anyString(), any(Object[].class), ArgumentMatchers.<RowMapper<Long>>any()))
+                .thenReturn(new ArrayList<>(Arrays.asList(13L)));
+        final SearchParameters searchParameters = SearchParameters.forLoans(null, null, null, 2, null, "desc", null)
+                .withCursor(PaginationHelper.encodeCursor(21L), null);
+
+        final Page<Long> page = this.paginationHelper.fetchPageAfter(this.jdbcTemplate, "select l.id from m_loan l where 1=1",
+                new Object[] { "x" }, "l.id", searchParameters, this.rowMapper, id -> id);
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(this.jdbcTemplate).query(sql.capture(), args.capture(), ArgumentMatchers.<RowMapper<Long>>any());
+        assertEquals("select l.id from m_loan l where 1=1 and l.id < ? order by l.id desc limit 3", sql.getValue());
+        assertEquals(Arrays.asList("x", 21L), Arrays.asList(args.getValue()));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThrows(PlatformApiDataValidationException.class, () -> PaginationHelper.decodeCursor("not-a-cursor"));
+    }
+
+    @Test
+    void fetchPageWithoutCountSkipsFoundRows() {
+        when(this.jdbcTemplate.query(anyString(), any(Object[].class), ArgumentMatchers.<RowMapper<Long>>any()))
+                .thenReturn(Arrays.asList(1L));
+
+        final Page<Long> page = this.paginationHelper.fetchPage(this.jdbcTemplate, null, "select id from m_loan", new Object[0],
+                this.rowMapper);
+
+        assertFalse(page.isTotalCounted());
+        verify(this.jdbcTemplate).query(anyString(), any(Object[].class), ArgumentMatchers.<RowMapper<Long>>any());
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TomcatJdbcDataSourcePerTenantServiceTest {
+
+    private BasicAuthTenantDetailsService tenantDetailsService;
+    private TomcatJdbcDataSourcePerTenantService dataSourceService;
+    private Map<Long, HikariDataSource> dataSources;
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+        ThreadLocalContextUtil.clearReadOnlyRequest();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        this.tenantDetailsService = mock(BasicAuthTenantDetailsService.class);
+        when(this.tenantDetailsService.findAllTenants(false)).thenReturn(Collections.emptyList());
+        when(this.tenantDetailsService.findAllTenants(true)).thenReturn(Collections.emptyList());
+        this.dataSourceService = new TomcatJdbcDataSourcePerTenantService(mock(DataSource.class), this.tenantDetailsService,
+                mock(RuntimeDelegatingCacheManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(this.dataSourceService, "driverConfig", mock(JDBCDriverConfig.class));
+        this.dataSources = (Map<Long, HikariDataSource>) ReflectionTestUtils.getField(this.dataSourceService, "tenantToDataSourceMap");
+    }
+
+    @Test
+    void testUnusedPoolIsClosedOnceDrained() {
+        final HikariDataSource dataSource = dataSource("default_1_pool");
+        this.dataSources.put(1L, dataSource);
+        when(dataSource.getHikariPoolMXBean().getActiveConnections()).thenReturn(2);
+
+        this.dataSourceService.refreshDataSources();
+
+        // the idle connections are closed, the ones in use are left to their transactions
+        assertEquals(Collections.emptyMap(), this.dataSources);
+        verify(dataSource.getHikariConfigMXBean()).setMinimumIdle(0);
+        verify(dataSource.getHikariPoolMXBean()).softEvictConnections();
+        this.dataSourceService.closeDrainedDataSources();
+        verify(dataSource, never()).close();
+
+        when(dataSource.getHikariPoolMXBean().getActiveConnections()).thenReturn(0);
+        this.dataSourceService.closeDrainedDataSources();
+        verify(dataSource).close();
+    }
+
+    @Test
+    void testPoolWhichDoesNotDrainIsClosedAfterTheTimeout() {
+        ReflectionTestUtils.setField(this.dataSourceService, "drainTimeoutSeconds", 0L);
+        final HikariDataSource dataSource = dataSource("default_1_pool");
+        this.dataSources.put(1L, dataSource);
+        when(dataSource.getHikariPoolMXBean().getActiveConnections()).thenReturn(1);
+
+        this.dataSourceService.refreshDataSources();
+        this.dataSourceService.closeDrainedDataSources();
+
+        verify(dataSource).close();
+    }
+
+    @Test
+    void testPoolOpenedDuringTheRefreshIsKept() {
+        final HikariDataSource dataSource = dataSource("new_2_pool");
+        // a request of a tenant created after the tenants were read
+        when(this.tenantDetailsService.findAllTenants(false)).thenAnswer(invocation -> {
+            this.dataSources.put(2L, dataSource);
+            return Collections.emptyList();
+        });
+
+        this.dataSourceService.refreshDataSources();
+
+        assertSame(dataSource, this.dataSources.get(2L));
+        verify(dataSource.getHikariPoolMXBean(), never()).softEvictConnections();
+        verify(dataSource, never()).close();
+    }
+
+    @Test
+    void testPoolNameCarriesTheConnectionId() {
+        assertEquals("default_1_pool", this.dataSourceService.poolNameOf(connection(1L, "default")));
+        assertEquals("default_2_pool", this.dataSourceService.poolNameOf(connection(2L, "default")));
+    }
+
+    @Test
+    void testPoolNameDoesNotCollideWithADrainingPool() {
+        final HikariDataSource dataSource = dataSource("default_1_pool");
+        when(dataSource.getHikariPoolMXBean().getActiveConnections()).thenReturn(1);
+        this.dataSources.put(1L, dataSource);
+        this.dataSourceService.refreshDataSources();
+
+        assertEquals("default_1_pool_1", this.dataSourceService.poolNameOf(connection(1L, "default")));
+        assertEquals("default_12_pool", this.dataSourceService.poolNameOf(connection(12L, "default")));
+    }
+
+    @Test
+    void testReadWriteTransactionOfAReadOnlyRequestUsesThePrimary() {
+        final List<DataSource> dataSourcesTaken = givenReadReplica();
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager(dataSourcesTaken));
+
+        transactionTemplate.execute(status -> dataSourcesTaken.add(this.dataSourceService.retrieveDataSource()));
+
+        // taken both when beginning the transaction and within it
+        assertEquals(Arrays.asList(this.dataSources.get(1L), this.dataSources.get(1L)), dataSourcesTaken);
+    }
+
+    @Test
+    void testReadOnlyTransactionOfAReadOnlyRequestUsesTheReplica() {
+        final List<DataSource> dataSourcesTaken = givenReadReplica();
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager(dataSourcesTaken));
+        transactionTemplate.setReadOnly(true);
+
+        transactionTemplate.execute(status -> dataSourcesTaken.add(this.dataSourceService.retrieveDataSource()));
+
+        assertEquals(Collections.singletonList(this.dataSources.get(2L)), dataSourcesTaken);
+        assertSame(this.dataSources.get(2L), this.dataSourceService.retrieveDataSource());
+    }
+
+    // tenant 1 on connection 1, with its report connection 2 as read
+    // replica within the replication lag
+    @SuppressWarnings("unchecked")
+    private List<DataSource> givenReadReplica() {
+        ReflectionTestUtils.setField(this.dataSourceService, "readReplicaEnabled", true);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", connection(1L, "default")));
+        ThreadLocalContextUtil.setReadOnlyRequest(true);
+        this.dataSources.put(1L, dataSource("default_1_pool"));
+        this.dataSources.put(2L, dataSource("default_report_2_pool"));
+        ((Map<Long, FineractPlatformTenantConnection>) ReflectionTestUtils.getField(this.dataSourceService,
+                "tenantToReplicaConnectionMap")).put(1L, connection(2L, "default_report"));
+        final Object lagGuard = ReflectionTestUtils.getField(this.dataSourceService, "lagGuard");
+        ((Map<Long, Boolean>) ReflectionTestUtils.getField(lagGuard, "replicaWithinLag")).put(2L, Boolean.TRUE);
+        return new ArrayList<>();
+    }
+
+    // the OpenJPA dialect takes the connection of a read-write transaction
+    // while beginning it
+    private PlatformTransactionManager transactionManager(final List<DataSource> dataSourcesTaken) {
+        final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        final EntityManager entityManager = mock(EntityManager.class);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+        final JpaDialect jpaDialect = mock(JpaDialect.class);
+        try {
+            when(jpaDialect.beginTransaction(any(EntityManager.class), any(TransactionDefinition.class))).thenAnswer(invocation -> {
+                if (!invocation.<TransactionDefinition>getArgument(1).isReadOnly()) {
+                    dataSourcesTaken.add(this.dataSourceService.retrieveDataSource());
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        final ReadOnlyAwareJpaTransactionManager transactionManager = new ReadOnlyAwareJpaTransactionManager();
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+        transactionManager.setJpaDialect(jpaDialect);
+        transactionManager.afterPropertiesSet();
+        return transactionManager;
+    }
+
+    private static HikariDataSource dataSource(final String poolName) {
+        final HikariDataSource dataSource = mock(HikariDataSource.class);
+        final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        final HikariConfigMXBean poolConfig = mock(HikariConfigMXBean.class);
+        when(dataSource.getPoolName()).thenReturn(poolName);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getHikariConfigMXBean()).thenReturn(poolConfig);
+        return dataSource;
+    }
+
+    private static FineractPlatformTenantConnection connection(final Long connectionId, final String schemaName) {
+        return new FineractPlatformTenantConnection(connectionId, schemaName, "localhost", "3306", null, "root", "mysql", false, 5,
+                30000, false, 0, false, 50, 10, 5, 10, 60, 34000, 60000, 0, 1, false, 7);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import org.apache.fineract.infrastructure.codes.service.CodeValueWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.infrastructure.codes.service.CodeWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheEvictOperation;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GenericDataServiceImplTest {
+
+    private static final String COLUMN_HEADERS_CACHE = "datatableColumnHeaders";
+    private static final String COLUMN_DEFINITIONS_SQL = "select COLUMN_NAME";
+
+    private AnnotationConfigApplicationContext context;
+    private GenericDataService genericDataService;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        this.context = new AnnotationConfigApplicationContext(CachingConfiguration.class);
+        this.genericDataService = this.context.getBean(GenericDataService.class);
+        this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        when(this.jdbcTemplate.queryForRowSet(anyString())).thenAnswer(invocation -> emptyRowSet());
+        when(this.jdbcTemplate.queryForRowSet(startsWith(COLUMN_DEFINITIONS_SQL))).thenAnswer(invocation -> columnDefinitions());
+        setTenant("default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+        this.context.close();
+    }
+
+    @Test
+    void testColumnHeadersAreCachedPerTenantAndDatatable() {
+        final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders("extra_details");
+
+        assertEquals(1, columnHeaders.size());
+        assertSame(columnHeaders, this.genericDataService.fillResultsetColumnHeaders("extra_details"));
+        verify(this.jdbcTemplate, times(1)).queryForRowSet(startsWith(COLUMN_DEFINITIONS_SQL));
+        // the cached list is shared between requests
+        assertThrows(UnsupportedOperationException.class, () -> columnHeaders.add(columnHeaders.get(0)));
+
+        this.genericDataService.fillResultsetColumnHeaders("other_details");
+        setTenant("other");
+        this.genericDataService.fillResultsetColumnHeaders("extra_details");
+
+        verify(this.jdbcTemplate, times(3)).queryForRowSet(startsWith(COLUMN_DEFINITIONS_SQL));
+    }
+
+    @Test
+    void testColumnHeadersAreReloadedOnceEvicted() {
+        final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders("extra_details");
+
+        this.context.getBean(CacheManager.class).getCache(COLUMN_HEADERS_CACHE).clear();
+
+        final List<ResultsetColumnHeaderData> reloaded = this.genericDataService.fillResultsetColumnHeaders("extra_details");
+        assertEquals(columnHeaders.size(), reloaded.size());
+        verify(this.jdbcTemplate, times(2)).queryForRowSet(startsWith(COLUMN_DEFINITIONS_SQL));
+    }
+
+    @Test
+    void testDatatableCodeAndCodeValueWritesEvictTheColumnHeaders() throws NoSuchMethodException {
+        assertEvictsColumnHeaders(ReadWriteNonCoreDataServiceImpl.class.getMethod("createDatatable", JsonCommand.class));
+        assertEvictsColumnHeaders(ReadWriteNonCoreDataServiceImpl.class.getMethod("updateDatatable", String.class, JsonCommand.class));
+        assertEvictsColumnHeaders(ReadWriteNonCoreDataServiceImpl.class.getMethod("deleteDatatable", String.class));
+
+        assertEvictsColumnHeaders(CodeWritePlatformServiceJpaRepositoryImpl.class.getMethod("createCode", JsonCommand.class));
+        assertEvictsColumnHeaders(CodeWritePlatformServiceJpaRepositoryImpl.class.getMethod("updateCode", Long.class, JsonCommand.class));
+        assertEvictsColumnHeaders(CodeWritePlatformServiceJpaRepositoryImpl.class.getMethod("deleteCode", Long.class));
+
+        assertEvictsColumnHeaders(CodeValueWritePlatformServiceJpaRepositoryImpl.class.getMethod("createCodeValue", JsonCommand.class));
+        assertEvictsColumnHeaders(
+                CodeValueWritePlatformServiceJpaRepositoryImpl.class.getMethod("updateCodeValue", Long.class, JsonCommand.class));
+        assertEvictsColumnHeaders(
+                CodeValueWritePlatformServiceJpaRepositoryImpl.class.getMethod("deleteCodeValue", Long.class, Long.class));
+    }
+
+    private static void assertEvictsColumnHeaders(final Method method) {
+        final Collection<CacheOperation> operations = new AnnotationCacheOperationSource().getCacheOperations(method,
+                method.getDeclaringClass());
+        assertTrue(operations != null && operations.stream().anyMatch(operation -> operation instanceof CacheEvictOperation
+                && operation.getCacheNames().contains(COLUMN_HEADERS_CACHE) && ((CacheEvictOperation) operation).isCacheWide()),
+                method.getDeclaringClass().getSimpleName() + "." + method.getName() + " does not evict the column headers");
+    }
+
+    private static void setTenant(final String tenantIdentifier) {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, tenantIdentifier, tenantIdentifier, "Asia/Kolkata", null));
+    }
+
+    private static SqlRowSet columnDefinitions() {
+        final SqlRowSet columnDefinitions = mock(SqlRowSet.class);
+        when(columnDefinitions.next()).thenReturn(true, true, false);
+        when(columnDefinitions.getString("COLUMN_NAME")).thenReturn("client_id");
+        when(columnDefinitions.getString("IS_NULLABLE")).thenReturn("NO");
+        when(columnDefinitions.getString("COLUMN_KEY")).thenReturn("PRI");
+        when(columnDefinitions.getString("DATA_TYPE")).thenReturn("bigint");
+        return columnDefinitions;
+    }
+
+    private static SqlRowSet emptyRowSet() {
+        return mock(SqlRowSet.class);
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfiguration {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(COLUMN_HEADERS_CACHE);
+        }
+
+        @Bean
+        public JdbcTemplate jdbcTemplate() {
+            return mock(JdbcTemplate.class);
+        }
+
+        @Bean
+        public GenericDataService genericDataService(final JdbcTemplate jdbcTemplate) {
+            final GenericDataServiceImpl genericDataService = new GenericDataServiceImpl(mock(RoutingDataSource.class));
+            ReflectionTestUtils.setField(genericDataService, "jdbcTemplate", jdbcTemplate);
+            return genericDataService;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ReadReportingServiceImplTest {
+
+    private static final String REPORT_SQL = "select id, name, amount from m_report_rows";
+
+    private JdbcTemplate streamingJdbcTemplate;
+    private ReadReportingServiceImpl readReportingService;
+
+    @BeforeEach
+    void setUp() {
+        final PlatformSecurityContext context = mock(PlatformSecurityContext.class);
+        final AppUser user = mock(AppUser.class);
+        final Office office = mock(Office.class);
+        when(context.authenticatedUser()).thenReturn(user);
+        when(user.getOffice()).thenReturn(office);
+        when(user.getId()).thenReturn(1L);
+        when(office.getHierarchy()).thenReturn(".");
+
+        final GenericDataService genericDataService = mock(GenericDataService.class);
+        when(genericDataService.replace(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).replace(invocation.getArgument(1), invocation.getArgument(2)));
+        when(genericDataService.wrapSQL(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        final SqlRowSet reportDefinition = mock(SqlRowSet.class);
+        when(reportDefinition.next()).thenReturn(true);
+        when(reportDefinition.getString("the_sql")).thenReturn(REPORT_SQL);
+        when(jdbcTemplate.queryForRowSet(anyString())).thenReturn(reportDefinition);
+
+        this.readReportingService = new ReadReportingServiceImpl(context, mock(RoutingDataSource.class), genericDataService, null);
+        ReflectionTestUtils.setField(this.readReportingService, "jdbcTemplate", jdbcTemplate);
+        this.streamingJdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void testReportSqlRunsOnAStreamingCursor() {
+        final JdbcTemplate realStreamingJdbcTemplate = (JdbcTemplate) ReflectionTestUtils.getField(this.readReportingService,
+                "streamingJdbcTemplate");
+
+        // Integer.MIN_VALUE makes the MySQL/MariaDB drivers stream the rows
+        assertEquals(Integer.MIN_VALUE, realStreamingJdbcTemplate.getFetchSize());
+    }
+
+    @Test
+    void testRowsAreWrittenAsCsv() throws Exception {
+        final ResultSet rs = resultSet(new String[] { "id", "name", "amount" }, new String[] { "BIGINT", "VARCHAR", "DECIMAL" },
+                new String[][] { { "1", "Jo \"the\" client", "10.50" }, { "2", null, null } });
+        givenReportRows(rs);
+
+        final String csv = export();
+
+        assertEquals("\"id\",\"name\",\"amount\"\n1,\"Jo \"\"the\"\" client\",10.50\n2,,\n", csv);
+        verify(this.streamingJdbcTemplate).query(eq(REPORT_SQL), any(ResultSetExtractor.class));
+    }
+
+    @Test
+    void testEmptyReportOnlyHasHeaders() throws Exception {
+        givenReportRows(resultSet(new String[] { "office" }, new String[] { "VARCHAR" }, new String[0][]));
+
+        assertEquals("\"office\"\n", export());
+    }
+
+    @Test
+    void testCursorFailureIsReported() {
+        when(this.streamingJdbcTemplate.query(anyString(), any(ResultSetExtractor.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        ReflectionTestUtils.setField(this.readReportingService, "streamingJdbcTemplate", this.streamingJdbcTemplate);
+
+        assertThrows(PlatformDataIntegrityException.class, this::export);
+    }
+
+    private String export() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.readReportingService.retrieveReportCSV("Client Listing", "report", Collections.emptyMap(), false).write(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void givenReportRows(final ResultSet rs) {
+        when(this.streamingJdbcTemplate.query(anyString(), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(1).extractData(rs));
+        ReflectionTestUtils.setField(this.readReportingService, "streamingJdbcTemplate", this.streamingJdbcTemplate);
+    }
+
+    private static ResultSet resultSet(final String[] labels, final String[] types, final String[][] rows) throws SQLException {
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+            when(metaData.getColumnTypeName(i + 1)).thenReturn(types[i]);
+        }
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        final int[] row = { -1 };
+        when(rs.next()).thenAnswer(invocation -> ++row[0] < rows.length);
+        when(rs.getString(anyInt())).thenAnswer(invocation -> rows[row[0]][invocation.<Integer>getArgument(0) - 1]);
+        return rs;
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContentResourcesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWholeFile() throws IOException {
+        final FileData fileData = fileData("0123456789");
+        final Response response = ContentResources.fileDataToResponse(fileData, "attachment", null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", String.valueOf(response.getMetadata().getFirst("Accept-Ranges")));
+        assertEquals("0123456789", body(response));
+    }
+
+    @Test
+    void testByteRanges() throws IOException {
+        final FileData fileData = fileData("0123456789");
+
+        Response response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=2-5", null);
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", String.valueOf(response.getMetadata().getFirst("Content-Range")));
+        assertEquals("2345", body(response));
+
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=7-", null);
+        assertEquals("789", body(response));
+
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=-2", null);
+        assertEquals("89", body(response));
+
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=8-100", null);
+        assertEquals("bytes 8-9/10", String.valueOf(response.getMetadata().getFirst("Content-Range")));
+
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=10-", null);
+        assertEquals(416, response.getStatus());
+
+        // multiple ranges are answered with the whole file
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=0-1,4-5", null);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testNotModified() throws IOException {
+        final FileData fileData = fileData("0123456789");
+        final Request request = mock(Request.class);
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(Response.notModified());
+
+        final Response response = ContentResources.fileDataToResponse(fileData, "attachment", request, "bytes=2-5", null);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(entityTag(fileData), response.getMetadata().getFirst("ETag"));
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    void testIfRange() throws IOException {
+        final FileData fileData = fileData("0123456789");
+        final String currentTag = "\"" + entityTag(fileData).getValue() + "\"";
+
+        Response response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=2-5", currentTag);
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", body(response));
+
+        // the file the client resumes from changed meanwhile, so it gets the whole file again
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=2-5", "\"1-a\"");
+        assertEquals(200, response.getStatus());
+        assertNull(response.getMetadata().getFirst("Content-Range"));
+        assertEquals("0123456789", body(response));
+
+        // weak tags and dates never match
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=2-5", "W/" + currentTag);
+        assertEquals(200, response.getStatus());
+        response = ContentResources.fileDataToResponse(fileData, "attachment", null, "bytes=2-5", "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertEquals(200, response.getStatus());
+    }
+
+    private static EntityTag entityTag(FileData fileData) {
+        return (EntityTag) ContentResources.fileDataToResponse(fileData, "attachment", null, null, null).getMetadata().getFirst("ETag");
+    }
+
+    private FileData fileData(String content) throws IOException {
+        final File file = Files.write(this.directory.resolve("content.txt"), content.getBytes(StandardCharsets.US_ASCII)).toFile();
+        return new FileData(file, "content.txt", "text/plain");
+    }
+
+    private static String body(Response response) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        return new String(output.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
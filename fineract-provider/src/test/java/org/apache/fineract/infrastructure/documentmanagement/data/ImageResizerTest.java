@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageResizerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSizesAreRoundedDownToABucket() {
+        assertEquals(1, ImageResizer.bucket(-1));
+        assertEquals(8, ImageResizer.bucket(8));
+        assertEquals(16, ImageResizer.bucket(20));
+        assertEquals(96, ImageResizer.bucket(100));
+        assertEquals(96, ImageResizer.bucket(127));
+        assertEquals(128, ImageResizer.bucket(128));
+    }
+
+    @Test
+    void testNearbySizesShareOneThumbnail() throws IOException {
+        final FileData fileData = image(400, 300);
+        final ImageResizer imageResizer = new ImageResizer();
+
+        final FileData first = imageResizer.resize(fileData, 100, null);
+        final FileData second = imageResizer.resize(fileData, 120, null);
+        imageResizer.resize(fileData, 127, null);
+
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(1, thumbnails().length);
+        final BufferedImage thumbnail = ImageIO.read(first.getFile());
+        assertEquals(96, thumbnail.getWidth());
+        assertEquals(72, thumbnail.getHeight());
+    }
+
+    @Test
+    void testSizesBelowTheSmallestBucketAreHonoured() throws IOException {
+        final FileData resized = new ImageResizer().resize(image(400, 300), 8, null);
+
+        assertEquals(8, ImageIO.read(resized.getFile()).getWidth());
+    }
+
+    @Test
+    void testImageFittingTheRequestIsReturnedAsItIs() throws IOException {
+        final FileData fileData = image(400, 300);
+        final ImageResizer imageResizer = new ImageResizer();
+
+        assertSame(fileData, imageResizer.resize(fileData, 400, 300));
+        assertSame(fileData, imageResizer.resize(fileData, 5000, null));
+        assertNull(thumbnails());
+    }
+
+    @Test
+    void testSizesAboveTheLargestBucketAreNotKept() throws IOException {
+        final FileData resized = new ImageResizer().resize(image(4400, 10), 4200, null);
+
+        assertNull(resized.getFile());
+        try (InputStream is = resized.getByteSource().openStream()) {
+            assertEquals(4200, ImageIO.read(is).getWidth());
+        }
+        assertNull(thumbnails());
+    }
+
+    private FileData image(final int width, final int height) throws IOException {
+        final File image = this.directory.resolve("image.png").toFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", image);
+        return new FileData(image, "image.png", "image/png");
+    }
+
+    private String[] thumbnails() {
+        return new File(this.directory.toFile(), FileSystemContentRepository.THUMBNAILS_DIRECTORY).list();
+    }
+}
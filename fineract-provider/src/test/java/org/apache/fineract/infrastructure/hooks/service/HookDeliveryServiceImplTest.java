@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeadLetter;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeadLetterRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class HookDeliveryServiceImplTest {
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private final Hook hook = mock(Hook.class);
+    private final HookProcessor processor = mock(HookProcessor.class);
+    private final HookDeadLetterRepository hookDeadLetterRepository = mock(HookDeadLetterRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HookDeliveryServiceImpl hookDeliveryService;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("fineract.hooks.maxAttempts", "2");
+        System.setProperty("fineract.hooks.initialBackoffMillis", "1");
+        final HookProcessorProvider hookProcessorProvider = mock(HookProcessorProvider.class);
+        when(hookProcessorProvider.getProcessor(this.hook)).thenReturn(this.processor);
+        when(this.hook.getId()).thenReturn(7L);
+        this.hookDeliveryService = new HookDeliveryServiceImpl(hookProcessorProvider, this.hookDeadLetterRepository, this.meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.hookDeliveryService.shutdown();
+        System.clearProperty("fineract.hooks.maxAttempts");
+        System.clearProperty("fineract.hooks.initialBackoffMillis");
+    }
+
+    @Test
+    void testFailedDeliveryIsRetried() throws Exception {
+        doThrow(new IOException("URL: http://localhost - Status: 503")).doNothing().when(this.processor).process(any(), any(), anyString(),
+                anyString(), anyString(), anyString(), any());
+
+        this.hookDeliveryService.deliver(this.tenant, this.hook, null, "{}", "CLIENT", "CREATE", null);
+
+        verify(this.processor, timeout(5000).times(2)).process(any(), any(), anyString(), anyString(), anyString(), anyString(), any());
+        verify(this.hookDeadLetterRepository, never()).save(any());
+        assertEquals(1.0, this.meterRegistry.get("fineract.hooks.delivery.failures").counter().count());
+    }
+
+    @Test
+    void testDeliveryEndsInDeadLetterAfterLastAttempt() throws Exception {
+        doThrow(new IOException("URL: http://localhost - Status: 503")).when(this.processor).process(any(), any(), anyString(), anyString(),
+                anyString(), anyString(), any());
+
+        this.hookDeliveryService.deliver(this.tenant, this.hook, null, "{}", "CLIENT", "CREATE", null);
+
+        final ArgumentCaptor<HookDeadLetter> deadLetter = ArgumentCaptor.forClass(HookDeadLetter.class);
+        verify(this.hookDeadLetterRepository, timeout(5000)).save(deadLetter.capture());
+        assertEquals(Long.valueOf(7L), deadLetter.getValue().getHookId());
+        assertEquals(Integer.valueOf(2), deadLetter.getValue().getAttempts());
+        assertEquals("URL: http://localhost - Status: 503", deadLetter.getValue().getLastError());
+    }
+
+    @Test
+    void testSuccessfulDeliveryIsNotDeadLettered() throws Exception {
+        doNothing().when(this.processor).process(any(), any(), anyString(), anyString(), anyString(), anyString(), any());
+
+        this.hookDeliveryService.deliver(this.tenant, this.hook, null, "{}", "CLIENT", "CREATE", null);
+
+        verify(this.processor, timeout(5000)).process(any(), any(), anyString(), anyString(), anyString(), anyString(), any());
+        verify(this.hookDeadLetterRepository, never()).save(any());
+    }
+}
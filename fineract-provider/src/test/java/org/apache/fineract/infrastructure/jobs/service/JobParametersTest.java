@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.junit.jupiter.api.Test;
+
+class JobParametersTest {
+
+    private static final Long JOB_ID = 7L;
+
+    @Test
+    void testMissingParametersFallBackToDefaults() {
+        final JobParameters jobParameters = JobParameters.of(Collections.emptyList());
+
+        assertEquals(100, jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, 100));
+        assertFalse(jobParameters.isEnabled(JobParameters.STREAMING));
+        assertNull(jobParameters.getString("officeId"));
+    }
+
+    @Test
+    void testTypedValues() {
+        final JobParameters jobParameters = JobParameters.of(Arrays.asList(parameter(JobParameters.BATCH_SIZE, "250"),
+                parameter(JobParameters.STREAMING, "1"), parameter(JobParameters.INCREMENTAL, "true"),
+                parameter("officeId", "1")));
+
+        assertEquals(250, jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, 100));
+        assertTrue(jobParameters.isEnabled(JobParameters.STREAMING));
+        assertTrue(jobParameters.isEnabled(JobParameters.INCREMENTAL));
+        assertEquals("1", jobParameters.getString("officeId"));
+        assertEquals(4, jobParameters.asMap().size());
+    }
+
+    @Test
+    void testSizesAreAtLeastOne() {
+        final JobParameters jobParameters = JobParameters.of(Arrays.asList(parameter(JobParameters.BATCH_SIZE, "0"),
+                parameter(JobParameters.THREAD_POOL_SIZE, "-3")));
+
+        assertEquals(1, jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, 100));
+        assertEquals(1, jobParameters.getPositiveInt(JobParameters.THREAD_POOL_SIZE, 5));
+    }
+
+    @Test
+    void testInvalidValuesFallBackToDefaults() {
+        final JobParameters jobParameters = JobParameters.of(Arrays.asList(parameter(JobParameters.BATCH_SIZE, "many"),
+                parameter(JobParameters.THREAD_POOL_SIZE, " "), parameter(JobParameters.STREAMING, "0")));
+
+        assertEquals(100, jobParameters.getPositiveInt(JobParameters.BATCH_SIZE, 100));
+        assertEquals(5, jobParameters.getPositiveInt(JobParameters.THREAD_POOL_SIZE, 5));
+        assertFalse(jobParameters.isEnabled(JobParameters.STREAMING));
+    }
+
+    private static JobParameter parameter(final String parameterName, final String parameterValue) {
+        return JobParameter.getInstance(JOB_ID, parameterName, parameterValue);
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class JobRegisterServiceImplTest {
+
+    @Test
+    void testTenantSchedulerUsesTheTenantLimit() {
+        assertEquals(7, JobRegisterServiceImpl.getSchedulerThreadCount(7, 0));
+        assertEquals(3, JobRegisterServiceImpl.getSchedulerThreadCount(3, 0));
+    }
+
+    @Test
+    void testGroupSchedulerRunsOneJobAtATime() {
+        // on top of the tenant's scheduler, whatever its limit
+        assertEquals(1, JobRegisterServiceImpl.getSchedulerThreadCount(7, 1));
+        assertEquals(1, JobRegisterServiceImpl.getSchedulerThreadCount(7, 3));
+        assertEquals(1, JobRegisterServiceImpl.getSchedulerThreadCount(1, 2));
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+import org.apache.fineract.infrastructure.outbox.sink.ExternalEventSink;
+import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ExternalEventRelayTest {
+
+    private static final String LEASE_SQL = "update m_external_event_relay_lease set claimed_by = ?";
+    private static final String CLAIM_SQL = "update m_external_event_outbox set claimed_by = ?, claimed_until";
+    private static final String RELEASE_SQL = "update m_external_event_outbox set claimed_by = null";
+    private static final String DELETE_SQL = "delete from m_external_event_outbox where claimed_by = ?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Long> published = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void testClaimedEventsArePublishedOutsideOfTheClaimTransaction() throws IOException {
+        final Outbox outbox = new Outbox(1L, 2L);
+        final ExternalEventSink sink = recordingSink(outbox);
+        final ExternalEventRelay relay = relay(outbox, sink);
+
+        relay.relayAll(sink);
+
+        assertEquals(Arrays.asList(1L, 2L), this.published);
+        assertTrue(outbox.claims.isEmpty());
+        assertEquals(2.0, this.meterRegistry.get("fineract.outbox.relayed").counter().count());
+    }
+
+    @Test
+    void testFailedBatchIsPublishedAgainBeforeTheLaterOnes() throws IOException {
+        final Outbox outbox = new Outbox(1L, 2L, 3L, 4L);
+        final ExternalEventSink sink = recordingSink(outbox);
+        doAnswer(invocation -> {
+            throw new IOException("connection refused");
+        }).doAnswer(invocation -> record(outbox, invocation.getArgument(0))).when(sink).publish(anyList());
+        final ExternalEventRelay relay = relay(outbox, sink);
+
+        relay.relayAll(sink);
+        assertTrue(this.published.isEmpty());
+        assertEquals(1.0, this.meterRegistry.get("fineract.outbox.relay.failures").counter().count());
+        relay.relayAll(sink);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), this.published);
+        assertTrue(outbox.claims.isEmpty());
+    }
+
+    @Test
+    void testConcurrentRelaysPublishTheOutboxInOrder() throws Exception {
+        final Outbox outbox = new Outbox(1L, 2L, 3L, 4L, 5L, 6L);
+        final CountDownLatch firstBatch = new CountDownLatch(1);
+        final CountDownLatch otherRelayPolled = new CountDownLatch(1);
+        final ExternalEventSink firstSink = recordingSink(outbox);
+        doAnswer(invocation -> {
+            firstBatch.countDown();
+            assertTrue(otherRelayPolled.await(10, TimeUnit.SECONDS));
+            return record(outbox, invocation.getArgument(0));
+        }).when(firstSink).publish(anyList());
+        final ExternalEventSink secondSink = recordingSink(outbox);
+        final ExternalEventRelay first = relay(outbox, firstSink);
+        final ExternalEventRelay second = relay(outbox, secondSink);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> relayed = executor.submit(() -> first.relayAll(firstSink));
+            assertTrue(firstBatch.await(10, TimeUnit.SECONDS));
+            // polls while the first relay publishes its first batch
+            second.relayAll(secondSink);
+            otherRelayPolled.countDown();
+            relayed.get(10, TimeUnit.SECONDS);
+            second.relayAll(secondSink);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), this.published);
+        verify(secondSink, never()).publish(anyList());
+        assertTrue(outbox.claims.isEmpty());
+    }
+
+    @Test
+    void testNothingToClaim() throws IOException {
+        final Outbox outbox = new Outbox();
+        final ExternalEventSink sink = recordingSink(outbox);
+        final ExternalEventRelay relay = relay(outbox, sink);
+
+        relay.relayAll(sink);
+
+        verify(sink, never()).publish(anyList());
+    }
+
+    private ExternalEventRelay relay(final Outbox outbox, final ExternalEventSink sink) {
+        final BasicAuthTenantDetailsService tenantDetailsService = mock(BasicAuthTenantDetailsService.class);
+        when(tenantDetailsService.findAllTenants(false))
+                .thenReturn(Collections.singletonList(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null)));
+        final ExternalEventRelay relay = new ExternalEventRelay(mock(ExternalEventOutboxService.class), tenantDetailsService,
+                Collections.singletonList(sink), mock(RoutingDataSource.class), mock(PlatformTransactionManager.class),
+                this.meterRegistry);
+
+        // a transaction locks the lease and the outbox until it ends
+        final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            synchronized (outbox) {
+                return ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null);
+            }
+        });
+        ReflectionTestUtils.setField(relay, "jdbcTemplate", outbox.jdbcTemplate());
+        ReflectionTestUtils.setField(relay, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        return relay;
+    }
+
+    private ExternalEventSink recordingSink(final Outbox outbox) throws IOException {
+        final ExternalEventSink sink = mock(ExternalEventSink.class);
+        when(sink.getName()).thenReturn("http");
+        doAnswer(invocation -> record(outbox, invocation.getArgument(0))).when(sink).publish(anyList());
+        return sink;
+    }
+
+    private Void record(final Outbox outbox, final List<ExternalEventData> events) {
+        assertFalse(Thread.holdsLock(outbox), "published while the claim transaction is open");
+        this.published.addAll(events.stream().map(ExternalEventData::getId).collect(Collectors.toList()));
+        return null;
+    }
+
+    /**
+     * The lease and the outbox of the tenant as the statements of the relay see them; neither runs out.
+     */
+    private static final class Outbox {
+
+        private final Map<Long, String> claims = new TreeMap<>();
+        private String lease;
+
+        Outbox(final Long... ids) {
+            for (final Long id : ids) {
+                this.claims.put(id, null);
+            }
+        }
+
+        JdbcTemplate jdbcTemplate() {
+            final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+            when(jdbcTemplate.update(startsWith(LEASE_SQL), ArgumentMatchers.<Object>any(), ArgumentMatchers.<Object>any(),
+                    ArgumentMatchers.<Object>any())).thenAnswer(invocation -> lease(invocation.getArgument(1)));
+            when(jdbcTemplate.update(startsWith(CLAIM_SQL), ArgumentMatchers.<Object>any(), ArgumentMatchers.<Object>any(),
+                    ArgumentMatchers.<Object>any())).thenAnswer(invocation -> claim(invocation.getArgument(1), invocation.getArgument(3)));
+            when(jdbcTemplate.query(startsWith("select"), ArgumentMatchers.<RowMapper<ExternalEventData>>any(),
+                    ArgumentMatchers.<Object>any())).thenAnswer(invocation -> claimed(invocation.getArgument(2)));
+            when(jdbcTemplate.update(startsWith(RELEASE_SQL), ArgumentMatchers.<Object>any()))
+                    .thenAnswer(invocation -> release(invocation.getArgument(1)));
+            when(jdbcTemplate.update(eq(DELETE_SQL), ArgumentMatchers.<Object>any()))
+                    .thenAnswer(invocation -> delete(invocation.getArgument(1)));
+            return jdbcTemplate;
+        }
+
+        private int lease(final String node) {
+            assertTrue(Thread.holdsLock(this), "leased outside of a transaction");
+            if (this.lease != null && !this.lease.equals(node)) {
+                return 0;
+            }
+            this.lease = node;
+            return 1;
+        }
+
+        private int claim(final String claim, final int limit) {
+            assertTrue(Thread.holdsLock(this), "claimed outside of a transaction");
+            final List<Long> unclaimed = this.claims.entrySet().stream().filter(e -> e.getValue() == null).map(Map.Entry::getKey)
+                    .limit(limit).collect(Collectors.toList());
+            unclaimed.forEach(id -> this.claims.put(id, claim));
+            return unclaimed.size();
+        }
+
+        private synchronized List<ExternalEventData> claimed(final String claim) {
+            return this.claims.entrySet().stream().filter(e -> claim.equals(e.getValue()))
+                    .map(e -> new ExternalEventData(e.getKey(), "default", null, "CLIENT", "CREATE", "{}", new Date()))
+                    .collect(Collectors.toList());
+        }
+
+        private synchronized int release(final String claim) {
+            final List<Long> released = ids(claim);
+            released.forEach(id -> this.claims.put(id, null));
+            return released.size();
+        }
+
+        private synchronized int delete(final String claim) {
+            final List<Long> deleted = ids(claim);
+            deleted.forEach(this.claims::remove);
+            return deleted.size();
+        }
+
+        private List<Long> ids(final String claim) {
+            return this.claims.entrySet().stream().filter(e -> Objects.equals(claim, e.getValue())).map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.outbox.sink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.infrastructure.outbox.data.ExternalEventData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileExternalEventSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("fineract.outbox.sink.file");
+    }
+
+    @Test
+    void testEventsAreAppendedAsJsonLinesInOrder() throws IOException {
+        final Path file = this.directory.resolve("events").resolve("external-events.jsonl");
+        System.setProperty("fineract.outbox.sink.file", file.toString());
+        final FileExternalEventSink sink = new FileExternalEventSink();
+
+        sink.publish(Arrays.asList(event(1L, "CLIENT", "CREATE"), event(2L, "LOAN", "REPAYMENT")));
+        sink.publish(Collections.singletonList(event(3L, "LOAN", "DISBURSE")));
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        final JsonObject second = JsonParser.parseString(lines.get(1)).getAsJsonObject();
+        assertEquals("default", second.get("tenantIdentifier").getAsString());
+        assertEquals(2L, second.get("eventId").getAsLong());
+        assertEquals(12L, second.get("commandId").getAsLong());
+        assertEquals("LOAN", second.get("entityName").getAsString());
+        assertEquals("REPAYMENT", second.get("actionName").getAsString());
+        assertEquals(7L, second.getAsJsonObject("payload").get("loanId").getAsLong());
+        assertEquals(3L, JsonParser.parseString(lines.get(2)).getAsJsonObject().get("eventId").getAsLong());
+    }
+
+    private static ExternalEventData event(final Long id, final String entityName, final String actionName) {
+        return new ExternalEventData(id, "default", id + 10, entityName, actionName, "{\"loanId\": 7}", new Date());
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BasicAuthTenantDetailsServiceJdbcTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private BasicAuthTenantDetailsServiceJdbc tenantDetailsService;
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private final FineractPlatformTenant changedTenant = new FineractPlatformTenant(1L, "default", "Changed", "Asia/Kolkata", null);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        this.jdbcTemplate = mock(JdbcTemplate.class);
+        this.tenantDetailsService = new BasicAuthTenantDetailsServiceJdbc(mock(DataSource.class));
+        ReflectionTestUtils.setField(this.tenantDetailsService, "jdbcTemplate", this.jdbcTemplate);
+        when(this.jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq("default"))).thenReturn(this.tenant,
+                this.changedTenant);
+    }
+
+    @Test
+    void testTenantIsKeptInMemory() {
+        assertSame(this.tenant, this.tenantDetailsService.loadTenantById("default", false));
+        assertSame(this.tenant, this.tenantDetailsService.loadTenantById("default", false));
+
+        verify(this.jdbcTemplate, times(1)).queryForObject(anyString(), any(RowMapper.class), eq("default"));
+    }
+
+    @Test
+    void testTenantIsLoadedAgainOnceTooOld() {
+        // without the connection pool refresh, changes show up after the maximum age
+        ReflectionTestUtils.setField(this.tenantDetailsService, "maxAgeNanos", 0L);
+
+        assertSame(this.tenant, this.tenantDetailsService.loadTenantById("default", false));
+        assertSame(this.changedTenant, this.tenantDetailsService.loadTenantById("default", false));
+    }
+
+    @Test
+    void testRefreshReplacesTheTenantsInMemory() {
+        this.tenantDetailsService.loadTenantById("default", false);
+
+        this.tenantDetailsService.refreshTenants(Collections.singletonList(this.changedTenant), false);
+
+        assertSame(this.changedTenant, this.tenantDetailsService.loadTenantById("default", false));
+        verify(this.jdbcTemplate, times(1)).queryForObject(anyString(), any(RowMapper.class), eq("default"));
+    }
+}
@@ -19,7 +19,10 @@
 package org.apache.fineract.notification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,6 +36,7 @@ import org.apache.fineract.notification.domain.NotificationMapper;
 import org.apache.fineract.notification.service.NotificationGeneratorReadRepositoryWrapper;
 import org.apache.fineract.notification.service.NotificationGeneratorWritePlatformService;
 import org.apache.fineract.notification.service.NotificationMapperWritePlatformService;
+import org.apache.fineract.notification.service.NotificationReadPlatformService;
 import org.apache.fineract.notification.service.NotificationWritePlatformServiceImpl;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.apache.fineract.useradministration.domain.AppUserRepository;
@@ -43,6 +47,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.User;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 public class StorageTest {
@@ -61,10 +67,14 @@ public class StorageTest {
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Mock
+    private NotificationReadPlatformService notificationReadPlatformService;
+
     @BeforeEach
     public void setUp() {
         notificationWritePlatformServiceImpl = new NotificationWritePlatformServiceImpl(notificationGeneratorWritePlatformService,
-                notificationGeneratorReadRepositoryWrapper, appUserRepository, notificationMapperWritePlatformService);
+                notificationGeneratorReadRepositoryWrapper, appUserRepository, notificationMapperWritePlatformService,
+                notificationReadPlatformService);
     }
 
     @Test
@@ -101,9 +111,28 @@ public class StorageTest {
         verify(this.notificationGeneratorWritePlatformService, times(1)).create(refEq(notification, "createdAt"));
         verify(this.notificationMapperWritePlatformService, times(1)).create(refEq(notificationMapper, "createdAt"));
         verify(this.notificationGeneratorReadRepositoryWrapper, times(1)).findById(1L);
+        verify(this.notificationReadPlatformService, times(1)).updateUnreadNotifications(Collections.singletonList(userId), true);
         assertEquals(Long.valueOf(1), actualGeneratedNotificationId);
     }
 
+    @Test
+    public void testUnreadFlagIsSetOnceTheNotificationIsCommitted() {
+        Long userId = 1L;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificationWritePlatformServiceImpl.notify(userId, "CLIENT", 1L, "created", 1L, "A client was created", false);
+
+            // a request of the user before the commit would not find the
+            // notification yet
+            verify(this.notificationReadPlatformService, never()).updateUnreadNotifications(anyList(), anyBoolean());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(this.notificationReadPlatformService, times(1)).updateUnreadNotifications(Collections.singletonList(userId), true);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     private String getCurrentDateTime() {
         Date date = new Date();
         SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MoneyAccumulatorTest {
+
+    private static final MonetaryCurrency[] CURRENCIES = { new MonetaryCurrency("USD", 2, null), new MonetaryCurrency("BHD", 3, 0),
+            new MonetaryCurrency("XOF", 0, 50), new MonetaryCurrency("JPY", 0, null) };
+
+    private RoundingMode previousRoundingMode;
+
+    @BeforeEach
+    void saveRoundingMode() {
+        this.previousRoundingMode = MoneyHelper.useRoundingMode(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterEach
+    void restoreRoundingMode() {
+        MoneyHelper.useRoundingMode(this.previousRoundingMode);
+    }
+
+    @Test
+    void accumulatedTotalsMatchChainedMoneyArithmetic() throws Exception {
+        final Random random = new Random(20201018L);
+        for (final RoundingMode roundingMode : new RoundingMode[] { RoundingMode.HALF_EVEN, RoundingMode.HALF_UP, RoundingMode.DOWN }) {
+            MoneyHelper.useRoundingMode(roundingMode);
+            for (final MonetaryCurrency currency : CURRENCIES) {
+                for (int run = 0; run < 50; run++) {
+                    Money chained = Money.of(currency, randomAmount(random));
+                    final MoneyAccumulator accumulator = MoneyAccumulator.of(chained);
+                    for (int step = 0; step < 360; step++) {
+                        final BigDecimal operand = random.nextInt(10) == 0 ? BigDecimal.ZERO : randomAmount(random);
+                        switch (random.nextInt(4)) {
+                            case 0:
+                                chained = chained.plus(Money.of(currency, operand));
+                                accumulator.plus(Money.of(currency, operand));
+                            break;
+                            case 1:
+                                chained = chained.minus(Money.of(currency, operand));
+                                accumulator.minus(Money.of(currency, operand));
+                            break;
+                            case 2:
+                                chained = chained.plus(operand);
+                                accumulator.plus(operand);
+                            break;
+                            default:
+                                chained = chained.minus(operand);
+                                accumulator.minus(operand);
+                            break;
+                        }
+                    }
+                    final Money accumulated = accumulator.toMoney();
+                    assertEquals(chained.getAmount(), accumulated.getAmount(), currency.getCode() + " " + roundingMode);
+                    assertEquals(chained.getCurrencyCode(), accumulated.getCurrencyCode());
+                }
+            }
+        }
+    }
+
+    @Test
+    void zeroAccumulatorMatchesMoneyZero() {
+        final MonetaryCurrency currency = CURRENCIES[0];
+        assertEquals(Money.zero(currency).getAmount(), MoneyAccumulator.zero(currency).toMoney().getAmount());
+    }
+
+    @Test
+    void untouchedAccumulatorReturnsInitialMoney() {
+        final Money initial = Money.of(CURRENCIES[0], new BigDecimal("12.34"));
+        assertSame(initial, MoneyAccumulator.of(initial).plus(BigDecimal.ZERO).minus(Money.zero(CURRENCIES[0])).toMoney());
+    }
+
+    @Test
+    void differentCurrencyIsRejected() {
+        final MoneyAccumulator accumulator = MoneyAccumulator.zero(CURRENCIES[0]);
+        final Money otherCurrency = Money.of(CURRENCIES[1], BigDecimal.ONE);
+        assertThrows(UnsupportedOperationException.class, () -> accumulator.plus(otherCurrency));
+    }
+
+    private static BigDecimal randomAmount(final Random random) {
+        // up to six decimal places, as stored in the amount columns, and occasionally negative
+        final long unscaled = random.nextInt(200_000_000) - 20_000_000L;
+        return BigDecimal.valueOf(unscaled, random.nextInt(7));
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class BusinessEventNotifierServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BusinessEventListener listener = mock(BusinessEventListener.class);
+    private BusinessEventNotifierServiceImpl businessEventNotifierService;
+
+    @BeforeEach
+    void setUp() {
+        final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        this.businessEventNotifierService = new BusinessEventNotifierServiceImpl(this.meterRegistry, transactionManager);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.businessEventNotifierService.shutdown();
+        ThreadLocalContextUtil.clearTenant();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSynchronousListenerFailureFailsTheEvent() {
+        final Map<BusinessEntity, Object> entities = entitiesOf(1L);
+        doThrow(new IllegalStateException("guarantor funds")).when(this.listener).businessEventWasExecuted(entities);
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.LOAN_APPROVED, this.listener);
+
+        assertThrows(IllegalStateException.class,
+                () -> this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.LOAN_APPROVED, entities));
+        assertEquals(1.0, this.meterRegistry.get("fineract.events.listener.failures").counter().count());
+    }
+
+    @Test
+    void testAsynchronousListenerIsNotifiedAfterCommit() {
+        final Map<BusinessEntity, Object> entities = entitiesOf(1L);
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_ACTIVATE, this.listener,
+                BusinessEventDelivery.ASYNCHRONOUS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENTS_ACTIVATE, entities);
+        verify(this.listener, never()).businessEventWasExecuted(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(this.listener, timeout(5000)).businessEventWasExecuted(entities);
+    }
+
+    @Test
+    void testAfterCommitListenerFailureDoesNotFailTheEvent() {
+        doThrow(new IllegalStateException("no SMS gateway")).when(this.listener).businessEventWasExecuted(any());
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_ACTIVATE, this.listener,
+                BusinessEventDelivery.AFTER_COMMIT);
+
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENTS_ACTIVATE, entitiesOf(1L));
+
+        assertEquals(1.0, this.meterRegistry.get("fineract.events.listener.failures").counter().count());
+    }
+
+    @Test
+    void testAsynchronousEventsOfAClientAreNotifiedInOrder() {
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.SAVINGS_DEPOSIT, this.listener,
+                BusinessEventDelivery.ASYNCHRONOUS);
+
+        final List<Map<BusinessEntity, Object>> published = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final Map<BusinessEntity, Object> entities = entitiesOf(1L);
+            entities.put(BusinessEntity.SAVINGS_TRANSACTION, i);
+            published.add(entities);
+            this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.SAVINGS_DEPOSIT, entities);
+        }
+
+        verify(this.listener, timeout(5000).times(published.size())).businessEventWasExecuted(any());
+        final InOrder inOrder = inOrder(this.listener);
+        for (final Map<BusinessEntity, Object> entities : published) {
+            inOrder.verify(this.listener).businessEventWasExecuted(entities);
+        }
+    }
+
+    @Test
+    void testAsynchronousListenerGetsTheEntitiesOfItsOwnTransaction() {
+        final EntityManager entityManager = mock(EntityManager.class);
+        ReflectionTestUtils.setField(this.businessEventNotifierService, "entityManager", entityManager);
+        final Client published = client(7L);
+        final Client reloaded = client(7L);
+        when(entityManager.find(Client.class, 7L)).thenReturn(reloaded);
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_ACTIVATE, this.listener,
+                BusinessEventDelivery.ASYNCHRONOUS);
+
+        final Map<BusinessEntity, Object> entities = new EnumMap<>(BusinessEntity.class);
+        entities.put(BusinessEntity.CLIENT, published);
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENTS_ACTIVATE, entities);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<BusinessEntity, Object>> notified = ArgumentCaptor.forClass(Map.class);
+        verify(this.listener, timeout(5000)).businessEventWasExecuted(notified.capture());
+        assertSame(reloaded, notified.getValue().get(BusinessEntity.CLIENT));
+    }
+
+    @Test
+    void testQueueWaitIsRecordedApartFromTheListener() {
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_ACTIVATE, this.listener,
+                BusinessEventDelivery.ASYNCHRONOUS);
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_ACTIVATE, this.listener,
+                BusinessEventDelivery.AFTER_COMMIT);
+
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENTS_ACTIVATE, entitiesOf(1L));
+
+        // the wait is recorded before the asynchronous listener is called, the after commit listener has no queue
+        verify(this.listener, timeout(5000).times(2)).businessEventWasExecuted(any());
+        assertEquals(1, this.meterRegistry.get("fineract.events.async.queue.wait").timer().count());
+        assertEquals(1, this.meterRegistry.get("fineract.events.listener.latency").tag("delivery", "AFTER_COMMIT").timer().count());
+    }
+
+    private static Client client(final Long id) {
+        final Client client = BeanUtils.instantiateClass(Client.class);
+        ReflectionTestUtils.setField(client, "id", id);
+        return client;
+    }
+
+    private static Map<BusinessEntity, Object> entitiesOf(final Long clientId) {
+        final Map<BusinessEntity, Object> entities = new EnumMap<>(BusinessEntity.class);
+        entities.put(BusinessEntity.CLIENT, clientId);
+        return entities;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class LoanRepositoryWrapperTest {
+
+    private LoanRepository loanRepository;
+    private LoanSummaryDirtyMarkerRepository markerRepository;
+    private LoanRepositoryWrapper wrapper;
+
+    @BeforeEach
+    void setUp() {
+        this.loanRepository = mock(LoanRepository.class);
+        this.markerRepository = mock(LoanSummaryDirtyMarkerRepository.class);
+        this.wrapper = new LoanRepositoryWrapper(this.loanRepository, this.markerRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEverySaveOutsideOfATransactionMarksTheLoan() {
+        final Loan loan = loan(5L);
+
+        this.wrapper.save(loan);
+        this.wrapper.saveAndFlush(loan);
+
+        verify(this.markerRepository, times(2)).markDirty(5L);
+    }
+
+    @Test
+    void testLoanIsMarkedOncePerTransaction() {
+        final Loan loan = loan(5L);
+        final Loan otherLoan = loan(6L);
+        final List<Loan> loans = Arrays.asList(loan, otherLoan);
+        when(this.loanRepository.saveAll(loans)).thenReturn(loans);
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.wrapper.save(loan);
+        this.wrapper.saveAndFlush(loan);
+        this.wrapper.save(loans);
+
+        verify(this.markerRepository, times(1)).markDirty(5L);
+        verify(this.markerRepository, times(1)).markDirty(6L);
+    }
+
+    @Test
+    void testNextTransactionMarksTheLoanAgain() {
+        final Loan loan = loan(5L);
+        TransactionSynchronizationManager.initSynchronization();
+        this.wrapper.save(loan);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // same thread, new transaction (also what a REQUIRES_NEW transaction sees while the outer one is suspended)
+        TransactionSynchronizationManager.initSynchronization();
+        this.wrapper.save(loan);
+
+        verify(this.markerRepository, times(2)).markDirty(5L);
+    }
+
+    @Test
+    void testUnsavedLoanIsNotMarked() {
+        this.wrapper.save(loan(null));
+
+        verify(this.markerRepository, never()).markDirty(anyLong());
+    }
+
+    private Loan loan(final Long id) {
+        final Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(id);
+        when(this.loanRepository.save(loan)).thenReturn(loan);
+        when(this.loanRepository.saveAndFlush(loan)).thenReturn(loan);
+        return loan;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionComparator;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LoanTransactionReplayCheckpointTest {
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2, null);
+    private final LocalDate disbursementDate = LocalDate.of(2020, 1, 1);
+    private final LocalDate backdatedRepaymentDate = LocalDate.of(2020, 4, 20);
+    private final LoanRepaymentScheduleTransactionProcessor processor = new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+
+    private RoundingMode previousRoundingMode;
+
+    @BeforeEach
+    public void setUp() {
+        this.previousRoundingMode = MoneyHelper.useRoundingMode(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MoneyHelper.useRoundingMode(this.previousRoundingMode);
+    }
+
+    @Test
+    public void incrementalReplayMatchesFullReplayForBackdatedRepayment() throws Exception {
+        final List<LoanRepaymentScheduleInstallment> fullInstallments = schedule();
+        final List<LoanTransaction> fullTransactions = processedHistory(fullInstallments);
+        final List<LoanRepaymentScheduleInstallment> incrementalInstallments = schedule();
+        final List<LoanTransaction> incrementalTransactions = processedHistory(incrementalInstallments);
+
+        addBackdatedRepayment(fullTransactions);
+        addBackdatedRepayment(incrementalTransactions);
+        assertEquals(3, LoanTransactionReplayCheckpoint.resumeIndex(this.backdatedRepaymentDate, incrementalTransactions, this.currency,
+                incrementalInstallments));
+
+        final ChangedTransactionDetail fullChanges = this.processor.handleTransaction(this.disbursementDate, fullTransactions,
+                this.currency, fullInstallments, new HashSet<>());
+        final ChangedTransactionDetail incrementalChanges = this.processor.handleTransactionFrom(this.backdatedRepaymentDate,
+                this.disbursementDate, incrementalTransactions, this.currency, incrementalInstallments, new HashSet<>());
+
+        assertSameInstallments(fullInstallments, incrementalInstallments);
+        assertSameTransactions(fullTransactions, incrementalTransactions);
+        // the repayment following the backdated one is allocated differently and therefore replaced in both cases
+        assertEquals(fullChanges.getNewTransactionMappings().keySet(), incrementalChanges.getNewTransactionMappings().keySet());
+        assertSameTransactions(new ArrayList<>(fullChanges.getNewTransactionMappings().values()),
+                new ArrayList<>(incrementalChanges.getNewTransactionMappings().values()));
+    }
+
+    @Test
+    public void repaymentWithoutPersistedMappingsIsReplayedInFull() throws Exception {
+        final List<LoanRepaymentScheduleInstallment> installments = schedule();
+        final List<LoanTransaction> transactions = processedHistory(installments);
+        transactions.get(1).getLoanTransactionToRepaymentScheduleMappings().clear();
+        addBackdatedRepayment(transactions);
+
+        assertEquals(0,
+                LoanTransactionReplayCheckpoint.resumeIndex(this.backdatedRepaymentDate, transactions, this.currency, installments));
+    }
+
+    @Test
+    public void repaymentsOnOrAfterReplayDateAreNotRestored() throws Exception {
+        final List<LoanRepaymentScheduleInstallment> installments = schedule();
+        final List<LoanTransaction> transactions = processedHistory(installments);
+
+        assertEquals(0,
+                LoanTransactionReplayCheckpoint.resumeIndex(LocalDate.of(2020, 2, 1), transactions, this.currency, installments));
+        assertEquals(4, LoanTransactionReplayCheckpoint.resumeIndex(LocalDate.of(2020, 6, 1), transactions, this.currency, installments));
+    }
+
+    private List<LoanRepaymentScheduleInstallment> schedule() {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        LocalDate fromDate = this.disbursementDate;
+        for (int period = 1; period <= 6; period++) {
+            final LocalDate dueDate = this.disbursementDate.plusMonths(period);
+            installments.add(new LoanRepaymentScheduleInstallment(null, period, fromDate, dueDate, BigDecimal.valueOf(1000),
+                    BigDecimal.valueOf(100), BigDecimal.ZERO, BigDecimal.ZERO, false, null));
+            fromDate = dueDate;
+        }
+        return installments;
+    }
+
+    /**
+     * Two on time repayments, a late one and a partial one, processed and then given ids as if they had been saved.
+     */
+    private List<LoanTransaction> processedHistory(final List<LoanRepaymentScheduleInstallment> installments) throws Exception {
+        final List<LoanTransaction> transactions = new ArrayList<>();
+        transactions.add(repayment(LocalDate.of(2020, 2, 1), "1100"));
+        transactions.add(repayment(LocalDate.of(2020, 3, 1), "1100"));
+        transactions.add(repayment(LocalDate.of(2020, 4, 10), "1100"));
+        transactions.add(repayment(LocalDate.of(2020, 5, 1), "500"));
+        this.processor.handleTransaction(this.disbursementDate, transactions, this.currency, installments, new HashSet<>());
+
+        final Field id = AbstractPersistableCustom.class.getDeclaredField("id");
+        id.setAccessible(true);
+        for (int i = 0; i < transactions.size(); i++) {
+            id.set(transactions.get(i), Long.valueOf(i + 1L));
+        }
+        return transactions;
+    }
+
+    private void addBackdatedRepayment(final List<LoanTransaction> transactions) {
+        transactions.add(repayment(this.backdatedRepaymentDate, "300"));
+        Collections.sort(transactions, new LoanTransactionComparator());
+    }
+
+    private LoanTransaction repayment(final LocalDate date, final String amount) {
+        return LoanTransaction.repayment(null, Money.of(this.currency, new BigDecimal(amount)), null, date, null,
+                date.atStartOfDay().plusHours(12), null);
+    }
+
+    private void assertSameInstallments(final List<LoanRepaymentScheduleInstallment> expected,
+            final List<LoanRepaymentScheduleInstallment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final LoanRepaymentScheduleInstallment e = expected.get(i);
+            final LoanRepaymentScheduleInstallment a = actual.get(i);
+            final String installment = "installment " + e.getInstallmentNumber();
+            assertSameAmount(e.getPrincipalCompleted(this.currency), a.getPrincipalCompleted(this.currency), installment + " principal");
+            assertSameAmount(e.getInterestPaid(this.currency), a.getInterestPaid(this.currency), installment + " interest");
+            assertSameAmount(e.getTotalPaidInAdvance(this.currency), a.getTotalPaidInAdvance(this.currency), installment + " in advance");
+            assertSameAmount(e.getTotalPaidLate(this.currency), a.getTotalPaidLate(this.currency), installment + " late");
+            assertEquals(e.isObligationsMet(), a.isObligationsMet(), installment + " obligations met");
+            assertEquals(e.getObligationsMetOnDate(), a.getObligationsMetOnDate(), installment + " obligations met on");
+        }
+    }
+
+    private void assertSameTransactions(final List<LoanTransaction> expected, final List<LoanTransaction> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final LoanTransaction e = expected.get(i);
+            final LoanTransaction a = actual.get(i);
+            final String transaction = "transaction on " + e.getTransactionDate();
+            assertEquals(e.isReversed(), a.isReversed(), transaction + " reversed");
+            assertSameAmount(e.getPrincipalPortion(this.currency), a.getPrincipalPortion(this.currency), transaction + " principal");
+            assertSameAmount(e.getInterestPortion(this.currency), a.getInterestPortion(this.currency), transaction + " interest");
+        }
+    }
+
+    private static void assertSameAmount(final Money expected, final Money actual, final String what) {
+        assertTrue(expected.isEqualTo(actual), what + ": expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.apache.fineract.infrastructure.jobs.service.SchedularWritePlatformService;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LoanAccrualPlatformServiceImplTest {
+
+    private static final JobName JOB = JobName.ADD_PERIODIC_ACCRUAL_ENTRIES;
+
+    private LoanReadPlatformService loanReadPlatformService;
+    private LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    private SchedularWritePlatformService schedularWritePlatformService;
+    private LoanAccrualPlatformServiceImpl loanAccrualPlatformService;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.loanReadPlatformService = mock(LoanReadPlatformService.class);
+        this.loanAccrualWritePlatformService = mock(LoanAccrualWritePlatformService.class);
+        this.schedularWritePlatformService = mock(SchedularWritePlatformService.class);
+        final JobParameterRepository jobParameterRepository = mock(JobParameterRepository.class);
+        when(jobParameterRepository.findJobParametersByJobName(JOB.toString()))
+                .thenReturn(Arrays.asList(JobParameter.getInstance(1L, JobParameters.STREAMING, "true"),
+                        JobParameter.getInstance(1L, JobParameters.BATCH_SIZE, "2"),
+                        JobParameter.getInstance(1L, JobParameters.THREAD_POOL_SIZE, "1")));
+        final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        final ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBean("loanPeriodicAccrualPoster")).thenAnswer(invocation -> new LoanPeriodicAccrualPoster());
+        this.loanAccrualPlatformService = new LoanAccrualPlatformServiceImpl(this.loanReadPlatformService,
+                this.loanAccrualWritePlatformService, jobParameterRepository, this.schedularWritePlatformService, transactionTemplate,
+                applicationContext);
+
+        // loans 1 to 5, read in pages of the batch size
+        when(this.loanReadPlatformService.retrivePeriodicAccrualData(any(LocalDate.class), isNull(), eq(2), any()))
+                .thenAnswer(invocation -> {
+                    final Consumer<List<LoanScheduleAccrualData>> handler = invocation.getArgument(3);
+                    for (long loanId = 1; loanId <= 5; loanId++) {
+                        handler.accept(Collections.singletonList(accrualData(loanId)));
+                    }
+                    return null;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testCheckpointFollowsTheCommittedChunks() throws Exception {
+        this.loanAccrualPlatformService.addPeriodicAccruals();
+
+        assertEquals(Arrays.asList(2L, 4L, 5L), savedCheckpoints());
+        verify(this.schedularWritePlatformService).clearJobCheckpoint(JOB);
+    }
+
+    @Test
+    void testCheckpointStopsBeforeTheFirstFailedLoanOfAChunk() throws Exception {
+        // the chunk of loans 3 and 4 is retried loan by loan, loan 4 is committed
+        doThrow(new IllegalStateException("loan 3")).when(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(), eq(3L),
+                any());
+
+        final JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> this.loanAccrualPlatformService.addPeriodicAccruals());
+
+        assertEquals(1, exception.getCauses().size());
+        verify(this.loanAccrualWritePlatformService, atLeastOnce()).addPeriodicAccruals(any(), eq(4L), any());
+        verify(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(), eq(5L), any());
+        // a resumed run starts over from loan 3 instead of skipping it
+        assertEquals(Collections.singletonList(2L), savedCheckpoints());
+    }
+
+    @Test
+    void testCheckpointKeepsTheLoansBeforeTheFailedLoanOfAChunk() throws Exception {
+        doThrow(new IllegalStateException("loan 4")).when(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(), eq(4L),
+                any());
+
+        assertThrows(JobExecutionException.class, () -> this.loanAccrualPlatformService.addPeriodicAccruals());
+
+        assertEquals(Arrays.asList(2L, 3L), savedCheckpoints());
+        verify(this.schedularWritePlatformService, never()).saveJobCheckpoint(eq(JOB), anyString(), eq(5L));
+    }
+
+    private List<Long> savedCheckpoints() {
+        final ArgumentCaptor<Long> checkpoints = ArgumentCaptor.forClass(Long.class);
+        verify(this.schedularWritePlatformService, atLeast(0)).saveJobCheckpoint(eq(JOB), anyString(),
+                checkpoints.capture());
+        return checkpoints.getAllValues();
+    }
+
+    private static LoanScheduleAccrualData accrualData(final long loanId) {
+        final LoanScheduleAccrualData accrualData = mock(LoanScheduleAccrualData.class);
+        when(accrualData.getLoanId()).thenReturn(loanId);
+        return accrualData;
+    }
+}
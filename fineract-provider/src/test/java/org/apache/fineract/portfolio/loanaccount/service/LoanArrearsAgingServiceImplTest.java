@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LoanArrearsAgingServiceImplTest {
+
+    private static final String LOAN_IDS_SQL = "select ml.id from m_loan ml where ml.id > ?";
+    private static final String DELETE_SQL = "delete from m_loan_arrears_aging where loan_id in (:loanIds)";
+    private static final String INSERT_SQL = "INSERT INTO m_loan_arrears_aging";
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private LoanArrearsAgingServiceImpl arrearsAgingService;
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final List<String> statements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.jdbcTemplate = mock(JdbcTemplate.class);
+        this.namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        this.transactionTemplate = mock(TransactionTemplate.class);
+        when(this.transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            this.inTransaction.set(true);
+            try {
+                return ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null);
+            } finally {
+                this.inTransaction.set(false);
+            }
+        });
+        final JobParameterRepository jobParameterRepository = mock(JobParameterRepository.class);
+        when(jobParameterRepository.findJobParametersByJobName(JobName.UPDATE_LOAN_ARREARS_AGEING.toString()))
+                .thenReturn(Collections.singletonList(JobParameter.getInstance(1L, JobParameters.BATCH_SIZE, "2")));
+        this.arrearsAgingService = new LoanArrearsAgingServiceImpl(mock(RoutingDataSource.class), mock(BusinessEventNotifierService.class),
+                this.transactionTemplate, jobParameterRepository);
+        ReflectionTestUtils.setField(this.arrearsAgingService, "jdbcTemplate", this.jdbcTemplate);
+        ReflectionTestUtils.setField(this.arrearsAgingService, "namedParameterJdbcTemplate", this.namedParameterJdbcTemplate);
+
+        // deletes and inserts report one row per loan of the chunk, and are only allowed inside the chunk transaction
+        when(this.namedParameterJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenAnswer(invocation -> {
+            assertTrue(this.inTransaction.get(), "statement outside of the chunk transaction");
+            final String sql = invocation.getArgument(0);
+            this.statements.add((sql.startsWith(INSERT_SQL) ? "insert " : "delete ") + loanIdsOf(invocation.getArgument(1)));
+            return loanIdsOf(invocation.getArgument(1)).size();
+        });
+        // no loan of these tests computes its arrears from the original schedule
+        when(this.namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(Collections.emptyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testArrearsAreRebuiltChunkByChunk() {
+        givenLoans(10L, 11L, 12L);
+
+        this.arrearsAgingService.updateLoanArrearsAgeingDetails();
+
+        assertEquals(Arrays.asList("delete [10, 11]", "insert [10, 11]", "delete [12]", "insert [12]"), this.statements);
+        verify(this.transactionTemplate, times(2)).execute(any());
+        verify(this.namedParameterJdbcTemplate, times(2)).update(eq(DELETE_SQL), any(SqlParameterSource.class));
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testNothingToAge() {
+        givenLoans();
+
+        this.arrearsAgingService.updateLoanArrearsAgeingDetails();
+
+        assertEquals(Collections.emptyList(), this.statements);
+        verify(this.transactionTemplate, never()).execute(any());
+    }
+
+    // keyset pages over the given ids: "... where ml.id > ? ... order by ml.id limit ?"
+    private void givenLoans(final Long... ids) {
+        when(this.jdbcTemplate.queryForList(startsWith(LOAN_IDS_SQL), eq(Long.class), any(), any())).thenAnswer(invocation -> {
+            final Long afterId = invocation.getArgument(2);
+            final int limit = invocation.getArgument(3);
+            return Arrays.stream(ids).filter(id -> id > afterId).limit(limit).collect(Collectors.toList());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> loanIdsOf(final SqlParameterSource parameters) {
+        return (List<Long>) parameters.getValue("loanIds");
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LoanChunkExecutorTest {
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private final Set<Long> failingLoanIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> processedLoanIds = ConcurrentHashMap.newKeySet();
+    private final List<Long> checkpoints = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch laterLoansProcessed;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testChunksAreProcessedAndCheckpointedInLoanOrder() {
+        final LoanChunkExecutor<Long> executor = executor(1, 2);
+
+        run(executor, 1L, 2L, 3L, 4L, 5L);
+
+        assertEquals(Arrays.asList(2L, 4L, 5L), this.checkpoints);
+        assertEquals(5, executor.getProcessedLoans());
+        assertEquals(0, executor.getFailedLoans());
+        assertTrue(executor.getErrors().isEmpty());
+    }
+
+    @Test
+    void testCheckpointIsHeldAtTheFirstFailedLoan() {
+        this.failingLoanIds.add(3L);
+        final LoanChunkExecutor<Long> executor = executor(1, 2);
+
+        run(executor, 1L, 2L, 3L, 4L, 5L);
+
+        // loan 4 is committed on its own, but a resumed run has to retry loan 3
+        assertEquals(Collections.singletonList(2L), this.checkpoints);
+        assertEquals(Arrays.asList(1L, 2L, 4L, 5L), sorted(this.processedLoanIds));
+        assertEquals(4, executor.getProcessedLoans());
+        assertEquals(1, executor.getFailedLoans());
+        assertEquals(1, executor.getErrors().size());
+    }
+
+    @Test
+    void testCheckpointWaitsForChunksCompletingOutOfOrder() {
+        // loan 1 only completes after loans 2 and 3, which are committed first
+        this.laterLoansProcessed = new CountDownLatch(2);
+        final LoanChunkExecutor<Long> executor = executor(2, 1);
+
+        run(executor, 1L, 2L, 3L);
+
+        assertEquals(Collections.singletonList(3L), this.checkpoints);
+        assertEquals(3, executor.getProcessedLoans());
+    }
+
+    @Test
+    void testWithoutCheckpointHandler() {
+        this.failingLoanIds.add(1L);
+        final LoanChunkExecutor<Long> executor = new LoanChunkExecutor<>(jobParameters(2, 2), loanId -> loanId, TestPoster::new, null);
+
+        run(executor, 1L, 2L, 3L);
+
+        assertEquals(2, executor.getProcessedLoans());
+        assertEquals(1, executor.getFailedLoans());
+    }
+
+    private LoanChunkExecutor<Long> executor(final int threadPoolSize, final int batchSize) {
+        return new LoanChunkExecutor<>(jobParameters(threadPoolSize, batchSize), loanId -> loanId, TestPoster::new,
+                this.checkpoints::add);
+    }
+
+    private static JobParameters jobParameters(final int threadPoolSize, final int batchSize) {
+        return JobParameters.of(Arrays.asList(JobParameter.getInstance(1L, JobParameters.THREAD_POOL_SIZE, String.valueOf(threadPoolSize)),
+                JobParameter.getInstance(1L, JobParameters.BATCH_SIZE, String.valueOf(batchSize))));
+    }
+
+    private static void run(final LoanChunkExecutor<Long> executor, final Long... loanIds) {
+        try {
+            for (final Long loanId : loanIds) {
+                executor.accept(Collections.singletonList(loanId));
+            }
+        } finally {
+            executor.finish();
+        }
+    }
+
+    private static List<Long> sorted(final Set<Long> loanIds) {
+        final List<Long> sorted = new ArrayList<>(loanIds);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private final class TestPoster extends LoanChunkPoster<Long> {
+
+        TestPoster() {
+            final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+            when(transactionTemplate.execute(any()))
+                    .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+            setTransactionTemplate(transactionTemplate);
+        }
+
+        @Override
+        protected void process(final Long loanId, final List<Long> data) throws Exception {
+            assertSame(LoanChunkExecutorTest.this.tenant, ThreadLocalContextUtil.getTenant());
+            if (LoanChunkExecutorTest.this.failingLoanIds.contains(loanId)) {
+                throw new IllegalStateException("loan " + loanId);
+            }
+            final CountDownLatch laterLoansProcessed = LoanChunkExecutorTest.this.laterLoansProcessed;
+            if (laterLoansProcessed != null) {
+                if (loanId == 1L) {
+                    assertTrue(laterLoansProcessed.await(10, TimeUnit.SECONDS));
+                } else {
+                    laterLoansProcessed.countDown();
+                }
+            }
+            LoanChunkExecutorTest.this.processedLoanIds.add(loanId);
+        }
+
+        @Override
+        protected void logFailure(final Long loanId, final Exception e) {
+            // counted by the executor
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LoanReadPlatformServiceImplTest {
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private LoanReadPlatformServiceImpl loanReadPlatformService;
+    private final List<Map<String, Object>> loanIdPages = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        this.loanReadPlatformService = new LoanReadPlatformServiceImpl(null, null, null, null, null, null, null, null, null,
+                mock(RoutingDataSource.class), null, null, null, null, null, null, mock(ConfigurationDomainService.class), null, null,
+                null);
+        ReflectionTestUtils.setField(this.loanReadPlatformService, "namedParameterJdbcTemplate", this.namedParameterJdbcTemplate);
+
+        // loans 4, 7 and 9 have two installments to accrue each
+        final List<Long> loanIds = Arrays.asList(4L, 7L, 9L);
+        when(this.namedParameterJdbcTemplate.queryForList(contains("limit :pagesize"), anyMap(), eq(Long.class))).thenAnswer(invocation -> {
+            final Map<String, Object> paramMap = new HashMap<>(invocation.getArgument(1));
+            this.loanIdPages.add(paramMap);
+            final Long afterLoanId = (Long) paramMap.get("afterloanid");
+            return loanIds.stream().filter(loanId -> afterLoanId == null || loanId > afterLoanId).limit((Integer) paramMap.get("pagesize"))
+                    .collect(Collectors.toList());
+        });
+        when(this.namedParameterJdbcTemplate.query(contains("loan.id in (:loanids)"), anyMap(), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    final List<LoanScheduleAccrualData> rows = new ArrayList<>();
+                    for (final Object loanId : (List<?>) invocation.<Map<String, Object>>getArgument(1).get("loanids")) {
+                        rows.add(accrualData((Long) loanId));
+                        rows.add(accrualData((Long) loanId));
+                    }
+                    return rows;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testPeriodicAccrualDataIsReadInKeysetPagesOfLoans() {
+        final List<List<LoanScheduleAccrualData>> handedOut = new ArrayList<>();
+
+        this.loanReadPlatformService.retrivePeriodicAccrualData(LocalDate.of(2021, 1, 31), null, 2, handedOut::add);
+
+        // the rows of every loan are handed out together, in loan order
+        assertEquals(Arrays.asList(4L, 7L, 9L), handedOut.stream().map(rows -> rows.get(0).getLoanId()).collect(Collectors.toList()));
+        for (final List<LoanScheduleAccrualData> rows : handedOut) {
+            assertEquals(Arrays.asList(rows.get(0).getLoanId(), rows.get(0).getLoanId()),
+                    rows.stream().map(LoanScheduleAccrualData::getLoanId).collect(Collectors.toList()));
+        }
+        assertEquals(2, this.loanIdPages.size());
+        assertFalse(this.loanIdPages.get(0).containsKey("afterloanid"));
+        assertEquals(7L, this.loanIdPages.get(1).get("afterloanid"));
+    }
+
+    @Test
+    void testPeriodicAccrualDataResumesAfterTheCheckpoint() {
+        final List<List<LoanScheduleAccrualData>> handedOut = new ArrayList<>();
+
+        this.loanReadPlatformService.retrivePeriodicAccrualData(LocalDate.of(2021, 1, 31), 4L, 2, handedOut::add);
+
+        assertEquals(Arrays.asList(7L, 9L), handedOut.stream().map(rows -> rows.get(0).getLoanId()).collect(Collectors.toList()));
+        // a full page is followed by an empty one
+        assertEquals(2, this.loanIdPages.size());
+        assertEquals(9L, this.loanIdPages.get(1).get("afterloanid"));
+    }
+
+    @Test
+    void testOverdueInstallmentsAreReadInKeysetPagesOfLoans() {
+        final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ReflectionTestUtils.setField(this.loanReadPlatformService, "jdbcTemplate", jdbcTemplate);
+        // loans 4, 7 and 9 have two overdue installments each
+        final List<Long> loanIds = Arrays.asList(4L, 7L, 9L);
+        final List<Object[]> loanIdPageParams = new ArrayList<>();
+        when(jdbcTemplate.queryForList(contains("order by ls.loan_id limit ?"), eq(Long.class), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    loanIdPageParams.add(Arrays.copyOfRange(invocation.getArguments(), 2, 5));
+                    final Long afterLoanId = invocation.getArgument(3);
+                    final int pageSize = invocation.getArgument(4);
+                    return loanIds.stream().filter(loanId -> loanId > afterLoanId).limit(pageSize).collect(Collectors.toList());
+                });
+        when(jdbcTemplate.query(contains("and ls.loan_id > ? and ls.loan_id <= ?"), any(RowMapper.class), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    final Long afterLoanId = invocation.getArgument(3);
+                    final Long lastLoanId = invocation.getArgument(4);
+                    final List<OverdueLoanScheduleData> rows = new ArrayList<>();
+                    loanIds.stream().filter(loanId -> loanId > afterLoanId && loanId <= lastLoanId).forEach(loanId -> {
+                        rows.add(overdueInstallment(loanId, 1));
+                        rows.add(overdueInstallment(loanId, 2));
+                    });
+                    return rows;
+                });
+        final List<List<OverdueLoanScheduleData>> handedOut = new ArrayList<>();
+
+        this.loanReadPlatformService.retrieveAllLoansWithOverdueInstallments(3L, true, 2, handedOut::add);
+
+        assertEquals(Arrays.asList(4L, 7L, 9L), handedOut.stream().map(rows -> rows.get(0).getLoanId()).collect(Collectors.toList()));
+        for (final List<OverdueLoanScheduleData> rows : handedOut) {
+            assertEquals(2, rows.size());
+            assertEquals(rows.get(0).getLoanId(), rows.get(1).getLoanId());
+        }
+        // the penalty wait period, the last loan of the previous page and the page size
+        assertEquals(2, loanIdPageParams.size());
+        assertArrayEquals(new Object[] { 3L, 0L, 2 }, loanIdPageParams.get(0));
+        assertArrayEquals(new Object[] { 3L, 7L, 2 }, loanIdPageParams.get(1));
+    }
+
+    private static OverdueLoanScheduleData overdueInstallment(final Long loanId, final int installment) {
+        return new OverdueLoanScheduleData(loanId, 1L, "2021-01-01", BigDecimal.TEN, "yyyy-MM-dd", "en_GB", BigDecimal.TEN,
+                BigDecimal.ONE, installment);
+    }
+
+    private static LoanScheduleAccrualData accrualData(final Long loanId) {
+        final LoanScheduleAccrualData accrualData = mock(LoanScheduleAccrualData.class);
+        when(accrualData.getLoanId()).thenReturn(loanId);
+        return accrualData;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SavingsAccountReadPlatformServiceImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SavingsAccountReadPlatformServiceImpl readService;
+    private final List<Long> offsets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        this.jdbcTemplate = mock(JdbcTemplate.class);
+        this.readService = new SavingsAccountReadPlatformServiceImpl(null, mock(RoutingDataSource.class), null, null, null, null, null,
+                null, null, null);
+        ReflectionTestUtils.setField(this.readService, "jdbcTemplate", this.jdbcTemplate);
+    }
+
+    @Test
+    void testPartitionStartsAreSampledByKeyset() {
+        givenActiveAccounts(3L, 5L, 8L, 9L, 12L, 13L, 20L, 21L, 22L, 30L);
+
+        final List<Long> partitionStarts = this.readService.retrieveActiveSavingsIdPartitionStarts(3);
+
+        assertEquals(Arrays.asList(3L, 12L, 22L), partitionStarts);
+        // each step only skips one partition from the previous start
+        assertTrue(this.offsets.stream().allMatch(offset -> offset == 4L), this.offsets.toString());
+    }
+
+    @Test
+    void testMorePartitionsThanAccounts() {
+        givenActiveAccounts(4L, 6L, 7L);
+
+        assertEquals(Arrays.asList(4L, 6L, 7L), this.readService.retrieveActiveSavingsIdPartitionStarts(5));
+    }
+
+    @Test
+    void testNoActiveAccounts() {
+        givenActiveAccounts();
+
+        assertTrue(this.readService.retrieveActiveSavingsIdPartitionStarts(4).isEmpty());
+    }
+
+    private void givenActiveAccounts(final Long... ids) {
+        final List<Long> activeIds = Arrays.asList(ids);
+        final Map<String, Object> bounds = new HashMap<>();
+        bounds.put("activeAccounts", (long) activeIds.size());
+        bounds.put("firstId", activeIds.isEmpty() ? null : activeIds.get(0));
+        when(this.jdbcTemplate.queryForMap(anyString(), (Object) any())).thenReturn(bounds);
+        when(this.jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any(), any())).thenAnswer(invocation -> {
+            final Long fromId = invocation.getArgument(3);
+            final Long offset = invocation.getArgument(4);
+            this.offsets.add(offset);
+            final int index = activeIds.indexOf(fromId) + offset.intValue();
+            return index < activeIds.size() ? Collections.singletonList(activeIds.get(index)) : Collections.emptyList();
+        });
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.scheduledjobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
+import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ScheduledJobRunnerServiceImplTest {
+
+    private static final String MARKED_LOANS_SQL = "select d.loan_id from m_loan_summary_dirty d";
+    private static final String ALL_LOANS_SQL = "select ml.id from m_loan ml";
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private JobParameterRepository jobParameterRepository;
+    private TransactionTemplate transactionTemplate;
+    private ScheduledJobRunnerServiceImpl jobRunner;
+    private final List<List<Long>> refreshedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.jdbcTemplate = mock(JdbcTemplate.class);
+        this.namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        this.jobParameterRepository = mock(JobParameterRepository.class);
+        this.transactionTemplate = mock(TransactionTemplate.class);
+        when(this.transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        this.jobRunner = new ScheduledJobRunnerServiceImpl(null, null, null, null, null, null, null, null, this.jobParameterRepository,
+                this.transactionTemplate, mock(RoutingDataSource.class));
+        ReflectionTestUtils.setField(this.jobRunner, "jdbcTemplate", this.jdbcTemplate);
+        ReflectionTestUtils.setField(this.jobRunner, "namedParameterJdbcTemplate", this.namedParameterJdbcTemplate);
+
+        // every loan of a chunk has a marker with count 1, and its summary gets updated
+        when(this.namedParameterJdbcTemplate.query(startsWith("select d.loan_id, d.mark_count"), any(SqlParameterSource.class),
+                any(RowMapper.class))).thenAnswer(invocation -> loanIdsOf(invocation.getArgument(1)).stream()
+                        .map(loanId -> new Object[] { loanId, 1L }).collect(Collectors.toList()));
+        when(this.namedParameterJdbcTemplate.update(startsWith("update m_loan"), any(SqlParameterSource.class))).thenAnswer(invocation -> {
+            final List<Long> loanIds = loanIdsOf(invocation.getArgument(1));
+            this.refreshedChunks.add(loanIds);
+            return loanIds.size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void testIncrementalRunDrainsMarkersChunkByChunk() {
+        givenJobParameters(JobParameters.INCREMENTAL, "1");
+        givenPages(MARKED_LOANS_SQL, 3L, 7L, 9L);
+
+        this.jobRunner.updateLoanSummaryDetails();
+
+        assertEquals(Arrays.asList(Arrays.asList(3L, 7L), Collections.singletonList(9L)), this.refreshedChunks);
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<Object[]>> deletedMarkers = ArgumentCaptor.forClass(List.class);
+        verify(this.jdbcTemplate, times(2)).batchUpdate(eq("delete from m_loan_summary_dirty where loan_id = ? and mark_count = ?"),
+                deletedMarkers.capture());
+        assertArrayEquals(new Object[] { 3L, 1L }, deletedMarkers.getAllValues().get(0).get(0));
+        assertArrayEquals(new Object[] { 7L, 1L }, deletedMarkers.getAllValues().get(0).get(1));
+        assertArrayEquals(new Object[] { 9L, 1L }, deletedMarkers.getAllValues().get(1).get(0));
+        verify(this.transactionTemplate, times(2)).execute(any());
+        verify(this.jdbcTemplate, never()).queryForList(startsWith(ALL_LOANS_SQL), eq(Long.class), any(), any());
+    }
+
+    @Test
+    void testIncrementalRunWithoutMarkers() {
+        givenJobParameters(JobParameters.INCREMENTAL, "1");
+        givenPages(MARKED_LOANS_SQL);
+
+        this.jobRunner.updateLoanSummaryDetails();
+
+        assertEquals(Collections.emptyList(), this.refreshedChunks);
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testFullRunRefreshesAllLoansAndDropsMarkersOfUndisbursedLoans() {
+        givenJobParameters(JobParameters.BATCH_SIZE, "2");
+        givenPages(ALL_LOANS_SQL, 1L, 2L, 4L);
+
+        this.jobRunner.updateLoanSummaryDetails();
+
+        assertEquals(Arrays.asList(Arrays.asList(1L, 2L), Collections.singletonList(4L)), this.refreshedChunks);
+        verify(this.jdbcTemplate).update(startsWith("delete d from m_loan_summary_dirty d join m_loan ml"));
+        verify(this.jdbcTemplate, never()).queryForList(startsWith(MARKED_LOANS_SQL), eq(Long.class), any(), any());
+    }
+
+    private void givenJobParameters(final String parameterName, final String parameterValue) {
+        final List<JobParameter> jobParameters = new ArrayList<>();
+        jobParameters.add(JobParameter.getInstance(1L, parameterName, parameterValue));
+        if (!JobParameters.BATCH_SIZE.equals(parameterName)) {
+            jobParameters.add(JobParameter.getInstance(1L, JobParameters.BATCH_SIZE, "2"));
+        }
+        when(this.jobParameterRepository.findJobParametersByJobName(JobName.UPDATE_LOAN_SUMMARY.toString())).thenReturn(jobParameters);
+    }
+
+    // keyset pages over the given ids: "... where id > ? order by id limit ?"
+    private void givenPages(final String sql, final Long... ids) {
+        when(this.jdbcTemplate.queryForList(startsWith(sql), eq(Long.class), any(), any())).thenAnswer(invocation -> {
+            final Long afterId = invocation.getArgument(2);
+            final int limit = invocation.getArgument(3);
+            return Arrays.stream(ids).filter(id -> id > afterId).limit(limit).collect(Collectors.toList());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> loanIdsOf(final SqlParameterSource parameters) {
+        return (List<Long>) parameters.getValue("loanIds");
+    }
+}